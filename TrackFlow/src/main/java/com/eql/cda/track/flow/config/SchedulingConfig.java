@@ -0,0 +1,13 @@
+package com.eql.cda.track.flow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the execution of {@code @Scheduled} maintenance tasks, such as the purge of expired upload sessions.
+ * The scheduler pool is sized by {@code spring.task.scheduling.pool.size}, with one thread per task.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,163 @@
+package com.eql.cda.track.flow.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configures the worker pool that runs asynchronous upload jobs.
+ * The pool is sized independently from the servlet container threads so that a burst of
+ * large uploads cannot starve the API of request threads. Its queue is bounded: once it is
+ * full, new submissions are rejected instead of piling up in memory.
+ * <p>
+ * Also configures the threads writing the parts of parallel composite uploads to GCS, and the
+ * background workers encoding the preview renditions and analysing the audio of new versions, or
+ * promoting the audio of played versions back to the hot storage tier.
+ */
+@Configuration
+public class UploadExecutorConfig {
+
+    /**
+     * Defines the bounded executor used by the upload job service.
+     *
+     * @param corePoolSize The number of worker threads kept alive.
+     * @param maxPoolSize The maximum number of worker threads.
+     * @param queueCapacity The maximum number of jobs waiting for a worker.
+     * @return The configured executor.
+     */
+    @Bean(name = "uploadTaskExecutor")
+    public ThreadPoolTaskExecutor uploadTaskExecutor(
+            @Value("${upload.jobs.core-pool-size:2}") int corePoolSize,
+            @Value("${upload.jobs.max-pool-size:4}") int maxPoolSize,
+            @Value("${upload.jobs.queue-capacity:24}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Defines the executor writing the parts of parallel composite uploads. Each upload limits its own
+     * number of parts in flight, so the queue only ever holds parts already read into memory.
+     *
+     * @param threads The number of threads shared by all composite uploads.
+     * @return The configured executor.
+     */
+    @Bean(name = "compositeUploadExecutor")
+    public ThreadPoolTaskExecutor compositeUploadExecutor(@Value("${gcs.upload.composite-threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("composite-part-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Defines the executor encoding preview renditions. Encoding is CPU-bound, so the pool is small
+     * and runs at low priority. The ingest queue only claims as many jobs as the pool has room for;
+     * the others wait in the database.
+     *
+     * @param threads The number of encoding threads.
+     * @param queueCapacity The maximum number of versions waiting for their preview.
+     * @return The configured executor.
+     */
+    @Bean(name = "previewTaskExecutor")
+    public ThreadPoolTaskExecutor previewTaskExecutor(
+            @Value("${preview.jobs.threads:2}") int threads,
+            @Value("${preview.jobs.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("preview-job-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Defines the executor running the audio analyses (tempo and key detection) of new versions.
+     * Like the preview pool, it is small, runs at low priority and is fed by the ingest queue.
+     *
+     * @param threads The number of analysis threads.
+     * @param queueCapacity The maximum number of versions waiting for their analysis.
+     * @return The configured executor.
+     */
+    @Bean(name = "analysisTaskExecutor")
+    public ThreadPoolTaskExecutor analysisTaskExecutor(
+            @Value("${analysis.jobs.threads:1}") int threads,
+            @Value("${analysis.jobs.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Defines the executor deleting from storage the objects released by bulk deletions of compositions
+     * and projects. A single thread is enough, as each task sends its deletions in batches. When the queue
+     * is full, the released objects are left to the storage garbage collector.
+     *
+     * @param queueCapacity The maximum number of bulk deletions waiting for their storage cleanup.
+     * @return The configured executor.
+     */
+    @Bean(name = "storageCleanupExecutor")
+    public ThreadPoolTaskExecutor storageCleanupExecutor(@Value("${storage.cleanup.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("storage-cleanup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Defines the executor promoting cold audio objects back to the hot tier. A promotion is a server-side
+     * copy in the storage provider, so the threads mostly wait; it is fed by the ingest queue as well.
+     *
+     * @param threads The number of promotion threads.
+     * @param queueCapacity The maximum number of objects waiting for their promotion.
+     * @return The configured executor.
+     */
+    @Bean(name = "tieringTaskExecutor")
+    public ThreadPoolTaskExecutor tieringTaskExecutor(
+            @Value("${storage.tiering.promotion-threads:2}") int threads,
+            @Value("${storage.tiering.promotion-queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("tiering-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.controller;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationCreateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationUpdateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationViewDto;
@@ -16,9 +17,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 
 /**
  * REST controller for managing annotations within the API hierarchy.
@@ -56,15 +57,22 @@ public class AnnotationController {
     }
 
     /**
-     * Retrieves all annotations for a specific version.
+     * Retrieves a page of the annotations of a specific version, most recent first.
      *
      * @param versionId the ID of the parent version.
-     * @return a ResponseEntity with a list of annotation summaries and HTTP status 200 (OK).
+     * @param cursor the cursor returned with the previous page, omitted for the first page.
+     * @param size the maximum number of annotations to return (1 to 100), 20 by default.
+     * @return a ResponseEntity with a page of annotations and HTTP status 200 (OK).
      * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the parent version does not exist.
+     * @throws com.eql.cda.track.flow.exception.InvalidCursorException if the cursor cannot be decoded.
      */
     @GetMapping("/versions/{versionId}/annotations")
-    public ResponseEntity<List<AnnotationViewDto>> getAnnotationsForVersion(@PathVariable Long versionId) {
-        List<AnnotationViewDto> annotations = annotationService.findAllAnnotationsByVersionId(versionId);
+    public ResponseEntity<CursorPageDto<AnnotationViewDto>> getAnnotationsForVersion(
+            @PathVariable Long versionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int boundedSize = Math.max(1, Math.min(size, 100));
+        CursorPageDto<AnnotationViewDto> annotations = annotationService.findAllAnnotationsByVersionId(versionId, cursor, boundedSize);
         return ResponseEntity.ok(annotations);
     }
 
@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.controller;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchCreateDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchSummaryDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchUpdateDto;
@@ -14,11 +15,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
 
 /**
  * Handles REST requests for branches within the context of a specific composition and project.
@@ -68,17 +69,22 @@ public class BranchController {
     }
 
     /**
-     * Retrieves a list of all branches (in a summary format) for a specific composition.
+     * Retrieves a page of the branches (in a summary format) of a specific composition, the most recently modified first.
      *
      * @param projectId The ID of the parent project (for context and validation).
      * @param compositionId The ID of the composition whose branches are to be retrieved.
-     * @return A {@link ResponseEntity} containing a list of {@link BranchSummaryDto}.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of branches to return (1 to 100), 20 by default.
+     * @return A {@link ResponseEntity} containing a {@link CursorPageDto} of {@link BranchSummaryDto}.
      */
     @GetMapping
-    public ResponseEntity<List<BranchSummaryDto>> getAllBranchesForComposition(
+    public ResponseEntity<CursorPageDto<BranchSummaryDto>> getAllBranchesForComposition(
             @PathVariable Long projectId,
-            @PathVariable Long compositionId) {
-        List<BranchSummaryDto> branches = branchService.getAllBranchesForComposition(projectId, compositionId);
+            @PathVariable Long compositionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int boundedSize = Math.max(1, Math.min(size, 100));
+        CursorPageDto<BranchSummaryDto> branches = branchService.getAllBranchesForComposition(projectId, compositionId, cursor, boundedSize);
         return ResponseEntity.ok(branches);
     }
 
@@ -0,0 +1,111 @@
+package com.eql.cda.track.flow.controller;
+
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionCreateDto;
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionViewDto;
+import com.eql.cda.track.flow.service.ChunkedUploadService;
+import com.eql.cda.track.flow.service.IngestQueueService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Handles chunked, resumable audio uploads.
+ * Large files are sent as a sequence of numbered chunks, each in its own request, so that a network
+ * failure only requires resending the affected chunks instead of the whole file.
+ * New sessions are rejected with 429 Too Many Requests while the ingest backlog is full.
+ */
+@RestController
+@RequestMapping("/api/uploads/sessions")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final IngestQueueService ingestQueueService;
+
+    @Autowired
+    public ChunkedUploadController(ChunkedUploadService chunkedUploadService, IngestQueueService ingestQueueService) {
+        this.chunkedUploadService = chunkedUploadService;
+        this.ingestQueueService = ingestQueueService;
+    }
+
+    /**
+     * Opens a new upload session.
+     *
+     * @param createDto The description of the file to upload.
+     * @return A {@link ResponseEntity} with status 201 (Created), a {@code Location} header pointing
+     * to the session resource, and the session in the body (including the chunk size to use).
+     */
+    @PostMapping
+    public ResponseEntity<UploadSessionViewDto> openSession(@Valid @RequestBody UploadSessionCreateDto createDto) {
+        ingestQueueService.ensureCapacity();
+        UploadSessionViewDto session = chunkedUploadService.openSession(createDto);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{sessionId}")
+                .buildAndExpand(session.getSessionId())
+                .toUri();
+        return ResponseEntity.created(location).body(session);
+    }
+
+    /**
+     * Receives one chunk of an upload session. The request body holds the raw bytes of the chunk
+     * ({@code application/octet-stream}). Chunks may be sent in any order and in parallel.
+     *
+     * @param sessionId The ID of the upload session.
+     * @param chunkIndex The zero-based index of the chunk.
+     * @param request The incoming request, whose body is streamed to storage.
+     * @return A {@link ResponseEntity} with status 204 (No Content).
+     * @throws IOException if the chunk cannot be read or stored.
+     */
+    @PutMapping("/{sessionId}/chunks/{chunkIndex}")
+    public ResponseEntity<Void> uploadChunk(
+            @PathVariable String sessionId,
+            @PathVariable int chunkIndex,
+            HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            chunkedUploadService.uploadChunk(sessionId, chunkIndex, body, request.getContentLengthLong());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the state of an upload session, including the chunks still missing.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return A {@link ResponseEntity} with status 200 OK and the session state.
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionViewDto> getSession(@PathVariable String sessionId) {
+        return ResponseEntity.ok(chunkedUploadService.getSession(sessionId));
+    }
+
+    /**
+     * Commits a complete upload session. The chunks are assembled into the final audio file and its
+     * metadata is extracted; the result can then be used in a "create version" call.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return A {@link ResponseEntity} with status 200 OK and the session carrying the upload result.
+     * @throws Exception if the assembly or the metadata extraction fails.
+     */
+    @PostMapping("/{sessionId}/commit")
+    public ResponseEntity<UploadSessionViewDto> commitSession(@PathVariable String sessionId) throws Exception {
+        return ResponseEntity.ok(chunkedUploadService.commitSession(sessionId));
+    }
+
+    /**
+     * Aborts an upload session and discards the chunks received so far.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return A {@link ResponseEntity} with status 204 (No Content).
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abortSession(@PathVariable String sessionId) {
+        chunkedUploadService.abortSession(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
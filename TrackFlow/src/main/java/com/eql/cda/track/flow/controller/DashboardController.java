@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.controller;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionSummaryDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectSummaryDto;
 import com.eql.cda.track.flow.service.CompositionService;
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -53,16 +55,19 @@ public class DashboardController {
     }
 
     /**
-     * Retrieves a paginated list of the most recently updated compositions for the currently authenticated user.
+     * Retrieves a page of the most recently updated compositions for the currently authenticated user.
      * The user's identity is resolved from the security context by the service layer.
      *
-     * @param pageable Pagination and sorting information, configured by default to return the 5 most recently updated compositions.
-     * @return A {@link ResponseEntity} containing a {@link Page} of {@link CompositionSummaryDto}.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of compositions to return (1 to 50), 5 by default.
+     * @return A {@link ResponseEntity} containing a {@link CursorPageDto} of {@link CompositionSummaryDto}.
      */
     @GetMapping("/recent-compositions")
-    public ResponseEntity<Page<CompositionSummaryDto>> getRecentCompositions(
-            @PageableDefault(size = 5, sort = "lastUpdateDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<CompositionSummaryDto> recentCompositions = compositionService.findRecentCompositionsForCurrentUser(pageable);
+    public ResponseEntity<CursorPageDto<CompositionSummaryDto>> getRecentCompositions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size) {
+        int boundedSize = Math.max(1, Math.min(size, 50));
+        CursorPageDto<CompositionSummaryDto> recentCompositions = compositionService.findRecentCompositionsForCurrentUser(cursor, boundedSize);
         return ResponseEntity.ok(recentCompositions);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.eql.cda.track.flow.controller;
 
 
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectCreateDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectUpdateDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectViewDto;
@@ -9,10 +10,6 @@ import com.eql.cda.track.flow.security.SecurityUser;
 import com.eql.cda.track.flow.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -59,18 +56,21 @@ public class ProjectController {
     }
 
     /**
-     * Retrieves a paginated list of projects for the currently authenticated user.
+     * Retrieves a page of the non-archived projects of the currently authenticated user, newest first.
      * The user is identified via the JWT principal, so no userId is needed in the path.
      *
      * @param principal The security principal of the logged-in user, injected by Spring Security.
-     * @param pageable Pagination and sorting information.
-     * @return A ResponseEntity containing a Page of ProjectViewDto.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of projects to return (1 to 100), 10 by default.
+     * @return A ResponseEntity containing a CursorPageDto of ProjectViewDto.
      */
     @GetMapping("/projects/me")
-    public ResponseEntity<Page<ProjectViewDto>> getMyProjects(
+    public ResponseEntity<CursorPageDto<ProjectViewDto>> getMyProjects(
             @AuthenticationPrincipal SecurityUser principal,
-            @PageableDefault(size = 10, sort = "createdDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<ProjectViewDto> projectsPage = projectService.getAllProjectsPaginated(principal.getId(), pageable);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        int boundedSize = Math.max(1, Math.min(size, 100));
+        CursorPageDto<ProjectViewDto> projectsPage = projectService.getAllProjectsPaginated(principal.getId(), cursor, boundedSize);
         return ResponseEntity.ok(projectsPage);
     }
 
@@ -0,0 +1,158 @@
+package com.eql.cda.track.flow.controller;
+
+import com.eql.cda.track.flow.service.implementation.LocalFileSystemStorageServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves the objects of the local file system storage, which stand in for the public bucket URLs
+ * when the {@code local-storage} profile is active.
+ * <p>
+ * Single byte ranges are honoured so audio players can seek. When the servlet container supports it
+ * (Tomcat's NIO connector does), the file is handed over with the sendfile request attributes and the
+ * kernel copies it straight to the socket; otherwise it is copied with {@link FileChannel#transferTo}.
+ * <p>
+ * Also receives the direct uploads made through signed URLs, standing in for the bucket's signed PUT.
+ */
+@RestController
+@RequestMapping("/api/storage/files")
+@Profile("local-storage")
+public class StorageFileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileSystemStorageServiceImpl storageService;
+
+    @Autowired
+    public StorageFileController(LocalFileSystemStorageServiceImpl storageService) {
+        this.storageService = storageService;
+    }
+
+    /**
+     * Streams a stored object.
+     *
+     * @param objectPath The path of the object, everything after {@code /api/storage/files/}.
+     * @param request The current request, read for its {@code Range} header and container capabilities.
+     * @param response The response the file is written to.
+     * @throws IOException if the file cannot be read or the client disconnects.
+     */
+    @GetMapping("/{*objectPath}")
+    public void getFile(@PathVariable String objectPath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            file = storageService.locate(objectPath.startsWith("/") ? objectPath.substring(1) : objectPath);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multipart byte ranges are not needed by audio clients: anything but a single range gets the full file.
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = in.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Stores the request body as an object, if the URL was signed for it by
+     * {@link LocalFileSystemStorageServiceImpl#generateSignedUploadUrl}.
+     *
+     * @param objectPath The path of the object, everything after {@code /api/storage/files/}.
+     * @param expires The expiry of the signed URL, in epoch seconds.
+     * @param signature The signature of the URL.
+     * @param contentType The content type the URL was signed for, which the request must declare, or null.
+     * @param request The current request, whose body is the object content.
+     * @param response The response, 200 OK once the object is stored or 403 Forbidden if the URL is not valid.
+     * @throws IOException if the body cannot be read or the file cannot be written.
+     */
+    @PutMapping("/{*objectPath}")
+    public void putFile(@PathVariable String objectPath,
+                        @RequestParam("expires") long expires,
+                        @RequestParam("signature") String signature,
+                        @RequestParam(value = "contentType", required = false) String contentType,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = objectPath.startsWith("/") ? objectPath.substring(1) : objectPath;
+        if (!storageService.verifySignedUpload(path, contentType, expires, signature)
+                || (contentType != null && !Objects.equals(contentType, request.getContentType()))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        try (InputStream body = request.getInputStream()) {
+            storageService.uploadStream(body, request.getContentLengthLong(), request.getContentType(), path);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+}
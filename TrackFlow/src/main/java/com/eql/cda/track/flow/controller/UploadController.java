@@ -1,24 +1,43 @@
 package com.eql.cda.track.flow.controller;
 
 import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadFinalizeDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadRequestDto;
+import com.eql.cda.track.flow.dto.uploadJobDto.UploadJobViewDto;
+import com.eql.cda.track.flow.service.IngestQueueService;
+import com.eql.cda.track.flow.service.SignedUploadService;
+import com.eql.cda.track.flow.service.UploadJobService;
 import com.eql.cda.track.flow.service.UploadService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 /**
  * Handles file upload requests.
+ * New uploads are rejected with 429 Too Many Requests while the ingest backlog is full.
  */
 @RestController
 @RequestMapping("/api/uploads")
 public class UploadController {
 
     private final UploadService uploadService;
+    private final UploadJobService uploadJobService;
+    private final SignedUploadService signedUploadService;
+    private final IngestQueueService ingestQueueService;
 
     @Autowired
-    public UploadController(UploadService uploadService) {
+    public UploadController(UploadService uploadService, UploadJobService uploadJobService, SignedUploadService signedUploadService,
+                            IngestQueueService ingestQueueService) {
         this.uploadService = uploadService;
+        this.uploadJobService = uploadJobService;
+        this.signedUploadService = signedUploadService;
+        this.ingestQueueService = ingestQueueService;
     }
 
     /**
@@ -34,7 +53,70 @@ public class UploadController {
     public ResponseEntity<AudioUploadResponseDto> uploadAudio(
             @RequestParam("file") MultipartFile file,
             @RequestParam("compositionId") Long compositionId) throws Exception {
+        ingestQueueService.ensureCapacity();
         AudioUploadResponseDto response = uploadService.uploadAudioAndExtractMetadata(file, compositionId);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Accepts an audio file for asynchronous processing. The request returns as soon as the file has been
+     * received; the storage transfer and metadata extraction run on the upload worker pool.
+     *
+     * @param file The audio file sent as multipart/form-data.
+     * @param compositionId The context of the composition for storage path organization.
+     * @return A {@link ResponseEntity} with status 202 (Accepted), a {@code Location} header pointing
+     * to the job status resource, and the pending job in the body.
+     */
+    @PostMapping("/audio/jobs")
+    public ResponseEntity<UploadJobViewDto> submitAudioUploadJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("compositionId") Long compositionId) {
+        ingestQueueService.ensureCapacity();
+        UploadJobViewDto job = uploadJobService.submitUploadJob(file, compositionId);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/uploads/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Retrieves the progress of an asynchronous upload job and, once completed, its {@link AudioUploadResponseDto}.
+     *
+     * @param jobId The ID of the upload job.
+     * @return A {@link ResponseEntity} with status 200 OK and the job state, or 404 Not Found if the job does not exist.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<UploadJobViewDto> getUploadJob(@PathVariable String jobId) {
+        return uploadJobService.getUploadJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Issues a signed URL through which the client uploads an audio file directly to storage,
+     * followed by a call to {@link #finalizeSignedUpload(SignedUploadFinalizeDto)}.
+     *
+     * @param requestDto The composition and the name and type of the file to upload.
+     * @return A {@link ResponseEntity} with the signed URL, the HTTP method and headers to use, and the object path.
+     * @throws Exception if the URL cannot be signed.
+     */
+    @PostMapping("/signed")
+    public ResponseEntity<SignedUploadDto> createSignedUpload(@Valid @RequestBody SignedUploadRequestDto requestDto) throws Exception {
+        ingestQueueService.ensureCapacity();
+        return ResponseEntity.ok(signedUploadService.createSignedUpload(requestDto));
+    }
+
+    /**
+     * Finalizes a signed upload once the file has been sent to storage, and extracts its metadata.
+     *
+     * @param finalizeDto The composition and the object path returned when the URL was issued.
+     * @return A {@link ResponseEntity} containing the upload result, as for a regular upload.
+     * 404 Not Found if the object has not been uploaded, 400 Bad Request if the path or the file is rejected.
+     * @throws Exception if the storage cannot be read.
+     */
+    @PostMapping("/signed/finalize")
+    public ResponseEntity<AudioUploadResponseDto> finalizeSignedUpload(@Valid @RequestBody SignedUploadFinalizeDto finalizeDto) throws Exception {
+        return ResponseEntity.ok(signedUploadService.finalizeSignedUpload(finalizeDto));
+    }
+}
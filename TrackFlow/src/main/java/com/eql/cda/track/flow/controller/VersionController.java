@@ -1,17 +1,27 @@
 package com.eql.cda.track.flow.controller;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
+import com.eql.cda.track.flow.dto.versionDto.VersionDiffDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionSummaryDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionUpdateDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionViewDto;
 import com.eql.cda.track.flow.service.VersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,18 +60,23 @@ public class VersionController {
     }
 
     /**
-     * Retrieves all versions for a specific branch in a summary format.
+     * Retrieves a page of the versions of a specific branch, newest first, in a summary format.
      * @param projectId The project context ID.
      * @param compositionId The composition context ID.
      * @param branchId The ID of the branch.
-     * @return A {@link ResponseEntity} containing a list of version summaries.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of versions to return (1 to 100), 20 by default.
+     * @return A {@link ResponseEntity} containing a page of version summaries.
      */
     @GetMapping
-    public ResponseEntity<List<VersionSummaryDto>> getVersionsByBranch(
+    public ResponseEntity<CursorPageDto<VersionSummaryDto>> getVersionsByBranch(
             @PathVariable Long projectId,
             @PathVariable Long compositionId,
-            @PathVariable Long branchId) {
-        List<VersionSummaryDto> versions = versionService.getVersionsByBranch(projectId, compositionId, branchId);
+            @PathVariable Long branchId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int boundedSize = Math.max(1, Math.min(size, 100));
+        CursorPageDto<VersionSummaryDto> versions = versionService.getVersionsByBranch(projectId, compositionId, branchId, cursor, boundedSize);
         return ResponseEntity.ok(versions);
     }
 
@@ -106,6 +121,100 @@ public class VersionController {
         return ResponseEntity.ok(version);
     }
 
+    /**
+     * Retrieves the waveform peaks of a version's audio file, in the binary "TFPK" format
+     * (see {@link com.eql.cda.track.flow.service.audio.PeaksFile}). Byte ranges are supported,
+     * so a client can read the header first and then fetch a single zoom level.
+     * @param projectId The project context ID.
+     * @param compositionId The composition context ID.
+     * @param branchId The branch context ID.
+     * @param versionId The ID of the version.
+     * @return A {@link ResponseEntity} with the encoded peaks (200 OK, or 206 Partial Content for a range request),
+     *         or 404 Not Found if the audio format has no peaks or the ingest analysis has not computed them yet.
+     */
+    @GetMapping("/{versionId}/peaks")
+    public ResponseEntity<Resource> getVersionPeaks(
+            @PathVariable Long projectId,
+            @PathVariable Long compositionId,
+            @PathVariable Long branchId,
+            @PathVariable Long versionId) {
+        return versionService.getVersionPeaks(projectId, compositionId, branchId, versionId)
+                .map(peaks -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                        .<Resource>body(new ByteArrayResource(peaks)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the audio file of a version. Byte ranges are supported, so players can seek; the bytes are
+     * served from the local segment cache and only fetched from storage on a miss.
+     * @param projectId The project context ID.
+     * @param compositionId The composition context ID.
+     * @param branchId The branch context ID.
+     * @param versionId The ID of the version.
+     * @return A {@link ResponseEntity} with the audio (200 OK, or 206 Partial Content for a range request),
+     *         or 404 Not Found if the version has no stored audio file.
+     */
+    @GetMapping("/{versionId}/audio")
+    public ResponseEntity<Resource> getVersionAudio(
+            @PathVariable Long projectId,
+            @PathVariable Long compositionId,
+            @PathVariable Long branchId,
+            @PathVariable Long versionId) {
+        return versionService.getVersionAudio(projectId, compositionId, branchId, versionId)
+                .map(audio -> ResponseEntity.ok()
+                        .contentType(MediaTypeFactory.getMediaType(audio).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                        .body(audio))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves the versions of the composition whose audio is most similar to this version's audio.
+     * The comparison uses the fingerprints computed in the background after each upload; no audio is decoded.
+     * @param projectId The project context ID.
+     * @param compositionId The composition context ID.
+     * @param branchId The branch context ID.
+     * @param versionId The ID of the version.
+     * @param limit The maximum number of versions to return (1 to 50).
+     * @return A {@link ResponseEntity} containing the similar versions, most similar first.
+     */
+    @GetMapping("/{versionId}/similar")
+    public ResponseEntity<List<SimilarVersionDto>> getSimilarVersions(
+            @PathVariable Long projectId,
+            @PathVariable Long compositionId,
+            @PathVariable Long branchId,
+            @PathVariable Long versionId,
+            @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, 50));
+        return ResponseEntity.ok(versionService.getSimilarVersions(projectId, compositionId, branchId, versionId, boundedLimit));
+    }
+
+    /**
+     * Compares this version's waveform with the waveform of another version, by default its parent, and returns
+     * the time ranges that sound different, so a reviewer can jump straight to what changed.
+     * @param projectId The project context ID.
+     * @param compositionId The composition context ID.
+     * @param branchId The branch context ID.
+     * @param versionId The ID of the version.
+     * @param against The ID of the version to compare with; the parent version if omitted.
+     * @return A {@link ResponseEntity} containing the differing ranges,
+     *         or 404 Not Found if there is nothing to compare with or either version has no peaks, or none yet.
+     */
+    @GetMapping("/{versionId}/diff")
+    public ResponseEntity<VersionDiffDto> getVersionDiff(
+            @PathVariable Long projectId,
+            @PathVariable Long compositionId,
+            @PathVariable Long branchId,
+            @PathVariable Long versionId,
+            @RequestParam(required = false) Long against) {
+        return versionService.getVersionDiff(projectId, compositionId, branchId, versionId, against)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Partially updates an existing version.
      * @param projectId The project context ID.
@@ -0,0 +1,57 @@
+package com.eql.cda.track.flow.dto;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object holding one page of a list read with cursor pagination.
+ * <p>
+ * The next page is requested by sending back {@link #getNextCursor()} unchanged. The cursor is opaque to clients;
+ * no total is returned, as counting every row would cost more than reading the page.
+ *
+ * @param <T> The type of the items of the page.
+ */
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public CursorPageDto() {
+    }
+
+    /**
+     * Constructs a page.
+     *
+     * @param content The items of the page, in the order of the list.
+     * @param nextCursor The cursor of the next page, or {@code null} if this page is the last one.
+     */
+    public CursorPageDto(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,52 @@
+package com.eql.cda.track.flow.dto;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object carrying the loudness measurements of an audio file, computed once at ingest
+ * following ITU-R BS.1770. Values that could not be measured (e.g. for silence) are {@code null}.
+ */
+public class LoudnessDto {
+
+    private Double integratedLufs;
+    private Double truePeakDbtp;
+    private Long clippedSamples;
+    private List<Float> shortTermLufs;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public LoudnessDto() {
+    }
+
+    public Double getIntegratedLufs() {
+        return integratedLufs;
+    }
+    public void setIntegratedLufs(Double integratedLufs) {
+        this.integratedLufs = integratedLufs;
+    }
+
+    public Double getTruePeakDbtp() {
+        return truePeakDbtp;
+    }
+    public void setTruePeakDbtp(Double truePeakDbtp) {
+        this.truePeakDbtp = truePeakDbtp;
+    }
+
+    public Long getClippedSamples() {
+        return clippedSamples;
+    }
+    public void setClippedSamples(Long clippedSamples) {
+        this.clippedSamples = clippedSamples;
+    }
+
+    /**
+     * @return The short-term (3 s) loudness, one value per second of audio, floored at -70 LUFS.
+     */
+    public List<Float> getShortTermLufs() {
+        return shortTermLufs;
+    }
+    public void setShortTermLufs(List<Float> shortTermLufs) {
+        this.shortTermLufs = shortTermLufs;
+    }
+}
@@ -1,11 +1,15 @@
 package com.eql.cda.track.flow.dto.audioUploadDto;
 
+import com.eql.cda.track.flow.dto.LoudnessDto;
+
 // Renommez le champ pour plus de clarté
 public class AudioUploadResponseDto {
 
     private String fullUrl;
     private String bpm;
     private Integer durationSeconds;
+    private String contentHash;
+    private LoudnessDto loudness;
 
 
     public String getFullUrl() {
@@ -28,4 +32,18 @@ public class AudioUploadResponseDto {
     public void setDurationSeconds(Integer durationSeconds) {
         this.durationSeconds = durationSeconds;
     }
-}
\ No newline at end of file
+
+    public String getContentHash() {
+        return contentHash;
+    }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LoudnessDto getLoudness() {
+        return loudness;
+    }
+    public void setLoudness(LoudnessDto loudness) {
+        this.loudness = loudness;
+    }
+}
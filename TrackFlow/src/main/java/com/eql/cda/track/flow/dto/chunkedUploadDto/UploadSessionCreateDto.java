@@ -0,0 +1,69 @@
+package com.eql.cda.track.flow.dto.chunkedUploadDto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * A Data Transfer Object used to open a chunked upload session.
+ * The chunk size is optional; the server default is used when it is not provided.
+ */
+public class UploadSessionCreateDto {
+
+    @NotNull(message = "Composition ID is mandatory.")
+    @Positive(message = "Composition ID must be a positive number.")
+    private Long compositionId;
+
+    @NotBlank(message = "File name cannot be blank.")
+    private String fileName;
+
+    private String contentType;
+
+    @NotNull(message = "Total size is mandatory.")
+    @Positive(message = "Total size must be a positive number.")
+    private Long totalSize;
+
+    @Positive(message = "Chunk size must be positive if provided.")
+    private Integer chunkSize;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public UploadSessionCreateDto() {
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
@@ -0,0 +1,118 @@
+package com.eql.cda.track.flow.dto.chunkedUploadDto;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.entity.UploadSessionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A Data Transfer Object that reports the state of a chunked upload session.
+ * {@code missingChunks} lists the indexes the client still has to send before committing;
+ * the {@code result} is only present once the session has been committed.
+ */
+public class UploadSessionViewDto {
+
+    private String sessionId;
+    private Long compositionId;
+    private String fileName;
+    private UploadSessionStatus status;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private List<Integer> receivedChunks;
+    private List<Integer> missingChunks;
+    private AudioUploadResponseDto result;
+    private Instant createdDate;
+    private Instant expiresAt;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public UploadSessionViewDto() {
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public UploadSessionStatus getStatus() {
+        return status;
+    }
+    public void setStatus(UploadSessionStatus status) {
+        this.status = status;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks;
+    }
+    public void setReceivedChunks(List<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+    public void setMissingChunks(List<Integer> missingChunks) {
+        this.missingChunks = missingChunks;
+    }
+
+    public AudioUploadResponseDto getResult() {
+        return result;
+    }
+    public void setResult(AudioUploadResponseDto result) {
+        this.result = result;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.eql.cda.track.flow.dto.signedUploadDto;
+
+import java.time.Instant;
+
+/**
+ * A Data Transfer Object describing a signed upload: the client sends the file body with
+ * {@code httpMethod} to {@code uploadUrl}, with a {@code Content-Type} header equal to {@code contentType}
+ * when one is given, then finalizes the upload with the returned {@code objectPath}.
+ */
+public class SignedUploadDto {
+
+    private String uploadUrl;
+    private String httpMethod;
+    private String contentType;
+    private String objectPath;
+    private Instant expiresAt;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public SignedUploadDto() {
+    }
+
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+    public void setUploadUrl(String uploadUrl) {
+        this.uploadUrl = uploadUrl;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+    public void setHttpMethod(String httpMethod) {
+        this.httpMethod = httpMethod;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getObjectPath() {
+        return objectPath;
+    }
+    public void setObjectPath(String objectPath) {
+        this.objectPath = objectPath;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
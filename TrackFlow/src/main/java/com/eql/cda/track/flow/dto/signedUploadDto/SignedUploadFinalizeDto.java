@@ -0,0 +1,38 @@
+package com.eql.cda.track.flow.dto.signedUploadDto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * A Data Transfer Object used to finalize a signed upload once the client has sent the file to storage.
+ */
+public class SignedUploadFinalizeDto {
+
+    @NotNull(message = "Composition ID is mandatory.")
+    @Positive(message = "Composition ID must be a positive number.")
+    private Long compositionId;
+
+    @NotBlank(message = "Object path cannot be blank.")
+    private String objectPath;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public SignedUploadFinalizeDto() {
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getObjectPath() {
+        return objectPath;
+    }
+    public void setObjectPath(String objectPath) {
+        this.objectPath = objectPath;
+    }
+}
@@ -0,0 +1,48 @@
+package com.eql.cda.track.flow.dto.signedUploadDto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * A Data Transfer Object used to request a signed URL for uploading an audio file directly to storage.
+ * The destination path is chosen by the server; the file name is only used for its extension.
+ */
+public class SignedUploadRequestDto {
+
+    @NotNull(message = "Composition ID is mandatory.")
+    @Positive(message = "Composition ID must be a positive number.")
+    private Long compositionId;
+
+    @NotBlank(message = "File name cannot be blank.")
+    private String fileName;
+
+    private String contentType;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public SignedUploadRequestDto() {
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,108 @@
+package com.eql.cda.track.flow.dto.uploadJobDto;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.entity.UploadJobStatus;
+
+import java.time.Instant;
+
+/**
+ * A Data Transfer Object that reports the state of an asynchronous upload job.
+ * The {@code result} is only present once the job has completed successfully.
+ */
+public class UploadJobViewDto {
+
+    private String jobId;
+    private Long compositionId;
+    private String fileName;
+    private UploadJobStatus status;
+    private long totalBytes;
+    private long bytesProcessed;
+    private Integer progressPercent;
+    private AudioUploadResponseDto result;
+    private String errorMessage;
+    private Instant createdDate;
+    private Instant completedDate;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public UploadJobViewDto() {
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public UploadJobStatus getStatus() {
+        return status;
+    }
+    public void setStatus(UploadJobStatus status) {
+        this.status = status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+    public void setBytesProcessed(long bytesProcessed) {
+        this.bytesProcessed = bytesProcessed;
+    }
+
+    public Integer getProgressPercent() {
+        return progressPercent;
+    }
+    public void setProgressPercent(Integer progressPercent) {
+        this.progressPercent = progressPercent;
+    }
+
+    public AudioUploadResponseDto getResult() {
+        return result;
+    }
+    public void setResult(AudioUploadResponseDto result) {
+        this.result = result;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getCompletedDate() {
+        return completedDate;
+    }
+    public void setCompletedDate(Instant completedDate) {
+        this.completedDate = completedDate;
+    }
+}
@@ -0,0 +1,58 @@
+package com.eql.cda.track.flow.dto.versionDto;
+
+/**
+ * A Data Transfer Object for a time range where two versions sound different. The range is given in the
+ * timeline of both versions; material present in only one of them has an empty range in the other.
+ */
+public class DiffRangeDto {
+
+    private double startSeconds;
+    private double endSeconds;
+    private double otherStartSeconds;
+    private double otherEndSeconds;
+    private double meanDifferenceDb;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public DiffRangeDto() {
+    }
+
+    public double getStartSeconds() {
+        return startSeconds;
+    }
+    public void setStartSeconds(double startSeconds) {
+        this.startSeconds = startSeconds;
+    }
+
+    public double getEndSeconds() {
+        return endSeconds;
+    }
+    public void setEndSeconds(double endSeconds) {
+        this.endSeconds = endSeconds;
+    }
+
+    public double getOtherStartSeconds() {
+        return otherStartSeconds;
+    }
+    public void setOtherStartSeconds(double otherStartSeconds) {
+        this.otherStartSeconds = otherStartSeconds;
+    }
+
+    public double getOtherEndSeconds() {
+        return otherEndSeconds;
+    }
+    public void setOtherEndSeconds(double otherEndSeconds) {
+        this.otherEndSeconds = otherEndSeconds;
+    }
+
+    /**
+     * @return The average level difference over the range, in dB.
+     */
+    public double getMeanDifferenceDb() {
+        return meanDifferenceDb;
+    }
+    public void setMeanDifferenceDb(double meanDifferenceDb) {
+        this.meanDifferenceDb = meanDifferenceDb;
+    }
+}
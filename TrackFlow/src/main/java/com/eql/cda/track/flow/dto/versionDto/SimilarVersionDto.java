@@ -0,0 +1,79 @@
+package com.eql.cda.track.flow.dto.versionDto;
+
+import java.time.Instant;
+
+/**
+ * A Data Transfer Object describing a version whose audio sounds like the audio of another version
+ * of the same composition, as measured by comparing their acoustic fingerprints.
+ */
+public class SimilarVersionDto {
+
+    private Long id;
+    private String name;
+    private Long branchId;
+    private String branchName;
+    private Instant createdDate;
+    private double similarity;
+    private boolean duplicate;
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public SimilarVersionDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+    public void setBranchId(Long branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+    public void setBranchName(String branchName) {
+        this.branchName = branchName;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    /**
+     * @return The share of the two fingerprints that match at a consistent time offset, from 0 to 1.
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+
+    /**
+     * @return {@code true} if the two versions are most likely the same recording uploaded twice.
+     */
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+    public void setDuplicate(boolean duplicate) {
+        this.duplicate = duplicate;
+    }
+}
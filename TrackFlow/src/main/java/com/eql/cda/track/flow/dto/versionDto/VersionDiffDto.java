@@ -0,0 +1,65 @@
+package com.eql.cda.track.flow.dto.versionDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Data Transfer Object describing where the audio of a version differs from the audio of another version,
+ * usually its parent, as measured by comparing their waveform peaks.
+ */
+public class VersionDiffDto {
+
+    private Long versionId;
+    private Long otherVersionId;
+    private double offsetSeconds;
+    private double thresholdDb;
+    private List<DiffRangeDto> ranges = new ArrayList<>();
+
+    /**
+     * Default constructor required for framework instantiation.
+     */
+    public VersionDiffDto() {
+    }
+
+    public Long getVersionId() {
+        return versionId;
+    }
+    public void setVersionId(Long versionId) {
+        this.versionId = versionId;
+    }
+
+    public Long getOtherVersionId() {
+        return otherVersionId;
+    }
+    public void setOtherVersionId(Long otherVersionId) {
+        this.otherVersionId = otherVersionId;
+    }
+
+    /**
+     * @return How many seconds later the shared material plays in this version than in the other one;
+     *         negative when material was removed from the start.
+     */
+    public double getOffsetSeconds() {
+        return offsetSeconds;
+    }
+    public void setOffsetSeconds(double offsetSeconds) {
+        this.offsetSeconds = offsetSeconds;
+    }
+
+    /**
+     * @return The average level difference, in dB, above which a range is reported.
+     */
+    public double getThresholdDb() {
+        return thresholdDb;
+    }
+    public void setThresholdDb(double thresholdDb) {
+        this.thresholdDb = thresholdDb;
+    }
+
+    public List<DiffRangeDto> getRanges() {
+        return ranges;
+    }
+    public void setRanges(List<DiffRangeDto> ranges) {
+        this.ranges = ranges;
+    }
+}
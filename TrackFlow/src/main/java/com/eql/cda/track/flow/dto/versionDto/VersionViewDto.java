@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.dto.versionDto;
 
+import com.eql.cda.track.flow.dto.LoudnessDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationViewDto;
 import com.eql.cda.track.flow.entity.VersionInstrumentPreDefined;
 
@@ -18,6 +19,7 @@ public class VersionViewDto {
     private String name;
     private String author;
     private String audioFileUrl;
+    private String previewAudioFileUrl;
     private Integer durationSeconds;
     private String bpm;
     private String key;
@@ -28,6 +30,7 @@ public class VersionViewDto {
     private Long parentVersionId;
     private Set<VersionInstrumentPreDefined> instruments;
     private List<AnnotationViewDto> annotations;
+    private LoudnessDto loudness;
 
     /**
      * Default constructor required for framework instantiation.
@@ -63,6 +66,13 @@ public class VersionViewDto {
         this.audioFileUrl = audioFileUrl;
     }
 
+    public String getPreviewAudioFileUrl() {
+        return previewAudioFileUrl;
+    }
+    public void setPreviewAudioFileUrl(String previewAudioFileUrl) {
+        this.previewAudioFileUrl = previewAudioFileUrl;
+    }
+
     public Integer getDurationSeconds() {
         return durationSeconds;
     }
@@ -132,4 +142,11 @@ public class VersionViewDto {
     public void setAnnotations(List<AnnotationViewDto> annotations) {
         this.annotations = annotations;
     }
-}
\ No newline at end of file
+
+    public LoudnessDto getLoudness() {
+        return loudness;
+    }
+    public void setLoudness(LoudnessDto loudness) {
+        this.loudness = loudness;
+    }
+}
@@ -11,12 +11,14 @@ import java.time.Instant;
  * An annotation has content, a time position, a category, and a status.
  */
 @Entity
-@Table(name = "annotations")
+@Table(name = "annotations", indexes = @Index(name = "idx_annotations_version_created",
+        columnList = "version_id, creation_date, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class Annotation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "annotations_seq")
+    @SequenceGenerator(name = "annotations_seq", sequenceName = "annotations_seq", allocationSize = 50)
     private Long id;
 
     private String content;
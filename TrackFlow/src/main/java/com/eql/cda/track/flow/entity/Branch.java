@@ -8,10 +8,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -28,7 +30,8 @@ import java.util.Set;
  * It is always associated with a single parent {@link Composition}.
  */
 @Entity
-@Table(name = "branches")
+@Table(name = "branches", indexes = @Index(name = "idx_branches_composition_updated",
+        columnList = "composition_id, last_update_date, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class Branch {
     @Id
@@ -63,6 +66,7 @@ public class Branch {
     private Composition composition;
 
     @OneToMany(mappedBy = "branch", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @JsonManagedReference("branch-version")
     private Set<Version> versions = new HashSet<>();
 
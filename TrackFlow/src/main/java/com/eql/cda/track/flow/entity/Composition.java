@@ -1,6 +1,7 @@
 package com.eql.cda.track.flow.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,7 +19,8 @@ import java.util.Set;
  * A composition is the core creative unit, containing various branches and versions.
  */
 @Entity
-@Table(name = "compositions")
+@Table(name = "compositions", indexes = @Index(name = "idx_compositions_project_updated",
+        columnList = "project_id, last_update_date, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class Composition {
 
@@ -42,6 +44,7 @@ public class Composition {
     private Instant definitivSupressionDate;
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @CollectionTable(name = "composition_sub_genders", joinColumns = @JoinColumn(name = "composition_id"))
     @Column(name = "sub_gender")
     private List<String> subGenders = new ArrayList<>();
@@ -52,6 +55,7 @@ public class Composition {
     private Project project;
 
     @OneToMany(mappedBy = "composition", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonManagedReference("composition-branch")
     private Set<Branch> branches = new HashSet<>();;
 
@@ -0,0 +1,122 @@
+package com.eql.cda.track.flow.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * Represents a background processing stage still to be run on the audio of a version, such as the
+ * encoding of its preview. The table is an outbox: jobs are inserted in the transaction that creates the
+ * version, then claimed in batches by the ingest workers of any application node.
+ * <p>
+ * The next attempt date doubles as a lease: a claimed job is {@link IngestJobStatus#RUNNING} until then,
+ * and becomes claimable again if its worker disappears without reporting an outcome.
+ */
+@Entity
+@Table(name = "ingest_jobs",
+        indexes = @Index(name = "idx_ingest_jobs_due", columnList = "stage, status, next_attempt_at"))
+@EntityListeners(AuditingEntityListener.class)
+public class IngestJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long versionId;
+
+    @Column(length = 1024)
+    private String audioFileUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", nullable = false, length = 16)
+    private IngestStage stage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private IngestJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private Instant createdDate;
+
+    /**
+     * Default constructor required by the persistence framework (JPA).
+     */
+    public IngestJob() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersionId() {
+        return versionId;
+    }
+    public void setVersionId(Long versionId) {
+        this.versionId = versionId;
+    }
+
+    public String getAudioFileUrl() {
+        return audioFileUrl;
+    }
+    public void setAudioFileUrl(String audioFileUrl) {
+        this.audioFileUrl = audioFileUrl;
+    }
+
+    public IngestStage getStage() {
+        return stage;
+    }
+    public void setStage(IngestStage stage) {
+        this.stage = stage;
+    }
+
+    public IngestJobStatus getStatus() {
+        return status;
+    }
+    public void setStatus(IngestJobStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+}
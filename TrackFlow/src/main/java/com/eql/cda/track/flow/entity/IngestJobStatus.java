@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.entity;
+
+/**
+ * Defines the lifecycle status of an ingest job. Completed jobs are deleted, so they have no status.
+ */
+public enum IngestJobStatus {
+
+    PENDING("En attente"),
+    RUNNING("En cours"),
+    FAILED("Échoué");
+
+    private final String label;
+
+    IngestJobStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,22 @@
+package com.eql.cda.track.flow.entity;
+
+/**
+ * Defines the background processing stages run on the audio of each new version, and on the audio of
+ * demoted versions when they are played again.
+ */
+public enum IngestStage {
+
+    PREVIEW("Aperçu"),
+    ANALYSIS("Analyse"),
+    PROMOTION("Promotion");
+
+    private final String label;
+
+    IngestStage(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -2,6 +2,7 @@ package com.eql.cda.track.flow.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -11,7 +12,8 @@ import java.util.Set;
  * Represents a musical project in the system.
  */
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_user_archived_created",
+        columnList = "user_id, archived, created_date, id"))
 public class Project {
 
     @Id
@@ -44,6 +46,7 @@ public class Project {
     private User user;
 
     @ElementCollection(targetClass = ProjectMusicalGenderPreDefined.class, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @CollectionTable(name = "project_musical_gender_predefined", joinColumns = @JoinColumn(name = "project_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "gender")
@@ -65,6 +68,7 @@ public class Project {
     private ProjectCommercialStatus projectCommercialStatus;
 
     @ElementCollection(targetClass = ProjectPurpose.class, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @CollectionTable(name = "project_purpose", joinColumns = @JoinColumn(name = "project_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "purpose")
@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.entity;
+
+/**
+ * Defines the storage tiers of an audio object: the hot tier serves the working set, the cold tier is cheaper
+ * to keep but slower or more expensive to read.
+ */
+public enum StorageTier {
+
+    HOT("Chaud"),
+    COLD("Froid");
+
+    private final String label;
+
+    StorageTier(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,175 @@
+package com.eql.cda.track.flow.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * Represents an audio object in the storage bucket, shared by every {@link Version} that points to it.
+ * <p>
+ * The SHA-256 of the content identifies duplicates: a new upload with the same hash reuses the existing
+ * object instead of storing the bytes again. The reference count tracks how many versions use the object.
+ * An object nobody references is left to the storage garbage collector, which keeps it for a grace period
+ * after it was last handed to an upload, so that the version created from that upload can still take its
+ * reference. Objects registered before hashing was introduced, or assembled from chunks, have no hash and
+ * are only reference-counted.
+ * <p>
+ * The loudness measured at ingest is kept here too, with the short-term curve as comma-separated LUFS values.
+ * <p>
+ * Objects whose versions have not been played for a while are demoted to the {@link StorageTier#COLD} tier,
+ * and promoted back to {@link StorageTier#HOT} when one of them is played again.
+ */
+@Entity
+@Table(name = "stored_objects")
+@EntityListeners(AuditingEntityListener.class)
+public class StoredObject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, unique = true, length = 512)
+    private String objectPath;
+
+    private long sizeBytes;
+    private String contentType;
+
+    @Column(nullable = false)
+    private int referenceCount;
+
+    private String bpm;
+    private Integer durationSeconds;
+
+    private Double integratedLoudness;
+    private Double truePeak;
+    private Long clippedSamples;
+
+    @Column(columnDefinition = "TEXT")
+    private String shortTermLoudness;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StorageTier storageTier = StorageTier.HOT;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private Instant createdDate;
+
+    private Instant lastClaimedDate;
+
+    /**
+     * Default constructor required by the persistence framework (JPA).
+     */
+    public StoredObject() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getObjectPath() {
+        return objectPath;
+    }
+    public void setObjectPath(String objectPath) {
+        this.objectPath = objectPath;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public int getReferenceCount() {
+        return referenceCount;
+    }
+    public void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public String getBpm() {
+        return bpm;
+    }
+    public void setBpm(String bpm) {
+        this.bpm = bpm;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Double getIntegratedLoudness() {
+        return integratedLoudness;
+    }
+    public void setIntegratedLoudness(Double integratedLoudness) {
+        this.integratedLoudness = integratedLoudness;
+    }
+
+    public Double getTruePeak() {
+        return truePeak;
+    }
+    public void setTruePeak(Double truePeak) {
+        this.truePeak = truePeak;
+    }
+
+    public Long getClippedSamples() {
+        return clippedSamples;
+    }
+    public void setClippedSamples(Long clippedSamples) {
+        this.clippedSamples = clippedSamples;
+    }
+
+    public String getShortTermLoudness() {
+        return shortTermLoudness;
+    }
+    public void setShortTermLoudness(String shortTermLoudness) {
+        this.shortTermLoudness = shortTermLoudness;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastClaimedDate() {
+        return lastClaimedDate;
+    }
+    public void setLastClaimedDate(Instant lastClaimedDate) {
+        this.lastClaimedDate = lastClaimedDate;
+    }
+
+    public StorageTier getStorageTier() {
+        return storageTier;
+    }
+    public void setStorageTier(StorageTier storageTier) {
+        this.storageTier = storageTier;
+    }
+}
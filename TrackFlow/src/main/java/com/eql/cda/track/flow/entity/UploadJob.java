@@ -0,0 +1,157 @@
+package com.eql.cda.track.flow.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * Represents an audio upload processed in the background.
+ * The job is created when the file has been received, then updated by the upload worker
+ * as the file is transferred to storage and its metadata extracted.
+ * Its identifier is a random UUID so that job URLs cannot be guessed.
+ */
+@Entity
+@Table(name = "upload_jobs")
+@EntityListeners(AuditingEntityListener.class)
+public class UploadJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long compositionId;
+
+    private String originalFileName;
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadJobStatus status;
+
+    private long totalBytes;
+    private long bytesProcessed;
+
+    private String resultUrl;
+    private String resultBpm;
+    private Integer resultDurationSeconds;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private Instant createdDate;
+
+    @LastModifiedDate
+    private Instant lastUpdateDate;
+
+    private Instant completedDate;
+
+    /**
+     * Default constructor required by the persistence framework (JPA).
+     */
+    public UploadJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public UploadJobStatus getStatus() {
+        return status;
+    }
+    public void setStatus(UploadJobStatus status) {
+        this.status = status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+    public void setBytesProcessed(long bytesProcessed) {
+        this.bytesProcessed = bytesProcessed;
+    }
+
+    public String getResultUrl() {
+        return resultUrl;
+    }
+    public void setResultUrl(String resultUrl) {
+        this.resultUrl = resultUrl;
+    }
+
+    public String getResultBpm() {
+        return resultBpm;
+    }
+    public void setResultBpm(String resultBpm) {
+        this.resultBpm = resultBpm;
+    }
+
+    public Integer getResultDurationSeconds() {
+        return resultDurationSeconds;
+    }
+    public void setResultDurationSeconds(Integer resultDurationSeconds) {
+        this.resultDurationSeconds = resultDurationSeconds;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastUpdateDate() {
+        return lastUpdateDate;
+    }
+    public void setLastUpdateDate(Instant lastUpdateDate) {
+        this.lastUpdateDate = lastUpdateDate;
+    }
+
+    public Instant getCompletedDate() {
+        return completedDate;
+    }
+    public void setCompletedDate(Instant completedDate) {
+        this.completedDate = completedDate;
+    }
+}
@@ -0,0 +1,22 @@
+package com.eql.cda.track.flow.entity;
+
+/**
+ * Defines the lifecycle status of an asynchronous audio upload job.
+ */
+public enum UploadJobStatus {
+
+    PENDING("En attente"),
+    RUNNING("En cours"),
+    COMPLETED("Terminé"),
+    FAILED("Échoué");
+
+    private final String label;
+
+    UploadJobStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,163 @@
+package com.eql.cda.track.flow.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * Represents a chunked, resumable audio upload.
+ * The client declares the total size of the file when opening the session, then sends numbered chunks
+ * of {@code chunkSize} bytes (the last one may be shorter) in any order. Each received chunk is stored
+ * as a temporary object and recorded as an {@link UploadSessionChunk}; the session is committed once
+ * every chunk has been received.
+ * Its identifier is a random UUID so that session URLs cannot be guessed.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@EntityListeners(AuditingEntityListener.class)
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long compositionId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private long totalSize;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Column(nullable = false)
+    private int totalChunks;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadSessionStatus status;
+
+    private String resultUrl;
+    private String resultBpm;
+    private Integer resultDurationSeconds;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private Instant createdDate;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant committedDate;
+
+    /**
+     * Default constructor required by the persistence framework (JPA).
+     */
+    public UploadSession() {
+    }
+
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getCompositionId() {
+        return compositionId;
+    }
+    public void setCompositionId(Long compositionId) {
+        this.compositionId = compositionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public UploadSessionStatus getStatus() {
+        return status;
+    }
+    public void setStatus(UploadSessionStatus status) {
+        this.status = status;
+    }
+
+    public String getResultUrl() {
+        return resultUrl;
+    }
+    public void setResultUrl(String resultUrl) {
+        this.resultUrl = resultUrl;
+    }
+
+    public String getResultBpm() {
+        return resultBpm;
+    }
+    public void setResultBpm(String resultBpm) {
+        this.resultBpm = resultBpm;
+    }
+
+    public Integer getResultDurationSeconds() {
+        return resultDurationSeconds;
+    }
+    public void setResultDurationSeconds(Integer resultDurationSeconds) {
+        this.resultDurationSeconds = resultDurationSeconds;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getCommittedDate() {
+        return committedDate;
+    }
+    public void setCommittedDate(Instant committedDate) {
+        this.committedDate = committedDate;
+    }
+}
@@ -0,0 +1,71 @@
+package com.eql.cda.track.flow.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Records a chunk received for an {@link UploadSession}.
+ * The unique constraint on the session and the chunk index makes a retried PUT of the same chunk idempotent.
+ */
+@Entity
+@Table(name = "upload_session_chunks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "chunk_index"}))
+public class UploadSessionChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    private Instant receivedDate;
+
+    /**
+     * Default constructor required by the persistence framework (JPA).
+     */
+    public UploadSessionChunk() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+    public void setChunkIndex(int chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Instant getReceivedDate() {
+        return receivedDate;
+    }
+    public void setReceivedDate(Instant receivedDate) {
+        this.receivedDate = receivedDate;
+    }
+}
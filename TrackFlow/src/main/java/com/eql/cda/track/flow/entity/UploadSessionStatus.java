@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.entity;
+
+/**
+ * Defines the lifecycle status of a chunked (resumable) upload session.
+ */
+public enum UploadSessionStatus {
+
+    OPEN("Ouverte"),
+    COMMITTED("Validée"),
+    ABORTED("Annulée");
+
+    private final String label;
+
+    UploadSessionStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -1,6 +1,7 @@
 package com.eql.cda.track.flow.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,12 +14,14 @@ import java.util.*;
  * metadata, and associated annotations and instruments.
  */
 @Entity
-@Table(name = "versions")
+@Table(name = "versions", indexes = @Index(name = "idx_versions_branch_created",
+        columnList = "branch_id, created_date, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class Version {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "versions_seq")
+    @SequenceGenerator(name = "versions_seq", sequenceName = "versions_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -29,6 +32,9 @@ public class Version {
     private String key;
     private Integer durationSeconds;
     private String audioFileUrl;
+
+    @Column(length = 1024)
+    private String previewAudioFileUrl;
     private Long parentVersionId;
     private Long mergedSourceId;
 
@@ -38,8 +44,10 @@ public class Version {
 
     private Instant supressionDate;
     private Instant definitivSupressionDate;
+    private Instant lastAccessDate;
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @CollectionTable(name = "version_metadata", joinColumns = @JoinColumn(name = "version_id"))
     @MapKeyColumn(name = "metadata_key")
     @Column(name = "metadata_value")
@@ -50,9 +58,11 @@ public class Version {
     private Branch branch;
 
     @OneToMany(mappedBy = "version", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<VersionInstrument> instruments = new HashSet<>();
 
     @OneToMany(mappedBy = "version", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Annotation> annotations = new ArrayList<>();
 
     @OneToMany(mappedBy = "version", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -116,6 +126,14 @@ public class Version {
         this.audioFileUrl = audioFileUrl;
     }
 
+    public String getPreviewAudioFileUrl() {
+        return previewAudioFileUrl;
+    }
+
+    public void setPreviewAudioFileUrl(String previewAudioFileUrl) {
+        this.previewAudioFileUrl = previewAudioFileUrl;
+    }
+
     public Map<String, String> getMetadata() {
         return metadata;
     }
@@ -144,6 +162,13 @@ public class Version {
         this.definitivSupressionDate = definitivSupressionDate;
     }
 
+    public Instant getLastAccessDate() {
+        return lastAccessDate;
+    }
+    public void setLastAccessDate(Instant lastAccessDate) {
+        this.lastAccessDate = lastAccessDate;
+    }
+
     public Long getParentVersionId() {
         return parentVersionId;
     }
@@ -0,0 +1,12 @@
+package com.eql.cda.track.flow.event;
+
+/**
+ * Published when a version whose audio object sits in the cold tier is played, for the ingest queue that
+ * promotes the object back to the hot tier in the background. It is handled before the recording transaction
+ * commits, which inserts the promotion job into the outbox table in that same transaction.
+ *
+ * @param versionId The ID of the played version.
+ * @param audioFileUrl The URL of its audio file.
+ */
+public record ColdAudioAccessedEvent(Long versionId, String audioFileUrl) {
+}
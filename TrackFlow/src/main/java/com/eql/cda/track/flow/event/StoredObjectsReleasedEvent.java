@@ -0,0 +1,13 @@
+package com.eql.cda.track.flow.event;
+
+import java.util.List;
+
+/**
+ * Published when stored objects lose their last reference in a bulk deletion, for the background worker
+ * that deletes them from storage. Listeners should react after the deleting transaction commits, so a
+ * rolled-back deletion never loses audio.
+ *
+ * @param objectPaths The paths of the audio objects and of their sidecar files.
+ */
+public record StoredObjectsReleasedEvent(List<String> objectPaths) {
+}
@@ -0,0 +1,12 @@
+package com.eql.cda.track.flow.event;
+
+/**
+ * Published when a version is created, for the ingest stages that process its audio in the background.
+ * It is handled before the creating transaction commits, which inserts the ingest jobs of the version into
+ * the outbox table in that same transaction: the jobs exist if and only if the version does.
+ *
+ * @param versionId The ID of the new version.
+ * @param audioFileUrl The URL of its audio file.
+ */
+public record VersionCreatedEvent(Long versionId, String audioFileUrl) {
+}
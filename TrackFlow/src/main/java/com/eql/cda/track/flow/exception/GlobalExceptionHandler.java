@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -77,6 +78,110 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles the rejection of an upload job because the upload workers are saturated.
+     * The client is invited to retry later through the Retry-After header.
+     *
+     * @param ex The exception thrown when the upload queue is full.
+     * @return A ResponseEntity with a 503 Service Unavailable status and an error message.
+     */
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Map<String, String>> handleUploadCapacityExceeded(UploadCapacityExceededException ex) {
+        logger.warn("Upload rejected: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(response);
+    }
+
+    /**
+     * Handles the rejection of an upload because the ingest backlog is full.
+     * The client is invited to retry later through the Retry-After header.
+     *
+     * @param ex The exception thrown when the ingest workers are saturated.
+     * @return A ResponseEntity with a 429 Too Many Requests status and an error message.
+     */
+    @ExceptionHandler(IngestBacklogFullException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<Map<String, String>> handleIngestBacklogFull(IngestBacklogFullException ex) {
+        logger.warn("Upload rejected: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(response);
+    }
+
+    /**
+     * Handles requests for resources that do not exist.
+     *
+     * @param ex The exception thrown when a resource cannot be found.
+     * @return A ResponseEntity with a 404 Not Found status and an error message.
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<Map<String, String>> handleResourceNotFound(ResourceNotFoundException ex) {
+        logger.warn("Resource not found: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles operations that are not allowed in the current state of a chunked upload session.
+     *
+     * @param ex The exception thrown when the session state forbids the operation.
+     * @return A ResponseEntity with a 409 Conflict status and an error message.
+     */
+    @ExceptionHandler(UploadSessionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, String>> handleUploadSessionConflict(UploadSessionConflictException ex) {
+        logger.warn("Upload session conflict: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles signed uploads that cannot be finalized.
+     *
+     * @param ex The exception thrown when the object path or the uploaded object is rejected.
+     * @return A ResponseEntity with a 400 Bad Request status and an error message.
+     */
+    @ExceptionHandler(InvalidSignedUploadException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, String>> handleInvalidSignedUpload(InvalidSignedUploadException ex) {
+        logger.warn("Signed upload rejected: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles chunks that are out of range or do not have the size expected by their upload session.
+     *
+     * @param ex The exception thrown when a chunk is rejected.
+     * @return A ResponseEntity with a 400 Bad Request status and an error message.
+     */
+    @ExceptionHandler(InvalidUploadChunkException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, String>> handleInvalidUploadChunk(InvalidUploadChunkException ex) {
+        logger.warn("Upload chunk rejected: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles pagination cursors that cannot be decoded.
+     *
+     * @param ex The exception thrown when a cursor is rejected.
+     * @return A ResponseEntity with a 400 Bad Request status and an error message.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        logger.warn("Pagination cursor rejected: {}", ex.getMessage());
+        Map<String, String> response = Collections.singletonMap("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles unexpected, general exceptions as a last resort.
      * This catch-all handler must be placed after all specific handlers.
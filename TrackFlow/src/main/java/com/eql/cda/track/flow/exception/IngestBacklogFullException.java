@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when the ingest workers are too far behind to accept new uploads.
+ * This results in a HTTP 429 Too Many Requests response.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class IngestBacklogFullException extends RuntimeException {
+
+    /**
+     * Constructs a new IngestBacklogFullException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public IngestBacklogFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when a pagination cursor sent by a client cannot be decoded.
+ * This results in a HTTP 400 Bad Request response.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when a signed upload cannot be finalized because its object path was not issued
+ * for the given composition, or because the uploaded object is not a readable audio file.
+ * This results in a HTTP 400 Bad Request response.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSignedUploadException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidSignedUploadException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidSignedUploadException(String message) {
+        super(message);
+    }
+}
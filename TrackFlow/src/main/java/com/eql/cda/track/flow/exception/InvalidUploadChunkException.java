@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when a chunk sent to an upload session is out of range or does not have the expected size.
+ * This results in a HTTP 400 Bad Request response.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidUploadChunkException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidUploadChunkException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidUploadChunkException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when the upload worker pool and its queue are full and a new
+ * upload job cannot be accepted. This results in a HTTP 503 Service Unavailable response.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UploadCapacityExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new UploadCapacityExceededException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public UploadCapacityExceededException(String message) {
+        super(message);
+    }
+}
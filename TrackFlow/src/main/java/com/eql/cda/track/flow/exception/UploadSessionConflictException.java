@@ -0,0 +1,22 @@
+package com.eql.cda.track.flow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An exception thrown when an operation is not allowed in the current state of a chunked upload session,
+ * for example sending a chunk to a committed session or committing while chunks are still missing.
+ * This results in a HTTP 409 Conflict response.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadSessionConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new UploadSessionConflictException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public UploadSessionConflictException(String message) {
+        super(message);
+    }
+}
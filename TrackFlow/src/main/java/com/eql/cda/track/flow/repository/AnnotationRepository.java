@@ -1,9 +1,15 @@
 package com.eql.cda.track.flow.repository;
 
 import com.eql.cda.track.flow.entity.Annotation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,13 +20,30 @@ import java.util.List;
 public interface AnnotationRepository extends JpaRepository<Annotation, Long> {
 
     /**
-     * Finds all annotations associated with a specific version ID, ordered by their creation date in descending order.
-     * This ensures that the most recent annotations are returned first.
+     * Finds the first page of the annotations of a version, most recent first.
      *
      * @param versionId the ID of the {@link com.eql.cda.track.flow.entity.Version} to find annotations for.
-     * @return a list of {@link Annotation} entities, sorted by creation date descending.
+     * @param pageable the maximum number of annotations; its sort is ignored.
+     * @return a list of {@link Annotation} entities, sorted by creation date then ID, descending.
      */
-    List<Annotation> findAllByVersionIdOrderByCreationDateDesc(Long versionId);
+    @Query("SELECT a FROM Annotation a WHERE a.version.id = :versionId ORDER BY a.creationDate DESC, a.id DESC")
+    List<Annotation> findPageByVersionId(@Param("versionId") Long versionId, Pageable pageable);
+
+    /**
+     * Finds the annotations of a version that come after a given one, most recent first (seek pagination),
+     * from the {@code (version_id, creation_date, id)} index.
+     *
+     * @param versionId the ID of the {@link com.eql.cda.track.flow.entity.Version} to find annotations for.
+     * @param creationDate the creation date of the last annotation of the previous page.
+     * @param id the ID of the last annotation of the previous page.
+     * @param pageable the maximum number of annotations; its sort is ignored.
+     * @return a list of {@link Annotation} entities, sorted by creation date then ID, descending.
+     */
+    @Query("SELECT a FROM Annotation a WHERE a.version.id = :versionId " +
+            "AND (a.creationDate < :creationDate OR (a.creationDate = :creationDate AND a.id < :id)) " +
+            "ORDER BY a.creationDate DESC, a.id DESC")
+    List<Annotation> findPageByVersionIdBefore(@Param("versionId") Long versionId, @Param("creationDate") Instant creationDate,
+                                               @Param("id") Long id, Pageable pageable);
 
     /**
      * Finds all annotations for a given version ID that are not marked as resolved.
@@ -29,4 +52,14 @@ public interface AnnotationRepository extends JpaRepository<Annotation, Long> {
      * @return a list of unresolved {@link Annotation} entities.
      */
     List<Annotation> findByVersionIdAndIsResolvedFalse(Long versionId);
+
+    /**
+     * Marks a set of annotations as resolved in a single statement, without loading them.
+     *
+     * @param annotationIds the IDs of the annotations to resolve.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE Annotation a SET a.isResolved = true WHERE a.id IN :annotationIds")
+    int markResolved(@Param("annotationIds") Collection<Long> annotationIds);
 }
\ No newline at end of file
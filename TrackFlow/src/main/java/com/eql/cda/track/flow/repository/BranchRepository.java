@@ -1,10 +1,17 @@
 package com.eql.cda.track.flow.repository;
 
 import com.eql.cda.track.flow.entity.Branch;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository for the {@link Branch} entity.
@@ -15,13 +22,69 @@ import java.util.List;
 public interface BranchRepository extends JpaRepository<Branch, Long> {
 
     /**
-     * Finds all branches associated with a specific composition ID.
-     * The results are ordered by the last update date in descending order to show the most
-     * recently modified branches first. This is useful for displaying branches in a user interface.
+     * Reads the IDs of the composition and project of a branch, in one statement.
+     *
+     * @param branchId The ID of the branch.
+     * @return An {@link Optional} containing the path of the branch, or an empty Optional if the branch does not exist.
+     */
+    @Query("SELECT c.project.id AS projectId, c.id AS compositionId FROM Branch b JOIN b.composition c WHERE b.id = :branchId")
+    Optional<BranchPath> findPathById(@Param("branchId") Long branchId);
+
+    /**
+     * Finds the first page of the branches of a composition, the most recently modified first.
+     *
+     * @param compositionId The ID of the parent {@link com.eql.cda.track.flow.entity.Composition}.
+     * @param pageable The maximum number of branches; its sort is ignored.
+     * @return A {@link List} of {@link Branch} entities, ordered by their last update date then ID, descending.
+     */
+    @Query("SELECT b FROM Branch b WHERE b.composition.id = :compositionId ORDER BY b.lastUpdateDate DESC, b.id DESC")
+    List<Branch> findPageByCompositionId(@Param("compositionId") Long compositionId, Pageable pageable);
+
+    /**
+     * Finds the branches of a composition that come after a given one, the most recently modified first
+     * (seek pagination), from the {@code (composition_id, last_update_date, id)} index. A branch modified
+     * while the pages are read moves to the top of the list and is not read again.
      *
      * @param compositionId The ID of the parent {@link com.eql.cda.track.flow.entity.Composition}.
-     * @return A {@link List} of {@link Branch} entities, ordered by their last update date.
-     *         Returns an empty list if no branches are found for the given composition.
+     * @param lastUpdateDate The last update date of the last branch of the previous page.
+     * @param id The ID of the last branch of the previous page.
+     * @param pageable The maximum number of branches; its sort is ignored.
+     * @return A {@link List} of {@link Branch} entities, ordered by their last update date then ID, descending.
+     */
+    @Query("SELECT b FROM Branch b WHERE b.composition.id = :compositionId " +
+            "AND (b.lastUpdateDate < :lastUpdateDate OR (b.lastUpdateDate = :lastUpdateDate AND b.id < :id)) " +
+            "ORDER BY b.lastUpdateDate DESC, b.id DESC")
+    List<Branch> findPageByCompositionIdBefore(@Param("compositionId") Long compositionId,
+                                               @Param("lastUpdateDate") Instant lastUpdateDate,
+                                               @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Unlinks the branches of a set of compositions from their parent branches, so that they can be
+     * deleted in a single statement whatever order the database visits them in.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query(value = "UPDATE branches SET parent_branch_id = NULL " +
+            "WHERE composition_id IN (:compositionIds) AND parent_branch_id IS NOT NULL", nativeQuery = true)
+    int detachParentsOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * Deletes the branches of a set of compositions, once their versions are deleted and their parents detached.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM branches WHERE composition_id IN (:compositionIds)", nativeQuery = true)
+    int deleteAllOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * The IDs of the ancestors of a branch.
      */
-    List<Branch> findByCompositionIdOrderByLastUpdateDateDesc(Long compositionId);
+    interface BranchPath {
+        Long getProjectId();
+        Long getCompositionId();
+    }
 }
\ No newline at end of file
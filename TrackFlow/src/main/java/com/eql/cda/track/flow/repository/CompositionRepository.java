@@ -1,13 +1,15 @@
 package com.eql.cda.track.flow.repository;
 
 import com.eql.cda.track.flow.entity.Composition;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.eql.cda.track.flow.entity.CompositionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,32 +40,120 @@ public interface CompositionRepository extends JpaRepository<Composition, Long>
     Optional<Composition> findByIdWithProjectAndBranches(@Param("compositionId") Long compositionId);
 
     /**
-     * Finds all compositions for a given project ID, ordered by the last update date in descending order.
-     * This query is optimized with JOIN FETCH to load necessary data for summary views in a single operation.
+     * Finds the summaries of all compositions of a project, ordered by the last update date in descending order.
+     * The branches and versions are only counted, in the same grouped statement, never loaded.
      *
      * @param projectId The ID of the parent project.
-     * @return A {@link List} of {@link Composition} entities.
+     * @return A {@link List} of composition summaries.
      */
-    @Query("SELECT DISTINCT c FROM Composition c " +
-            "LEFT JOIN FETCH c.branches b " +
-            "LEFT JOIN FETCH b.versions " +
+    @Query("SELECT c.id AS id, c.title AS title, c.compositionStatus AS compositionStatus, c.lastUpdateDate AS lastUpdateDate, " +
+            "COUNT(DISTINCT b.id) AS totalBranches, COUNT(v.id) AS totalVersions " +
+            "FROM Composition c LEFT JOIN c.branches b LEFT JOIN b.versions v " +
             "WHERE c.project.id = :projectId " +
+            "GROUP BY c.id, c.title, c.compositionStatus, c.lastUpdateDate " +
             "ORDER BY c.lastUpdateDate DESC")
-    List<Composition> findByProjectIdOrderByLastUpdateDateDesc(@Param("projectId") Long projectId);
+    List<CompositionSummaryProjection> findSummariesByProjectId(@Param("projectId") Long projectId);
 
     /**
-     * Finds a paginated list of the most recent compositions belonging to any project of a specific user.
-     * This query is designed for dashboard-like features.
+     * Finds the IDs of the most recently updated compositions of a user, first phase of the dashboard listing.
+     * <p>
+     * The compositions of a user span several projects, so no single index orders them. Instead, a lateral
+     * subquery reads at most {@code limit} rows of each project from the {@code (project_id, last_update_date, id)}
+     * index, in order, and only those few rows per project are merged and sorted.
      *
      * @param userId The ID of the user whose compositions are to be retrieved.
-     * @param pageable The pagination information.
-     * @return A {@link Page} of {@link Composition} entities.
+     * @param limit The maximum number of IDs.
+     * @return The IDs, most recently updated first, ties broken by descending ID.
      */
-    @Query(value = "SELECT DISTINCT c FROM Composition c " +
-            "JOIN FETCH c.project p " +
-            "LEFT JOIN FETCH c.branches b " +
-            "LEFT JOIN FETCH b.versions " +
-            "WHERE p.user.id = :userId",
-            countQuery = "SELECT count(c) FROM Composition c JOIN c.project p WHERE p.user.id = :userId")
-    Page<Composition> findRecentCompositionsByUserId(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = "SELECT r.id FROM projects p CROSS JOIN LATERAL (" +
+            "SELECT c.id, c.last_update_date FROM compositions c WHERE c.project_id = p.id " +
+            "ORDER BY c.last_update_date DESC, c.id DESC LIMIT :limit) AS r " +
+            "WHERE p.user_id = :userId " +
+            "ORDER BY r.last_update_date DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentIdsByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Finds the IDs of the compositions of a user that come after a given one in the dashboard order
+     * (seek pagination): each page costs the same whatever its depth, unlike an offset. Each project is
+     * sought separately in the index, as in {@link #findRecentIdsByUserId(Long, int)}.
+     *
+     * @param userId The ID of the user whose compositions are to be retrieved.
+     * @param lastUpdateDate The last update date of the last composition of the previous page.
+     * @param id The ID of the last composition of the previous page.
+     * @param limit The maximum number of IDs.
+     * @return The IDs, most recently updated first, ties broken by descending ID.
+     */
+    @Query(value = "SELECT r.id FROM projects p CROSS JOIN LATERAL (" +
+            "SELECT c.id, c.last_update_date FROM compositions c WHERE c.project_id = p.id " +
+            "AND (c.last_update_date < :lastUpdateDate OR (c.last_update_date = :lastUpdateDate AND c.id < :id)) " +
+            "ORDER BY c.last_update_date DESC, c.id DESC LIMIT :limit) AS r " +
+            "WHERE p.user_id = :userId " +
+            "ORDER BY r.last_update_date DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentIdsByUserIdBefore(@Param("userId") Long userId, @Param("lastUpdateDate") Instant lastUpdateDate,
+                                           @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Finds the summaries of the given compositions, second phase of the dashboard listing.
+     * Branches and versions are only counted, in the same grouped statement.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The summaries, in no particular order.
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.compositionStatus AS compositionStatus, c.lastUpdateDate AS lastUpdateDate, " +
+            "COUNT(DISTINCT b.id) AS totalBranches, COUNT(v.id) AS totalVersions " +
+            "FROM Composition c LEFT JOIN c.branches b LEFT JOIN b.versions v " +
+            "WHERE c.id IN :compositionIds " +
+            "GROUP BY c.id, c.title, c.compositionStatus, c.lastUpdateDate")
+    List<CompositionSummaryProjection> findSummariesByIdIn(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * Reads the ID of the project of a composition, without loading the composition.
+     *
+     * @param compositionId The ID of the composition.
+     * @return An {@link Optional} containing the project ID, or an empty Optional if the composition does not exist.
+     */
+    @Query("SELECT c.project.id FROM Composition c WHERE c.id = :compositionId")
+    Optional<Long> findProjectIdById(@Param("compositionId") Long compositionId);
+
+    /**
+     * Reads the IDs of the compositions of a project.
+     *
+     * @param projectId The ID of the project.
+     * @return The IDs of its compositions.
+     */
+    @Query("SELECT c.id FROM Composition c WHERE c.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Deletes the sub-genres of a set of compositions.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM composition_sub_genders WHERE composition_id IN (:compositionIds)", nativeQuery = true)
+    int deleteSubGendersOf(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * Deletes a set of compositions, once their branches are deleted. Clears the persistence context,
+     * whose entities of the deleted hierarchy are stale afterwards.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The number of deleted rows.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM compositions WHERE id IN (:compositionIds)", nativeQuery = true)
+    int deleteAllByIdInBulk(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * The columns of a composition shown in listings, with the number of its branches and versions.
+     */
+    interface CompositionSummaryProjection {
+        Long getId();
+        String getTitle();
+        CompositionStatus getCompositionStatus();
+        Instant getLastUpdateDate();
+        long getTotalBranches();
+        long getTotalVersions();
+    }
+}
@@ -0,0 +1,116 @@
+package com.eql.cda.track.flow.repository;
+
+import com.eql.cda.track.flow.entity.IngestJob;
+import com.eql.cda.track.flow.entity.IngestJobStatus;
+import com.eql.cda.track.flow.entity.IngestStage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link IngestJob} entity.
+ */
+@Repository
+public interface IngestJobRepository extends JpaRepository<IngestJob, Long> {
+
+    /**
+     * Locks the jobs of a stage that are due, oldest first, skipping the rows already locked by another worker
+     * ({@code SELECT ... FOR UPDATE SKIP LOCKED}). Must be called within the transaction that claims them.
+     *
+     * @param stage The stage of the jobs.
+     * @param statuses The claimable statuses: pending jobs, and running jobs whose lease has expired.
+     * @param now The reference instant.
+     * @param pageable The maximum number of jobs to lock.
+     * @return The locked jobs.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM IngestJob j WHERE j.stage = :stage AND j.status IN :statuses AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<IngestJob> findDueForUpdate(@Param("stage") IngestStage stage,
+                                     @Param("statuses") Collection<IngestJobStatus> statuses,
+                                     @Param("now") Instant now,
+                                     Pageable pageable);
+
+    /**
+     * Counts the jobs in the given statuses, to measure the ingest backlog.
+     *
+     * @param statuses The statuses to count.
+     * @return The number of jobs.
+     */
+    long countByStatusIn(Collection<IngestJobStatus> statuses);
+
+    /**
+     * Schedules another attempt of a job after a failure. Called from the ingest worker threads.
+     *
+     * @param jobId The ID of the job.
+     * @param nextAttemptAt When the job becomes claimable again.
+     * @param lastError The error that made the attempt fail.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestJob j SET j.status = com.eql.cda.track.flow.entity.IngestJobStatus.PENDING, "
+            + "j.nextAttemptAt = :nextAttemptAt, j.lastError = :lastError WHERE j.id = :jobId")
+    int reschedule(@Param("jobId") Long jobId, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError);
+
+    /**
+     * Gives up on a job after its last attempt failed. Called from the ingest worker threads.
+     *
+     * @param jobId The ID of the job.
+     * @param lastError The error that made the last attempt fail.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestJob j SET j.status = com.eql.cda.track.flow.entity.IngestJobStatus.FAILED, "
+            + "j.lastError = :lastError WHERE j.id = :jobId")
+    int markFailed(@Param("jobId") Long jobId, @Param("lastError") String lastError);
+
+    /**
+     * Returns a claimed job to the queue without counting the attempt, when no worker could take it.
+     *
+     * @param jobId The ID of the job.
+     * @param now The instant from which the job is claimable again.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestJob j SET j.status = com.eql.cda.track.flow.entity.IngestJobStatus.PENDING, "
+            + "j.nextAttemptAt = :now, j.attempts = j.attempts - 1 WHERE j.id = :jobId")
+    int release(@Param("jobId") Long jobId, @Param("now") Instant now);
+
+    /**
+     * Deletes a job once its stage has completed.
+     *
+     * @param jobId The ID of the job.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IngestJob j WHERE j.id = :jobId")
+    int deleteCompleted(@Param("jobId") Long jobId);
+
+    /**
+     * Deletes the jobs of the versions of a set of compositions, before the versions are bulk deleted.
+     * A job already running finishes its stage on an object that may be gone, and is then deleted as completed or failed.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM IngestJob j WHERE j.versionId IN " +
+            "(SELECT v.id FROM Version v WHERE v.branch.composition.id IN :compositionIds)")
+    int deleteAllOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+}
@@ -4,10 +4,14 @@ import com.eql.cda.track.flow.entity.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,20 +36,46 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
 
     /**
-     * Finds a page of non-archived projects for a specific user, eagerly fetching associated collections.
-     * This query is optimized to prevent N+1 problems when mapping to DTOs.
-     * The DISTINCT keyword is crucial to avoid duplicate project rows due to the multiple JOIN FETCH clauses.
+     * Finds the IDs of the first page of the non-archived projects of a user, newest first.
+     * The collections are fetched afterwards by {@link #findAllWithDetailsByIdIn(Collection)}, as a limit
+     * cannot be applied in the database to a query fetching collections.
      *
      * @param userId The ID of the user.
-     * @param pageable Pagination and sorting information.
-     * @return A Page of non-archived projects with their details loaded.
+     * @param pageable The maximum number of IDs; its sort is ignored.
+     * @return The IDs, newest first, ties broken by descending ID.
      */
-    @Query(value = "SELECT DISTINCT p FROM Project p " +
+    @Query("SELECT p.id FROM Project p WHERE p.user.id = :userId AND p.archived = false " +
+            "ORDER BY p.createdDate DESC, p.id DESC")
+    List<Long> findActiveIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Finds the IDs of the non-archived projects of a user that come after a given one, newest first
+     * (seek pagination), from the {@code (user_id, archived, created_date, id)} index.
+     *
+     * @param userId The ID of the user.
+     * @param createdDate The creation date of the last project of the previous page.
+     * @param id The ID of the last project of the previous page.
+     * @param pageable The maximum number of IDs; its sort is ignored.
+     * @return The IDs, newest first, ties broken by descending ID.
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.user.id = :userId AND p.archived = false " +
+            "AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id)) " +
+            "ORDER BY p.createdDate DESC, p.id DESC")
+    List<Long> findActiveIdsByUserIdBefore(@Param("userId") Long userId, @Param("createdDate") Instant createdDate,
+                                           @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Finds the given projects, eagerly fetching their purposes and predefined genres.
+     * The DISTINCT keyword is crucial to avoid duplicate project rows due to the multiple JOIN FETCH clauses.
+     *
+     * @param projectIds The IDs of the projects.
+     * @return The projects with their details loaded, in no particular order.
+     */
+    @Query("SELECT DISTINCT p FROM Project p " +
             "LEFT JOIN FETCH p.projectPurposes " +
             "LEFT JOIN FETCH p.projectMusicalGendersPreDefined " +
-            "WHERE p.user.id = :userId AND p.archived = false",
-            countQuery = "SELECT count(p) FROM Project p WHERE p.user.id = :userId AND p.archived = false")
-    Page<Project> findByUserIdAndArchivedFalse(@Param("userId") Long userId, Pageable pageable);
+            "WHERE p.id IN :projectIds")
+    List<Project> findAllWithDetailsByIdIn(@Param("projectIds") Collection<Long> projectIds);
 
     /**
      * Finds a page of projects for a specific user, ordered by creation date descending,
@@ -61,4 +91,37 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             "WHERE p.user.id = :userId",
             countQuery = "SELECT count(p) FROM Project p WHERE p.user.id = :userId")
     Page<Project> findByUserIdOrderByCreatedDateDesc(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Reads the ID of the owner of a project, without loading the project.
+     *
+     * @param projectId The ID of the project.
+     * @return An Optional containing the owner's ID, or an empty Optional if the project does not exist.
+     */
+    @Query("SELECT p.user.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findOwnerIdById(@Param("projectId") Long projectId);
+
+    /*
+     * Set-based deletion of a project and of the rows referencing it, once its compositions are deleted.
+     */
+
+    @Modifying
+    @Query(value = "DELETE FROM project_musical_gender_predefined WHERE project_id = :projectId", nativeQuery = true)
+    int deletePredefinedGendersOf(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_purpose WHERE project_id = :projectId", nativeQuery = true)
+    int deletePurposesOf(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_musical_genders_added WHERE project_id = :projectId", nativeQuery = true)
+    int deleteAddedGendersOf(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_tags WHERE project_id = :projectId", nativeQuery = true)
+    int deleteTagsOf(@Param("projectId") Long projectId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM projects WHERE id = :projectId", nativeQuery = true)
+    int deleteByIdInBulk(@Param("projectId") Long projectId);
+}
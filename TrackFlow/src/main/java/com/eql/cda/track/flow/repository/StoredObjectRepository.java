@@ -0,0 +1,181 @@
+package com.eql.cda.track.flow.repository;
+
+import com.eql.cda.track.flow.entity.StorageTier;
+import com.eql.cda.track.flow.entity.StoredObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the {@link StoredObject} entity.
+ */
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, Long> {
+
+    /**
+     * Finds a stored object by the SHA-256 of its content.
+     *
+     * @param contentHash The lowercase hexadecimal SHA-256.
+     * @return An {@link Optional} containing the object, if any.
+     */
+    Optional<StoredObject> findByContentHash(String contentHash);
+
+    /**
+     * Finds a stored object by its path in the bucket.
+     *
+     * @param objectPath The path of the object.
+     * @return An {@link Optional} containing the object, if any.
+     */
+    Optional<StoredObject> findByObjectPath(String objectPath);
+
+    /**
+     * Atomically adds a reference to an object.
+     *
+     * @param objectPath The path of the object.
+     * @return The number of updated rows: 0 if the object is not registered.
+     */
+    @Modifying
+    @Query("UPDATE StoredObject o SET o.referenceCount = o.referenceCount + 1 WHERE o.objectPath = :objectPath")
+    int incrementReferences(@Param("objectPath") String objectPath);
+
+    /**
+     * Registers an object that predates reference counting with its current references, or, if a concurrent
+     * call registered it first, adds a reference to it. A single statement, so that the unique object path
+     * never fails the caller's transaction.
+     *
+     * @param objectPath The path of the object.
+     * @param referenceCount The number of versions using the object, counted by the caller.
+     * @param createdDate The registration instant.
+     * @return The number of affected rows.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_objects (object_path, size_bytes, reference_count, storage_tier, created_date) " +
+            "VALUES (:objectPath, 0, :referenceCount, 'HOT', :createdDate) " +
+            "ON DUPLICATE KEY UPDATE reference_count = reference_count + 1", nativeQuery = true)
+    int insertOrIncrementReferences(@Param("objectPath") String objectPath, @Param("referenceCount") int referenceCount,
+                                    @Param("createdDate") Instant createdDate);
+
+    /**
+     * Atomically removes a reference from an object, never going below zero.
+     *
+     * @param objectPath The path of the object.
+     * @return The number of updated rows: 0 if the object is not registered or has no references.
+     */
+    @Modifying
+    @Query("UPDATE StoredObject o SET o.referenceCount = o.referenceCount - 1 " +
+            "WHERE o.objectPath = :objectPath AND o.referenceCount > 0")
+    int decrementReferences(@Param("objectPath") String objectPath);
+
+    /**
+     * Atomically removes several references from an object, never going below zero.
+     *
+     * @param objectPath The path of the object.
+     * @param count The number of references to remove.
+     * @return The number of updated rows: 0 if the object is not registered.
+     */
+    @Modifying
+    @Query("UPDATE StoredObject o SET o.referenceCount = " +
+            "CASE WHEN o.referenceCount > :count THEN o.referenceCount - :count ELSE 0 END " +
+            "WHERE o.objectPath = :objectPath")
+    int decrementReferencesBy(@Param("objectPath") String objectPath, @Param("count") int count);
+
+    /**
+     * Reads the current reference count of an object with a scalar query, bypassing any entity
+     * already loaded in the persistence context.
+     *
+     * @param objectPath The path of the object.
+     * @return The reference count, or an empty Optional if the object is not registered.
+     */
+    @Query("SELECT o.referenceCount FROM StoredObject o WHERE o.objectPath = :objectPath")
+    Optional<Integer> findReferenceCount(@Param("objectPath") String objectPath);
+
+    /**
+     * Records that an object was just handed to an upload, which keeps it from the garbage collector
+     * until a version takes a reference on it.
+     *
+     * @param objectPath The path of the object.
+     * @param claimedDate The instant the object was handed out.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredObject o SET o.lastClaimedDate = :claimedDate WHERE o.objectPath = :objectPath")
+    int markClaimed(@Param("objectPath") String objectPath, @Param("claimedDate") Instant claimedDate);
+
+    /**
+     * Finds, among some objects, those handed to an upload since an instant.
+     *
+     * @param objectPaths The paths of the objects.
+     * @param since The instant after which a claim keeps an object.
+     * @return The paths of the recently claimed objects.
+     */
+    @Query("SELECT o.objectPath FROM StoredObject o WHERE o.objectPath IN :objectPaths AND o.lastClaimedDate > :since")
+    List<String> findObjectPathsClaimedSince(@Param("objectPaths") Collection<String> objectPaths,
+                                             @Param("since") Instant since);
+
+    /**
+     * Unregisters objects about to be deleted from storage, whatever their reference count: the caller has
+     * checked that no version uses them anymore.
+     *
+     * @param objectPaths The paths of the deleted objects.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredObject o WHERE o.objectPath IN :objectPaths")
+    int deleteByObjectPathIn(@Param("objectPaths") Collection<String> objectPaths);
+
+    /**
+     * Reads the storage tier of an object.
+     *
+     * @param objectPath The path of the object.
+     * @return The tier, or an empty Optional if the object is not registered.
+     */
+    @Query("SELECT o.storageTier FROM StoredObject o WHERE o.objectPath = :objectPath")
+    Optional<StorageTier> findStorageTier(@Param("objectPath") String objectPath);
+
+    /**
+     * Reads one page of the objects of a tier created before an instant, in ID order. Paging on the ID
+     * rather than on an offset keeps every page as cheap as the first one.
+     *
+     * @param storageTier The tier of the objects.
+     * @param createdBefore The instant before which the objects were created.
+     * @param afterId The last ID of the previous page, or 0 for the first page.
+     * @param pageable The maximum number of objects in the page.
+     * @return The IDs and paths of the objects.
+     */
+    @Query("SELECT o.id AS id, o.objectPath AS objectPath FROM StoredObject o " +
+            "WHERE o.storageTier = :storageTier AND o.createdDate < :createdBefore AND o.id > :afterId ORDER BY o.id")
+    List<ObjectPathReference> findInTierCreatedBefore(@Param("storageTier") StorageTier storageTier,
+                                                      @Param("createdBefore") Instant createdBefore,
+                                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Records the tier an object was moved to.
+     *
+     * @param objectPath The path of the object.
+     * @param storageTier Its new tier.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredObject o SET o.storageTier = :storageTier WHERE o.objectPath = :objectPath")
+    int updateStorageTier(@Param("objectPath") String objectPath, @Param("storageTier") StorageTier storageTier);
+
+    /**
+     * The path of a stored object, without the rest of the entity.
+     */
+    interface ObjectPathReference {
+        Long getId();
+        String getObjectPath();
+    }
+}
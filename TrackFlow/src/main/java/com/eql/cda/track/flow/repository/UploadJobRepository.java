@@ -0,0 +1,29 @@
+package com.eql.cda.track.flow.repository;
+
+import com.eql.cda.track.flow.entity.UploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link UploadJob} entity.
+ */
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, String> {
+
+    /**
+     * Records the transfer progress of a running job with a single UPDATE statement,
+     * without loading the entity. Called from the upload worker threads.
+     *
+     * @param jobId The ID of the job.
+     * @param bytesProcessed The cumulative number of bytes transferred to storage.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadJob j SET j.bytesProcessed = :bytesProcessed WHERE j.id = :jobId")
+    int updateProgress(@Param("jobId") String jobId, @Param("bytesProcessed") long bytesProcessed);
+}
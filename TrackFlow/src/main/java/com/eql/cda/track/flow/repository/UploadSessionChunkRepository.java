@@ -0,0 +1,46 @@
+package com.eql.cda.track.flow.repository;
+
+import com.eql.cda.track.flow.entity.UploadSessionChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link UploadSessionChunk} entity.
+ */
+@Repository
+public interface UploadSessionChunkRepository extends JpaRepository<UploadSessionChunk, Long> {
+
+    /**
+     * Retrieves the indexes of the chunks already received for a session, in ascending order.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return The sorted list of received chunk indexes.
+     */
+    @Query("SELECT c.chunkIndex FROM UploadSessionChunk c WHERE c.sessionId = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findReceivedChunkIndexes(@Param("sessionId") String sessionId);
+
+    /**
+     * Checks whether a chunk has already been received for a session.
+     *
+     * @param sessionId The ID of the upload session.
+     * @param chunkIndex The index of the chunk.
+     * @return {@code true} if the chunk has been recorded.
+     */
+    boolean existsBySessionIdAndChunkIndex(String sessionId, int chunkIndex);
+
+    /**
+     * Deletes every chunk record of a session with a single DELETE statement.
+     *
+     * @param sessionId The ID of the upload session.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadSessionChunk c WHERE c.sessionId = :sessionId")
+    void deleteBySessionId(@Param("sessionId") String sessionId);
+}
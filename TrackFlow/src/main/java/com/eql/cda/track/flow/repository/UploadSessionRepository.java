@@ -0,0 +1,45 @@
+package com.eql.cda.track.flow.repository;
+
+import com.eql.cda.track.flow.entity.UploadSession;
+import com.eql.cda.track.flow.entity.UploadSessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link UploadSession} entity.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * Finds the sessions in the given status whose expiration date has passed.
+     *
+     * @param status The status of the sessions to find.
+     * @param now The reference instant.
+     * @return The list of expired sessions.
+     */
+    List<UploadSession> findByStatusAndExpiresAtBefore(UploadSessionStatus status, Instant now);
+
+    /**
+     * Moves a session from one status to another only if it is still in the expected status.
+     * Used as a compare-and-set so that two concurrent commit or abort requests cannot both proceed.
+     *
+     * @param sessionId The ID of the upload session.
+     * @param expected The status the session must currently have.
+     * @param target The new status.
+     * @return The number of updated rows: 1 if the transition happened, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.status = :target WHERE s.id = :sessionId AND s.status = :expected")
+    int transitionStatus(@Param("sessionId") String sessionId,
+                         @Param("expected") UploadSessionStatus expected,
+                         @Param("target") UploadSessionStatus target);
+}
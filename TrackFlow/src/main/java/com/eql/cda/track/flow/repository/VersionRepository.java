@@ -1,11 +1,16 @@
 package com.eql.cda.track.flow.repository;
 
 import com.eql.cda.track.flow.entity.Version;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +20,41 @@ import java.util.Optional;
 @Repository
 public interface VersionRepository extends JpaRepository<Version, Long> {
 
-    List<Version> findByBranchIdOrderByCreatedDateDesc(Long branchId);
+    /**
+     * Reads the IDs of the branch, composition and project of a version, joined by primary key in one statement.
+     *
+     * @param versionId The ID of the version.
+     * @return An Optional containing the path of the version, or an empty Optional if the version does not exist.
+     */
+    @Query("SELECT c.project.id AS projectId, c.id AS compositionId, b.id AS branchId " +
+            "FROM Version v JOIN v.branch b JOIN b.composition c WHERE v.id = :versionId")
+    Optional<VersionPath> findPathById(@Param("versionId") Long versionId);
+
+    /**
+     * Finds the first page of the versions of a branch, newest first.
+     *
+     * @param branchId The ID of the branch.
+     * @param pageable The maximum number of versions; its sort is ignored.
+     * @return The versions, newest first, ties broken by descending ID.
+     */
+    @Query("SELECT v FROM Version v WHERE v.branch.id = :branchId ORDER BY v.createdDate DESC, v.id DESC")
+    List<Version> findPageByBranchId(@Param("branchId") Long branchId, Pageable pageable);
+
+    /**
+     * Finds the versions of a branch that come after a given one, newest first (seek pagination),
+     * from the {@code (branch_id, created_date, id)} index.
+     *
+     * @param branchId The ID of the branch.
+     * @param createdDate The creation date of the last version of the previous page.
+     * @param id The ID of the last version of the previous page.
+     * @param pageable The maximum number of versions; its sort is ignored.
+     * @return The versions, newest first, ties broken by descending ID.
+     */
+    @Query("SELECT v FROM Version v WHERE v.branch.id = :branchId " +
+            "AND (v.createdDate < :createdDate OR (v.createdDate = :createdDate AND v.id < :id)) " +
+            "ORDER BY v.createdDate DESC, v.id DESC")
+    List<Version> findPageByBranchIdBefore(@Param("branchId") Long branchId, @Param("createdDate") Instant createdDate,
+                                           @Param("id") Long id, Pageable pageable);
 
     @Query("SELECT v FROM Version v " +
             "LEFT JOIN FETCH v.instruments " +
@@ -30,4 +69,206 @@ public interface VersionRepository extends JpaRepository<Version, Long> {
      * @return An {@link Optional} containing the latest {@link Version}.
      */
     Optional<Version> findFirstByBranchIdOrderByCreatedDateDesc(Long branchId);
-}
\ No newline at end of file
+
+    /**
+     * Finds the versions of a composition that have an audio file, with their branch.
+     *
+     * @param compositionId The ID of the composition.
+     * @return The versions of every branch of the composition.
+     */
+    @Query("SELECT v FROM Version v JOIN FETCH v.branch b " +
+            "WHERE b.composition.id = :compositionId AND v.audioFileUrl IS NOT NULL")
+    List<Version> findWithAudioByCompositionId(@Param("compositionId") Long compositionId);
+
+    /**
+     * Finds versions by ID, with their branch.
+     *
+     * @param versionIds The IDs of the versions.
+     * @return The versions that still exist.
+     */
+    @Query("SELECT v FROM Version v JOIN FETCH v.branch WHERE v.id IN :versionIds")
+    List<Version> findAllWithBranchByIdIn(@Param("versionIds") Collection<Long> versionIds);
+
+    /**
+     * Reads the ID of the composition a version belongs to.
+     *
+     * @param versionId The ID of the version.
+     * @return The ID of its composition, or an empty Optional if the version does not exist.
+     */
+    @Query("SELECT v.branch.composition.id FROM Version v WHERE v.id = :versionId")
+    Optional<Long> findCompositionIdById(@Param("versionId") Long versionId);
+
+    /**
+     * Counts the versions pointing to a given audio file URL.
+     * Used for audio objects that predate reference counting.
+     *
+     * @param audioFileUrl The URL of the audio file.
+     * @return The number of versions using this URL.
+     */
+    long countByAudioFileUrl(String audioFileUrl);
+
+    /**
+     * Records the preview rendition of an audio file on every version using it.
+     * Runs in its own transaction, as it is called from the preview workers.
+     *
+     * @param audioFileUrl The URL of the original audio file.
+     * @param previewAudioFileUrl The URL of its preview rendition.
+     * @return The number of updated versions.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Version v SET v.previewAudioFileUrl = :previewAudioFileUrl WHERE v.audioFileUrl = :audioFileUrl")
+    int setPreviewAudioFileUrl(@Param("audioFileUrl") String audioFileUrl, @Param("previewAudioFileUrl") String previewAudioFileUrl);
+
+    /**
+     * Fills in the detected tempo and key of an audio file on every version using it, keeping the values
+     * already set from the file tags or by the user. Runs in its own transaction, as it is called from the
+     * analysis workers.
+     *
+     * @param audioFileUrl The URL of the audio file.
+     * @param bpm The detected tempo, or null if none was found.
+     * @param key The detected key, or null if none was found.
+     * @return The number of versions using this audio file.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Version v SET " +
+            "v.bpm = CASE WHEN v.bpm IS NULL OR v.bpm = '' THEN :bpm ELSE v.bpm END, " +
+            "v.key = CASE WHEN v.key IS NULL OR v.key = '' THEN :key ELSE v.key END " +
+            "WHERE v.audioFileUrl = :audioFileUrl")
+    int fillMissingTempoAndKey(@Param("audioFileUrl") String audioFileUrl, @Param("bpm") String bpm, @Param("key") String key);
+
+    /**
+     * Counts the versions that have an audio file, to size the set of live objects.
+     *
+     * @return The number of versions with an audio file URL.
+     */
+    long countByAudioFileUrlIsNotNull();
+
+    /**
+     * Reads one page of the audio file URLs of all versions, in ID order. Paging on the ID rather than
+     * on an offset keeps every page as cheap as the first one.
+     *
+     * @param afterId The last ID of the previous page, or 0 for the first page.
+     * @param pageable The maximum number of versions in the page.
+     * @return The IDs and audio file URLs of the versions.
+     */
+    @Query("SELECT v.id AS id, v.audioFileUrl AS audioFileUrl FROM Version v " +
+            "WHERE v.id > :afterId AND v.audioFileUrl IS NOT NULL ORDER BY v.id")
+    List<AudioFileReference> findAudioFileReferencesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds which of the given audio file URLs are used by at least one version.
+     *
+     * @param audioFileUrls The URLs to check.
+     * @return The URLs still in use.
+     */
+    @Query("SELECT DISTINCT v.audioFileUrl FROM Version v WHERE v.audioFileUrl IN :audioFileUrls")
+    List<String> findAudioFileUrlsIn(@Param("audioFileUrls") Collection<String> audioFileUrls);
+
+    /**
+     * Records that the audio of a version was played.
+     *
+     * @param versionId The ID of the version.
+     * @param accessDate The instant of the access.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE Version v SET v.lastAccessDate = :accessDate WHERE v.id = :versionId")
+    int updateLastAccessDate(@Param("versionId") Long versionId, @Param("accessDate") Instant accessDate);
+
+    /**
+     * Reads, per audio file URL, when a version using it was last played, or created if none was ever played.
+     *
+     * @param audioFileUrls The URLs to check.
+     * @return The URLs used by at least one version, with the latest activity of their versions.
+     */
+    @Query("SELECT v.audioFileUrl AS audioFileUrl, MAX(COALESCE(v.lastAccessDate, v.createdDate)) AS lastActivityDate " +
+            "FROM Version v WHERE v.audioFileUrl IN :audioFileUrls GROUP BY v.audioFileUrl")
+    List<AudioFileActivity> findAudioFileActivityIn(@Param("audioFileUrls") Collection<String> audioFileUrls);
+
+    /**
+     * Counts, per audio file URL, the versions of a set of compositions that use it. Read before the versions
+     * are bulk deleted, to release their references on the stored objects.
+     *
+     * @param compositionIds The IDs of the compositions.
+     * @return The distinct audio file URLs of their versions, with the number of versions using each.
+     */
+    @Query("SELECT v.audioFileUrl AS audioFileUrl, COUNT(v) AS versionCount FROM Version v " +
+            "WHERE v.branch.composition.id IN :compositionIds AND v.audioFileUrl IS NOT NULL " +
+            "GROUP BY v.audioFileUrl")
+    List<AudioFileUsage> findAudioFileUsagesOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /*
+     * Set-based deletion of the versions of a set of compositions and of every row referencing them, one statement
+     * per table, children first. They must run in the caller's transaction, before the branches are deleted.
+     */
+
+    @Modifying
+    @Query(value = "DELETE FROM version_metadata WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deleteMetadataOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM version_instruments WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deleteInstrumentsOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM instruments_chosen_user WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deleteInstrumentChoicesOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM accesses WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deleteAccessesOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM playlist_versions WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deletePlaylistEntriesOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM annotations WHERE version_id IN (" + VERSION_IDS_OF_COMPOSITIONS + ")", nativeQuery = true)
+    int deleteAnnotationsOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM versions WHERE branch_id IN " +
+            "(SELECT b.id FROM branches b WHERE b.composition_id IN (:compositionIds))", nativeQuery = true)
+    int deleteAllOfCompositions(@Param("compositionIds") Collection<Long> compositionIds);
+
+    /**
+     * Native subquery selecting the IDs of the versions of a set of compositions.
+     */
+    String VERSION_IDS_OF_COMPOSITIONS = "SELECT v.id FROM versions v JOIN branches b ON b.id = v.branch_id " +
+            "WHERE b.composition_id IN (:compositionIds)";
+
+    /**
+     * An audio file URL and the latest activity of the versions using it.
+     */
+    interface AudioFileActivity {
+        String getAudioFileUrl();
+        Instant getLastActivityDate();
+    }
+
+    /**
+     * An audio file URL and the number of versions using it.
+     */
+    interface AudioFileUsage {
+        String getAudioFileUrl();
+        long getVersionCount();
+    }
+
+    /**
+     * The audio file URL of a version, without the rest of the entity.
+     */
+    interface AudioFileReference {
+        Long getId();
+        String getAudioFileUrl();
+    }
+
+    /**
+     * The IDs of the ancestors of a version.
+     */
+    interface VersionPath {
+        Long getProjectId();
+        Long getCompositionId();
+        Long getBranchId();
+    }
+}
@@ -1,10 +1,10 @@
 package com.eql.cda.track.flow.service;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationCreateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationUpdateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationViewDto;
 
-import java.util.List;
 
 /**
  * Service interface for managing {@link com.eql.cda.track.flow.entity.Annotation} entities.
@@ -23,13 +23,16 @@ public interface AnnotationService {
     AnnotationViewDto createAnnotation(Long versionId, AnnotationCreateDto createDto);
 
     /**
-     * Retrieves a list of all annotations for a specific version.
+     * Retrieves a page of the annotations of a specific version, most recent first.
      *
      * @param versionId the ID of the parent version.
-     * @return a list of summary DTOs for the annotations, sorted by creation date.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of annotations in the page.
+     * @return a page of DTOs for the annotations, with the cursor of the next page.
      * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the version with the given ID does not exist.
+     * @throws com.eql.cda.track.flow.exception.InvalidCursorException if the cursor cannot be decoded.
      */
-    List<AnnotationViewDto> findAllAnnotationsByVersionId(Long versionId);
+    CursorPageDto<AnnotationViewDto> findAllAnnotationsByVersionId(Long versionId, String cursor, int size);
 
     /**
      * Updates an existing annotation.
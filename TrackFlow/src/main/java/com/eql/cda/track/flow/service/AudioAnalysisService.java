@@ -0,0 +1,27 @@
+package com.eql.cda.track.flow.service;
+
+import java.io.IOException;
+
+/**
+ * Service interface for the analyses run on the audio of new versions, filling in the musical
+ * properties that the file tags do not provide, such as the tempo and the key, and computing the
+ * acoustic fingerprint used to find similar versions. The same pass stores the waveform peaks and the loudness
+ * of audio files that were not decoded when they were uploaded.
+ * Analyses run in the background once a version has been created, from the {@link IngestQueueService ingest queue}.
+ */
+public interface AudioAnalysisService {
+
+    /**
+     * Analyses the audio of a version, unless its tempo, key, fingerprint, peaks and loudness are already known.
+     * The detected values are stored on every version using the same audio file, the fingerprint and the peaks
+     * next to that file, and the loudness with the stored object.
+     * Values already set are never overwritten.
+     *
+     * @param versionId The ID of the version.
+     * @return {@code true} if the audio was analysed, {@code false} if there was nothing to do or the format is
+     *         not supported.
+     * @throws IOException if the audio cannot be read or the fingerprint or the peaks cannot be stored; the ingest
+     *         queue retries the job.
+     */
+    boolean analyzeVersion(Long versionId) throws IOException;
+}
@@ -1,13 +1,12 @@
 package com.eql.cda.track.flow.service;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchCreateDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchSummaryDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchUpdateDto;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 
-import java.util.List;
-
 /**
  * Service interface for business logic related to branches.
  * Methods are responsible for handling the lifecycle of branches, ensuring that operations
@@ -28,15 +27,17 @@ public interface BranchService {
     BranchSummaryDto createBranch(Long projectId, Long compositionId, BranchCreateDto branchCreateDto);
 
     /**
-     * Retrieves a list of all branches for a specific composition.
+     * Retrieves a page of the branches of a specific composition, the most recently modified first.
      *
      * @param projectId The ID of the parent project, used for validation.
      * @param compositionId The ID of the composition whose branches are to be retrieved.
-     * @return A list of branch summary DTOs.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of branches in the page.
+     * @return A page of branch summary DTOs, with the cursor of the next page.
      * @throws EntityNotFoundException if the specified project or composition does not exist.
      * @throws AccessDeniedException if the composition does not belong to the project.
      */
-    List<BranchSummaryDto> getAllBranchesForComposition(Long projectId, Long compositionId);
+    CursorPageDto<BranchSummaryDto> getAllBranchesForComposition(Long projectId, Long compositionId, String cursor, int size);
 
 
     /**
@@ -0,0 +1,29 @@
+package com.eql.cda.track.flow.service;
+
+import java.util.Collection;
+
+/**
+ * Service interface for deleting whole compositions and projects with set-based statements.
+ * <p>
+ * Each level of the hierarchy (the rows referencing the versions, the versions, the branches, the compositions,
+ * then the project) is deleted with one statement per table, in a single transaction, instead of loading and
+ * removing every entity through the ORM cascades. Access checks are the caller's responsibility.
+ * The audio files no longer used by any version are deleted from storage in the background after the commit.
+ */
+public interface BulkDeletionService {
+
+    /**
+     * Deletes compositions with their branches, versions and everything attached to the versions.
+     * Joins the caller's transaction.
+     *
+     * @param compositionIds The IDs of the compositions.
+     */
+    void deleteCompositions(Collection<Long> compositionIds);
+
+    /**
+     * Deletes a project with all its compositions. Joins the caller's transaction.
+     *
+     * @param projectId The ID of the project.
+     */
+    void deleteProject(Long projectId);
+}
@@ -0,0 +1,70 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionCreateDto;
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionViewDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for chunked, resumable audio uploads.
+ * A client opens a session declaring the total size of the file, sends numbered chunks
+ * (in any order and in parallel), queries which chunks are still missing after a failure,
+ * and finally commits the session. On commit, the chunks are assembled in the storage
+ * provider and the metadata of the resulting audio file is extracted.
+ */
+public interface ChunkedUploadService {
+
+    /**
+     * Opens a new upload session.
+     *
+     * @param createDto The description of the file to upload.
+     * @return An {@link UploadSessionViewDto} describing the session, including the chunk size and count to use.
+     * @throws com.eql.cda.track.flow.exception.InvalidUploadChunkException if the requested chunk size is out of bounds.
+     */
+    UploadSessionViewDto openSession(UploadSessionCreateDto createDto);
+
+    /**
+     * Stores one chunk of an open session. Sending a chunk that has already been received is a no-op,
+     * so a client can safely retry a request whose response was lost.
+     *
+     * @param sessionId The ID of the upload session.
+     * @param chunkIndex The zero-based index of the chunk.
+     * @param body The raw bytes of the chunk.
+     * @param contentLength The declared length of the body, or -1 if unknown.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the session does not exist.
+     * @throws com.eql.cda.track.flow.exception.UploadSessionConflictException if the session is no longer open.
+     * @throws com.eql.cda.track.flow.exception.InvalidUploadChunkException if the index or the size of the chunk is invalid.
+     * @throws IOException if the chunk cannot be read or stored.
+     */
+    void uploadChunk(String sessionId, int chunkIndex, InputStream body, long contentLength) throws IOException;
+
+    /**
+     * Retrieves the state of a session, including the received and missing chunk indexes.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return An {@link UploadSessionViewDto} describing the session.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the session does not exist.
+     */
+    UploadSessionViewDto getSession(String sessionId);
+
+    /**
+     * Assembles the chunks of a complete session into the final audio file and extracts its metadata.
+     *
+     * @param sessionId The ID of the upload session.
+     * @return An {@link UploadSessionViewDto} carrying the upload result.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the session does not exist.
+     * @throws com.eql.cda.track.flow.exception.UploadSessionConflictException if the session is not open or chunks are missing.
+     * @throws Exception if the assembly or the metadata extraction fails.
+     */
+    UploadSessionViewDto commitSession(String sessionId) throws Exception;
+
+    /**
+     * Aborts an open session and deletes the chunks received so far.
+     *
+     * @param sessionId The ID of the upload session.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the session does not exist.
+     * @throws com.eql.cda.track.flow.exception.UploadSessionConflictException if the session has already been committed.
+     */
+    void abortSession(String sessionId);
+}
@@ -1,6 +1,7 @@
 package com.eql.cda.track.flow.service;
 
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionCreateDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionSummaryDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionUpdateDto;
@@ -9,8 +10,6 @@ import com.eql.cda.track.flow.dto.userDto.musicianDto.MusicianCreateDto;
 import com.eql.cda.track.flow.dto.userDto.musicianDto.MusicianUpdateDto;
 import com.eql.cda.track.flow.dto.userDto.musicianDto.MusicianViewDto;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.List;
@@ -35,13 +34,15 @@ public interface CompositionService {
     CompositionViewDto createComposition(Long projectId, CompositionCreateDto compositionCreateDto);
 
     /**
-     * Retrieves a paginated list of the most recently updated compositions for the currently authenticated user.
+     * Retrieves a page of the most recently updated compositions for the currently authenticated user.
      * The user's identity is resolved from the security context.
      *
-     * @param pageable Pagination and sorting information.
-     * @return A Page containing summary DTOs of recent compositions.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of compositions in the page.
+     * @return A page of summary DTOs of recent compositions, with the cursor of the next page.
+     * @throws com.eql.cda.track.flow.exception.InvalidCursorException if the cursor cannot be decoded.
      */
-    Page<CompositionSummaryDto> findRecentCompositionsForCurrentUser(Pageable pageable);
+    CursorPageDto<CompositionSummaryDto> findRecentCompositionsForCurrentUser(String cursor, int size);
 
     /**
      * Retrieves a list of all compositions (in summary format) for a specific project.
@@ -79,7 +80,8 @@ public interface CompositionService {
     CompositionViewDto updateComposition(Long projectId, Long compositionId, CompositionUpdateDto compositionUpdateDto);
 
     /**
-     * Deletes a composition.
+     * Deletes a composition with its branches and versions, using set-based statements. Audio files no longer
+     * used by any version are deleted from storage in the background once the deletion has committed.
      *
      * @param projectId The ID of the parent project, used for validation.
      * @param compositionId The ID of the composition to delete.
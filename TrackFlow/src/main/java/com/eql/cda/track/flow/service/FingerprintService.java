@@ -0,0 +1,76 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for the acoustic fingerprints stored next to each audio file, and for the search of
+ * similar versions within a composition. Fingerprints are computed by the background analysis of new
+ * versions; searches compare them through an in-memory index and never decode any audio.
+ */
+public interface FingerprintService {
+
+    /**
+     * Returns the storage path of the fingerprint sidecar of an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return The path of its fingerprint object.
+     */
+    String fingerprintPathFor(String audioObjectPath);
+
+    /**
+     * Checks whether the fingerprint of an audio object has already been stored.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return {@code true} if the fingerprint exists.
+     * @throws IOException if the storage cannot be queried.
+     */
+    boolean hasFingerprint(String audioObjectPath) throws IOException;
+
+    /**
+     * Stores the fingerprint of an audio object next to it.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @param fingerprint The fingerprint entries, as computed by the {@link com.eql.cda.track.flow.service.audio.AudioFingerprinter}.
+     * @throws IOException if the fingerprint cannot be written.
+     */
+    void storeFingerprint(String audioObjectPath, long[] fingerprint) throws IOException;
+
+    /**
+     * Reads the fingerprint of an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return The fingerprint entries, or an empty Optional if none has been stored.
+     * @throws IOException if the fingerprint exists but cannot be read.
+     */
+    Optional<long[]> loadFingerprint(String audioObjectPath) throws IOException;
+
+    /**
+     * Deletes the fingerprint sidecar of an audio object, if any.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     */
+    void deleteFingerprint(String audioObjectPath);
+
+    /**
+     * Finds the versions of a composition whose audio is most similar to the audio of one of its versions.
+     * The index of the composition is built from the stored fingerprints on the first search, then kept
+     * in memory until the versions of the composition change.
+     *
+     * @param compositionId The ID of the composition.
+     * @param versionId The ID of the version to compare with the others.
+     * @param limit The maximum number of versions to return.
+     * @return The similar versions, most similar first; empty if the version has no fingerprint yet.
+     */
+    List<SimilarVersionDto> findSimilarVersions(Long compositionId, Long versionId, int limit);
+
+    /**
+     * Discards the in-memory index of a composition, after one of its versions was added, fingerprinted or deleted.
+     *
+     * @param compositionId The ID of the composition.
+     */
+    void evictIndex(Long compositionId);
+}
@@ -0,0 +1,36 @@
+package com.eql.cda.track.flow.service;
+
+/**
+ * Service interface for the durable queue of background processing run on the audio of new versions,
+ * and on the audio of demoted versions that are played again.
+ * <p>
+ * Jobs are stored in the {@code ingest_jobs} outbox table in the same transaction as the version, so none is
+ * lost if the application stops. Every application node polls the table and claims due jobs in batches,
+ * without blocking the other nodes; failed jobs are retried with an exponential backoff. The size of the
+ * backlog is the back-pressure signal used to turn new uploads away while the workers catch up.
+ */
+public interface IngestQueueService {
+
+    /**
+     * Adds the jobs processing the audio of a new version to the queue. Joins the caller's transaction,
+     * so the jobs are only visible to the workers once the version has been committed.
+     *
+     * @param versionId The ID of the new version.
+     * @param audioFileUrl The URL of its audio file.
+     */
+    void enqueue(Long versionId, String audioFileUrl);
+
+    /**
+     * Claims the due jobs that the local workers have room for, and hands them over to the workers.
+     *
+     * @return The number of jobs claimed.
+     */
+    int pollJobs();
+
+    /**
+     * Rejects a new upload if the ingest backlog has reached its limit.
+     *
+     * @throws com.eql.cda.track.flow.exception.IngestBacklogFullException if the backlog is full.
+     */
+    void ensureCapacity();
+}
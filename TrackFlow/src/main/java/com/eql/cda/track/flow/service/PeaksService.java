@@ -0,0 +1,82 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.service.audio.PcmSampleConsumer;
+import com.eql.cda.track.flow.service.audio.PeaksFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Service interface for the waveform peaks stored next to each audio file.
+ * Peaks are computed once, when the audio is ingested, and stored as a sidecar object
+ * so that clients can draw a waveform without downloading and decoding the audio.
+ */
+public interface PeaksService {
+
+    /**
+     * Returns the storage path of the peaks sidecar of an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return The path of its peaks object.
+     */
+    String peaksPathFor(String audioObjectPath);
+
+    /**
+     * Computes the peaks of a local copy of an audio file and stores them next to the audio object.
+     * Failures are logged and never propagated: peaks are an optional enhancement of an upload.
+     *
+     * @param localAudioFile The local copy of the audio file.
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @param alongside Another analysis fed from the same decoding pass, or {@code null}.
+     * @return {@code true} if the peaks were stored, {@code false} if the format is not supported or an error occurred.
+     */
+    boolean generatePeaks(Path localAudioFile, String audioObjectPath, PcmSampleConsumer alongside);
+
+    /**
+     * Computes the peaks of an audio stream and stores them next to the audio object, so that a caller already
+     * reading the object, e.g. to hash it, decodes it on the same pass. The stream is not closed, and the decoder
+     * may stop before its end. Failures are logged and never propagated.
+     *
+     * @param audio The audio content.
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @param alongside Another analysis fed from the same decoding pass, or {@code null}.
+     * @return {@code true} if the peaks were stored, {@code false} if the format is not supported or an error occurred.
+     */
+    boolean generatePeaks(InputStream audio, String audioObjectPath, PcmSampleConsumer alongside);
+
+    /**
+     * Stores peaks computed elsewhere, e.g. by the ingest analysis, next to an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @param peaksFile The computed peaks.
+     * @throws IOException if the peaks cannot be stored.
+     */
+    void storePeaks(String audioObjectPath, PeaksFile peaksFile) throws IOException;
+
+    /**
+     * Checks whether the peaks of an audio object have been stored, without reading them.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return {@code true} if its peaks object exists.
+     * @throws IOException if the storage cannot be queried.
+     */
+    boolean hasPeaks(String audioObjectPath) throws IOException;
+
+    /**
+     * Reads the encoded peaks of an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return The encoded peaks, or an empty Optional if none have been stored.
+     * @throws IOException if the peaks object exists but cannot be read.
+     */
+    Optional<byte[]> loadPeaks(String audioObjectPath) throws IOException;
+
+    /**
+     * Deletes the peaks sidecar of an audio object, if any.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     */
+    void deletePeaks(String audioObjectPath);
+}
@@ -0,0 +1,37 @@
+package com.eql.cda.track.flow.service;
+
+import java.io.IOException;
+
+/**
+ * Service interface for the preview renditions of the audio files: compressed or decimated copies,
+ * stored next to the original, that clients stream for casual listening instead of the full master.
+ * Previews are encoded in the background once a version has been created, by the
+ * {@link IngestQueueService ingest queue}.
+ */
+public interface PreviewService {
+
+    /**
+     * Returns the storage path of the preview of an audio object.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     * @return The path of its preview object.
+     */
+    String previewPathFor(String audioObjectPath);
+
+    /**
+     * Encodes and stores the preview of an audio file, unless it already exists, then records its URL on
+     * every version using that file.
+     *
+     * @param audioFileUrl The URL of the original audio file.
+     * @return {@code true} if a preview is available, {@code false} if the format is not supported.
+     * @throws IOException if the original cannot be read or the preview cannot be stored; the ingest queue retries the job.
+     */
+    boolean generatePreview(String audioFileUrl) throws IOException;
+
+    /**
+     * Deletes the preview of an audio object, if any.
+     *
+     * @param audioObjectPath The path of the audio object in the storage bucket.
+     */
+    void deletePreview(String audioObjectPath);
+}
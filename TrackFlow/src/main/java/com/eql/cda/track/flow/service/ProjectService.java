@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.service;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectCreateDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectSummaryDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectUpdateDto;
@@ -38,14 +39,16 @@ public interface ProjectService {
     ProjectViewDto getProjectByIdAndUser(Long projectId, Long userId);
 
     /**
-     * Retrieves a paginated list of all projects visible to a specified user.
+     * Retrieves a page of the non-archived projects of a specified user, newest first.
      *
      * @param userId The ID of the user whose projects are being requested.
-     * @param pageable Pagination and sorting information.
-     * @return A Page containing project view DTOs.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of projects in the page.
+     * @return A page of project view DTOs, with the cursor of the next page.
      * @throws EntityNotFoundException if the user does not exist.
+     * @throws com.eql.cda.track.flow.exception.InvalidCursorException if the cursor cannot be decoded.
      */
-    Page<ProjectViewDto> getAllProjectsPaginated(Long userId, Pageable pageable);
+    CursorPageDto<ProjectViewDto> getAllProjectsPaginated(Long userId, String cursor, int size);
 
     /**
      * Retrieves a paginated list of recent projects for the currently authenticated user.
@@ -81,7 +84,8 @@ public interface ProjectService {
     void archiveProjectForUser(Long projectId, Long userId);
 
     /**
-     * Permanently deletes a project after verifying user permissions.
+     * Permanently deletes a project and its whole hierarchy after verifying user permissions, using set-based
+     * statements. Audio files no longer used by any version are deleted from storage in the background.
      *
      * @param projectId The ID of the project to delete.
      * @param userId The ID of the user making the request.
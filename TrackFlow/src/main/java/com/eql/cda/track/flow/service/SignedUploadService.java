@@ -0,0 +1,35 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadFinalizeDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadRequestDto;
+
+/**
+ * Service interface for uploads sent by the client directly to storage through a signed URL,
+ * so that the audio bytes never transit through the application.
+ */
+public interface SignedUploadService {
+
+    /**
+     * Chooses a destination for a new audio file and signs an upload URL for it.
+     *
+     * @param requestDto The composition and the name and type of the file to upload.
+     * @return The signed URL and the object path to finalize once the upload is done.
+     * @throws Exception if the URL cannot be signed.
+     */
+    SignedUploadDto createSignedUpload(SignedUploadRequestDto requestDto) throws Exception;
+
+    /**
+     * Finalizes a signed upload: checks that the object exists and extracts its metadata from its headers.
+     * Finalizing the same object again returns the same result.
+     *
+     * @param finalizeDto The composition and the object path returned by {@link #createSignedUpload(SignedUploadRequestDto)}.
+     * @return An {@link AudioUploadResponseDto} for the subsequent "create version" call.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if the object has not been uploaded.
+     * @throws com.eql.cda.track.flow.exception.InvalidSignedUploadException if the path was not issued for this
+     * composition, or the object is not a readable audio file.
+     * @throws Exception if the storage cannot be read.
+     */
+    AudioUploadResponseDto finalizeSignedUpload(SignedUploadFinalizeDto finalizeDto) throws Exception;
+}
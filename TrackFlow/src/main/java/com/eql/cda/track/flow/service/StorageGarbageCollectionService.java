@@ -0,0 +1,19 @@
+package com.eql.cda.track.flow.service;
+
+/**
+ * Service interface for the background reconciliation of the storage bucket with the database.
+ * Deleting a version, composition or project may leave its audio in storage, either because the deletion
+ * failed or because the rows were removed by a cascade; the collector finds these objects and deletes them.
+ */
+public interface StorageGarbageCollectionService {
+
+    /**
+     * Deletes the stored objects that no version uses any more: audio files with their peaks, previews and
+     * fingerprints, and the leftover parts of interrupted composite uploads. Objects younger than the grace
+     * period, or handed to a deduplicated upload within it, are kept, since an upload may not have been turned
+     * into a version yet.
+     *
+     * @return The number of objects deleted.
+     */
+    int collectGarbage();
+}
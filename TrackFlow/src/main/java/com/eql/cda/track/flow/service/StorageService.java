@@ -1,8 +1,15 @@
 package com.eql.cda.track.flow.service;
 
+import com.eql.cda.track.flow.entity.StorageTier;
+import com.eql.cda.track.flow.service.storage.ObjectListing;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 
 public interface StorageService {
 
@@ -14,9 +21,98 @@ public interface StorageService {
      * @throws IOException If an error occurs during upload.
      */
     String uploadFile(MultipartFile file, String destinationFileName) throws IOException;
+
+    /**
+     * Uploads the content of a stream to the configured storage, reading it exactly once until end of stream.
+     * The stream is not closed by this method.
+     * @param inputStream The source of the bytes to store.
+     * @param contentLength The number of bytes expected from the stream, or -1 if unknown.
+     * @param contentType The MIME type of the content, may be null.
+     * @param destinationFileName The desired name for the file in the storage bucket.
+     * @return The public URL or identifier of the uploaded file.
+     * @throws IOException If reading the stream or writing to the storage fails.
+     */
+    String uploadStream(InputStream inputStream, long contentLength, String contentType, String destinationFileName) throws IOException;
+
+    /**
+     * Concatenates several stored objects, in the given order, into a new object.
+     * The source objects are left untouched.
+     * @param sourcePaths The paths of the objects to concatenate, in order.
+     * @param contentType The MIME type of the resulting object, may be null.
+     * @param destinationFileName The path of the object to create.
+     * @return The public URL of the composed object.
+     * @throws IOException If the composition fails.
+     */
+    String composeObjects(List<String> sourcePaths, String contentType, String destinationFileName) throws IOException;
+
+    /**
+     * Opens a read-only channel on a stored object. Repositioning the channel only fetches the
+     * requested ranges, so small parts of large objects can be read cheaply.
+     * @param objectPath The path of the object in the storage bucket.
+     * @return A channel that must be closed by the caller.
+     * @throws IOException If the object does not exist or cannot be read.
+     */
+    SeekableByteChannel openReadChannel(String objectPath) throws IOException;
+
+    /**
+     * Returns the size of a stored object.
+     * @param objectPath The path of the object in the storage bucket.
+     * @return The size of the object, in bytes.
+     * @throws java.io.FileNotFoundException If the object does not exist.
+     * @throws IOException If the object metadata cannot be read.
+     */
+    long getObjectSize(String objectPath) throws IOException;
+
+    /**
+     * Lists the objects whose path starts with a prefix, one page at a time, in lexicographic order.
+     * Only one page is held in memory, so a whole bucket can be walked with bounded memory.
+     * @param prefix The path prefix, e.g. {@code compositions/}.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of objects in the page.
+     * @return The page, with the token of the next one.
+     * @throws IOException If the listing fails.
+     */
+    ObjectListing listObjects(String prefix, String pageToken, int pageSize) throws IOException;
+
+    /**
+     * Moves an object to another storage tier. The object keeps its path and stays readable whatever its tier;
+     * cold objects are only slower or more expensive to read. Moving an object to its current tier does nothing.
+     * @param objectPath The path of the object.
+     * @param tier The target tier.
+     * @throws java.io.FileNotFoundException If the object does not exist.
+     * @throws IOException If the move fails.
+     */
+    void changeStorageTier(String objectPath, StorageTier tier) throws IOException;
+
+    /**
+     * Creates a time-limited URL through which a client can upload an object with a single HTTP PUT,
+     * without the bytes transiting through the application.
+     * @param objectPath The path of the object to create.
+     * @param contentType The MIME type the client must send in its {@code Content-Type} header, or null for none.
+     * @param validity How long the URL can be used.
+     * @return The signed URL.
+     * @throws IOException If the URL cannot be signed, e.g. because the credentials hold no private key.
+     */
+    String generateSignedUploadUrl(String objectPath, String contentType, Duration validity) throws IOException;
+
+    /**
+     * Builds the public URL under which an object of this storage is exposed.
+     * This is the inverse of {@link #extractObjectPathFromUrl(String)}.
+     * @param objectPath The path of the object in the storage bucket.
+     * @return The public URL of the object.
+     */
+    String getPublicUrl(String objectPath);
+
     String extractObjectPathFromUrl(String fileUrl) throws java.net.URISyntaxException;
     String generateUniqueFileName(String originalFileName);
     boolean deleteFile(String objectPath);
 
+    /**
+     * Deletes many objects with as few storage requests as possible. Objects already absent count as deleted.
+     * @param objectPaths The paths of the objects to delete.
+     * @return The paths of the objects that could not be deleted.
+     */
+    List<String> deleteFiles(Collection<String> objectPaths);
+
 }
 
@@ -0,0 +1,39 @@
+package com.eql.cda.track.flow.service;
+
+import java.io.IOException;
+
+/**
+ * Service interface for the tiering of the stored audio objects.
+ * <p>
+ * Each play of a version records its last access. A scheduled job demotes to the cold tier the objects whose
+ * versions have all been idle for a configured number of days, and the next play of one of them queues the
+ * promotion of its object back to the hot tier. Tiers are implemented by the {@link StorageService}.
+ */
+public interface StorageTieringService {
+
+    /**
+     * Records that the audio of a version is being played, and queues the promotion of its object back to the
+     * hot tier if it was demoted; the cold object is read meanwhile. Repeated calls for the same version within
+     * a short interval are ignored, so it can be called on every range request. Runs in its own short
+     * transaction, so it can be called from read-only ones.
+     *
+     * @param versionId The ID of the version.
+     * @param objectPath The path of its audio object.
+     */
+    void recordAccess(Long versionId, String objectPath);
+
+    /**
+     * Moves the object behind an audio URL back to the hot tier, if it is still cold. Run by the ingest workers.
+     *
+     * @param audioFileUrl The audio URL of a played version.
+     * @throws IOException if the move fails; the object stays readable in the cold tier.
+     */
+    void promote(String audioFileUrl) throws IOException;
+
+    /**
+     * Moves to the cold tier the objects whose versions have not been played recently.
+     *
+     * @return The number of objects demoted.
+     */
+    int demoteIdleObjects();
+}
@@ -0,0 +1,92 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.dto.LoudnessDto;
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service interface for the deduplicated, reference-counted audio objects.
+ * Uploads register the objects they create, and versions acquire a reference on the object
+ * their audio URL points to. Objects without references are deleted by the storage garbage collector.
+ */
+public interface StoredObjectService {
+
+    /**
+     * Looks for an already stored object with the same content. A match is marked as claimed, so the
+     * garbage collector keeps it until the version created from the upload takes its reference.
+     *
+     * @param contentHash The SHA-256 of the content, in hexadecimal, computed from the bytes actually received.
+     * @param sizeBytes The size of the content, checked against the stored object.
+     * @return The upload result of the existing object (URL and cached metadata), or an empty Optional.
+     */
+    Optional<AudioUploadResponseDto> findDuplicate(String contentHash, long sizeBytes);
+
+    /**
+     * Looks up an object that is already registered, e.g. when an upload is finalized again. A match is
+     * marked as claimed, like a duplicate.
+     *
+     * @param objectPath The path of the object in the bucket.
+     * @return The upload result of the object, or an empty Optional if it is not registered.
+     */
+    Optional<AudioUploadResponseDto> findRegistered(String objectPath);
+
+    /**
+     * Registers a newly uploaded object. If another upload of the same content was registered concurrently,
+     * the new object is deleted from storage and the existing one is returned instead. Registering an object
+     * path that is already registered returns its existing record.
+     *
+     * @param contentHash The SHA-256 of the content, or {@code null} if it is unknown.
+     * @param objectPath The path of the new object in the bucket.
+     * @param sizeBytes The size of the object.
+     * @param contentType The MIME type of the object.
+     * @param metadata The upload result of the new object, whose metadata and loudness are cached with it.
+     * @return The upload result to return to the client.
+     */
+    AudioUploadResponseDto register(String contentHash, String objectPath, long sizeBytes, String contentType,
+                                    AudioUploadResponseDto metadata);
+
+    /**
+     * Adds a reference to the object behind an audio URL. Must be called after the referencing version is saved.
+     *
+     * @param audioFileUrl The audio URL of the version.
+     */
+    void acquire(String audioFileUrl);
+
+    /**
+     * Removes a reference to the object behind an audio URL. An object no version uses anymore is not deleted
+     * here, since an upload may just have been deduplicated against it; the garbage collector deletes it with
+     * its sidecar files once its grace period is over. Must be called before the referencing version is deleted.
+     *
+     * @param audioFileUrl The audio URL of the version.
+     */
+    void release(String audioFileUrl);
+
+    /**
+     * Removes the references of versions deleted in bulk. Objects that no version uses anymore are unregistered
+     * at once, and deleted from storage with their sidecar files in the background after the transaction commits,
+     * except those recently handed to an upload, which are left to the garbage collector.
+     * Must be called after the versions are deleted, in the same transaction.
+     *
+     * @param versionCountByUrl The audio URLs of the deleted versions, with the number of deleted versions using each.
+     */
+    void releaseAll(Map<String, Long> versionCountByUrl);
+
+    /**
+     * Returns the loudness measured at ingest for the object behind an audio URL.
+     *
+     * @param audioFileUrl The audio URL of a version.
+     * @return The loudness, or an empty Optional if the object is unknown or was never measured.
+     */
+    Optional<LoudnessDto> findLoudness(String audioFileUrl);
+
+    /**
+     * Stores the loudness of an object measured after its registration, by the ingest analysis of an object that
+     * was not decoded when it was uploaded. Runs in its own transaction.
+     *
+     * @param objectPath The path of the object in the bucket.
+     * @param loudness The measured loudness.
+     */
+    void recordLoudness(String objectPath, LoudnessDto loudness);
+}
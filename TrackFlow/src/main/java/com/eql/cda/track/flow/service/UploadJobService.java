@@ -0,0 +1,34 @@
+package com.eql.cda.track.flow.service;
+
+import com.eql.cda.track.flow.dto.uploadJobDto.UploadJobViewDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+/**
+ * Service interface for asynchronous audio uploads.
+ * A job is accepted immediately and processed by a bounded pool of upload workers,
+ * so that request threads are not held for the duration of the storage transfer.
+ */
+public interface UploadJobService {
+
+    /**
+     * Accepts an audio file for background processing. The file is spooled to local disk,
+     * an upload job is persisted, and the storage transfer and metadata extraction are
+     * scheduled on the upload worker pool.
+     *
+     * @param file The audio file to upload, received from a multipart request.
+     * @param compositionId The ID of the composition to which this audio belongs.
+     * @return An {@link UploadJobViewDto} describing the newly created, pending job.
+     * @throws com.eql.cda.track.flow.exception.UploadCapacityExceededException if the upload workers cannot accept more jobs.
+     */
+    UploadJobViewDto submitUploadJob(MultipartFile file, Long compositionId);
+
+    /**
+     * Retrieves the current state of an upload job.
+     *
+     * @param jobId The ID of the job.
+     * @return An {@link Optional} containing the job state, or an empty Optional if no such job exists.
+     */
+    Optional<UploadJobViewDto> getUploadJob(String jobId);
+}
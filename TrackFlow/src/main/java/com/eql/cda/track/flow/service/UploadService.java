@@ -1,8 +1,11 @@
 package com.eql.cda.track.flow.service;
 
 import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.service.upload.UploadProgressListener;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 /**
  * Service interface for orchestrating file uploads and metadata extraction.
  */
@@ -19,4 +22,33 @@ public interface UploadService {
      * @throws Exception if the upload, file handling, or metadata extraction fails.
      */
     AudioUploadResponseDto uploadAudioAndExtractMetadata(MultipartFile file, Long compositionId) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Uploads an audio file that has already been received on the local disk, extracts its metadata,
+     * and returns a consolidated response. Used by the asynchronous upload workers, which spool the
+     * request body before handing it over.
+     *
+     * @param localFile The spooled audio file. It is read but neither moved nor deleted.
+     * @param originalFileName The name of the file as sent by the client, used to keep its extension.
+     * @param contentType The MIME type declared by the client, may be null.
+     * @param compositionId The ID of the composition to which this audio belongs, used for creating a structured storage path.
+     * @param progressListener The listener notified as bytes are transferred to storage.
+     * @return An {@link AudioUploadResponseDto} containing the public URL and extracted metadata, or those of an
+     * already stored object with the same content.
+     * @throws Exception if the upload or metadata extraction fails.
+     */
+    AudioUploadResponseDto uploadLocalAudioAndExtractMetadata(Path localFile, String originalFileName, String contentType,
+                                                              Long compositionId, UploadProgressListener progressListener) throws Exception;
+
+    /**
+     * Extracts the metadata of an audio file that already exists in the storage provider,
+     * for uploads whose bytes did not transit through this service in a single request.
+     *
+     * @param objectPath The path of the audio object in the storage bucket.
+     * @param fullPublicUrl The public URL of the object, copied into the response.
+     * @return An {@link AudioUploadResponseDto} containing the public URL and extracted metadata.
+     * @throws com.eql.cda.track.flow.service.audio.UnreadableAudioException if the object is not an audio file.
+     * @throws Exception if the object cannot be read or its metadata cannot be extracted.
+     */
+    AudioUploadResponseDto extractStoredAudioMetadata(String objectPath, String fullPublicUrl) throws Exception;
+}
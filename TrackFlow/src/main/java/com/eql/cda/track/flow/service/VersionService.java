@@ -1,10 +1,15 @@
 package com.eql.cda.track.flow.service;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
+import com.eql.cda.track.flow.dto.versionDto.VersionDiffDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionSummaryDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionUpdateDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionViewDto;
 import java.util.List;
+import org.springframework.core.io.Resource;
+
 import java.util.Optional;
 
 /**
@@ -25,14 +30,17 @@ public interface VersionService {
     VersionViewDto createVersion(Long projectId, Long compositionId, Long branchId, VersionCreateDto versionCreateDto);
 
     /**
-     * Retrieves a list of all versions within a specific branch, in summary format.
+     * Retrieves a page of the versions within a specific branch, newest first, in summary format.
      *
      * @param projectId The ID of the parent project.
      * @param compositionId The ID of the parent composition.
      * @param branchId The ID of the branch whose versions are to be retrieved.
-     * @return A list of {@link VersionSummaryDto} objects.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of versions in the page.
+     * @return A page of {@link VersionSummaryDto} objects, with the cursor of the next page.
+     * @throws com.eql.cda.track.flow.exception.InvalidCursorException if the cursor cannot be decoded.
      */
-    List<VersionSummaryDto> getVersionsByBranch(Long projectId, Long compositionId, Long branchId);
+    CursorPageDto<VersionSummaryDto> getVersionsByBranch(Long projectId, Long compositionId, Long branchId, String cursor, int size);
 
     /**
      * Retrieves a single version by its ID, with detailed information.
@@ -76,4 +84,57 @@ public interface VersionService {
      * @param versionId The ID of the version to delete.
      */
     void deleteVersion(Long projectId, Long compositionId, Long branchId, Long versionId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the encoded waveform peaks of a version's audio file.
+     * Peaks missing for a file uploaded before they were introduced are computed on the first request.
+     *
+     * @param projectId The ID of the parent project.
+     * @param compositionId The ID of the parent composition.
+     * @param branchId The ID of the parent branch.
+     * @param versionId The ID of the version.
+     * @return The encoded peaks, or an empty Optional if the audio format does not support them or the ingest
+     *         analysis has not computed them yet. Peaks are never computed on request.
+     */
+    Optional<byte[]> getVersionPeaks(Long projectId, Long compositionId, Long branchId, Long versionId);
+
+    /**
+     * Opens a version's audio file for streaming, through the local segment cache. Records the access,
+     * which keeps the audio in the hot storage tier or brings it back there.
+     *
+     * @param projectId The ID of the parent project.
+     * @param compositionId The ID of the parent composition.
+     * @param branchId The ID of the parent branch.
+     * @param versionId The ID of the version.
+     * @return The audio as a resource of known length, or an empty Optional if the version has no stored audio file.
+     */
+    Optional<Resource> getVersionAudio(Long projectId, Long compositionId, Long branchId, Long versionId);
+
+    /**
+     * Finds the versions of the composition, in any branch, whose audio sounds most like a version's audio,
+     * by comparing their acoustic fingerprints. Flags accidental duplicate uploads and edits of the same take.
+     *
+     * @param projectId The ID of the parent project.
+     * @param compositionId The ID of the parent composition.
+     * @param branchId The ID of the parent branch.
+     * @param versionId The ID of the version.
+     * @param limit The maximum number of versions to return.
+     * @return The similar versions, most similar first; empty if the version has not been fingerprinted yet.
+     */
+    List<SimilarVersionDto> getSimilarVersions(Long projectId, Long compositionId, Long branchId, Long versionId, int limit);
+
+    /**
+     * Compares the waveform of a version with the waveform of another version of the same composition,
+     * by default its parent, and returns the time ranges where they sound different. The comparison works on
+     * the stored peaks of both files, after aligning them to absorb material added or cut at the start.
+     *
+     * @param projectId The ID of the parent project.
+     * @param compositionId The ID of the parent composition.
+     * @param branchId The ID of the parent branch.
+     * @param versionId The ID of the version.
+     * @param otherVersionId The ID of the version to compare with, or {@code null} for the parent version.
+     * @return The differing ranges, or an empty Optional if either version has no peaks, or none yet.
+     * @throws com.eql.cda.track.flow.exception.ResourceNotFoundException if no version to compare with is given and the version has no parent.
+     */
+    Optional<VersionDiffDto> getVersionDiff(Long projectId, Long compositionId, Long branchId, Long versionId, Long otherVersionId);
+}
@@ -0,0 +1,224 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@link PcmSampleConsumer} computing the acoustic fingerprint of a stream in a single pass.
+ * <p>
+ * The signal is framed into spectra by a {@link StftFramer}. In each frequency band, the strongest bin of a
+ * frame is kept as a spectral peak if it dominates its time-frequency neighbourhood and rises above the frames
+ * before it, so that sustained notes only produce a peak at their onset. Each peak is then paired with the next
+ * few peaks within a short target zone; a pair hashes to its two frequencies and its time gap, which survives
+ * re-encoding, gain changes and edits elsewhere in the file.
+ * <p>
+ * Every entry of the fingerprint packs the 24-bit hash in its upper 32 bits and the frame of the anchor peak
+ * in its lower 32 bits (see {@link #hashOf(long)} and {@link #frameOf(long)}); entries are sorted by frame.
+ * Instances are not thread-safe and are meant to be used for one stream only.
+ */
+public class AudioFingerprinter implements PcmSampleConsumer {
+
+    static final int FRAME_SIZE = 1024;
+    static final int HOP_SIZE = 512;
+    /** Band edges, in bins: roughly one octave each, from 65 Hz to the Nyquist frequency. */
+    private static final int[] BAND_EDGES = {6, 12, 24, 48, 96, 192, 384, FRAME_SIZE / 2};
+    /** Half-size of the neighbourhood a peak must dominate, in frames and in bins. */
+    private static final int NEIGHBOURHOOD_FRAMES = 3;
+    private static final int NEIGHBOURHOOD_BINS = 3;
+    /** Log-magnitude by which a peak must exceed the preceding frames, to ignore the ripple of sustained notes. */
+    private static final float MIN_RISE = 0.05f;
+    /** Magnitude below which bins are considered silent (about -70 dB relative to a full-scale sine). */
+    private static final float MIN_MAGNITUDE = 0.08f;
+    /** Log-magnitude range below the loudest bin of a frame in which peaks are kept (20 dB), whatever the gain. */
+    private static final float DYNAMIC_RANGE = 2.3f;
+    private static final int FAN_OUT = 3;
+    static final int MAX_FRAME_GAP = 63;
+
+    private static final String MAGIC = "TFFP";
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 12;
+
+    private final StftFramer framer = new StftFramer(FRAME_SIZE, HOP_SIZE, this::analyseFrame);
+
+    /** The log-magnitudes of the last frames, indexed by frame modulo the neighbourhood length. */
+    private float[][] recentFrames;
+    private float[] recentMaxima;
+
+    private int frameCount;
+
+    private int[] peakFrames = new int[1024];
+    private int[] peakBins = new int[1024];
+    private int peakCount;
+
+    private long[] fingerprint;
+
+    @Override
+    public void start(PcmFormat format) {
+        framer.start(format);
+        recentFrames = new float[2 * NEIGHBOURHOOD_FRAMES + 1][FRAME_SIZE / 2];
+        recentMaxima = new float[recentFrames.length];
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        framer.accept(samples, frames);
+    }
+
+    @Override
+    public void end() {
+        fingerprint = pairPeaks();
+    }
+
+    /**
+     * @return The fingerprint entries, sorted by anchor frame; empty for silence or very short streams.
+     */
+    public long[] getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param entry A fingerprint entry.
+     * @return Its hash: the frequencies of the two peaks and the frames between them.
+     */
+    public static int hashOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    /**
+     * @param hash A fingerprint hash.
+     * @return The number of frames between its two peaks, stored in its lowest bits.
+     */
+    public static int gapOf(int hash) {
+        return hash & MAX_FRAME_GAP;
+    }
+
+    /**
+     * @param entry A fingerprint entry.
+     * @return The frame of its anchor peak, in hops of {@value #HOP_SIZE} samples at about 11 kHz.
+     */
+    public static int frameOf(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Encodes a fingerprint as the magic "TFFP", a format version and the entry count (all big-endian),
+     * followed by the entries.
+     *
+     * @param fingerprint The fingerprint entries.
+     * @return The encoded fingerprint.
+     */
+    public static byte[] encode(long[] fingerprint) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + 8 * fingerprint.length);
+        buffer.put(MAGIC.getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(fingerprint.length);
+        buffer.asLongBuffer().put(fingerprint);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a fingerprint encoded by {@link #encode(long[])}.
+     *
+     * @param encoded The encoded fingerprint.
+     * @return The fingerprint entries.
+     * @throws IllegalArgumentException if the data is not an encoded fingerprint.
+     */
+    public static long[] decode(byte[] encoded) {
+        if (encoded.length < HEADER_LENGTH
+                || !MAGIC.equals(new String(encoded, 0, MAGIC.length(), StandardCharsets.US_ASCII))) {
+            throw new IllegalArgumentException("Not a fingerprint.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded, MAGIC.length(), encoded.length - MAGIC.length());
+        int version = buffer.getInt();
+        int count = buffer.getInt();
+        if (version != FORMAT_VERSION || count < 0 || buffer.remaining() != 8L * count) {
+            throw new IllegalArgumentException("Unsupported or truncated fingerprint.");
+        }
+        long[] fingerprint = new long[count];
+        buffer.asLongBuffer().get(fingerprint);
+        return fingerprint;
+    }
+
+    private void analyseFrame(float[] real, float[] imaginary) {
+        float[] logMagnitudes = recentFrames[frameCount % recentFrames.length];
+        float maximum = Float.NEGATIVE_INFINITY;
+        for (int bin = 0; bin < FRAME_SIZE / 2; bin++) {
+            float magnitude = (float) Math.sqrt(real[bin] * real[bin] + imaginary[bin] * imaginary[bin]);
+            logMagnitudes[bin] = magnitude < MIN_MAGNITUDE ? Float.NEGATIVE_INFINITY : (float) Math.log(magnitude);
+            maximum = Math.max(maximum, logMagnitudes[bin]);
+        }
+        recentMaxima[frameCount % recentFrames.length] = maximum;
+        frameCount++;
+        // The frame at the centre of the neighbourhood now has all its neighbours.
+        if (frameCount >= recentFrames.length) {
+            findPeaks(frameCount - 1 - NEIGHBOURHOOD_FRAMES);
+        }
+    }
+
+    private void findPeaks(int frame) {
+        float[] centre = recentFrames[frame % recentFrames.length];
+        float floor = recentMaxima[frame % recentFrames.length] - DYNAMIC_RANGE;
+        for (int band = 0; band < BAND_EDGES.length - 1; band++) {
+            int best = -1;
+            for (int bin = BAND_EDGES[band]; bin < BAND_EDGES[band + 1]; bin++) {
+                if (centre[bin] > floor && (best < 0 || centre[bin] > centre[best])) {
+                    best = bin;
+                }
+            }
+            if (best >= 0 && dominatesNeighbourhood(frame, best)) {
+                addPeak(frame, best);
+            }
+        }
+    }
+
+    private boolean dominatesNeighbourhood(int frame, int bin) {
+        float value = recentFrames[frame % recentFrames.length][bin];
+        int lowBin = Math.max(0, bin - NEIGHBOURHOOD_BINS);
+        int highBin = Math.min(FRAME_SIZE / 2 - 1, bin + NEIGHBOURHOOD_BINS);
+        for (int offset = -NEIGHBOURHOOD_FRAMES; offset <= NEIGHBOURHOOD_FRAMES; offset++) {
+            if (offset == 0) {
+                continue;
+            }
+            float[] neighbour = recentFrames[(frame + offset) % recentFrames.length];
+            float required = offset < 0 ? value - MIN_RISE : value;
+            for (int other = lowBin; other <= highBin; other++) {
+                if (neighbour[other] > required) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addPeak(int frame, int bin) {
+        if (peakCount == peakFrames.length) {
+            peakFrames = Arrays.copyOf(peakFrames, peakCount * 2);
+            peakBins = Arrays.copyOf(peakBins, peakCount * 2);
+        }
+        peakFrames[peakCount] = frame;
+        peakBins[peakCount] = bin;
+        peakCount++;
+    }
+
+    private long[] pairPeaks() {
+        long[] entries = new long[peakCount * FAN_OUT];
+        int count = 0;
+        for (int anchor = 0; anchor < peakCount; anchor++) {
+            int paired = 0;
+            for (int target = anchor + 1; target < peakCount && paired < FAN_OUT; target++) {
+                int gap = peakFrames[target] - peakFrames[anchor];
+                if (gap > MAX_FRAME_GAP) {
+                    break;
+                }
+                if (gap == 0) {
+                    continue;
+                }
+                int hash = peakBins[anchor] << 15 | peakBins[target] << 6 | gap;
+                entries[count++] = (long) hash << 32 | peakFrames[anchor];
+                paired++;
+            }
+        }
+        return Arrays.copyOf(entries, count);
+    }
+}
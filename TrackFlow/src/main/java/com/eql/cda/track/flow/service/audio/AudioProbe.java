@@ -0,0 +1,646 @@
+package com.eql.cda.track.flow.service.audio;
+
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.AudioHeader;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Reads the duration, stream properties and BPM tag of an audio file from its headers only.
+ * <p>
+ * WAV/RF64 and AIFF/AIFC files are read from their RIFF/FORM chunk headers, FLAC files from their
+ * STREAMINFO and VORBIS_COMMENT blocks, and MP3 files from their ID3v2 tag, first frame header and
+ * Xing/Info or VBRI header (or the constant bitrate when there is none). Only the first
+ * {@value #HEAD_WINDOW} bytes and the last {@value #TAIL_WINDOW} bytes are loaded, plus the few chunk
+ * headers that fall in between; local files are memory-mapped.
+ * <p>
+ * Anything the header parser does not understand (other formats, compressed or unsynchronised ID3
+ * frames, truncated headers) is handed to jaudiotagger, which parses the whole file.
+ */
+@Component
+public class AudioProbe {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioProbe.class);
+
+    static final int HEAD_WINDOW = 64 * 1024;
+    static final int TAIL_WINDOW = 16 * 1024;
+
+    /** Upper bound on the number of chunks, blocks or frames walked, to stop on corrupted files. */
+    private static final int MAX_ENTRIES = 512;
+    /** How far after the ID3v2 tag the first MPEG frame is searched for. */
+    private static final int MPEG_SYNC_SCAN = 16 * 1024;
+    private static final int MAX_TEXT_FRAME_LENGTH = 256;
+    private static final int MAX_VORBIS_COMMENT_LENGTH = 64 * 1024;
+
+    private static final int[][] MPEG1_BITRATES = {
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}
+    };
+    private static final int[][] MPEG2_BITRATES = {
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+    private static final int[] MPEG1_SAMPLE_RATES = {44100, 48000, 32000};
+
+    /**
+     * Probes a local audio file. The headers are read through a memory-mapped channel; if the format
+     * is not recognised by the header parser, the file is parsed by jaudiotagger.
+     *
+     * @param file The audio file.
+     * @return The properties of the file.
+     * @throws UnreadableAudioException if the file is not in a format either parser understands.
+     * @throws Exception if the file cannot be read.
+     */
+    public AudioProbeResult probe(Path file) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Optional<AudioProbeResult> result = probeHeaders(channel);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+        log.debug("Header probe did not recognise {}, falling back to a full parse.", file.getFileName());
+        return probeWithJaudiotagger(file);
+    }
+
+    /**
+     * Probes an audio file through any seekable channel, for example one reading a storage object
+     * with ranged requests. No fallback is attempted.
+     *
+     * @param channel The channel to read from. Its position is changed; it is not closed.
+     * @return The properties of the file, or an empty Optional if the headers were not understood.
+     * @throws IOException if the channel cannot be read.
+     */
+    public Optional<AudioProbeResult> probeHeaders(SeekableByteChannel channel) throws IOException {
+        if (channel.size() < 12) {
+            return Optional.empty();
+        }
+        ProbeSource source = new ProbeSource(channel);
+        try {
+            return Optional.ofNullable(parse(source));
+        } catch (EOFException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            log.debug("Malformed audio headers: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private AudioProbeResult parse(ProbeSource source) throws IOException {
+        ByteBuffer head = source.read(0, 12);
+        String magic = fourCc(head, 0);
+        String type = fourCc(head, 8);
+        if (("RIFF".equals(magic) || "RF64".equals(magic)) && "WAVE".equals(type)) {
+            return parseWav(source, "RF64".equals(magic));
+        }
+        if ("FORM".equals(magic) && ("AIFF".equals(type) || "AIFC".equals(type))) {
+            return parseAiff(source);
+        }
+
+        long audioStart = 0;
+        String bpm = null;
+        if ("ID3".equals(magic.substring(0, 3))) {
+            Id3Tag id3 = readId3v2(source, 0);
+            if (id3 == null) {
+                return null;
+            }
+            audioStart = id3.length;
+            bpm = id3.bpm;
+        }
+        if (audioStart + 8 > source.size()) {
+            return null;
+        }
+        ByteBuffer audioHead = source.read(audioStart, 8);
+        if ("fLaC".equals(fourCc(audioHead, 0))) {
+            return parseFlac(source, audioStart, bpm);
+        }
+        if ("OggS".equals(fourCc(audioHead, 0)) || "ftyp".equals(fourCc(audioHead, 4))) {
+            // Ogg and MP4 payloads can contain MPEG-like sync patterns; leave them to the full parser.
+            return null;
+        }
+        return parseMpeg(source, audioStart, bpm);
+    }
+
+    // ----- WAV / RF64 -----
+
+    private AudioProbeResult parseWav(ProbeSource source, boolean rf64) throws IOException {
+        Integer channels = null;
+        Integer sampleRate = null;
+        Integer bitsPerSample = null;
+        long byteRate = 0;
+        long dataSize = -1;
+        long ds64DataSize = -1;
+        String bpm = null;
+
+        long offset = 12;
+        for (int i = 0; i < MAX_ENTRIES && offset + 8 <= source.size(); i++) {
+            ByteBuffer header = source.read(offset, 8).order(ByteOrder.LITTLE_ENDIAN);
+            String id = fourCc(header, 0);
+            long chunkSize = header.getInt(4) & 0xFFFFFFFFL;
+            long body = offset + 8;
+
+            switch (id) {
+                case "ds64" -> ds64DataSize = source.read(body, 16).order(ByteOrder.LITTLE_ENDIAN).getLong(8);
+                case "fmt " -> {
+                    ByteBuffer fmt = source.read(body, 16).order(ByteOrder.LITTLE_ENDIAN);
+                    channels = fmt.getShort(2) & 0xFFFF;
+                    sampleRate = fmt.getInt(4);
+                    byteRate = fmt.getInt(8) & 0xFFFFFFFFL;
+                    bitsPerSample = fmt.getShort(14) & 0xFFFF;
+                }
+                case "data" -> {
+                    if (rf64 && chunkSize == 0xFFFFFFFFL && ds64DataSize >= 0) {
+                        chunkSize = ds64DataSize;
+                    }
+                    // Streaming writers leave the size at 0 or 0xFFFFFFFF: the data then runs to the end of the file.
+                    long available = source.size() - body;
+                    dataSize = (chunkSize == 0 || chunkSize > available) ? available : chunkSize;
+                    chunkSize = dataSize;
+                }
+                case "acid" -> {
+                    if (bpm == null && chunkSize >= 24) {
+                        bpm = formatTempo(source.read(body + 20, 4).order(ByteOrder.LITTLE_ENDIAN).getFloat(0));
+                    }
+                }
+                case "id3 ", "ID3 " -> {
+                    Id3Tag id3 = readId3v2(source, body);
+                    if (id3 != null && id3.bpm != null) {
+                        bpm = id3.bpm;
+                    }
+                }
+                default -> {
+                    // Other chunks (LIST, bext, cue, ...) are skipped.
+                }
+            }
+            offset = body + chunkSize + (chunkSize & 1);
+        }
+
+        if (sampleRate == null || sampleRate <= 0 || byteRate == 0 || dataSize < 0) {
+            return null;
+        }
+        return new AudioProbeResult("WAV", dataSize / (double) byteRate, sampleRate, channels, bitsPerSample, bpm);
+    }
+
+    // ----- AIFF / AIFC -----
+
+    private AudioProbeResult parseAiff(ProbeSource source) throws IOException {
+        Integer channels = null;
+        Integer bitsPerSample = null;
+        Double sampleRate = null;
+        long frames = -1;
+        String bpm = null;
+
+        long offset = 12;
+        for (int i = 0; i < MAX_ENTRIES && offset + 8 <= source.size(); i++) {
+            ByteBuffer header = source.read(offset, 8);
+            String id = fourCc(header, 0);
+            long chunkSize = header.getInt(4) & 0xFFFFFFFFL;
+            long body = offset + 8;
+
+            if ("COMM".equals(id)) {
+                ByteBuffer comm = source.read(body, 18);
+                channels = (int) comm.getShort(0);
+                frames = comm.getInt(2) & 0xFFFFFFFFL;
+                bitsPerSample = (int) comm.getShort(6);
+                sampleRate = readExtended(comm, 8);
+            } else if ("ID3 ".equals(id) || "id3 ".equals(id)) {
+                Id3Tag id3 = readId3v2(source, body);
+                if (id3 != null && id3.bpm != null) {
+                    bpm = id3.bpm;
+                }
+            }
+            offset = body + chunkSize + (chunkSize & 1);
+        }
+
+        if (sampleRate == null || sampleRate <= 0 || frames < 0) {
+            return null;
+        }
+        return new AudioProbeResult("AIFF", frames / sampleRate, (int) Math.round(sampleRate), channels, bitsPerSample, bpm);
+    }
+
+    /**
+     * Decodes the 80-bit IEEE 754 extended precision number used for the AIFF sample rate.
+     */
+    private static double readExtended(ByteBuffer buffer, int index) {
+        int signAndExponent = buffer.getShort(index) & 0xFFFF;
+        long mantissa = buffer.getLong(index + 2);
+        if (mantissa == 0) {
+            return 0;
+        }
+        int exponent = (signAndExponent & 0x7FFF) - 16383;
+        double value = Math.scalb((double) (mantissa >>> 1), exponent - 62);
+        return (signAndExponent & 0x8000) != 0 ? -value : value;
+    }
+
+    // ----- FLAC -----
+
+    private AudioProbeResult parseFlac(ProbeSource source, long start, String id3Bpm) throws IOException {
+        Integer sampleRate = null;
+        Integer channels = null;
+        Integer bitsPerSample = null;
+        long totalSamples = 0;
+        String bpm = id3Bpm;
+
+        long offset = start + 4;
+        for (int i = 0; i < MAX_ENTRIES && offset + 4 <= source.size(); i++) {
+            ByteBuffer header = source.read(offset, 4);
+            int flagsAndType = header.get(0) & 0xFF;
+            int length = ((header.get(1) & 0xFF) << 16) | ((header.get(2) & 0xFF) << 8) | (header.get(3) & 0xFF);
+            long body = offset + 4;
+            int blockType = flagsAndType & 0x7F;
+
+            if (blockType == 0 && length >= 18) {
+                // STREAMINFO: 20 bits sample rate, 3 bits channels - 1, 5 bits bits per sample - 1, 36 bits total samples.
+                long packed = source.read(body + 10, 8).getLong(0);
+                sampleRate = (int) (packed >>> 44);
+                channels = (int) ((packed >>> 41) & 0x7) + 1;
+                bitsPerSample = (int) ((packed >>> 36) & 0x1F) + 1;
+                totalSamples = packed & 0xFFFFFFFFFL;
+            } else if (blockType == 4 && bpm == null && length <= MAX_VORBIS_COMMENT_LENGTH) {
+                bpm = readVorbisBpm(source.read(body, length).order(ByteOrder.LITTLE_ENDIAN));
+            }
+            offset = body + length;
+            if ((flagsAndType & 0x80) != 0) {
+                break;
+            }
+        }
+
+        if (sampleRate == null || sampleRate == 0 || totalSamples == 0) {
+            return null;
+        }
+        return new AudioProbeResult("FLAC", totalSamples / (double) sampleRate, sampleRate, channels, bitsPerSample, bpm);
+    }
+
+    private static String readVorbisBpm(ByteBuffer block) {
+        int vendorLength = block.getInt(0);
+        if (vendorLength < 0 || vendorLength > block.limit() - 8) {
+            return null;
+        }
+        int position = 4 + vendorLength;
+        int count = block.getInt(position);
+        position += 4;
+        for (int i = 0; i < count && i < MAX_ENTRIES; i++) {
+            int length = block.getInt(position);
+            position += 4;
+            // Lengths are unsigned 32-bit values: a corrupt one must not reach the array allocation.
+            if (length < 0 || length > block.limit() - position) {
+                return null;
+            }
+            String comment = decode(block, position, length, StandardCharsets.UTF_8);
+            position += length;
+            int separator = comment.indexOf('=');
+            if (separator > 0 && "BPM".equalsIgnoreCase(comment.substring(0, separator))) {
+                String value = comment.substring(separator + 1).trim();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    // ----- MPEG audio -----
+
+    private AudioProbeResult parseMpeg(ProbeSource source, long start, String bpm) throws IOException {
+        int windowLength = (int) Math.min(source.size() - start, MPEG_SYNC_SCAN);
+        if (windowLength < 4) {
+            return null;
+        }
+        ByteBuffer window = source.read(start, windowLength);
+
+        for (int i = 0; i + 4 <= windowLength; i++) {
+            MpegFrameHeader frame = MpegFrameHeader.parse(window.getInt(i));
+            if (frame == null) {
+                continue;
+            }
+            // A frame sync pattern can occur by chance: require the next frame to start where this one ends.
+            int next = i + frame.frameLength;
+            if (next + 4 <= windowLength && MpegFrameHeader.parse(window.getInt(next)) == null) {
+                continue;
+            }
+            if (next + 4 > windowLength && start + next < source.size() - 128) {
+                continue;
+            }
+
+            long frameStart = start + i;
+            Long frameCount = frame.layer == 3 ? readVbrFrameCount(source, frameStart, frame) : null;
+            double durationSeconds;
+            if (frameCount != null) {
+                durationSeconds = frameCount * (double) frame.samplesPerFrame / frame.sampleRate;
+            } else {
+                long audioEnd = source.size();
+                if (audioEnd - 128 >= frameStart && "TAG".equals(fourCc(source.read(audioEnd - 128, 4), 0).substring(0, 3))) {
+                    audioEnd -= 128;
+                }
+                durationSeconds = (audioEnd - frameStart) * 8.0 / (frame.bitrateKbps * 1000.0);
+            }
+            String format = frame.layer == 3 ? "MP3" : "MP" + frame.layer;
+            return new AudioProbeResult(format, durationSeconds, frame.sampleRate, frame.channels, null, bpm);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the total number of frames from the Xing/Info or VBRI header stored in the first frame, if any.
+     */
+    private static Long readVbrFrameCount(ProbeSource source, long frameStart, MpegFrameHeader frame) throws IOException {
+        long xingOffset = frameStart + 4 + frame.sideInfoLength;
+        if (xingOffset + 12 <= source.size()) {
+            ByteBuffer xing = source.read(xingOffset, 12);
+            String tag = fourCc(xing, 0);
+            if (("Xing".equals(tag) || "Info".equals(tag)) && (xing.getInt(4) & 0x1) != 0) {
+                return xing.getInt(8) & 0xFFFFFFFFL;
+            }
+        }
+        long vbriOffset = frameStart + 4 + 32;
+        if (vbriOffset + 18 <= source.size()) {
+            ByteBuffer vbri = source.read(vbriOffset, 18);
+            if ("VBRI".equals(fourCc(vbri, 0))) {
+                return vbri.getInt(14) & 0xFFFFFFFFL;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The fields of an MPEG audio frame header needed to compute a duration.
+     */
+    private static final class MpegFrameHeader {
+        int layer;
+        int bitrateKbps;
+        int sampleRate;
+        int channels;
+        int samplesPerFrame;
+        int sideInfoLength;
+        int frameLength;
+
+        static MpegFrameHeader parse(int header) {
+            if ((header >>> 21 & 0x7FF) != 0x7FF) {
+                return null;
+            }
+            int versionBits = header >>> 19 & 0x3;
+            int layerBits = header >>> 17 & 0x3;
+            int bitrateIndex = header >>> 12 & 0xF;
+            int sampleRateIndex = header >>> 10 & 0x3;
+            if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                return null;
+            }
+            boolean mpeg1 = versionBits == 3;
+            MpegFrameHeader frame = new MpegFrameHeader();
+            frame.layer = 4 - layerBits;
+            frame.bitrateKbps = (mpeg1 ? MPEG1_BITRATES : MPEG2_BITRATES)[frame.layer - 1][bitrateIndex];
+            frame.sampleRate = MPEG1_SAMPLE_RATES[sampleRateIndex] >> (mpeg1 ? 0 : versionBits == 2 ? 1 : 2);
+            boolean mono = (header >>> 6 & 0x3) == 3;
+            frame.channels = mono ? 1 : 2;
+            int padding = header >>> 9 & 0x1;
+
+            if (frame.layer == 1) {
+                frame.samplesPerFrame = 384;
+                frame.frameLength = (12 * frame.bitrateKbps * 1000 / frame.sampleRate + padding) * 4;
+            } else {
+                frame.samplesPerFrame = (frame.layer == 3 && !mpeg1) ? 576 : 1152;
+                frame.frameLength = frame.samplesPerFrame / 8 * frame.bitrateKbps * 1000 / frame.sampleRate + padding;
+            }
+            if (mpeg1) {
+                frame.sideInfoLength = mono ? 17 : 32;
+            } else {
+                frame.sideInfoLength = mono ? 9 : 17;
+            }
+            return frame.frameLength > 4 ? frame : null;
+        }
+    }
+
+    // ----- ID3v2 -----
+
+    /**
+     * The parts of an ID3v2 tag used by the probe: its total length and its BPM frame.
+     */
+    private static final class Id3Tag {
+        final long length;
+        final String bpm;
+
+        Id3Tag(long length, String bpm) {
+            this.length = length;
+            this.bpm = bpm;
+        }
+    }
+
+    /**
+     * Reads an ID3v2 tag located at the given offset. Only the frame headers are read, so large embedded
+     * pictures are skipped without being loaded.
+     *
+     * @return The tag, or {@code null} if it uses a layout the probe does not handle (unsynchronisation,
+     * compressed or encrypted BPM frame, unknown version).
+     */
+    private Id3Tag readId3v2(ProbeSource source, long offset) throws IOException {
+        ByteBuffer header = source.read(offset, 10);
+        if (!"ID3".equals(fourCc(header, 0).substring(0, 3))) {
+            return null;
+        }
+        int major = header.get(3);
+        int flags = header.get(5) & 0xFF;
+        long size = syncSafe(header.getInt(6));
+        long length = 10 + size + ((flags & 0x10) != 0 ? 10 : 0);
+        if (major < 2 || major > 4 || (flags & 0x80) != 0) {
+            return null;
+        }
+
+        long position = offset + 10;
+        long end = position + size;
+        if ((flags & 0x40) != 0 && major >= 3) {
+            int extendedSize = source.read(position, 4).getInt(0);
+            position += major == 4 ? syncSafe(extendedSize) : 4L + extendedSize;
+        }
+
+        int frameHeaderLength = major == 2 ? 6 : 10;
+        for (int i = 0; i < MAX_ENTRIES && position + frameHeaderLength <= end; i++) {
+            ByteBuffer frameHeader = source.read(position, frameHeaderLength);
+            if (frameHeader.get(0) == 0) {
+                break; // Padding.
+            }
+            String id;
+            long frameSize;
+            int formatFlags = 0;
+            if (major == 2) {
+                id = decode(frameHeader, 0, 3, StandardCharsets.ISO_8859_1);
+                frameSize = ((frameHeader.get(3) & 0xFF) << 16) | ((frameHeader.get(4) & 0xFF) << 8) | (frameHeader.get(5) & 0xFF);
+            } else {
+                id = fourCc(frameHeader, 0);
+                int rawSize = frameHeader.getInt(4);
+                frameSize = major == 4 ? syncSafe(rawSize) : rawSize & 0xFFFFFFFFL;
+                formatFlags = frameHeader.get(9) & 0xFF;
+            }
+            long body = position + frameHeaderLength;
+
+            if ("TBPM".equals(id) || "TBP".equals(id)) {
+                int unsupportedFlags = major == 4 ? 0x0F : 0xE0;
+                if ((formatFlags & unsupportedFlags) != 0) {
+                    return null;
+                }
+                int textLength = (int) Math.min(frameSize, MAX_TEXT_FRAME_LENGTH);
+                String bpm = textLength > 1 ? readTextFrame(source.read(body, textLength)) : null;
+                return new Id3Tag(length, bpm);
+            }
+            position = body + frameSize;
+        }
+        return new Id3Tag(length, null);
+    }
+
+    private static String readTextFrame(ByteBuffer frame) {
+        Charset charset = switch (frame.get(0)) {
+            case 1 -> StandardCharsets.UTF_16;
+            case 2 -> StandardCharsets.UTF_16BE;
+            case 3 -> StandardCharsets.UTF_8;
+            default -> StandardCharsets.ISO_8859_1;
+        };
+        String text = decode(frame, 1, frame.limit() - 1, charset);
+        int terminator = text.indexOf('\0');
+        if (terminator >= 0) {
+            text = text.substring(0, terminator);
+        }
+        text = text.trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static long syncSafe(int value) {
+        return (value & 0x7F) | (value >> 8 & 0x7F) << 7 | (value >> 16 & 0x7F) << 14 | (long) (value >> 24 & 0x7F) << 21;
+    }
+
+    // ----- Helpers -----
+
+    private static String fourCc(ByteBuffer buffer, int index) {
+        return decode(buffer, index, 4, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String decode(ByteBuffer buffer, int index, int length, Charset charset) {
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, charset);
+    }
+
+    private static String formatTempo(float tempo) {
+        if (!(tempo > 0) || Float.isInfinite(tempo)) {
+            return null;
+        }
+        return BigDecimal.valueOf(tempo).setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    private AudioProbeResult probeWithJaudiotagger(Path file) throws Exception {
+        AudioFile audioFile;
+        try {
+            audioFile = AudioFileIO.read(file.toFile());
+        } catch (CannotReadException | InvalidAudioFrameException e) {
+            throw new UnreadableAudioException("Not a readable audio file: " + file.getFileName(), e);
+        }
+        Tag tag = audioFile.getTag();
+        AudioHeader header = audioFile.getAudioHeader();
+
+        String bpm = null;
+        if (tag != null) {
+            try {
+                String bpmStr = tag.getFirst(FieldKey.BPM);
+                if (bpmStr != null && !bpmStr.isBlank()) {
+                    bpm = bpmStr;
+                }
+            } catch (UnsupportedOperationException e) {
+                log.warn("Could not read BPM tag: {}", e.getMessage());
+            }
+        }
+        if (header == null) {
+            return new AudioProbeResult(null, null, null, null, null, bpm);
+        }
+        return new AudioProbeResult(header.getFormat(), header.getPreciseTrackLength(), header.getSampleRateAsNumber(),
+                null, header.getBitsPerSample(), bpm);
+    }
+
+    /**
+     * Gives random access to the bytes of the probed file. The head and tail windows are loaded once
+     * (memory-mapped for local files); reads falling outside them go to the channel directly.
+     */
+    private static final class ProbeSource {
+
+        private final SeekableByteChannel channel;
+        private final long size;
+        private final ByteBuffer head;
+        private final long tailOffset;
+        private final ByteBuffer tail;
+
+        ProbeSource(SeekableByteChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.head = window(0, (int) Math.min(size, HEAD_WINDOW));
+            if (size > HEAD_WINDOW) {
+                this.tailOffset = Math.max(HEAD_WINDOW, size - TAIL_WINDOW);
+                this.tail = window(tailOffset, (int) (size - tailOffset));
+            } else {
+                this.tailOffset = size;
+                this.tail = null;
+            }
+        }
+
+        long size() {
+            return size;
+        }
+
+        /**
+         * Returns a big-endian buffer holding exactly {@code length} bytes starting at {@code offset}.
+         *
+         * @throws EOFException if the range extends beyond the end of the file.
+         */
+        ByteBuffer read(long offset, int length) throws IOException {
+            if (offset < 0 || length < 0 || offset + length > size) {
+                throw new EOFException("Range " + offset + "+" + length + " is outside of a " + size + " bytes file");
+            }
+            if (offset + length <= head.limit()) {
+                return head.slice((int) offset, length).order(ByteOrder.BIG_ENDIAN);
+            }
+            if (tail != null && offset >= tailOffset) {
+                return tail.slice((int) (offset - tailOffset), length).order(ByteOrder.BIG_ENDIAN);
+            }
+            return readFromChannel(offset, length);
+        }
+
+        private ByteBuffer window(long offset, int length) throws IOException {
+            if (channel instanceof FileChannel fileChannel) {
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+            return readFromChannel(offset, length);
+        }
+
+        private ByteBuffer readFromChannel(long offset, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            if (channel instanceof FileChannel fileChannel) {
+                while (buffer.hasRemaining()) {
+                    if (fileChannel.read(buffer, offset + buffer.position()) < 0) {
+                        throw new EOFException();
+                    }
+                }
+            } else {
+                channel.position(offset);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException();
+                    }
+                }
+            }
+            return buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eql.cda.track.flow.service.audio;
+
+/**
+ * The technical properties of an audio file, as read by the {@link AudioProbe}.
+ * Fields that could not be determined are {@code null}.
+ */
+public class AudioProbeResult {
+
+    private final String format;
+    private final Double durationSeconds;
+    private final Integer sampleRate;
+    private final Integer channels;
+    private final Integer bitsPerSample;
+    private final String bpm;
+
+    /**
+     * Constructs a probe result.
+     *
+     * @param format The container format (e.g. "WAV", "AIFF", "FLAC", "MP3").
+     * @param durationSeconds The precise duration in seconds.
+     * @param sampleRate The sample rate in Hz.
+     * @param channels The number of channels.
+     * @param bitsPerSample The sample resolution in bits, for lossless formats.
+     * @param bpm The tempo found in the file tags, as written in the tag.
+     */
+    public AudioProbeResult(String format, Double durationSeconds, Integer sampleRate, Integer channels,
+                            Integer bitsPerSample, String bpm) {
+        this.format = format;
+        this.durationSeconds = durationSeconds;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.bpm = bpm;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public Integer getChannels() {
+        return channels;
+    }
+
+    public Integer getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    public String getBpm() {
+        return bpm;
+    }
+
+    /**
+     * Returns the duration rounded to the nearest second, as stored on a {@code Version}.
+     *
+     * @return The duration in whole seconds, or {@code null} if unknown.
+     */
+    public Integer getRoundedDurationSeconds() {
+        return durationSeconds == null ? null : (int) Math.round(durationSeconds);
+    }
+}
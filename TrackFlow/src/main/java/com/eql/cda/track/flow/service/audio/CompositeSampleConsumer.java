@@ -0,0 +1,44 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link PcmSampleConsumer} forwarding every call to several consumers, so that independent analyses
+ * share a single decoding pass over the stream.
+ */
+public class CompositeSampleConsumer implements PcmSampleConsumer {
+
+    private final List<PcmSampleConsumer> consumers;
+
+    /**
+     * Constructs a composite consumer.
+     *
+     * @param consumers The consumers, called in order. Null entries are ignored.
+     */
+    public CompositeSampleConsumer(PcmSampleConsumer... consumers) {
+        this.consumers = Arrays.stream(consumers).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public void start(PcmFormat format) {
+        for (PcmSampleConsumer consumer : consumers) {
+            consumer.start(format);
+        }
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        for (PcmSampleConsumer consumer : consumers) {
+            consumer.accept(samples, frames);
+        }
+    }
+
+    @Override
+    public void end() {
+        for (PcmSampleConsumer consumer : consumers) {
+            consumer.end();
+        }
+    }
+}
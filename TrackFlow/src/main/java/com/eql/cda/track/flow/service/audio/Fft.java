@@ -0,0 +1,83 @@
+package com.eql.cda.track.flow.service.audio;
+
+/**
+ * An in-place radix-2 fast Fourier transform of a fixed size, working on primitive float arrays.
+ * Twiddle factors and the bit-reversal permutation are computed once, so a transform allocates nothing.
+ * <p>
+ * Instances are immutable and can be shared between threads; the arrays passed to
+ * {@link #transform(float[], float[])} belong to the caller.
+ */
+public class Fft {
+
+    private final int size;
+    private final float[] cos;
+    private final float[] sin;
+    private final int[] reversed;
+
+    /**
+     * Prepares a transform.
+     *
+     * @param size The number of points, a power of two of at least 2.
+     * @throws IllegalArgumentException if the size is not a power of two.
+     */
+    public Fft(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+        }
+        this.size = size;
+        this.cos = new float[size / 2];
+        this.sin = new float[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            double angle = -2 * Math.PI * i / size;
+            cos[i] = (float) Math.cos(angle);
+            sin[i] = (float) Math.sin(angle);
+        }
+        this.reversed = new int[size];
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            reversed[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Computes the forward transform in place.
+     *
+     * @param real The real parts, of length {@link #getSize()}; replaced by the real parts of the spectrum.
+     * @param imaginary The imaginary parts, of the same length; replaced by the imaginary parts of the spectrum.
+     */
+    public void transform(float[] real, float[] imaginary) {
+        for (int i = 0; i < size; i++) {
+            int j = reversed[i];
+            if (j > i) {
+                float t = real[i];
+                real[i] = real[j];
+                real[j] = t;
+                t = imaginary[i];
+                imaginary[i] = imaginary[j];
+                imaginary[j] = t;
+            }
+        }
+        for (int length = 2; length <= size; length <<= 1) {
+            int half = length >> 1;
+            int twiddleStep = size / length;
+            for (int start = 0; start < size; start += length) {
+                for (int k = 0; k < half; k++) {
+                    float wr = cos[k * twiddleStep];
+                    float wi = sin[k * twiddleStep];
+                    int even = start + k;
+                    int odd = even + half;
+                    float tr = real[odd] * wr - imaginary[odd] * wi;
+                    float ti = real[odd] * wi + imaginary[odd] * wr;
+                    real[odd] = real[even] - tr;
+                    imaginary[odd] = imaginary[even] - ti;
+                    real[even] += tr;
+                    imaginary[even] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable inverted index from fingerprint hashes to the versions containing them, used to find the
+ * versions that sound like a given one without decoding any audio.
+ * <p>
+ * The entries of all versions are kept in primitive arrays, with a single sorted array of
+ * {@code hash << 32 | entry} keys as the posting lists, so the index holds no boxed values and a lookup is
+ * a binary search. Two versions match on the hashes they share at a consistent time offset: shared hashes
+ * at scattered offsets are chance collisions between unrelated material. The similarity is the number of
+ * aligned hashes over the number of distinct entries of both versions: 1 for the same recording, decreasing
+ * with the share of the audio that differs.
+ */
+public class FingerprintIndex {
+
+    private final long[] versionIds;
+    private final int[] entryCounts;
+    /** Start of each version's entries in {@link #frames} and {@link #hashes}; one extra slot for the end. */
+    private final int[] firstEntries;
+    private final int[] hashes;
+    private final int[] frames;
+    private final int[] slots;
+    private final long[] postings;
+
+    /**
+     * Builds the index of a set of versions.
+     *
+     * @param fingerprints The fingerprint of each version, by version ID.
+     */
+    public FingerprintIndex(Map<Long, long[]> fingerprints) {
+        int size = fingerprints.size();
+        versionIds = new long[size];
+        entryCounts = new int[size];
+        firstEntries = new int[size + 1];
+        int total = 0;
+        for (long[] fingerprint : fingerprints.values()) {
+            total += fingerprint.length;
+        }
+        hashes = new int[total];
+        frames = new int[total];
+        slots = new int[total];
+        postings = new long[total];
+
+        int slot = 0;
+        int entry = 0;
+        for (Map.Entry<Long, long[]> version : fingerprints.entrySet()) {
+            versionIds[slot] = version.getKey();
+            firstEntries[slot] = entry;
+            for (long value : version.getValue()) {
+                hashes[entry] = AudioFingerprinter.hashOf(value);
+                frames[entry] = AudioFingerprinter.frameOf(value);
+                slots[entry] = slot;
+                postings[entry] = (long) hashes[entry] << 32 | entry;
+                entry++;
+            }
+            entryCounts[slot] = entry - firstEntries[slot];
+            slot++;
+        }
+        firstEntries[size] = entry;
+        Arrays.sort(postings);
+    }
+
+    /**
+     * @return The number of indexed versions.
+     */
+    public int size() {
+        return versionIds.length;
+    }
+
+    /**
+     * @param versionId The ID of a version.
+     * @return {@code true} if the version is part of the index.
+     */
+    public boolean contains(long versionId) {
+        return slotOf(versionId) >= 0;
+    }
+
+    /**
+     * Finds the indexed versions most similar to one of them.
+     *
+     * @param versionId The ID of the indexed version to compare with the others.
+     * @param limit The maximum number of matches to return.
+     * @param minSimilarity The similarity below which versions are not returned.
+     * @return The matches, most similar first; empty if the version is not indexed.
+     */
+    public List<Match> findSimilar(long versionId, int limit, double minSimilarity) {
+        int querySlot = slotOf(versionId);
+        if (querySlot < 0) {
+            return List.of();
+        }
+        // Every shared hash votes for a (version, time offset) pair; the pairs are grouped by sorting.
+        // Peaks may move by one frame between two renderings of the same audio, so the neighbouring time gaps
+        // are looked up too, and votes for adjacent offsets are counted together.
+        long[] votes = new long[1024];
+        int voteCount = 0;
+        for (int entry = firstEntries[querySlot]; entry < firstEntries[querySlot + 1]; entry++) {
+            int gap = AudioFingerprinter.gapOf(hashes[entry]);
+            for (int jitter = -1; jitter <= 1; jitter++) {
+                if (gap + jitter < 1 || gap + jitter > AudioFingerprinter.MAX_FRAME_GAP) {
+                    continue;
+                }
+                int hash = hashes[entry] + jitter;
+                for (int position = lowerBound((long) hash << 32);
+                     position < postings.length && postings[position] >>> 32 == hash; position++) {
+                    int other = (int) postings[position];
+                    if (slots[other] == querySlot) {
+                        continue;
+                    }
+                    if (voteCount == votes.length) {
+                        votes = Arrays.copyOf(votes, voteCount * 2);
+                    }
+                    // Offsets are biased to stay positive, so that sorting keeps them in numeric order.
+                    long offset = (long) frames[other] - frames[entry] + Integer.MAX_VALUE;
+                    votes[voteCount++] = (long) slots[other] << 32 | offset;
+                }
+            }
+        }
+        Arrays.sort(votes, 0, voteCount);
+
+        int[] aligned = new int[versionIds.length];
+        int previousCount = 0;
+        long previousVote = -1;
+        for (int start = 0, end; start < voteCount; start = end) {
+            end = start + 1;
+            while (end < voteCount && votes[end] == votes[start]) {
+                end++;
+            }
+            int count = end - start;
+            int slot = (int) (votes[start] >>> 32);
+            int window = votes[start] == previousVote + 1 ? count + previousCount : count;
+            aligned[slot] = Math.max(aligned[slot], window);
+            previousVote = votes[start];
+            previousCount = count;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int slot = 0; slot < versionIds.length; slot++) {
+            if (aligned[slot] == 0) {
+                continue;
+            }
+            int union = entryCounts[querySlot] + entryCounts[slot] - aligned[slot];
+            double similarity = Math.min(1, (double) aligned[slot] / union);
+            if (similarity >= minSimilarity) {
+                matches.add(new Match(versionIds[slot], similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    private int slotOf(long versionId) {
+        for (int slot = 0; slot < versionIds.length; slot++) {
+            if (versionIds[slot] == versionId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = postings.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (postings[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A version found similar to the queried one.
+     *
+     * @param versionId The ID of the similar version.
+     * @param similarity The share of aligned fingerprint entries, between 0 and 1.
+     */
+    public record Match(long versionId, double similarity) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PcmSampleConsumer} measuring loudness and peaks as specified by ITU-R BS.1770-4, in a single pass
+ * with memory independent of the length of the stream (apart from the one-value-per-second loudness curve).
+ * <ul>
+ *     <li>Integrated loudness: the K-weighted energy of the 400 ms blocks (overlapping by 75%) that pass the
+ *     absolute gate of -70 LUFS and the relative gate 10 LU below the ungated loudness. Block loudness values
+ *     are kept in a 0.01 LU histogram, so gating needs no per-block storage.</li>
+ *     <li>Short-term loudness: the K-weighted loudness of the last 3 s, sampled every second.</li>
+ *     <li>True peak: the highest absolute value of the signal oversampled 4 times (2 times above 96 kHz)
+ *     through a polyphase interpolation filter, which catches the inter-sample peaks a DAC will produce.</li>
+ *     <li>Clipped samples: the samples at or beyond digital full scale, across all channels.</li>
+ * </ul>
+ * Instances are not thread-safe and are meant to be used for one stream only.
+ */
+public class LoudnessMeter implements PcmSampleConsumer {
+
+    private static final double ABSOLUTE_GATE = -70;
+    private static final double RELATIVE_GATE = -10;
+    private static final double LOUDNESS_OFFSET = -0.691;
+    private static final double HISTOGRAM_MAX = 10;
+    private static final double HISTOGRAM_RESOLUTION = 0.01;
+    /** Gating blocks are made of four 100 ms sub-blocks; short-term windows of thirty. */
+    private static final int SUB_BLOCKS_PER_BLOCK = 4;
+    private static final int SUB_BLOCKS_PER_SHORT_TERM = 30;
+    private static final int SUB_BLOCKS_PER_SECOND = 10;
+    private static final int TAPS_PER_PHASE = 12;
+    /** The largest positive value of 16-bit PCM; every integer resolution reaches at least this level. */
+    private static final float CLIP_LEVEL = 32767f / 32768f;
+
+    private int channels;
+    private double[] channelWeights;
+    private int subBlockLength;
+
+    /** Per channel: the state of the two biquads of the K-weighting filter. */
+    private double[][] filterState;
+    private final double[] shelf = new double[5];
+    private final double[] highPass = new double[5];
+
+    private double subBlockEnergy;
+    private int subBlockSamples;
+    private final double[] recentSubBlocks = new double[SUB_BLOCKS_PER_SHORT_TERM];
+    private long subBlockCount;
+
+    private final long[] histogramCounts = new long[(int) ((HISTOGRAM_MAX - ABSOLUTE_GATE) / HISTOGRAM_RESOLUTION)];
+    private final double[] histogramEnergies = new double[histogramCounts.length];
+
+    private float[] shortTerm = new float[256];
+    private int shortTermCount;
+
+    private int oversampling;
+    private float[] interpolationFilter;
+    /** Per channel: the last {@link #TAPS_PER_PHASE} samples, most recent first. */
+    private float[][] history;
+    private double peak;
+    private long clippedSamples;
+
+    @Override
+    public void start(PcmFormat format) {
+        channels = format.getChannels();
+        int sampleRate = format.getSampleRate();
+        channelWeights = new double[channels];
+        for (int channel = 0; channel < channels; channel++) {
+            // In 5.1 layouts, the LFE is ignored and the surround channels are weighted +1.5 dB.
+            channelWeights[channel] = channels >= 6 && channel == 3 ? 0 : channels >= 6 && channel >= 4 ? 1.41 : 1;
+        }
+        subBlockLength = Math.max(1, sampleRate / SUB_BLOCKS_PER_SECOND);
+        filterState = new double[channels][4];
+        designKWeighting(sampleRate);
+
+        oversampling = sampleRate >= 192000 ? 1 : sampleRate >= 96000 ? 2 : 4;
+        interpolationFilter = designInterpolationFilter(oversampling);
+        history = new float[channels][TAPS_PER_PHASE];
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        int index = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            double weightedEnergy = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                float sample = samples[index++];
+                if (Math.abs(sample) >= CLIP_LEVEL) {
+                    clippedSamples++;
+                }
+                trackTruePeak(channel, sample);
+                double filtered = kWeight(filterState[channel], sample);
+                weightedEnergy += channelWeights[channel] * filtered * filtered;
+            }
+            subBlockEnergy += weightedEnergy;
+            if (++subBlockSamples == subBlockLength) {
+                closeSubBlock();
+            }
+        }
+    }
+
+    /**
+     * @return The integrated loudness in LUFS, or null if the stream is silent or shorter than 400 ms.
+     */
+    public Double getIntegratedLoudness() {
+        long count = 0;
+        double energy = 0;
+        for (int bin = 0; bin < histogramCounts.length; bin++) {
+            count += histogramCounts[bin];
+            energy += histogramEnergies[bin];
+        }
+        if (count == 0) {
+            return null;
+        }
+        double relativeGate = loudness(energy / count) + RELATIVE_GATE;
+        int firstBin = Math.max(0, (int) Math.ceil((relativeGate - ABSOLUTE_GATE) / HISTOGRAM_RESOLUTION));
+        count = 0;
+        energy = 0;
+        for (int bin = firstBin; bin < histogramCounts.length; bin++) {
+            count += histogramCounts[bin];
+            energy += histogramEnergies[bin];
+        }
+        return count == 0 ? null : loudness(energy / count);
+    }
+
+    /**
+     * @return The short-term loudness in LUFS, one value per second: value {@code i} covers the 3 s (fewer at
+     *         the start) ending at second {@code i + 1}. Values are floored at the -70 LUFS absolute gate.
+     */
+    public float[] getShortTermLoudness() {
+        return Arrays.copyOf(shortTerm, shortTermCount);
+    }
+
+    /**
+     * @return The true peak in dBTP, or null if the stream is silent.
+     */
+    public Double getTruePeak() {
+        return peak > 0 ? 20 * Math.log10(peak) : null;
+    }
+
+    public long getClippedSamples() {
+        return clippedSamples;
+    }
+
+    private void closeSubBlock() {
+        recentSubBlocks[(int) (subBlockCount % SUB_BLOCKS_PER_SHORT_TERM)] = subBlockEnergy / subBlockLength;
+        subBlockCount++;
+        subBlockEnergy = 0;
+        subBlockSamples = 0;
+
+        if (subBlockCount >= SUB_BLOCKS_PER_BLOCK) {
+            double blockEnergy = meanOfRecentSubBlocks(SUB_BLOCKS_PER_BLOCK);
+            double blockLoudness = loudness(blockEnergy);
+            if (blockLoudness > ABSOLUTE_GATE) {
+                int bin = (int) Math.min(histogramCounts.length - 1, (blockLoudness - ABSOLUTE_GATE) / HISTOGRAM_RESOLUTION);
+                histogramCounts[bin]++;
+                histogramEnergies[bin] += blockEnergy;
+            }
+        }
+        if (subBlockCount % SUB_BLOCKS_PER_SECOND == 0) {
+            int available = (int) Math.min(subBlockCount, SUB_BLOCKS_PER_SHORT_TERM);
+            if (shortTermCount == shortTerm.length) {
+                shortTerm = Arrays.copyOf(shortTerm, shortTermCount * 2);
+            }
+            shortTerm[shortTermCount++] = (float) Math.max(ABSOLUTE_GATE, loudness(meanOfRecentSubBlocks(available)));
+        }
+    }
+
+    private double meanOfRecentSubBlocks(int count) {
+        double sum = 0;
+        for (int i = 1; i <= count; i++) {
+            sum += recentSubBlocks[(int) ((subBlockCount - i) % SUB_BLOCKS_PER_SHORT_TERM)];
+        }
+        return sum / count;
+    }
+
+    private static double loudness(double energy) {
+        return energy > 0 ? LOUDNESS_OFFSET + 10 * Math.log10(energy) : Double.NEGATIVE_INFINITY;
+    }
+
+    private double kWeight(double[] state, double sample) {
+        // Two biquads in transposed direct form II: state[0..1] for the shelf, state[2..3] for the high-pass.
+        double shelved = shelf[0] * sample + state[0];
+        state[0] = shelf[1] * sample - shelf[3] * shelved + state[1];
+        state[1] = shelf[2] * sample - shelf[4] * shelved;
+        double filtered = highPass[0] * shelved + state[2];
+        state[2] = highPass[1] * shelved - highPass[3] * filtered + state[3];
+        state[3] = highPass[2] * shelved - highPass[4] * filtered;
+        return filtered;
+    }
+
+    private void trackTruePeak(int channel, float sample) {
+        float[] past = history[channel];
+        System.arraycopy(past, 0, past, 1, TAPS_PER_PHASE - 1);
+        past[0] = sample;
+        float absolute = Math.abs(sample);
+        if (absolute > peak) {
+            peak = absolute;
+        }
+        if (oversampling == 1) {
+            return;
+        }
+        for (int phase = 0; phase < oversampling; phase++) {
+            float value = 0;
+            for (int tap = 0; tap < TAPS_PER_PHASE; tap++) {
+                value += interpolationFilter[phase + tap * oversampling] * past[tap];
+            }
+            absolute = Math.abs(value);
+            if (absolute > peak) {
+                peak = absolute;
+            }
+        }
+    }
+
+    /**
+     * Computes the K-weighting coefficients {b0, b1, b2, a1, a2} of both stages for the sample rate,
+     * from the analog prototypes of BS.1770 so that rates other than 48 kHz are weighted identically.
+     */
+    private void designKWeighting(int sampleRate) {
+        double k = Math.tan(Math.PI * 1681.974450955533 / sampleRate);
+        double q = 0.7071752369554196;
+        double vh = Math.pow(10, 3.999843853973347 / 20);
+        double vb = Math.pow(vh, 0.4996667741545416);
+        double a0 = 1 + k / q + k * k;
+        shelf[0] = (vh + vb * k / q + k * k) / a0;
+        shelf[1] = 2 * (k * k - vh) / a0;
+        shelf[2] = (vh - vb * k / q + k * k) / a0;
+        shelf[3] = 2 * (k * k - 1) / a0;
+        shelf[4] = (1 - k / q + k * k) / a0;
+
+        k = Math.tan(Math.PI * 38.13547087602444 / sampleRate);
+        q = 0.5003270373238773;
+        a0 = 1 + k / q + k * k;
+        highPass[0] = 1;
+        highPass[1] = -2;
+        highPass[2] = 1;
+        highPass[3] = 2 * (k * k - 1) / a0;
+        highPass[4] = (1 - k / q + k * k) / a0;
+    }
+
+    /**
+     * Designs a Hann-windowed sinc interpolation filter for the oversampling factor, laid out so that
+     * phase {@code p} uses the taps {@code p, p + factor, p + 2 * factor, ...}.
+     */
+    private static float[] designInterpolationFilter(int factor) {
+        int length = TAPS_PER_PHASE * factor;
+        float[] filter = new float[length];
+        double centre = (length - 1) / 2.0;
+        for (int i = 0; i < length; i++) {
+            double x = (i - centre) / factor;
+            double sinc = x == 0 ? 1 : Math.sin(Math.PI * x) / (Math.PI * x);
+            double window = 0.5 - 0.5 * Math.cos(2 * Math.PI * (i + 0.5) / length);
+            filter[i] = (float) (sinc * window);
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eql.cda.track.flow.service.audio;
+
+/**
+ * Describes the layout of the uncompressed PCM samples delivered by the {@link PcmStreamDecoder}.
+ */
+public class PcmFormat {
+
+    private final int sampleRate;
+    private final int channels;
+    private final int bitsPerSample;
+    private final boolean floatingPoint;
+    private final long totalFrames;
+
+    /**
+     * Constructs a PCM format description.
+     *
+     * @param sampleRate The sample rate in Hz.
+     * @param channels The number of interleaved channels.
+     * @param bitsPerSample The resolution of the stored samples.
+     * @param floatingPoint Whether the stored samples are IEEE floats rather than integers.
+     * @param totalFrames The number of frames announced by the file header, or -1 if unknown.
+     */
+    public PcmFormat(int sampleRate, int channels, int bitsPerSample, boolean floatingPoint, long totalFrames) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.floatingPoint = floatingPoint;
+        this.totalFrames = totalFrames;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+}
@@ -0,0 +1,29 @@
+package com.eql.cda.track.flow.service.audio;
+
+/**
+ * Receives the samples of an audio stream decoded by the {@link PcmStreamDecoder}, block by block,
+ * so that analyses can run in a single pass without holding the whole signal in memory.
+ */
+public interface PcmSampleConsumer {
+
+    /**
+     * Called once, before the first block, with the format of the stream.
+     *
+     * @param format The format of the decoded stream.
+     */
+    void start(PcmFormat format);
+
+    /**
+     * Called for each decoded block. The array is reused by the decoder between calls and must not be retained.
+     *
+     * @param samples The interleaved samples, normalised to [-1, 1].
+     * @param frames The number of frames in the block; the array holds {@code frames * channels} valid samples.
+     */
+    void accept(float[] samples, int frames);
+
+    /**
+     * Called once after the last block.
+     */
+    default void end() {
+    }
+}
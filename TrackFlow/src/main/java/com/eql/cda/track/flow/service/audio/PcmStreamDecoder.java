@@ -0,0 +1,248 @@
+package com.eql.cda.track.flow.service.audio;
+
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes uncompressed WAV/RF64 and AIFF/AIFC streams into normalised float samples, in a single
+ * sequential pass over an {@link InputStream}. Works equally on local files and on storage objects
+ * read front to back; only one block of samples is held in memory at a time.
+ * <p>
+ * Supported encodings are integer PCM (8, 16, 24 and 32 bits) and IEEE float (32 and 64 bits).
+ * Compressed formats (MP3, FLAC, ...) are rejected with an {@link UnsupportedAudioFileException}.
+ */
+@Component
+public class PcmStreamDecoder {
+
+    private static final int BLOCK_FRAMES = 4096;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    /**
+     * Decodes the stream and feeds its samples to the consumer.
+     *
+     * @param input The audio stream, positioned at the start of the file. It is not closed.
+     * @param consumer The consumer receiving the samples.
+     * @return The format of the decoded stream.
+     * @throws UnsupportedAudioFileException if the stream is not uncompressed WAV or AIFF.
+     * @throws IOException if the stream cannot be read or is truncated inside a header.
+     */
+    public PcmFormat decode(InputStream input, PcmSampleConsumer consumer) throws UnsupportedAudioFileException, IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, STREAM_BUFFER_SIZE));
+        byte[] header = new byte[12];
+        in.readFully(header);
+        String magic = new String(header, 0, 4, StandardCharsets.ISO_8859_1);
+        String type = new String(header, 8, 4, StandardCharsets.ISO_8859_1);
+
+        if (("RIFF".equals(magic) || "RF64".equals(magic)) && "WAVE".equals(type)) {
+            return decodeWav(in, consumer);
+        }
+        if ("FORM".equals(magic) && ("AIFF".equals(type) || "AIFC".equals(type))) {
+            return decodeAiff(in, "AIFC".equals(type), consumer);
+        }
+        throw new UnsupportedAudioFileException("Only uncompressed WAV and AIFF streams can be decoded.");
+    }
+
+    private PcmFormat decodeWav(DataInputStream in, PcmSampleConsumer consumer) throws UnsupportedAudioFileException, IOException {
+        int formatTag = -1;
+        int channels = 0;
+        int sampleRate = 0;
+        int blockAlign = 0;
+        int bits = 0;
+        long ds64DataSize = -1;
+
+        while (true) {
+            String id = readFourCc(in);
+            long size = Integer.toUnsignedLong(Integer.reverseBytes(in.readInt()));
+            switch (id) {
+                case "ds64" -> {
+                    ByteBuffer ds64 = readChunk(in, size).order(ByteOrder.LITTLE_ENDIAN);
+                    ds64DataSize = ds64.getLong(8);
+                }
+                case "fmt " -> {
+                    ByteBuffer fmt = readChunk(in, size).order(ByteOrder.LITTLE_ENDIAN);
+                    formatTag = fmt.getShort(0) & 0xFFFF;
+                    channels = fmt.getShort(2) & 0xFFFF;
+                    sampleRate = fmt.getInt(4);
+                    blockAlign = fmt.getShort(12) & 0xFFFF;
+                    bits = fmt.getShort(14) & 0xFFFF;
+                    if (formatTag == WAVE_FORMAT_EXTENSIBLE && size >= 26) {
+                        formatTag = fmt.getShort(24) & 0xFFFF;
+                    }
+                }
+                case "data" -> {
+                    if (formatTag != WAVE_FORMAT_PCM && formatTag != WAVE_FORMAT_IEEE_FLOAT) {
+                        throw new UnsupportedAudioFileException("Unsupported WAV encoding: 0x" + Integer.toHexString(formatTag));
+                    }
+                    if (size == 0xFFFFFFFFL && ds64DataSize >= 0) {
+                        size = ds64DataSize;
+                    }
+                    boolean floatingPoint = formatTag == WAVE_FORMAT_IEEE_FLOAT;
+                    // A streamed WAV may announce a size of 0 or 0xFFFFFFFF: the samples then run to the end of the stream.
+                    long dataSize = (size == 0 || size == 0xFFFFFFFFL) ? -1 : size;
+                    return decodeSamples(in, sampleRate, channels, bits, blockAlign, floatingPoint, false, dataSize, consumer);
+                }
+                default -> skipFully(in, size + (size & 1));
+            }
+        }
+    }
+
+    private PcmFormat decodeAiff(DataInputStream in, boolean aifc, PcmSampleConsumer consumer) throws UnsupportedAudioFileException, IOException {
+        int channels = 0;
+        int bits = 0;
+        double sampleRate = 0;
+        boolean floatingPoint = false;
+        boolean littleEndian = false;
+
+        while (true) {
+            String id = readFourCc(in);
+            long size = Integer.toUnsignedLong(in.readInt());
+            if ("COMM".equals(id)) {
+                ByteBuffer comm = readChunk(in, size);
+                channels = comm.getShort(0);
+                bits = comm.getShort(6);
+                sampleRate = readExtended(comm, 8);
+                if (aifc && size >= 22) {
+                    String compression = new String(new byte[]{comm.get(18), comm.get(19), comm.get(20), comm.get(21)},
+                            StandardCharsets.ISO_8859_1);
+                    switch (compression) {
+                        case "NONE", "twos" -> { }
+                        case "sowt" -> littleEndian = true;
+                        case "fl32", "FL32" -> { floatingPoint = true; bits = 32; }
+                        case "fl64", "FL64" -> { floatingPoint = true; bits = 64; }
+                        default -> throw new UnsupportedAudioFileException("Unsupported AIFC compression: " + compression);
+                    }
+                }
+            } else if ("SSND".equals(id)) {
+                if (channels <= 0) {
+                    throw new UnsupportedAudioFileException("AIFF sound data found before the COMM chunk.");
+                }
+                long offset = Integer.toUnsignedLong(in.readInt());
+                in.readInt(); // Block size, unused.
+                skipFully(in, offset);
+                int blockAlign = channels * ((bits + 7) / 8);
+                return decodeSamples(in, (int) Math.round(sampleRate), channels, bits, blockAlign, floatingPoint, !littleEndian,
+                        size - 8 - offset, consumer);
+            } else {
+                skipFully(in, size + (size & 1));
+            }
+        }
+    }
+
+    private PcmFormat decodeSamples(DataInputStream in, int sampleRate, int channels, int bits, int blockAlign,
+                                    boolean floatingPoint, boolean bigEndian, long dataSize,
+                                    PcmSampleConsumer consumer) throws UnsupportedAudioFileException, IOException {
+        int bytesPerSample = (bits + 7) / 8;
+        if (channels <= 0 || sampleRate <= 0 || bytesPerSample == 0 || blockAlign < channels * bytesPerSample) {
+            throw new UnsupportedAudioFileException("Invalid PCM layout: " + channels + " channels, " + bits + " bits.");
+        }
+        if (floatingPoint ? (bytesPerSample != 4 && bytesPerSample != 8) : bytesPerSample > 4) {
+            throw new UnsupportedAudioFileException("Unsupported sample resolution: " + bits + " bits.");
+        }
+
+        long totalFrames = dataSize >= 0 ? dataSize / blockAlign : -1;
+        PcmFormat format = new PcmFormat(sampleRate, channels, bits, floatingPoint, totalFrames);
+        consumer.start(format);
+
+        byte[] raw = new byte[BLOCK_FRAMES * blockAlign];
+        ByteBuffer view = ByteBuffer.wrap(raw).order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        float[] samples = new float[BLOCK_FRAMES * channels];
+        long remaining = dataSize >= 0 ? dataSize - dataSize % blockAlign : Long.MAX_VALUE;
+
+        while (remaining > 0) {
+            int wanted = (int) Math.min(raw.length, remaining);
+            int read = in.readNBytes(raw, 0, wanted);
+            int frames = read / blockAlign;
+            if (frames == 0) {
+                break;
+            }
+            for (int frame = 0; frame < frames; frame++) {
+                int frameOffset = frame * blockAlign;
+                for (int channel = 0; channel < channels; channel++) {
+                    int offset = frameOffset + channel * bytesPerSample;
+                    samples[frame * channels + channel] = floatingPoint
+                            ? readFloat(view, offset, bytesPerSample)
+                            : readInteger(raw, offset, bytesPerSample, bigEndian);
+                }
+            }
+            consumer.accept(samples, frames);
+            remaining -= (long) frames * blockAlign;
+            if (read < wanted) {
+                break;
+            }
+        }
+        consumer.end();
+        return format;
+    }
+
+    private static float readFloat(ByteBuffer view, int offset, int bytesPerSample) {
+        return bytesPerSample == 4 ? view.getFloat(offset) : (float) view.getDouble(offset);
+    }
+
+    private static float readInteger(byte[] raw, int offset, int bytesPerSample, boolean bigEndian) {
+        if (bytesPerSample == 1 && !bigEndian) {
+            // 8-bit WAV samples are unsigned.
+            return ((raw[offset] & 0xFF) - 128) / 128f;
+        }
+        int value = 0;
+        for (int i = 0; i < bytesPerSample; i++) {
+            int b = raw[offset + (bigEndian ? i : bytesPerSample - 1 - i)];
+            value = i == 0 ? b : (value << 8) | (b & 0xFF);
+        }
+        return value / (float) (1L << (bytesPerSample * 8 - 1));
+    }
+
+    private static double readExtended(ByteBuffer buffer, int index) {
+        int signAndExponent = buffer.getShort(index) & 0xFFFF;
+        long mantissa = buffer.getLong(index + 2);
+        if (mantissa == 0) {
+            return 0;
+        }
+        double value = Math.scalb((double) (mantissa >>> 1), (signAndExponent & 0x7FFF) - 16383 - 62);
+        return (signAndExponent & 0x8000) != 0 ? -value : value;
+    }
+
+    private static String readFourCc(DataInputStream in) throws IOException {
+        byte[] id = new byte[4];
+        in.readFully(id);
+        return new String(id, StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer readChunk(DataInputStream in, long size) throws IOException {
+        if (size > 1 << 16) {
+            throw new IOException("Header chunk too large: " + size + " bytes");
+        }
+        byte[] chunk = new byte[(int) size];
+        in.readFully(chunk);
+        if ((size & 1) != 0) {
+            skipFully(in, 1);
+        }
+        return ByteBuffer.wrap(chunk);
+    }
+
+    private static void skipFully(InputStream in, long n) throws IOException {
+        long remaining = n;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+}
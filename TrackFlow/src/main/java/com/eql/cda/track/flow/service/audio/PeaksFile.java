@@ -0,0 +1,215 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Multi-resolution min/max waveform peaks of an audio file, and their compact binary encoding.
+ * <p>
+ * Each level splits the (mono-mixed) signal into buckets of {@code samplesPerBucket} frames and keeps
+ * the minimum and maximum sample of every bucket, quantised to signed 16-bit values. Level 0 is the
+ * finest; each following level merges {@value #LEVEL_FACTOR} buckets of the previous one.
+ * <p>
+ * Binary layout (big-endian):
+ * <pre>
+ * offset  size  field
+ * 0       4     magic "TFPK"
+ * 4       1     format version (1)
+ * 5       1     bits per value (8 or 16)
+ * 6       2     level count
+ * 8       4     sample rate
+ * 12      8     total frames
+ * 20      12*n  level table: samples per bucket (u32), bucket count (u32), data offset from file start (u32)
+ * ...           level data: for each bucket, min then max, signed, "bits per value" wide
+ * </pre>
+ * A client can therefore fetch the 20-byte header and the level table, then request only the byte range
+ * of the zoom level it needs.
+ */
+public class PeaksFile {
+
+    public static final String MAGIC = "TFPK";
+    public static final int FORMAT_VERSION = 1;
+    public static final int LEVEL_FACTOR = 4;
+    private static final int HEADER_LENGTH = 20;
+    private static final int LEVEL_ENTRY_LENGTH = 12;
+
+    private final int sampleRate;
+    private final long totalFrames;
+    private final List<Level> levels;
+
+    /**
+     * Constructs a peaks file.
+     *
+     * @param sampleRate The sample rate of the source audio.
+     * @param totalFrames The number of frames of the source audio.
+     * @param levels The levels, finest first.
+     */
+    public PeaksFile(int sampleRate, long totalFrames, List<Level> levels) {
+        this.sampleRate = sampleRate;
+        this.totalFrames = totalFrames;
+        this.levels = Collections.unmodifiableList(levels);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Encodes the peaks in the binary layout described above.
+     *
+     * @param bitsPerValue 16 for full precision, or 8 to halve the size.
+     * @return The encoded file.
+     */
+    public byte[] encode(int bitsPerValue) {
+        if (bitsPerValue != 8 && bitsPerValue != 16) {
+            throw new IllegalArgumentException("Peaks can only be encoded on 8 or 16 bits.");
+        }
+        int bytesPerValue = bitsPerValue / 8;
+        int dataOffset = HEADER_LENGTH + LEVEL_ENTRY_LENGTH * levels.size();
+        int length = dataOffset;
+        for (Level level : levels) {
+            length += level.getBucketCount() * 2 * bytesPerValue;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(MAGIC.getBytes(StandardCharsets.US_ASCII));
+        buffer.put((byte) FORMAT_VERSION);
+        buffer.put((byte) bitsPerValue);
+        buffer.putShort((short) levels.size());
+        buffer.putInt(sampleRate);
+        buffer.putLong(totalFrames);
+        for (Level level : levels) {
+            buffer.putInt(level.getSamplesPerBucket());
+            buffer.putInt(level.getBucketCount());
+            buffer.putInt(dataOffset);
+            dataOffset += level.getBucketCount() * 2 * bytesPerValue;
+        }
+        for (Level level : levels) {
+            for (int i = 0; i < level.getBucketCount(); i++) {
+                if (bytesPerValue == 2) {
+                    buffer.putShort(level.mins[i]);
+                    buffer.putShort(level.maxs[i]);
+                } else {
+                    buffer.put((byte) (level.mins[i] >> 8));
+                    buffer.put((byte) (level.maxs[i] >> 8));
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a peaks file. Values stored on 8 bits are widened back to the 16-bit scale.
+     *
+     * @param encoded The encoded file.
+     * @return The decoded peaks.
+     * @throws IllegalArgumentException if the content is not a supported peaks file.
+     */
+    public static PeaksFile decode(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        if (encoded.length < HEADER_LENGTH
+                || !MAGIC.equals(new String(encoded, 0, 4, StandardCharsets.US_ASCII))
+                || buffer.get(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a supported peaks file.");
+        }
+        int bytesPerValue = buffer.get(5) / 8;
+        int levelCount = buffer.getShort(6) & 0xFFFF;
+        int sampleRate = buffer.getInt(8);
+        long totalFrames = buffer.getLong(12);
+
+        List<Level> levels = new ArrayList<>(levelCount);
+        for (int l = 0; l < levelCount; l++) {
+            int entry = HEADER_LENGTH + l * LEVEL_ENTRY_LENGTH;
+            int samplesPerBucket = buffer.getInt(entry);
+            int bucketCount = buffer.getInt(entry + 4);
+            int position = buffer.getInt(entry + 8);
+            short[] mins = new short[bucketCount];
+            short[] maxs = new short[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                if (bytesPerValue == 2) {
+                    mins[i] = buffer.getShort(position);
+                    maxs[i] = buffer.getShort(position + 2);
+                    position += 4;
+                } else {
+                    mins[i] = (short) (buffer.get(position) << 8);
+                    maxs[i] = (short) (buffer.get(position + 1) << 8);
+                    position += 2;
+                }
+            }
+            levels.add(new Level(samplesPerBucket, mins, maxs));
+        }
+        return new PeaksFile(sampleRate, totalFrames, levels);
+    }
+
+    /**
+     * One zoom level of the peaks.
+     */
+    public static class Level {
+
+        private final int samplesPerBucket;
+        private final short[] mins;
+        private final short[] maxs;
+
+        /**
+         * Constructs a level.
+         *
+         * @param samplesPerBucket The number of audio frames covered by each bucket.
+         * @param mins The minimum of each bucket.
+         * @param maxs The maximum of each bucket, same length as {@code mins}.
+         */
+        public Level(int samplesPerBucket, short[] mins, short[] maxs) {
+            this.samplesPerBucket = samplesPerBucket;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+        public int getSamplesPerBucket() {
+            return samplesPerBucket;
+        }
+
+        public int getBucketCount() {
+            return mins.length;
+        }
+
+        public short getMin(int bucket) {
+            return mins[bucket];
+        }
+
+        public short getMax(int bucket) {
+            return maxs[bucket];
+        }
+
+        /**
+         * Builds the next, coarser level by merging groups of {@value PeaksFile#LEVEL_FACTOR} buckets.
+         *
+         * @return The coarser level.
+         */
+        public Level downsample() {
+            int count = (mins.length + LEVEL_FACTOR - 1) / LEVEL_FACTOR;
+            short[] coarseMins = new short[count];
+            short[] coarseMaxs = new short[count];
+            for (int i = 0; i < count; i++) {
+                short min = Short.MAX_VALUE;
+                short max = Short.MIN_VALUE;
+                for (int j = i * LEVEL_FACTOR; j < Math.min(mins.length, (i + 1) * LEVEL_FACTOR); j++) {
+                    min = (short) Math.min(min, mins[j]);
+                    max = (short) Math.max(max, maxs[j]);
+                }
+                coarseMins[i] = min;
+                coarseMaxs[i] = max;
+            }
+            return new Level(samplesPerBucket * LEVEL_FACTOR, coarseMins, coarseMaxs);
+        }
+    }
+}
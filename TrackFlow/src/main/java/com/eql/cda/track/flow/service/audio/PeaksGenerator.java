@@ -0,0 +1,107 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link PcmSampleConsumer} that computes the waveform peaks of a stream in a single pass.
+ * Channels are mixed down by taking, for each frame, the extreme values across channels.
+ * Only the finest level is accumulated while decoding; coarser levels are derived from it at the end.
+ * <p>
+ * Instances are not thread-safe and are meant to be used for one stream only.
+ */
+public class PeaksGenerator implements PcmSampleConsumer {
+
+    /** Samples per bucket of the finest level, when the file is short enough. */
+    static final int BASE_SAMPLES_PER_BUCKET = 256;
+    /** Upper bound on the number of buckets of the finest level, to bound memory on very long files. */
+    static final int MAX_BASE_BUCKETS = 1 << 20;
+    /** Levels are added until the coarsest one has at most this many buckets. */
+    static final int MIN_COARSEST_BUCKETS = 1024;
+
+    private int channels;
+    private int sampleRate;
+    private int samplesPerBucket;
+    private long totalFrames;
+
+    private short[] mins = new short[1024];
+    private short[] maxs = new short[1024];
+    private int bucketCount;
+
+    private float bucketMin = Float.POSITIVE_INFINITY;
+    private float bucketMax = Float.NEGATIVE_INFINITY;
+    private int framesInBucket;
+
+    @Override
+    public void start(PcmFormat format) {
+        channels = format.getChannels();
+        sampleRate = format.getSampleRate();
+        samplesPerBucket = BASE_SAMPLES_PER_BUCKET;
+        long announcedFrames = format.getTotalFrames();
+        while (announcedFrames > 0 && announcedFrames / samplesPerBucket > MAX_BASE_BUCKETS) {
+            samplesPerBucket *= 2;
+        }
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        int index = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < channels; channel++) {
+                float sample = samples[index++];
+                if (sample < bucketMin) {
+                    bucketMin = sample;
+                }
+                if (sample > bucketMax) {
+                    bucketMax = sample;
+                }
+            }
+            if (++framesInBucket == samplesPerBucket) {
+                closeBucket();
+            }
+        }
+        totalFrames += frames;
+    }
+
+    @Override
+    public void end() {
+        if (framesInBucket > 0) {
+            closeBucket();
+        }
+    }
+
+    /**
+     * Builds the peaks once the stream has been fully consumed.
+     *
+     * @return The multi-level peaks, finest level first.
+     */
+    public PeaksFile toPeaksFile() {
+        List<PeaksFile.Level> levels = new ArrayList<>();
+        PeaksFile.Level level = new PeaksFile.Level(samplesPerBucket,
+                Arrays.copyOf(mins, bucketCount), Arrays.copyOf(maxs, bucketCount));
+        levels.add(level);
+        while (level.getBucketCount() > MIN_COARSEST_BUCKETS) {
+            level = level.downsample();
+            levels.add(level);
+        }
+        return new PeaksFile(sampleRate, totalFrames, levels);
+    }
+
+    private void closeBucket() {
+        if (bucketCount == mins.length) {
+            mins = Arrays.copyOf(mins, bucketCount * 2);
+            maxs = Arrays.copyOf(maxs, bucketCount * 2);
+        }
+        mins[bucketCount] = quantize(bucketMin);
+        maxs[bucketCount] = quantize(bucketMax);
+        bucketCount++;
+        bucketMin = Float.POSITIVE_INFINITY;
+        bucketMax = Float.NEGATIVE_INFINITY;
+        framesInBucket = 0;
+    }
+
+    private static short quantize(float sample) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(sample * 32768f)));
+    }
+}
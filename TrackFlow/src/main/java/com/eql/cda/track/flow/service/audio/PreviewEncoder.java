@@ -0,0 +1,36 @@
+package com.eql.cda.track.flow.service.audio;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Encodes the lightweight preview rendition of an audio file, used for casual listening instead of the master.
+ * <p>
+ * The default implementation is the pure-Java {@link WavPreviewEncoder}. Another codec (an MP3 or Opus
+ * encoder library, or a wrapper around a local command-line tool) can be plugged in by declaring a
+ * {@code @Primary} bean implementing this interface.
+ */
+public interface PreviewEncoder {
+
+    /**
+     * @return The MIME type of the produced renditions.
+     */
+    String getContentType();
+
+    /**
+     * @return The file extension of the produced renditions, including the leading dot.
+     */
+    String getFileExtension();
+
+    /**
+     * Encodes the preview of an audio stream into a local file.
+     *
+     * @param source The original audio, positioned at the start of the file. It is not closed.
+     * @param target The file receiving the preview. It is created or overwritten.
+     * @throws UnsupportedAudioFileException if the original format cannot be decoded by this encoder.
+     * @throws IOException if the original cannot be read or the preview cannot be written.
+     */
+    void encode(InputStream source, Path target) throws UnsupportedAudioFileException, IOException;
+}
@@ -0,0 +1,125 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PcmSampleConsumer} cutting a stream into the overlapping spectra of a short-time Fourier transform,
+ * shared by the spectral analyses.
+ * <p>
+ * The signal is downmixed and decimated to about 11 kHz, then every hop the last frame of samples is
+ * Hann-windowed and transformed with an {@link Fft}; the spectrum is handed to a {@link FrameListener}.
+ * The first spectrum is produced once a full frame has been received. All buffers are allocated by the
+ * constructor. Instances are not thread-safe and are meant to be used for one stream only.
+ */
+public class StftFramer implements PcmSampleConsumer {
+
+    private static final double TARGET_RATE = 11025;
+
+    /**
+     * Receives the spectrum of each frame.
+     */
+    @FunctionalInterface
+    public interface FrameListener {
+
+        /**
+         * @param real The real parts of the spectrum, one per bin.
+         * @param imaginary The imaginary parts of the spectrum, one per bin.
+         *                  Both arrays are reused for the next frame and must not be kept.
+         */
+        void onFrame(float[] real, float[] imaginary);
+    }
+
+    private final int frameSize;
+    private final int hopSize;
+    private final FrameListener listener;
+    private final Fft fft;
+
+    private final float[] window;
+    private final float[] ring;
+    private final float[] real;
+    private final float[] imaginary;
+
+    private int channels;
+    private int decimation;
+    private double analysisRate;
+
+    private int ringPosition;
+    private long samplesReceived;
+    private int samplesSinceHop;
+    private float decimationSum;
+    private int decimationCount;
+
+    /**
+     * Constructs a framer.
+     *
+     * @param frameSize The number of samples per frame, a power of two.
+     * @param hopSize The number of samples between the starts of two frames.
+     * @param listener The listener receiving each spectrum.
+     * @throws IllegalArgumentException if the frame size is not a power of two.
+     */
+    public StftFramer(int frameSize, int hopSize, FrameListener listener) {
+        this.frameSize = frameSize;
+        this.hopSize = hopSize;
+        this.listener = listener;
+        this.fft = new Fft(frameSize);
+
+        this.window = new float[frameSize];
+        for (int i = 0; i < frameSize; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / frameSize));
+        }
+        this.ring = new float[frameSize];
+        this.real = new float[frameSize];
+        this.imaginary = new float[frameSize];
+    }
+
+    @Override
+    public void start(PcmFormat format) {
+        channels = format.getChannels();
+        decimation = Math.max(1, (int) Math.round(format.getSampleRate() / TARGET_RATE));
+        analysisRate = format.getSampleRate() / (double) decimation;
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        int index = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            float sum = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                sum += samples[index++];
+            }
+            decimationSum += sum / channels;
+            if (++decimationCount == decimation) {
+                push(decimationSum / decimation);
+                decimationSum = 0;
+                decimationCount = 0;
+            }
+        }
+    }
+
+    /**
+     * @return The sample rate of the framed signal after decimation, known once {@link #start(PcmFormat)} was called.
+     */
+    public double getAnalysisRate() {
+        return analysisRate;
+    }
+
+    private void push(float sample) {
+        ring[ringPosition] = sample;
+        ringPosition = (ringPosition + 1) & (frameSize - 1);
+        samplesReceived++;
+        if (++samplesSinceHop >= hopSize && samplesReceived >= frameSize) {
+            samplesSinceHop = 0;
+            transformFrame();
+        }
+    }
+
+    private void transformFrame() {
+        // The oldest sample of the frame is at the current write position of the ring.
+        for (int i = 0; i < frameSize; i++) {
+            real[i] = ring[(ringPosition + i) & (frameSize - 1)] * window[i];
+        }
+        Arrays.fill(imaginary, 0f);
+        fft.transform(real, imaginary);
+        listener.onFrame(real, imaginary);
+    }
+}
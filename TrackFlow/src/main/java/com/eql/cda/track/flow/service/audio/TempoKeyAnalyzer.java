@@ -0,0 +1,210 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PcmSampleConsumer} estimating the tempo and the key of a stream in a single pass.
+ * <p>
+ * The signal is framed into spectra by a {@link StftFramer}. Each frame contributes:
+ * <ul>
+ *     <li>its spectral flux (the increase of log-magnitude across bins) to an onset-strength envelope.
+ *     The tempo is the autocorrelation peak of that envelope between 60 and 200 BPM, weighted towards 120 BPM
+ *     to settle octave ambiguities;</li>
+ *     <li>its magnitudes between 65 Hz and 2 kHz, folded into a 12-bin chroma vector. The key is the
+ *     Krumhansl-Schmuckler profile (24 major and minor keys) best correlated with the accumulated chroma.</li>
+ * </ul>
+ * All buffers are allocated up front; only the onset envelope grows, by doubling.
+ * Instances are not thread-safe and are meant to be used for one stream only.
+ */
+public class TempoKeyAnalyzer implements PcmSampleConsumer {
+
+    static final int FRAME_SIZE = 2048;
+    static final int HOP_SIZE = 256;
+    private static final double MIN_BPM = 60;
+    private static final double MAX_BPM = 200;
+    private static final double PREFERRED_BPM = 120;
+    /** Width, in octaves, of the tempo preference around {@link #PREFERRED_BPM}. */
+    private static final double BPM_OCTAVE_WIDTH = 1.0;
+    private static final double MIN_CHROMA_FREQUENCY = 65;
+    private static final double MAX_CHROMA_FREQUENCY = 2100;
+    /** Seconds of audio below which no tempo is estimated. */
+    private static final double MIN_TEMPO_SECONDS = 6;
+    /** Correlation below which the key is considered undetermined, e.g. for unpitched material. */
+    private static final double MIN_KEY_CORRELATION = 0.5;
+
+    private static final String[] PITCH_NAMES = {"C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B"};
+    private static final double[] MAJOR_PROFILE = {6.35, 2.23, 3.48, 2.33, 4.38, 4.09, 2.52, 5.19, 2.39, 3.66, 2.29, 2.88};
+    private static final double[] MINOR_PROFILE = {6.33, 2.68, 3.52, 5.38, 2.60, 3.53, 2.54, 4.75, 3.98, 2.69, 3.34, 3.17};
+
+    private final StftFramer framer = new StftFramer(FRAME_SIZE, HOP_SIZE, this::analyseFrame);
+
+    private double analysisRate;
+
+    private final float[] previousLogMagnitudes = new float[FRAME_SIZE / 2];
+    private final int[] pitchClassOfBin = new int[FRAME_SIZE / 2];
+    private final double[] chroma = new double[12];
+
+    private float[] onsets = new float[4096];
+    private int onsetCount;
+
+    private Double bpm;
+    private String key;
+
+    @Override
+    public void start(PcmFormat format) {
+        framer.start(format);
+        analysisRate = framer.getAnalysisRate();
+
+        for (int bin = 0; bin < FRAME_SIZE / 2; bin++) {
+            double frequency = bin * analysisRate / FRAME_SIZE;
+            pitchClassOfBin[bin] = frequency < MIN_CHROMA_FREQUENCY || frequency > MAX_CHROMA_FREQUENCY
+                    ? -1
+                    : Math.floorMod((int) Math.round(12 * Math.log(frequency / 440) / Math.log(2)) + 9, 12);
+        }
+    }
+
+    @Override
+    public void accept(float[] samples, int frames) {
+        framer.accept(samples, frames);
+    }
+
+    @Override
+    public void end() {
+        bpm = estimateTempo();
+        key = estimateKey();
+    }
+
+    /**
+     * @return The estimated tempo in beats per minute, or null if the stream is too short or has no clear pulse.
+     */
+    public Double getBpm() {
+        return bpm;
+    }
+
+    /**
+     * @return The estimated key, such as "C Major" or "F# Minor", or null if no key stands out.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    private void analyseFrame(float[] real, float[] imaginary) {
+        float flux = 0;
+        for (int bin = 1; bin < FRAME_SIZE / 2; bin++) {
+            float magnitude = (float) Math.sqrt(real[bin] * real[bin] + imaginary[bin] * imaginary[bin]);
+            float logMagnitude = (float) Math.log1p(100 * magnitude);
+            float increase = logMagnitude - previousLogMagnitudes[bin];
+            if (increase > 0) {
+                flux += increase;
+            }
+            previousLogMagnitudes[bin] = logMagnitude;
+            int pitchClass = pitchClassOfBin[bin];
+            if (pitchClass >= 0) {
+                chroma[pitchClass] += magnitude;
+            }
+        }
+
+        if (onsetCount == onsets.length) {
+            onsets = Arrays.copyOf(onsets, onsetCount * 2);
+        }
+        onsets[onsetCount++] = flux;
+    }
+
+    private Double estimateTempo() {
+        double frameRate = analysisRate / HOP_SIZE;
+        if (onsetCount < MIN_TEMPO_SECONDS * frameRate) {
+            return null;
+        }
+        // The first onset value compares against silence and would dominate the envelope.
+        onsets[0] = onsets[1];
+        double mean = 0;
+        for (int i = 0; i < onsetCount; i++) {
+            mean += onsets[i];
+        }
+        mean /= onsetCount;
+
+        int minLag = (int) Math.floor(60 * frameRate / MAX_BPM);
+        int maxLag = (int) Math.ceil(60 * frameRate / MIN_BPM);
+        double[] autocorrelation = new double[maxLag + 2];
+        for (int lag = Math.max(1, minLag - 1); lag <= maxLag + 1; lag++) {
+            double sum = 0;
+            for (int i = lag; i < onsetCount; i++) {
+                sum += (onsets[i] - mean) * (onsets[i - lag] - mean);
+            }
+            autocorrelation[lag] = sum / (onsetCount - lag);
+        }
+
+        int bestLag = -1;
+        double bestScore = 0;
+        for (int lag = Math.max(2, minLag); lag <= maxLag; lag++) {
+            double octaves = Math.log(60 * frameRate / lag / PREFERRED_BPM) / Math.log(2) / BPM_OCTAVE_WIDTH;
+            double score = autocorrelation[lag] * Math.exp(-0.5 * octaves * octaves);
+            if (score > bestScore) {
+                bestScore = score;
+                bestLag = lag;
+            }
+        }
+        if (bestLag < 0) {
+            return null;
+        }
+
+        // Parabolic interpolation around the peak refines the lag below one hop.
+        double before = autocorrelation[bestLag - 1];
+        double peak = autocorrelation[bestLag];
+        double after = autocorrelation[bestLag + 1];
+        double denominator = before - 2 * peak + after;
+        double offset = denominator < 0 ? 0.5 * (before - after) / denominator : 0;
+        return 60 * frameRate / (bestLag + Math.max(-0.5, Math.min(0.5, offset)));
+    }
+
+    private String estimateKey() {
+        double total = 0;
+        for (double value : chroma) {
+            total += value;
+        }
+        if (total <= 0) {
+            return null;
+        }
+
+        String bestKey = null;
+        double bestCorrelation = MIN_KEY_CORRELATION;
+        for (int tonic = 0; tonic < 12; tonic++) {
+            double major = correlation(MAJOR_PROFILE, tonic);
+            if (major > bestCorrelation) {
+                bestCorrelation = major;
+                bestKey = PITCH_NAMES[tonic] + " Major";
+            }
+            double minor = correlation(MINOR_PROFILE, tonic);
+            if (minor > bestCorrelation) {
+                bestCorrelation = minor;
+                bestKey = PITCH_NAMES[tonic] + " Minor";
+            }
+        }
+        return bestKey;
+    }
+
+    /**
+     * Pearson correlation between the chroma vector and a key profile rotated to the given tonic.
+     */
+    private double correlation(double[] profile, int tonic) {
+        double chromaMean = 0;
+        double profileMean = 0;
+        for (int i = 0; i < 12; i++) {
+            chromaMean += chroma[i];
+            profileMean += profile[i];
+        }
+        chromaMean /= 12;
+        profileMean /= 12;
+        double covariance = 0;
+        double chromaVariance = 0;
+        double profileVariance = 0;
+        for (int i = 0; i < 12; i++) {
+            double c = chroma[(tonic + i) % 12] - chromaMean;
+            double p = profile[i] - profileMean;
+            covariance += c * p;
+            chromaVariance += c * c;
+            profileVariance += p * p;
+        }
+        return chromaVariance == 0 ? 0 : covariance / Math.sqrt(chromaVariance * profileVariance);
+    }
+}
@@ -0,0 +1,18 @@
+package com.eql.cda.track.flow.service.audio;
+
+/**
+ * An exception thrown by {@link AudioProbe} when a file was read completely but is not an audio format
+ * any parser understands. Unlike an {@link java.io.IOException}, retrying cannot make it succeed.
+ */
+public class UnreadableAudioException extends Exception {
+
+    /**
+     * Constructs a new UnreadableAudioException.
+     *
+     * @param message the detail message.
+     * @param cause the error reported by the parser.
+     */
+    public UnreadableAudioException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
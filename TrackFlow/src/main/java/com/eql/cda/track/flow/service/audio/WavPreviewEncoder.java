@@ -0,0 +1,266 @@
+package com.eql.cda.track.flow.service.audio;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A {@link PreviewEncoder} producing 16-bit PCM WAV previews, downmixed and decimated to a lower sample rate.
+ * A stereo 24-bit/48 kHz master becomes a mono 16-bit/22.05 kHz preview about six to seven times smaller,
+ * which every browser can play without a codec library.
+ * <p>
+ * The original is decoded by the {@link PcmStreamDecoder} and resampled in the same single pass, through a
+ * Blackman-windowed sinc low-pass filter evaluated at the output instants, so memory use does not depend
+ * on the length of the file.
+ */
+@Component
+public class WavPreviewEncoder implements PreviewEncoder {
+
+    private static final int HEADER_SIZE = 44;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    /** Taps on each side of the centre of the low-pass kernel. */
+    private static final int FILTER_HALF_WIDTH = 16;
+    /** Cutoff of the low-pass filter, relative to the Nyquist frequency of the output. */
+    private static final double CUTOFF_RATIO = 0.9;
+
+    private final PcmStreamDecoder pcmStreamDecoder;
+    private final int sampleRate;
+    private final int channels;
+
+    /**
+     * Constructs the encoder.
+     *
+     * @param pcmStreamDecoder Decoder turning the originals into samples.
+     * @param sampleRate The maximum sample rate of the previews, in Hz. Originals at a lower rate keep theirs.
+     * @param channels The maximum number of channels of the previews (1 to downmix to mono).
+     */
+    @Autowired
+    public WavPreviewEncoder(PcmStreamDecoder pcmStreamDecoder,
+                             @Value("${preview.sample-rate:22050}") int sampleRate,
+                             @Value("${preview.channels:1}") int channels) {
+        if (sampleRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("Preview sample rate and channel count must be positive.");
+        }
+        this.pcmStreamDecoder = pcmStreamDecoder;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+    }
+
+    @Override
+    public String getContentType() {
+        return "audio/wav";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".wav";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(InputStream source, Path target) throws UnsupportedAudioFileException, IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.position(HEADER_SIZE);
+            Resampler resampler = new Resampler(out, sampleRate, channels);
+            try {
+                pcmStreamDecoder.decode(source, resampler);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            ByteBuffer header = header(resampler.outputRate, resampler.outputChannels, resampler.dataBytes);
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+        }
+    }
+
+    private static ByteBuffer header(int sampleRate, int channels, long dataBytes) throws IOException {
+        if (dataBytes > 0xFFFFFFFFL - (HEADER_SIZE - 8)) {
+            throw new IOException("Preview exceeds the 4 GB limit of a WAV file.");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt((int) (HEADER_SIZE - 8 + dataBytes));
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+        header.putShort((short) 1).putShort((short) channels).putInt(sampleRate);
+        header.putInt(sampleRate * channels * 2).putShort((short) (channels * 2)).putShort((short) 16);
+        header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt((int) dataBytes);
+        return header.flip();
+    }
+
+    /**
+     * Downmixes and resamples the decoded blocks, writing 16-bit little-endian samples as it goes.
+     * The input frames still needed by the filter are kept in a sliding window.
+     */
+    private static class Resampler implements PcmSampleConsumer {
+
+        private final FileChannel out;
+        private final int maxRate;
+        private final int maxChannels;
+        private final ByteBuffer buffer = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private int inputChannels;
+        private int outputRate;
+        private int outputChannels;
+        private double step;
+        private float[] kernel;
+
+        /** Per output channel, the input frames from absolute index {@code windowStart} on. */
+        private float[][] window;
+        private long windowStart;
+        private long framesReceived;
+        private long framesWritten;
+        private long dataBytes;
+
+        Resampler(FileChannel out, int maxRate, int maxChannels) {
+            this.out = out;
+            this.maxRate = maxRate;
+            this.maxChannels = maxChannels;
+        }
+
+        @Override
+        public void start(PcmFormat format) {
+            inputChannels = format.getChannels();
+            outputChannels = Math.min(maxChannels, inputChannels);
+            outputRate = Math.min(maxRate, format.getSampleRate());
+            step = format.getSampleRate() / (double) outputRate;
+            kernel = step == 1 ? new float[]{1f} : lowPassKernel(0.5 * CUTOFF_RATIO / step);
+            window = new float[outputChannels][8192];
+        }
+
+        @Override
+        public void accept(float[] samples, int frames) {
+            int offset = (int) (framesReceived - windowStart);
+            ensureCapacity(offset + frames);
+            for (int frame = 0; frame < frames; frame++) {
+                int base = frame * inputChannels;
+                if (outputChannels == 1 && inputChannels > 1) {
+                    float sum = 0;
+                    for (int channel = 0; channel < inputChannels; channel++) {
+                        sum += samples[base + channel];
+                    }
+                    window[0][offset + frame] = sum / inputChannels;
+                } else {
+                    for (int channel = 0; channel < outputChannels; channel++) {
+                        window[channel][offset + frame] = samples[base + channel];
+                    }
+                }
+            }
+            framesReceived += frames;
+            int halfWidth = kernel.length / 2;
+            // An output frame can be computed once the filter has every input frame it covers.
+            while ((long) Math.floor(framesWritten * step) + 1 + halfWidth < framesReceived) {
+                writeFrame();
+            }
+            discardConsumedFrames(halfWidth);
+        }
+
+        @Override
+        public void end() {
+            // Frames past the end of the input read as silence.
+            while (framesWritten * step < framesReceived) {
+                writeFrame();
+            }
+            flush();
+        }
+
+        private void writeFrame() {
+            double position = framesWritten * step;
+            long index = (long) Math.floor(position);
+            double fraction = position - index;
+            for (int channel = 0; channel < outputChannels; channel++) {
+                double value = filterAt(channel, index);
+                if (fraction > 0) {
+                    value += fraction * (filterAt(channel, index + 1) - value);
+                }
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(value * 32768))));
+            }
+            framesWritten++;
+        }
+
+        private double filterAt(int channel, long index) {
+            int halfWidth = kernel.length / 2;
+            float[] frames = window[channel];
+            double sum = 0;
+            for (int tap = 0; tap < kernel.length; tap++) {
+                long frame = index + tap - halfWidth;
+                if (frame >= windowStart && frame < framesReceived) {
+                    sum += kernel[tap] * frames[(int) (frame - windowStart)];
+                }
+            }
+            return sum;
+        }
+
+        private void discardConsumedFrames(int halfWidth) {
+            long keepFrom = Math.max(windowStart, (long) Math.floor(framesWritten * step) - halfWidth);
+            int discarded = (int) (keepFrom - windowStart);
+            int kept = (int) (framesReceived - keepFrom);
+            for (float[] frames : window) {
+                System.arraycopy(frames, discarded, frames, 0, kept);
+            }
+            windowStart = keepFrom;
+        }
+
+        private void ensureCapacity(int frames) {
+            if (frames > window[0].length) {
+                for (int channel = 0; channel < outputChannels; channel++) {
+                    window[channel] = Arrays.copyOf(window[channel], Math.max(frames, window[channel].length * 2));
+                }
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    dataBytes += out.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Builds a Blackman-windowed sinc low-pass kernel with unity gain at DC.
+         *
+         * @param cutoff The cutoff frequency, as a fraction of the input sample rate.
+         */
+        private static float[] lowPassKernel(double cutoff) {
+            int length = 2 * FILTER_HALF_WIDTH + 1;
+            double[] taps = new double[length];
+            double sum = 0;
+            for (int i = 0; i < length; i++) {
+                int n = i - FILTER_HALF_WIDTH;
+                double sinc = n == 0 ? 2 * cutoff : Math.sin(2 * Math.PI * cutoff * n) / (Math.PI * n);
+                double blackman = 0.42 - 0.5 * Math.cos(2 * Math.PI * i / (length - 1))
+                        + 0.08 * Math.cos(4 * Math.PI * i / (length - 1));
+                taps[i] = sinc * blackman;
+                sum += taps[i];
+            }
+            float[] kernel = new float[length];
+            for (int i = 0; i < length; i++) {
+                kernel[i] = (float) (taps[i] / sum);
+            }
+            return kernel;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.eql.cda.track.flow.service.audio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the waveform peaks of two audio files and finds the time ranges where they differ.
+ * <p>
+ * Both files are reduced to a level envelope of {@value #FRAME_RATE} frames per second, in dB, taken from the
+ * finest level of their {@link PeaksFile}. The envelopes are aligned on the offset that maximises their
+ * correlation within {@code maxOffsetSeconds}, so that material added or removed at the start does not make the
+ * whole file differ. A single sequential pass then averages the level difference over a sliding window and
+ * reports the ranges where it exceeds the threshold. Only primitive arrays are touched, and memory is linear in
+ * the duration of the files.
+ */
+public class WaveformDiff {
+
+    public static final int FRAME_RATE = 20;
+    /** Level given to silence and to the time outside a file. */
+    private static final float SILENCE_DB = -60;
+    /** Half-width of the sliding window over which level differences are averaged (0.25 s on each side). */
+    private static final int SMOOTHING_FRAMES = FRAME_RATE / 4;
+    /** Differing ranges separated by less than this are merged (1 s). */
+    private static final int MIN_GAP_FRAMES = FRAME_RATE;
+    /** Offset penalty applied to the correlation, so that equal scores favour the smallest offset. */
+    private static final double OFFSET_PENALTY = 1e-4;
+
+    private final float thresholdDb;
+    private final int maxOffsetFrames;
+
+    /**
+     * Constructs a comparison kernel.
+     *
+     * @param thresholdDb The average level difference, in dB, above which a range is reported.
+     * @param maxOffsetSeconds The largest offset looked for when aligning the two files.
+     */
+    public WaveformDiff(float thresholdDb, double maxOffsetSeconds) {
+        this.thresholdDb = thresholdDb;
+        this.maxOffsetFrames = (int) Math.round(maxOffsetSeconds * FRAME_RATE);
+    }
+
+    /**
+     * Computes the level envelope of decoded peaks: the peak-to-peak amplitude of each frame, in dB.
+     *
+     * @param peaks The decoded peaks of an audio file.
+     * @return One value per frame of 1/{@value #FRAME_RATE} s, floored at -60 dB.
+     */
+    public static float[] envelopeOf(PeaksFile peaks) {
+        int frameCount = (int) Math.ceil((double) peaks.getTotalFrames() * FRAME_RATE / peaks.getSampleRate());
+        float[] amplitudes = new float[frameCount];
+        if (frameCount == 0 || peaks.getLevels().isEmpty()) {
+            return amplitudes;
+        }
+        PeaksFile.Level finest = peaks.getLevels().get(0);
+        double framesPerBucket = (double) finest.getSamplesPerBucket() * FRAME_RATE / peaks.getSampleRate();
+        for (int bucket = 0; bucket < finest.getBucketCount(); bucket++) {
+            float amplitude = (finest.getMax(bucket) - finest.getMin(bucket)) / 65535f;
+            int first = Math.min(frameCount - 1, (int) (bucket * framesPerBucket));
+            // Buckets longer than a frame, e.g. for very long files, cover several frames.
+            int last = Math.min(frameCount - 1, Math.max(first, (int) Math.ceil((bucket + 1) * framesPerBucket) - 1));
+            for (int frame = first; frame <= last; frame++) {
+                amplitudes[frame] = Math.max(amplitudes[frame], amplitude);
+            }
+        }
+        for (int frame = 0; frame < frameCount; frame++) {
+            amplitudes[frame] = amplitudes[frame] > 0
+                    ? Math.max(SILENCE_DB, (float) (20 * Math.log10(amplitudes[frame])))
+                    : SILENCE_DB;
+        }
+        return amplitudes;
+    }
+
+    /**
+     * Compares two envelopes.
+     *
+     * @param envelope The envelope of the compared file.
+     * @param other The envelope of the reference file, such as the parent version.
+     * @return The offset between the files and the ranges where they differ.
+     */
+    public Result compare(float[] envelope, float[] other) {
+        int offset = align(envelope, other);
+        // The union of both timelines, in the frames of the compared file: frame i faces frame i - offset of the other.
+        int start = Math.min(0, offset);
+        int end = Math.max(envelope.length, other.length + offset);
+
+        List<Range> ranges = new ArrayList<>();
+        double windowSum = 0;
+        for (int i = start; i < Math.min(end, start + SMOOTHING_FRAMES); i++) {
+            windowSum += difference(envelope, other, offset, i);
+        }
+        boolean open = false;
+        int rangeStart = 0;
+        int lastDiffering = 0;
+        double rangeSum = 0;
+        int rangeFrames = 0;
+        double pendingSum = 0;
+        int pendingFrames = 0;
+        for (int i = start; i < end; i++) {
+            // The window covers [i - SMOOTHING_FRAMES, i + SMOOTHING_FRAMES], clipped to the timeline.
+            if (i + SMOOTHING_FRAMES < end) {
+                windowSum += difference(envelope, other, offset, i + SMOOTHING_FRAMES);
+            }
+            if (i - SMOOTHING_FRAMES - 1 >= start) {
+                windowSum -= difference(envelope, other, offset, i - SMOOTHING_FRAMES - 1);
+            }
+            int windowLength = Math.min(end, i + SMOOTHING_FRAMES + 1) - Math.max(start, i - SMOOTHING_FRAMES);
+            double frameDifference = difference(envelope, other, offset, i);
+
+            if (windowSum / windowLength > thresholdDb) {
+                if (open && i - lastDiffering > MIN_GAP_FRAMES) {
+                    ranges.add(toRange(rangeStart, lastDiffering + 1, offset, envelope.length, other.length, rangeSum / rangeFrames));
+                    open = false;
+                }
+                if (!open) {
+                    open = true;
+                    rangeStart = i;
+                    rangeSum = 0;
+                    rangeFrames = 0;
+                    pendingSum = 0;
+                    pendingFrames = 0;
+                }
+                // Short gaps between differing frames belong to the range.
+                rangeSum += pendingSum + frameDifference;
+                rangeFrames += pendingFrames + 1;
+                pendingSum = 0;
+                pendingFrames = 0;
+                lastDiffering = i;
+            } else if (open) {
+                pendingSum += frameDifference;
+                pendingFrames++;
+            }
+        }
+        if (open) {
+            ranges.add(toRange(rangeStart, lastDiffering + 1, offset, envelope.length, other.length, rangeSum / rangeFrames));
+        }
+        return new Result((double) offset / FRAME_RATE, ranges);
+    }
+
+    /**
+     * Finds the offset, in frames, that best aligns the other envelope with the compared one,
+     * by normalised cross-correlation of their mean-removed levels.
+     */
+    private int align(float[] envelope, float[] other) {
+        double mean = mean(envelope);
+        double otherMean = mean(other);
+        int minOverlap = Math.max(1, Math.min(envelope.length, other.length) / 2);
+        int bestOffset = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int offset = -maxOffsetFrames; offset <= maxOffsetFrames; offset++) {
+            int first = Math.max(0, offset);
+            int last = Math.min(envelope.length, other.length + offset);
+            if (last - first < minOverlap) {
+                continue;
+            }
+            double product = 0;
+            double energy = 0;
+            double otherEnergy = 0;
+            for (int i = first; i < last; i++) {
+                double a = envelope[i] - mean;
+                double b = other[i - offset] - otherMean;
+                product += a * b;
+                energy += a * a;
+                otherEnergy += b * b;
+            }
+            double score = energy > 0 && otherEnergy > 0 ? product / Math.sqrt(energy * otherEnergy) : 0;
+            score -= OFFSET_PENALTY * Math.abs(offset);
+            if (score > bestScore) {
+                bestScore = score;
+                bestOffset = offset;
+            }
+        }
+        return bestOffset;
+    }
+
+    private static double difference(float[] envelope, float[] other, int offset, int frame) {
+        float a = frame >= 0 && frame < envelope.length ? envelope[frame] : SILENCE_DB;
+        int otherFrame = frame - offset;
+        float b = otherFrame >= 0 && otherFrame < other.length ? other[otherFrame] : SILENCE_DB;
+        return Math.abs(a - b);
+    }
+
+    private static double mean(float[] values) {
+        double sum = 0;
+        for (float value : values) {
+            sum += value;
+        }
+        return values.length > 0 ? sum / values.length : 0;
+    }
+
+    private static Range toRange(int start, int end, int offset, int length, int otherLength, double meanDifference) {
+        return new Range(
+                seconds(clamp(start, length)), seconds(clamp(end, length)),
+                seconds(clamp(start - offset, otherLength)), seconds(clamp(end - offset, otherLength)),
+                Math.round(meanDifference * 10) / 10.0);
+    }
+
+    private static int clamp(int frame, int length) {
+        return Math.max(0, Math.min(length, frame));
+    }
+
+    private static double seconds(int frame) {
+        return (double) frame / FRAME_RATE;
+    }
+
+    /**
+     * The outcome of a comparison.
+     *
+     * @param offsetSeconds How much later the aligned material plays in the compared file than in the other one.
+     * @param ranges The ranges where the files differ, in playback order.
+     */
+    public record Result(double offsetSeconds, List<Range> ranges) {
+    }
+
+    /**
+     * A range where two files differ. Times outside a file are clamped to its bounds, so material present
+     * in one file only yields an empty range in the other.
+     *
+     * @param startSeconds The start of the range in the compared file.
+     * @param endSeconds The end of the range in the compared file.
+     * @param otherStartSeconds The start of the range in the other file.
+     * @param otherEndSeconds The end of the range in the other file.
+     * @param meanDifferenceDb The average level difference over the range.
+     */
+    public record Range(double startSeconds, double endSeconds, double otherStartSeconds, double otherEndSeconds,
+                        double meanDifferenceDb) {
+    }
+}
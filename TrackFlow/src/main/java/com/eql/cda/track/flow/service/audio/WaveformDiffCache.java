@@ -0,0 +1,117 @@
+package com.eql.cda.track.flow.service.audio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Computes {@link WaveformDiff waveform comparisons} between stored audio objects and keeps the most recent
+ * results in a bounded least-recently-used map. Results are keyed by the pair of object paths: stored audio
+ * never changes, so a cached comparison stays valid until one of the objects is deleted.
+ */
+@Component
+public class WaveformDiffCache {
+
+    private static final Logger log = LoggerFactory.getLogger(WaveformDiffCache.class);
+
+    private final float thresholdDb;
+    private final WaveformDiff waveformDiff;
+    private final Map<PairKey, WaveformDiff.Result> results;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param thresholdDb The average level difference, in dB, above which a range is reported.
+     * @param maxOffsetSeconds The largest offset looked for when aligning two files.
+     * @param maxEntries The number of comparisons kept in memory.
+     */
+    public WaveformDiffCache(@Value("${diff.threshold-db:3}") float thresholdDb,
+                             @Value("${diff.max-offset-seconds:15}") double maxOffsetSeconds,
+                             @Value("${diff.cache.max-entries:256}") int maxEntries) {
+        this.thresholdDb = thresholdDb;
+        this.waveformDiff = new WaveformDiff(thresholdDb, maxOffsetSeconds);
+        this.results = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PairKey, WaveformDiff.Result> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return The average level difference, in dB, above which a range is reported.
+     */
+    public float getThresholdDb() {
+        return thresholdDb;
+    }
+
+    /**
+     * Returns the comparison of two audio objects, computing it on a cache miss.
+     *
+     * @param objectPath The path of the compared audio object.
+     * @param otherObjectPath The path of the reference audio object.
+     * @param peaksLoader Reads the encoded peaks of an object, or returns an empty Optional if it has none.
+     * @return The comparison, or an empty Optional if either object has no peaks.
+     * @throws IOException if the peaks cannot be read.
+     */
+    public Optional<WaveformDiff.Result> compare(String objectPath, String otherObjectPath, PeaksLoader peaksLoader)
+            throws IOException {
+        PairKey key = new PairKey(objectPath, otherObjectPath);
+        synchronized (results) {
+            WaveformDiff.Result cached = results.get(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<byte[]> peaks = peaksLoader.load(objectPath);
+        Optional<byte[]> otherPeaks = peaks.isPresent() ? peaksLoader.load(otherObjectPath) : Optional.empty();
+        if (peaks.isEmpty() || otherPeaks.isEmpty()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        WaveformDiff.Result result = waveformDiff.compare(
+                WaveformDiff.envelopeOf(PeaksFile.decode(peaks.get())),
+                WaveformDiff.envelopeOf(PeaksFile.decode(otherPeaks.get())));
+        log.debug("Compared {} with {} in {} ms: {} differing ranges", objectPath, otherObjectPath,
+                (System.nanoTime() - start) / 1_000_000, result.ranges().size());
+        synchronized (results) {
+            results.put(key, result);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Drops every comparison involving an audio object, after it has been deleted.
+     *
+     * @param objectPath The path of the audio object.
+     */
+    public void evict(String objectPath) {
+        synchronized (results) {
+            results.keySet().removeIf(key -> key.objectPath().equals(objectPath) || key.otherObjectPath().equals(objectPath));
+        }
+    }
+
+    /**
+     * Reads the encoded peaks of an audio object.
+     */
+    @FunctionalInterface
+    public interface PeaksLoader {
+
+        /**
+         * @param objectPath The path of the audio object.
+         * @return Its encoded peaks, or an empty Optional if it has none.
+         * @throws IOException if the peaks cannot be read.
+         */
+        Optional<byte[]> load(String objectPath) throws IOException;
+    }
+
+    private record PairKey(String objectPath, String otherObjectPath) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.eql.cda.track.flow.service.hierarchy;
+
+import com.eql.cda.track.flow.repository.BranchRepository;
+import com.eql.cda.track.flow.repository.CompositionRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks that the IDs of a nested route, {@code /projects/{p}/compositions/{c}/branches/{b}/versions/{v}},
+ * designate a real path in the hierarchy, without loading any entity.
+ * <p>
+ * The path of a composition, branch or version is read in a single statement joining its ancestors by primary key
+ * and returning only their IDs. A resource never moves to another parent, so resolved paths are kept for a short
+ * time in a bounded least-recently-used map, and a burst of requests on the same resource costs one statement.
+ * A deleted resource may still resolve until its entry expires, including on other nodes, whose caches are not
+ * evicted. Callers must therefore load the entity they read or attach to, and fail with the usual not-found error
+ * when it is gone; a create path must not take a reference to a parent that only the cache vouches for.
+ * Paths that do not resolve are never cached.
+ */
+@Component
+public class HierarchyResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(HierarchyResolver.class);
+
+    private final CompositionRepository compositionRepository;
+    private final BranchRepository branchRepository;
+    private final VersionRepository versionRepository;
+    private final long ttlNanos;
+    private final Map<PathKey, CachedPath> paths;
+
+    /**
+     * Constructs the resolver.
+     *
+     * @param compositionRepository Repository reading the project of a composition.
+     * @param branchRepository Repository reading the path of a branch.
+     * @param versionRepository Repository reading the path of a version.
+     * @param ttlSeconds How long a resolved path is trusted.
+     * @param maxEntries The number of resolved paths kept in memory.
+     */
+    @Autowired
+    public HierarchyResolver(CompositionRepository compositionRepository, BranchRepository branchRepository,
+                             VersionRepository versionRepository,
+                             @Value("${hierarchy.cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${hierarchy.cache.max-entries:10000}") int maxEntries) {
+        this.compositionRepository = compositionRepository;
+        this.branchRepository = branchRepository;
+        this.versionRepository = versionRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.paths = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PathKey, CachedPath> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Checks that a composition exists and belongs to a project.
+     *
+     * @param projectId The ID of the project given in the route.
+     * @param compositionId The ID of the composition.
+     * @throws EntityNotFoundException if the composition does not exist.
+     * @throws AccessDeniedException if the composition belongs to another project.
+     */
+    public void requireComposition(Long projectId, Long compositionId) {
+        CachedPath path = cached(PathKey.Level.COMPOSITION, compositionId);
+        if (path == null) {
+            Long ownerProjectId = compositionRepository.findProjectIdById(compositionId)
+                    .orElseThrow(() -> new EntityNotFoundException("Composition not found with id: " + compositionId));
+            path = cache(PathKey.Level.COMPOSITION, compositionId, ownerProjectId, compositionId, null);
+        }
+        checkProject(path, projectId);
+    }
+
+    /**
+     * Checks that a branch exists and that its composition and project are those of the route.
+     *
+     * @param projectId The ID of the project given in the route.
+     * @param compositionId The ID of the composition given in the route.
+     * @param branchId The ID of the branch.
+     * @throws EntityNotFoundException if the branch does not exist.
+     * @throws AccessDeniedException if the branch belongs to another composition or project.
+     */
+    public void requireBranch(Long projectId, Long compositionId, Long branchId) {
+        CachedPath path = cached(PathKey.Level.BRANCH, branchId);
+        if (path == null) {
+            BranchRepository.BranchPath found = branchRepository.findPathById(branchId)
+                    .orElseThrow(() -> new EntityNotFoundException("Branch not found with id: " + branchId));
+            path = cache(PathKey.Level.BRANCH, branchId, found.getProjectId(), found.getCompositionId(), branchId);
+        }
+        checkComposition(path, compositionId, "Branch " + branchId);
+        checkProject(path, projectId);
+    }
+
+    /**
+     * Checks that a version exists and that its branch, composition and project are those of the route.
+     *
+     * @param projectId The ID of the project given in the route.
+     * @param compositionId The ID of the composition given in the route.
+     * @param branchId The ID of the branch given in the route.
+     * @param versionId The ID of the version.
+     * @throws EntityNotFoundException if the version does not exist.
+     * @throws AccessDeniedException if the version belongs to another branch, composition or project.
+     */
+    public void requireVersion(Long projectId, Long compositionId, Long branchId, Long versionId) {
+        CachedPath path = cached(PathKey.Level.VERSION, versionId);
+        if (path == null) {
+            VersionRepository.VersionPath found = versionRepository.findPathById(versionId)
+                    .orElseThrow(() -> new EntityNotFoundException("Version not found with id: " + versionId));
+            path = cache(PathKey.Level.VERSION, versionId, found.getProjectId(), found.getCompositionId(), found.getBranchId());
+        }
+        if (!Objects.equals(path.branchId(), branchId)) {
+            throw new AccessDeniedException("Version " + versionId + " does not belong to branch " + branchId);
+        }
+        checkComposition(path, compositionId, "Branch " + branchId);
+        checkProject(path, projectId);
+    }
+
+    /**
+     * Forgets the path of a deleted version.
+     *
+     * @param versionId The ID of the version.
+     */
+    public void evictVersion(Long versionId) {
+        synchronized (paths) {
+            paths.remove(new PathKey(PathKey.Level.VERSION, versionId));
+        }
+    }
+
+    /**
+     * Forgets the paths of deleted compositions and of everything below them.
+     *
+     * @param compositionIds The IDs of the compositions.
+     */
+    public void evictCompositions(Collection<Long> compositionIds) {
+        synchronized (paths) {
+            paths.values().removeIf(path -> compositionIds.contains(path.compositionId()));
+        }
+    }
+
+    private CachedPath cached(PathKey.Level level, Long id) {
+        synchronized (paths) {
+            PathKey key = new PathKey(level, id);
+            CachedPath path = paths.get(key);
+            if (path != null && path.expiresAt() - System.nanoTime() < 0) {
+                paths.remove(key);
+                return null;
+            }
+            return path;
+        }
+    }
+
+    private CachedPath cache(PathKey.Level level, Long id, Long projectId, Long compositionId, Long branchId) {
+        CachedPath path = new CachedPath(projectId, compositionId, branchId, System.nanoTime() + ttlNanos);
+        synchronized (paths) {
+            paths.put(new PathKey(level, id), path);
+        }
+        return path;
+    }
+
+    private static void checkComposition(CachedPath path, Long compositionId, String resource) {
+        if (!Objects.equals(path.compositionId(), compositionId)) {
+            log.warn("Access violation: {} does not belong to composition {}", resource, compositionId);
+            throw new AccessDeniedException(resource + " does not belong to composition " + compositionId);
+        }
+    }
+
+    private static void checkProject(CachedPath path, Long projectId) {
+        if (!Objects.equals(path.projectId(), projectId)) {
+            log.warn("Access violation: Composition {} does not belong to project {}", path.compositionId(), projectId);
+            throw new AccessDeniedException("Composition " + path.compositionId() + " does not belong to project " + projectId);
+        }
+    }
+
+    private record PathKey(Level level, Long id) {
+        private enum Level { COMPOSITION, BRANCH, VERSION }
+    }
+
+    private record CachedPath(Long projectId, Long compositionId, Long branchId, long expiresAt) {
+    }
+}
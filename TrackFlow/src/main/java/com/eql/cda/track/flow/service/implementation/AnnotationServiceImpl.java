@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.service.implementation;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationCreateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationUpdateDto;
 import com.eql.cda.track.flow.dto.annotationDto.AnnotationViewDto;
@@ -10,12 +11,13 @@ import com.eql.cda.track.flow.repository.AnnotationRepository;
 import com.eql.cda.track.flow.repository.VersionRepository;
 import com.eql.cda.track.flow.service.AnnotationService;
 import com.eql.cda.track.flow.service.mapper.AnnotationMapper;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing {@link Annotation} entities.
@@ -57,15 +59,17 @@ public class AnnotationServiceImpl implements AnnotationService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<AnnotationViewDto> findAllAnnotationsByVersionId(Long versionId) {
+    public CursorPageDto<AnnotationViewDto> findAllAnnotationsByVersionId(Long versionId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
         if (!versionRepository.existsById(versionId)) {
             throw new ResourceNotFoundException("Version", versionId);
         }
-        List<Annotation> annotations = annotationRepository.findAllByVersionIdOrderByCreationDateDesc(versionId);
+        List<Annotation> annotations = after == null
+                ? annotationRepository.findPageByVersionId(versionId, CursorPages.limit(size))
+                : annotationRepository.findPageByVersionIdBefore(versionId, after.sortKey(), after.id(), CursorPages.limit(size));
 
-        return annotations.stream()
-                .map(annotationMapper::toViewDto)
-                .collect(Collectors.toList());
+        return CursorPages.toPage(annotations, size, annotation -> new Cursor(annotation.getCreationDate(), annotation.getId()),
+                annotationMapper::toViewDto);
     }
 
     /**
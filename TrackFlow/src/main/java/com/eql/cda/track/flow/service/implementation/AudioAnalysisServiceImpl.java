@@ -0,0 +1,154 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.entity.Version;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.AudioAnalysisService;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.audio.AudioFingerprinter;
+import com.eql.cda.track.flow.service.audio.CompositeSampleConsumer;
+import com.eql.cda.track.flow.service.audio.LoudnessMeter;
+import com.eql.cda.track.flow.service.audio.PcmStreamDecoder;
+import com.eql.cda.track.flow.service.audio.PeaksGenerator;
+import com.eql.cda.track.flow.service.audio.TempoKeyAnalyzer;
+import com.eql.cda.track.flow.service.mapper.LoudnessMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link AudioAnalysisService} interface.
+ * <p>
+ * The audio is streamed from storage and decoded by the {@link PcmStreamDecoder} in a single pass, feeding
+ * a {@link TempoKeyAnalyzer}, an {@link AudioFingerprinter}, a {@link PeaksGenerator} and a {@link LoudnessMeter}
+ * when their results are missing. Uploads that were not decoded on their way in, such as signed uploads, get their
+ * peaks and loudness here, so read requests never decode audio. The analysis is only possible for uncompressed
+ * WAV and AIFF files.
+ */
+@Service
+public class AudioAnalysisServiceImpl implements AudioAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioAnalysisServiceImpl.class);
+
+    private final VersionRepository versionRepository;
+    private final StorageService storageService;
+    private final PcmStreamDecoder pcmStreamDecoder;
+    private final FingerprintService fingerprintService;
+    private final PeaksService peaksService;
+    private final StoredObjectService storedObjectService;
+    private final LoudnessMapper loudnessMapper;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param versionRepository Repository reading the versions and storing the detected values.
+     * @param storageService Service reading the audio files.
+     * @param pcmStreamDecoder Decoder turning the audio files into samples.
+     * @param fingerprintService Service storing the fingerprints and indexing them per composition.
+     * @param peaksService Service storing the peaks next to the audio files.
+     * @param storedObjectService Service storing the loudness of the audio files.
+     * @param loudnessMapper Mapper converting the loudness measurements.
+     */
+    @Autowired
+    public AudioAnalysisServiceImpl(VersionRepository versionRepository, StorageService storageService,
+                                    PcmStreamDecoder pcmStreamDecoder, FingerprintService fingerprintService,
+                                    PeaksService peaksService, StoredObjectService storedObjectService,
+                                    LoudnessMapper loudnessMapper) {
+        this.versionRepository = versionRepository;
+        this.storageService = storageService;
+        this.pcmStreamDecoder = pcmStreamDecoder;
+        this.fingerprintService = fingerprintService;
+        this.peaksService = peaksService;
+        this.storedObjectService = storedObjectService;
+        this.loudnessMapper = loudnessMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean analyzeVersion(Long versionId) throws IOException {
+        Optional<Version> found = versionRepository.findById(versionId);
+        if (found.isEmpty()) {
+            log.debug("Version {} was deleted before its analysis.", versionId);
+            return false;
+        }
+        Version version = found.get();
+        String audioFileUrl = version.getAudioFileUrl();
+        if (audioFileUrl == null) {
+            return false;
+        }
+
+        String objectPath;
+        try {
+            objectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            objectPath = null;
+        }
+        if (objectPath == null) {
+            log.warn("Version {} not analysed: {} is not a stored object URL.", versionId, audioFileUrl);
+            return false;
+        }
+
+        try {
+            boolean needsTempoAndKey = !isSet(version.getBpm()) || !isSet(version.getKey());
+            boolean needsFingerprint = !fingerprintService.hasFingerprint(objectPath);
+            boolean needsPeaks = !peaksService.hasPeaks(objectPath);
+            boolean needsLoudness = storedObjectService.findLoudness(audioFileUrl).isEmpty();
+            if (!needsTempoAndKey && !needsFingerprint && !needsPeaks && !needsLoudness) {
+                return false;
+            }
+            return analyze(audioFileUrl, objectPath, needsTempoAndKey, needsFingerprint, needsPeaks, needsLoudness);
+        } finally {
+            // The version, or its fingerprint, is new to the similarity index of its composition.
+            versionRepository.findCompositionIdById(versionId).ifPresent(fingerprintService::evictIndex);
+        }
+    }
+
+    private boolean analyze(String audioFileUrl, String objectPath, boolean needsTempoAndKey, boolean needsFingerprint,
+                            boolean needsPeaks, boolean needsLoudness) throws IOException {
+        long start = System.nanoTime();
+        TempoKeyAnalyzer analyzer = needsTempoAndKey ? new TempoKeyAnalyzer() : null;
+        AudioFingerprinter fingerprinter = needsFingerprint ? new AudioFingerprinter() : null;
+        PeaksGenerator peaksGenerator = needsPeaks ? new PeaksGenerator() : null;
+        LoudnessMeter loudnessMeter = needsLoudness ? new LoudnessMeter() : null;
+        try (InputStream in = Channels.newInputStream(storageService.openReadChannel(objectPath))) {
+            pcmStreamDecoder.decode(in, new CompositeSampleConsumer(analyzer, fingerprinter, peaksGenerator, loudnessMeter));
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("{} not analysed: {}", objectPath, e.getMessage());
+            return false;
+        }
+
+        if (peaksGenerator != null) {
+            peaksService.storePeaks(objectPath, peaksGenerator.toPeaksFile());
+        }
+        if (loudnessMeter != null) {
+            storedObjectService.recordLoudness(objectPath, loudnessMapper.toDto(loudnessMeter));
+        }
+        if (fingerprinter != null) {
+            fingerprintService.storeFingerprint(objectPath, fingerprinter.getFingerprint());
+        }
+        if (analyzer != null) {
+            String bpm = analyzer.getBpm() != null ? String.valueOf(Math.round(analyzer.getBpm())) : null;
+            String key = analyzer.getKey();
+            versionRepository.fillMissingTempoAndKey(audioFileUrl, bpm, key);
+            log.info("Detected BPM={}, key={} for {}", bpm, key, objectPath);
+        }
+        log.info("Analysed {} in {} ms", objectPath, (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+}
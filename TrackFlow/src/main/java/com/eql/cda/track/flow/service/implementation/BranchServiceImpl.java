@@ -1,25 +1,26 @@
 package com.eql.cda.track.flow.service.implementation;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchCreateDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchSummaryDto;
 import com.eql.cda.track.flow.dto.branchDto.BranchUpdateDto;
 import com.eql.cda.track.flow.entity.Branch;
-import com.eql.cda.track.flow.entity.Composition;
 import com.eql.cda.track.flow.repository.BranchRepository;
 import com.eql.cda.track.flow.repository.CompositionRepository;
 import com.eql.cda.track.flow.service.BranchService;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
 import com.eql.cda.track.flow.service.mapper.BranchMapper;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link BranchService} interface. This class orchestrates
@@ -35,19 +36,23 @@ public class BranchServiceImpl implements BranchService {
     private final BranchRepository branchRepository;
     private final CompositionRepository compositionRepository;
     private final BranchMapper branchMapper;
+    private final HierarchyResolver hierarchyResolver;
 
     /**
      * Constructs the service with its required dependencies.
      *
      * @param branchRepository The repository for branch data access.
-     * @param compositionRepository The repository for composition data access to validate context.
+     * @param compositionRepository The repository for composition data access.
      * @param branchMapper The mapper for converting between branch entities and DTOs.
+     * @param hierarchyResolver The resolver checking the project and composition of each request.
      */
     @Autowired
-    public BranchServiceImpl(BranchRepository branchRepository, CompositionRepository compositionRepository, BranchMapper branchMapper) {
+    public BranchServiceImpl(BranchRepository branchRepository, CompositionRepository compositionRepository, BranchMapper branchMapper,
+                             HierarchyResolver hierarchyResolver) {
         this.branchRepository = branchRepository;
         this.compositionRepository = compositionRepository;
         this.branchMapper = branchMapper;
+        this.hierarchyResolver = hierarchyResolver;
     }
 
     /**
@@ -55,10 +60,11 @@ public class BranchServiceImpl implements BranchService {
      */
     @Override
     public BranchSummaryDto createBranch(Long projectId, Long compositionId, BranchCreateDto branchCreateDto) {
-        Composition composition = findCompositionAndValidateContext(projectId, compositionId);
+        hierarchyResolver.requireComposition(projectId, compositionId);
 
         Branch branch = branchMapper.toEntity(branchCreateDto);
-        branch.setComposition(composition);
+        branch.setComposition(compositionRepository.findById(compositionId)
+                .orElseThrow(() -> new EntityNotFoundException("Composition not found with id: " + compositionId)));
 
         if (branchCreateDto.getBranchParentId() != null) {
             Branch parentBranch = branchRepository.findById(branchCreateDto.getBranchParentId())
@@ -77,12 +83,14 @@ public class BranchServiceImpl implements BranchService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<BranchSummaryDto> getAllBranchesForComposition(Long projectId, Long compositionId) {
-        findCompositionAndValidateContext(projectId, compositionId);
-        List<Branch> branches = branchRepository.findByCompositionIdOrderByLastUpdateDateDesc(compositionId);
-        return branches.stream()
-                .map(branchMapper::toSummaryDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<BranchSummaryDto> getAllBranchesForComposition(Long projectId, Long compositionId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        hierarchyResolver.requireComposition(projectId, compositionId);
+        List<Branch> branches = after == null
+                ? branchRepository.findPageByCompositionId(compositionId, CursorPages.limit(size))
+                : branchRepository.findPageByCompositionIdBefore(compositionId, after.sortKey(), after.id(), CursorPages.limit(size));
+        return CursorPages.toPage(branches, size, branch -> new Cursor(branch.getLastUpdateDate(), branch.getId()),
+                branchMapper::toSummaryDto);
     }
 
     /**
@@ -109,32 +117,9 @@ public class BranchServiceImpl implements BranchService {
         return branchMapper.toSummaryDto(updatedBranch);
     }
 
-    private Composition findCompositionAndValidateContext(Long projectId, Long compositionId) {
-        Composition composition = compositionRepository.findById(compositionId)
-                .orElseThrow(() -> new EntityNotFoundException("Composition not found with id: " + compositionId));
-
-        if (composition.getProject() == null || !Objects.equals(composition.getProject().getId(), projectId)) {
-            log.warn("Access violation: Composition {} does not belong to project {}", compositionId, projectId);
-            throw new AccessDeniedException("Composition does not belong to the specified project.");
-        }
-        return composition;
-    }
-
     private Branch findBranchAndValidateContext(Long projectId, Long compositionId, Long branchId) {
-        Branch branch = branchRepository.findById(branchId)
+        hierarchyResolver.requireBranch(projectId, compositionId, branchId);
+        return branchRepository.findById(branchId)
                 .orElseThrow(() -> new EntityNotFoundException("Branch not found with id: " + branchId));
-
-        Composition composition = branch.getComposition();
-        if (composition == null || !Objects.equals(composition.getId(), compositionId)) {
-            log.warn("Access violation: Branch {} does not belong to composition {}", branchId, compositionId);
-            throw new AccessDeniedException("Branch does not belong to the specified composition.");
-        }
-
-        if (composition.getProject() == null || !Objects.equals(composition.getProject().getId(), projectId)) {
-            log.warn("Access violation: The project context is incorrect for branch {}", branchId);
-            throw new AccessDeniedException("Branch does not belong to a composition in the specified project.");
-        }
-
-        return branch;
     }
 }
\ No newline at end of file
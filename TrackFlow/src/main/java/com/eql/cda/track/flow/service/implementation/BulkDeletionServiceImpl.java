@@ -0,0 +1,120 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.repository.BranchRepository;
+import com.eql.cda.track.flow.repository.CompositionRepository;
+import com.eql.cda.track.flow.repository.IngestJobRepository;
+import com.eql.cda.track.flow.repository.ProjectRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.BulkDeletionService;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link BulkDeletionService} interface.
+ * <p>
+ * The statements bypass the persistence context, which is cleared once the hierarchy is gone. Branches are
+ * detached from their parents before being deleted, so the self-reference never blocks the delete.
+ * The references of the deleted versions on the stored objects are released in the same transaction.
+ */
+@Service
+public class BulkDeletionServiceImpl implements BulkDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDeletionServiceImpl.class);
+
+    private final ProjectRepository projectRepository;
+    private final CompositionRepository compositionRepository;
+    private final BranchRepository branchRepository;
+    private final VersionRepository versionRepository;
+    private final IngestJobRepository ingestJobRepository;
+    private final StoredObjectService storedObjectService;
+    private final FingerprintService fingerprintService;
+    private final HierarchyResolver hierarchyResolver;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param projectRepository Repository deleting the projects.
+     * @param compositionRepository Repository deleting the compositions.
+     * @param branchRepository Repository deleting the branches.
+     * @param versionRepository Repository deleting the versions and the rows referencing them.
+     * @param ingestJobRepository Repository deleting the pending ingest jobs of the versions.
+     * @param storedObjectService Service releasing the audio files of the versions.
+     * @param fingerprintService Service whose fingerprint index of each composition is evicted.
+     * @param hierarchyResolver Resolver forgetting the paths of the deleted resources.
+     */
+    @Autowired
+    public BulkDeletionServiceImpl(ProjectRepository projectRepository, CompositionRepository compositionRepository,
+                                   BranchRepository branchRepository, VersionRepository versionRepository,
+                                   IngestJobRepository ingestJobRepository, StoredObjectService storedObjectService,
+                                   FingerprintService fingerprintService, HierarchyResolver hierarchyResolver) {
+        this.projectRepository = projectRepository;
+        this.compositionRepository = compositionRepository;
+        this.branchRepository = branchRepository;
+        this.versionRepository = versionRepository;
+        this.ingestJobRepository = ingestJobRepository;
+        this.storedObjectService = storedObjectService;
+        this.fingerprintService = fingerprintService;
+        this.hierarchyResolver = hierarchyResolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void deleteCompositions(Collection<Long> compositionIds) {
+        if (compositionIds.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, Long> versionCountByUrl = new HashMap<>();
+        for (VersionRepository.AudioFileUsage usage : versionRepository.findAudioFileUsagesOfCompositions(compositionIds)) {
+            versionCountByUrl.put(usage.getAudioFileUrl(), usage.getVersionCount());
+        }
+
+        ingestJobRepository.deleteAllOfCompositions(compositionIds);
+        versionRepository.deleteMetadataOfCompositions(compositionIds);
+        versionRepository.deleteInstrumentsOfCompositions(compositionIds);
+        versionRepository.deleteInstrumentChoicesOfCompositions(compositionIds);
+        versionRepository.deleteAccessesOfCompositions(compositionIds);
+        versionRepository.deletePlaylistEntriesOfCompositions(compositionIds);
+        versionRepository.deleteAnnotationsOfCompositions(compositionIds);
+        int versions = versionRepository.deleteAllOfCompositions(compositionIds);
+        branchRepository.detachParentsOfCompositions(compositionIds);
+        int branches = branchRepository.deleteAllOfCompositions(compositionIds);
+        compositionRepository.deleteSubGendersOf(compositionIds);
+        int compositions = compositionRepository.deleteAllByIdInBulk(compositionIds);
+
+        storedObjectService.releaseAll(versionCountByUrl);
+        compositionIds.forEach(fingerprintService::evictIndex);
+        hierarchyResolver.evictCompositions(compositionIds);
+        log.info("Bulk deleted {} compositions, {} branches and {} versions in {} ms",
+                compositions, branches, versions, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void deleteProject(Long projectId) {
+        List<Long> compositionIds = compositionRepository.findIdsByProjectId(projectId);
+        deleteCompositions(compositionIds);
+        projectRepository.deletePredefinedGendersOf(projectId);
+        projectRepository.deletePurposesOf(projectId);
+        projectRepository.deleteAddedGendersOf(projectId);
+        projectRepository.deleteTagsOf(projectId);
+        projectRepository.deleteByIdInBulk(projectId);
+    }
+}
@@ -0,0 +1,356 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionCreateDto;
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionViewDto;
+import com.eql.cda.track.flow.entity.UploadSession;
+import com.eql.cda.track.flow.entity.UploadSessionChunk;
+import com.eql.cda.track.flow.entity.UploadSessionStatus;
+import com.eql.cda.track.flow.exception.InvalidUploadChunkException;
+import com.eql.cda.track.flow.exception.ResourceNotFoundException;
+import com.eql.cda.track.flow.exception.UploadSessionConflictException;
+import com.eql.cda.track.flow.repository.UploadSessionChunkRepository;
+import com.eql.cda.track.flow.repository.UploadSessionRepository;
+import com.eql.cda.track.flow.service.ChunkedUploadService;
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.UploadService;
+import com.eql.cda.track.flow.service.audio.LoudnessMeter;
+import com.eql.cda.track.flow.service.mapper.LoudnessMapper;
+import com.eql.cda.track.flow.service.mapper.UploadSessionMapper;
+import com.eql.cda.track.flow.service.storage.ContentHash;
+import com.eql.cda.track.flow.service.upload.ProgressInputStream;
+import com.eql.cda.track.flow.service.upload.TeeInputStream;
+import com.eql.cda.track.flow.service.upload.UploadProgressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link ChunkedUploadService} interface.
+ * <p>
+ * Each chunk is written to storage as a temporary object under {@code uploads/sessions/{sessionId}/}
+ * as soon as it is received, so no chunk is ever held on the application server. On commit, the
+ * temporary objects are concatenated server-side by the storage provider into the final audio file,
+ * without the bytes transiting through this service again.
+ * <p>
+ * Like the upload jobs, this service is deliberately not transactional: storage calls are slow and
+ * must not hold a database connection, and every state change is saved on its own.
+ */
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    private static final String CHUNK_CONTENT_TYPE = "application/octet-stream";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadSessionChunkRepository uploadSessionChunkRepository;
+    private final StorageService storageService;
+    private final UploadService uploadService;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final PeaksService peaksService;
+    private final StoredObjectService storedObjectService;
+    private final LoudnessMapper loudnessMapper;
+    private final int defaultChunkSize;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final Duration sessionTtl;
+
+    /**
+     * Constructs the service with its required dependencies and the chunking limits.
+     *
+     * @param uploadSessionRepository Repository for upload session data access.
+     * @param uploadSessionChunkRepository Repository for received chunk records.
+     * @param storageService Service storing the chunks and assembling the final file.
+     * @param uploadService Service extracting the metadata of the assembled file.
+     * @param uploadSessionMapper Mapper for converting upload sessions to DTOs.
+     * @param peaksService Service computing the waveform peaks of the assembled file.
+     * @param storedObjectService Service deduplicating and registering the assembled file.
+     * @param loudnessMapper Mapper for the loudness measured while computing the peaks.
+     * @param defaultChunkSize The chunk size used when the client does not request one.
+     * @param minChunkSize The smallest chunk size a client may request.
+     * @param maxChunkSize The largest chunk size a client may request.
+     * @param sessionTtlHours The number of hours an open session stays valid.
+     */
+    @Autowired
+    public ChunkedUploadServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    UploadSessionChunkRepository uploadSessionChunkRepository,
+                                    StorageService storageService,
+                                    UploadService uploadService,
+                                    UploadSessionMapper uploadSessionMapper,
+                                    PeaksService peaksService,
+                                    StoredObjectService storedObjectService,
+                                    LoudnessMapper loudnessMapper,
+                                    @Value("${upload.chunked.default-chunk-size:8MB}") DataSize defaultChunkSize,
+                                    @Value("${upload.chunked.min-chunk-size:256KB}") DataSize minChunkSize,
+                                    @Value("${upload.chunked.max-chunk-size:32MB}") DataSize maxChunkSize,
+                                    @Value("${upload.chunked.session-ttl-hours:24}") long sessionTtlHours) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadSessionChunkRepository = uploadSessionChunkRepository;
+        this.storageService = storageService;
+        this.uploadService = uploadService;
+        this.uploadSessionMapper = uploadSessionMapper;
+        this.peaksService = peaksService;
+        this.storedObjectService = storedObjectService;
+        this.loudnessMapper = loudnessMapper;
+        this.defaultChunkSize = Math.toIntExact(defaultChunkSize.toBytes());
+        this.minChunkSize = Math.toIntExact(minChunkSize.toBytes());
+        this.maxChunkSize = Math.toIntExact(maxChunkSize.toBytes());
+        this.sessionTtl = Duration.ofHours(sessionTtlHours);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadSessionViewDto openSession(UploadSessionCreateDto createDto) {
+        int chunkSize = createDto.getChunkSize() != null ? createDto.getChunkSize() : defaultChunkSize;
+        if (chunkSize < minChunkSize || chunkSize > maxChunkSize) {
+            throw new InvalidUploadChunkException(String.format(
+                    "Chunk size must be between %d and %d bytes.", minChunkSize, maxChunkSize));
+        }
+        long totalChunks = (createDto.getTotalSize() + chunkSize - 1) / chunkSize;
+        if (totalChunks > Integer.MAX_VALUE) {
+            throw new InvalidUploadChunkException("Too many chunks for this file size; use a larger chunk size.");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setCompositionId(createDto.getCompositionId());
+        session.setFileName(createDto.getFileName());
+        session.setContentType(createDto.getContentType());
+        session.setTotalSize(createDto.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setTotalChunks((int) totalChunks);
+        session.setStatus(UploadSessionStatus.OPEN);
+        session.setExpiresAt(Instant.now().plus(sessionTtl));
+        session = uploadSessionRepository.save(session);
+
+        log.info("Opened upload session {} for file {} ({} bytes in {} chunks)",
+                session.getId(), session.getFileName(), session.getTotalSize(), session.getTotalChunks());
+        return uploadSessionMapper.toViewDto(session, List.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The number of bytes actually read is checked against the expected chunk size after the transfer,
+     * because a client may omit or misstate the {@code Content-Length} header.
+     */
+    @Override
+    public void uploadChunk(String sessionId, int chunkIndex, InputStream body, long contentLength) throws IOException {
+        UploadSession session = findSession(sessionId);
+        requireOpen(session);
+
+        if (chunkIndex < 0 || chunkIndex >= session.getTotalChunks()) {
+            throw new InvalidUploadChunkException(String.format(
+                    "Chunk index %d is out of range [0, %d).", chunkIndex, session.getTotalChunks()));
+        }
+        long expectedSize = expectedChunkSize(session, chunkIndex);
+        if (contentLength >= 0 && contentLength != expectedSize) {
+            throw new InvalidUploadChunkException(String.format(
+                    "Chunk %d must be %d bytes long, got %d.", chunkIndex, expectedSize, contentLength));
+        }
+        if (uploadSessionChunkRepository.existsBySessionIdAndChunkIndex(sessionId, chunkIndex)) {
+            log.debug("Chunk {} of session {} already received, ignoring retry.", chunkIndex, sessionId);
+            return;
+        }
+
+        String chunkPath = chunkObjectPath(sessionId, chunkIndex);
+        ProgressInputStream counted = new ProgressInputStream(body, expectedSize, UploadProgressListener.NONE);
+        storageService.uploadStream(counted, expectedSize, CHUNK_CONTENT_TYPE, chunkPath);
+        if (counted.getBytesRead() != expectedSize) {
+            storageService.deleteFile(chunkPath);
+            throw new InvalidUploadChunkException(String.format(
+                    "Chunk %d must be %d bytes long, received %d.", chunkIndex, expectedSize, counted.getBytesRead()));
+        }
+
+        UploadSessionChunk chunk = new UploadSessionChunk();
+        chunk.setSessionId(sessionId);
+        chunk.setChunkIndex(chunkIndex);
+        chunk.setSizeBytes(expectedSize);
+        chunk.setReceivedDate(Instant.now());
+        try {
+            uploadSessionChunkRepository.save(chunk);
+        } catch (DataIntegrityViolationException e) {
+            // The same chunk was sent twice concurrently; both writes produced identical objects.
+            log.debug("Chunk {} of session {} was recorded concurrently.", chunkIndex, sessionId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadSessionViewDto getSession(String sessionId) {
+        UploadSession session = findSession(sessionId);
+        return uploadSessionMapper.toViewDto(session, uploadSessionChunkRepository.findReceivedChunkIndexes(sessionId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The session is claimed with a conditional status update before the assembly starts, so that two
+     * concurrent commits cannot both compose the file. If the assembly fails, the session is reopened
+     * and the client may retry the commit.
+     * <p>
+     * The assembled file is streamed back once, both to compute its peaks and loudness and to hash it; if the
+     * same content is already stored, the new copy is deleted and the existing object is returned.
+     */
+    @Override
+    public UploadSessionViewDto commitSession(String sessionId) throws Exception {
+        UploadSession session = findSession(sessionId);
+        requireOpen(session);
+
+        List<Integer> received = uploadSessionChunkRepository.findReceivedChunkIndexes(sessionId);
+        if (received.size() != session.getTotalChunks()) {
+            throw new UploadSessionConflictException(String.format(
+                    "Cannot commit session %s: %d of %d chunks received.", sessionId, received.size(), session.getTotalChunks()));
+        }
+        if (uploadSessionRepository.transitionStatus(sessionId, UploadSessionStatus.OPEN, UploadSessionStatus.COMMITTED) == 0) {
+            throw new UploadSessionConflictException("Upload session " + sessionId + " is already being committed or was aborted.");
+        }
+
+        List<String> chunkPaths = chunkObjectPaths(session);
+        String destinationPath = String.format("compositions/%d/versions/%s",
+                session.getCompositionId(), storageService.generateUniqueFileName(session.getFileName()));
+        AudioUploadResponseDto result;
+        try {
+            String fullPublicUrl = storageService.composeObjects(chunkPaths, session.getContentType(), destinationPath);
+            log.info("Assembled {} chunks of session {} into {}", chunkPaths.size(), sessionId, destinationPath);
+            MessageDigest digest = ContentHash.newDigest();
+            LoudnessMeter loudnessMeter = new LoudnessMeter();
+            boolean decoded;
+            try (InputStream in = new TeeInputStream(Channels.newInputStream(storageService.openReadChannel(destinationPath)),
+                    new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+                decoded = peaksService.generatePeaks(in, destinationPath, loudnessMeter);
+                // The decoder stops at the end of the audio data; the rest of the object is hashed too.
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String contentHash = ContentHash.toHex(digest);
+            Optional<AudioUploadResponseDto> duplicate = storedObjectService.findDuplicate(contentHash, session.getTotalSize());
+            if (duplicate.isPresent()) {
+                log.info("Session {} uploaded content already stored at {}, discarding the new copy.", sessionId, duplicate.get().getFullUrl());
+                peaksService.deletePeaks(destinationPath);
+                storageService.deleteFile(destinationPath);
+                result = duplicate.get();
+            } else {
+                result = uploadService.extractStoredAudioMetadata(destinationPath, fullPublicUrl);
+                if (decoded) {
+                    result.setLoudness(loudnessMapper.toDto(loudnessMeter));
+                }
+                result = storedObjectService.register(contentHash, destinationPath, session.getTotalSize(), session.getContentType(), result);
+            }
+        } catch (Exception e) {
+            peaksService.deletePeaks(destinationPath);
+            storageService.deleteFile(destinationPath);
+            uploadSessionRepository.transitionStatus(sessionId, UploadSessionStatus.COMMITTED, UploadSessionStatus.OPEN);
+            throw e;
+        }
+
+        applyResult(session, result);
+        session = uploadSessionRepository.save(session);
+
+        deleteChunks(sessionId, chunkPaths);
+        return uploadSessionMapper.toViewDto(session, List.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abortSession(String sessionId) {
+        UploadSession session = findSession(sessionId);
+        if (session.getStatus() == UploadSessionStatus.ABORTED) {
+            return;
+        }
+        if (uploadSessionRepository.transitionStatus(sessionId, UploadSessionStatus.OPEN, UploadSessionStatus.ABORTED) == 0) {
+            throw new UploadSessionConflictException("Upload session " + sessionId + " has already been committed.");
+        }
+        deleteChunks(sessionId, chunkObjectPaths(session));
+        log.info("Aborted upload session {}", sessionId);
+    }
+
+    /**
+     * Aborts the open sessions whose time-to-live has elapsed and deletes their chunks.
+     */
+    @Scheduled(fixedDelayString = "${upload.chunked.cleanup-interval-ms:3600000}")
+    public void purgeExpiredSessions() {
+        List<UploadSession> expired = uploadSessionRepository.findByStatusAndExpiresAtBefore(UploadSessionStatus.OPEN, Instant.now());
+        for (UploadSession session : expired) {
+            if (uploadSessionRepository.transitionStatus(session.getId(), UploadSessionStatus.OPEN, UploadSessionStatus.ABORTED) == 1) {
+                deleteChunks(session.getId(), chunkObjectPaths(session));
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Purged {} expired upload sessions.", expired.size());
+        }
+    }
+
+    private UploadSession findSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", sessionId));
+    }
+
+    private void applyResult(UploadSession session, AudioUploadResponseDto result) {
+        session.setStatus(UploadSessionStatus.COMMITTED);
+        session.setResultUrl(result.getFullUrl());
+        session.setResultBpm(result.getBpm());
+        session.setResultDurationSeconds(result.getDurationSeconds());
+        session.setCommittedDate(Instant.now());
+    }
+
+    private void requireOpen(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.OPEN) {
+            throw new UploadSessionConflictException(
+                    "Upload session " + session.getId() + " is " + session.getStatus().name().toLowerCase() + ".");
+        }
+        if (session.getExpiresAt().isBefore(Instant.now())) {
+            throw new UploadSessionConflictException("Upload session " + session.getId() + " has expired.");
+        }
+    }
+
+    private long expectedChunkSize(UploadSession session, int chunkIndex) {
+        long offset = (long) chunkIndex * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+    }
+
+    private String chunkObjectPath(String sessionId, int chunkIndex) {
+        return String.format("uploads/sessions/%s/chunk-%05d", sessionId, chunkIndex);
+    }
+
+    private List<String> chunkObjectPaths(UploadSession session) {
+        List<String> paths = new ArrayList<>(session.getTotalChunks());
+        for (int i = 0; i < session.getTotalChunks(); i++) {
+            paths.add(chunkObjectPath(session.getId(), i));
+        }
+        return paths;
+    }
+
+    private void deleteChunks(String sessionId, List<String> chunkPaths) {
+        for (String chunkPath : chunkPaths) {
+            storageService.deleteFile(chunkPath);
+        }
+        uploadSessionChunkRepository.deleteBySessionId(sessionId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.eql.cda.track.flow.service.implementation;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionCreateDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionSummaryDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionUpdateDto;
@@ -10,14 +11,16 @@ import com.eql.cda.track.flow.entity.User;
 import com.eql.cda.track.flow.repository.CompositionRepository;
 import com.eql.cda.track.flow.repository.ProjectRepository;
 import com.eql.cda.track.flow.repository.UserRepository;
+import com.eql.cda.track.flow.service.BulkDeletionService;
 import com.eql.cda.track.flow.service.CompositionService;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
 import com.eql.cda.track.flow.service.mapper.CompositionMapper;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,8 +28,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +49,8 @@ public class CompositionServiceImpl implements CompositionService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final CompositionMapper compositionMapper;
+    private final BulkDeletionService bulkDeletionService;
+    private final HierarchyResolver hierarchyResolver;
 
     /**
      * Constructs the service with its required dependencies.
@@ -52,13 +59,18 @@ public class CompositionServiceImpl implements CompositionService {
      * @param projectRepository The repository for project data access.
      * @param userRepository The repository for user data access.
      * @param compositionMapper The mapper for converting between entities and DTOs.
+     * @param bulkDeletionService The service deleting a composition's hierarchy in bulk.
+     * @param hierarchyResolver The resolver checking the project of each request.
      */
     @Autowired
-    public CompositionServiceImpl(CompositionRepository compositionRepository, ProjectRepository projectRepository, UserRepository userRepository, CompositionMapper compositionMapper) {
+    public CompositionServiceImpl(CompositionRepository compositionRepository, ProjectRepository projectRepository, UserRepository userRepository, CompositionMapper compositionMapper, BulkDeletionService bulkDeletionService,
+                                  HierarchyResolver hierarchyResolver) {
         this.compositionRepository = compositionRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.compositionMapper = compositionMapper;
+        this.bulkDeletionService = bulkDeletionService;
+        this.hierarchyResolver = hierarchyResolver;
     }
 
     /**
@@ -83,10 +95,31 @@ public class CompositionServiceImpl implements CompositionService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<CompositionSummaryDto> findRecentCompositionsForCurrentUser(Pageable pageable) {
+    public CursorPageDto<CompositionSummaryDto> findRecentCompositionsForCurrentUser(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
         User currentUser = findCurrentUserOrThrow();
-        Page<Composition> compositions = compositionRepository.findRecentCompositionsByUserId(currentUser.getId(), pageable);
-        return compositions.map(compositionMapper::toSummaryDto);
+        int limit = CursorPages.limit(size).getPageSize();
+        List<Long> ids = after == null
+                ? compositionRepository.findRecentIdsByUserId(currentUser.getId(), limit)
+                : compositionRepository.findRecentIdsByUserIdBefore(currentUser.getId(), after.sortKey(), after.id(), limit);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<CompositionRepository.CompositionSummaryProjection> summaries = new ArrayList<>(pageIds.size());
+        if (!pageIds.isEmpty()) {
+            Map<Long, CompositionRepository.CompositionSummaryProjection> byId = compositionRepository.findSummariesByIdIn(pageIds)
+                    .stream()
+                    .collect(Collectors.toMap(CompositionRepository.CompositionSummaryProjection::getId, Function.identity()));
+            for (Long id : pageIds) {
+                // A composition deleted between the two queries is skipped.
+                CompositionRepository.CompositionSummaryProjection summary = byId.get(id);
+                if (summary != null) {
+                    summaries.add(summary);
+                }
+            }
+        }
+        return CursorPages.toPage(summaries, hasNext, summary -> new Cursor(summary.getLastUpdateDate(), summary.getId()),
+                compositionMapper::toSummaryDto);
     }
 
     /**
@@ -98,8 +131,7 @@ public class CompositionServiceImpl implements CompositionService {
         if (!projectRepository.existsById(projectId)) {
             throw new EntityNotFoundException("Project not found with id: " + projectId);
         }
-        List<Composition> compositions = compositionRepository.findByProjectIdOrderByLastUpdateDateDesc(projectId);
-        return compositions.stream()
+        return compositionRepository.findSummariesByProjectId(projectId).stream()
                 .map(compositionMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
@@ -131,8 +163,8 @@ public class CompositionServiceImpl implements CompositionService {
      */
     @Override
     public void deleteComposition(Long projectId, Long compositionId) {
-        Composition composition = findCompositionAndValidateContext(projectId, compositionId);
-        compositionRepository.delete(composition);
+        hierarchyResolver.requireComposition(projectId, compositionId);
+        bulkDeletionService.deleteCompositions(List.of(compositionId));
         log.info("Deleted composition with ID {}", compositionId);
     }
 
@@ -146,7 +178,11 @@ public class CompositionServiceImpl implements CompositionService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
+    /**
+     * Checks the project first, so that a request on a foreign composition never loads its graph.
+     */
     private Composition findCompositionAndValidateContext(Long projectId, Long compositionId) {
+        hierarchyResolver.requireComposition(projectId, compositionId);
         Composition composition = compositionRepository.findByIdWithProjectAndBranches(compositionId)
                 .orElseThrow(() -> new EntityNotFoundException("Composition not found with id: " + compositionId));
 
@@ -154,11 +190,6 @@ public class CompositionServiceImpl implements CompositionService {
         if (composition.getProject() != null && composition.getProject().getProjectMusicalGendersPreDefined() != null) {
             composition.getProject().getProjectMusicalGendersPreDefined().size();
         }
-
-        if (!Objects.equals(composition.getProject().getId(), projectId)) {
-            log.warn("Access violation: Composition {} does not belong to project {}", compositionId, projectId);
-            throw new AccessDeniedException("Composition does not belong to the specified project.");
-        }
         return composition;
     }
 }
\ No newline at end of file
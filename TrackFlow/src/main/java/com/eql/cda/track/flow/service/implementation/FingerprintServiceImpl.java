@@ -0,0 +1,231 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
+import com.eql.cda.track.flow.entity.Version;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.audio.AudioFingerprinter;
+import com.eql.cda.track.flow.service.audio.FingerprintIndex;
+import com.eql.cda.track.flow.service.mapper.VersionMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link FingerprintService} interface.
+ * <p>
+ * Fingerprints are stored as sidecar objects in the binary "TFFP" format (see {@link AudioFingerprinter#encode(long[])}),
+ * so versions sharing a deduplicated audio object share its fingerprint. The {@link FingerprintIndex} of the most
+ * recently searched compositions is kept in a bounded least-recently-used map; an index is rebuilt from the sidecars
+ * after {@link #evictIndex(Long)}, and an index whose build raced with an eviction is used once but not kept.
+ */
+@Service
+public class FingerprintServiceImpl implements FingerprintService {
+
+    private static final Logger log = LoggerFactory.getLogger(FingerprintServiceImpl.class);
+
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+    private static final String FINGERPRINT_CONTENT_TYPE = "application/octet-stream";
+
+    private final StorageService storageService;
+    private final VersionRepository versionRepository;
+    private final VersionMapper versionMapper;
+    private final double minSimilarity;
+    private final double duplicateSimilarity;
+
+    private final Map<Long, FingerprintIndex> indexes;
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service storing and reading the fingerprint objects.
+     * @param versionRepository Repository listing the versions of a composition.
+     * @param versionMapper Mapper converting the similar versions to DTOs.
+     * @param minSimilarity The similarity below which versions are not reported.
+     * @param duplicateSimilarity The similarity from which two versions are reported as duplicates.
+     * @param maxCompositions The number of composition indexes kept in memory.
+     */
+    @Autowired
+    public FingerprintServiceImpl(StorageService storageService, VersionRepository versionRepository,
+                                  VersionMapper versionMapper,
+                                  @Value("${fingerprint.min-similarity:0.1}") double minSimilarity,
+                                  @Value("${fingerprint.duplicate-similarity:0.9}") double duplicateSimilarity,
+                                  @Value("${fingerprint.index.max-compositions:64}") int maxCompositions) {
+        this.storageService = storageService;
+        this.versionRepository = versionRepository;
+        this.versionMapper = versionMapper;
+        this.minSimilarity = minSimilarity;
+        this.duplicateSimilarity = duplicateSimilarity;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FingerprintIndex> eldest) {
+                return size() > maxCompositions;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String fingerprintPathFor(String audioObjectPath) {
+        return audioObjectPath + FINGERPRINT_SUFFIX;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasFingerprint(String audioObjectPath) throws IOException {
+        try {
+            storageService.getObjectSize(fingerprintPathFor(audioObjectPath));
+            return true;
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void storeFingerprint(String audioObjectPath, long[] fingerprint) throws IOException {
+        byte[] encoded = AudioFingerprinter.encode(fingerprint);
+        storageService.uploadStream(new ByteArrayInputStream(encoded), encoded.length, FINGERPRINT_CONTENT_TYPE,
+                fingerprintPathFor(audioObjectPath));
+        log.info("Stored a fingerprint of {} hashes for {}", fingerprint.length, audioObjectPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<long[]> loadFingerprint(String audioObjectPath) throws IOException {
+        try (SeekableByteChannel channel = storageService.openReadChannel(fingerprintPathFor(audioObjectPath))) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the whole object has been received.
+            }
+            return Optional.of(AudioFingerprinter.decode(buffer.array()));
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid fingerprint for " + audioObjectPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteFingerprint(String audioObjectPath) {
+        storageService.deleteFile(fingerprintPathFor(audioObjectPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SimilarVersionDto> findSimilarVersions(Long compositionId, Long versionId, int limit) {
+        FingerprintIndex index;
+        synchronized (indexes) {
+            index = indexes.get(compositionId);
+        }
+        if (index == null) {
+            long evictionsBefore = evictions.get();
+            index = buildIndex(compositionId);
+            synchronized (indexes) {
+                if (evictions.get() == evictionsBefore) {
+                    indexes.put(compositionId, index);
+                }
+            }
+        }
+
+        List<FingerprintIndex.Match> matches = index.findSimilar(versionId, limit, minSimilarity);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Version> versions = versionRepository.findAllWithBranchByIdIn(
+                        matches.stream().map(FingerprintIndex.Match::versionId).toList())
+                .stream()
+                .collect(Collectors.toMap(Version::getId, Function.identity()));
+        List<SimilarVersionDto> similar = new ArrayList<>();
+        for (FingerprintIndex.Match match : matches) {
+            Version version = versions.get(match.versionId());
+            // Versions deleted since the index was built are simply skipped.
+            if (version != null) {
+                similar.add(versionMapper.toSimilarVersionDto(version, match.similarity(),
+                        match.similarity() >= duplicateSimilarity));
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evictIndex(Long compositionId) {
+        synchronized (indexes) {
+            evictions.incrementAndGet();
+            indexes.remove(compositionId);
+        }
+    }
+
+    private FingerprintIndex buildIndex(Long compositionId) {
+        long start = System.nanoTime();
+        Map<String, long[]> byObjectPath = new HashMap<>();
+        Map<Long, long[]> fingerprints = new HashMap<>();
+        for (Version version : versionRepository.findWithAudioByCompositionId(compositionId)) {
+            String objectPath = toObjectPath(version.getAudioFileUrl());
+            if (objectPath == null) {
+                continue;
+            }
+            long[] fingerprint = byObjectPath.computeIfAbsent(objectPath, this::loadQuietly);
+            if (fingerprint != null) {
+                fingerprints.put(version.getId(), fingerprint);
+            }
+        }
+        FingerprintIndex index = new FingerprintIndex(fingerprints);
+        log.debug("Indexed the fingerprints of {} versions of composition {} in {} ms",
+                index.size(), compositionId, (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private long[] loadQuietly(String objectPath) {
+        try {
+            return loadFingerprint(objectPath).orElse(null);
+        } catch (IOException e) {
+            log.warn("Could not read the fingerprint of {}: {}", objectPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private String toObjectPath(String audioFileUrl) {
+        try {
+            return storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.eql.cda.track.flow.service.implementation;
 
+import com.eql.cda.track.flow.entity.StorageTier;
 import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.storage.DirectBufferPool;
+import com.eql.cda.track.flow.service.storage.GcsSeekableByteChannel;
+import com.eql.cda.track.flow.service.storage.ObjectListing;
+import com.eql.cda.track.flow.service.storage.ParallelCompositeUploader;
+import com.eql.cda.track.flow.service.storage.StorageMetrics;
+import com.google.cloud.BatchResult;
+import com.google.cloud.Page;
 import com.google.cloud.WriteChannel;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,27 +17,69 @@ import org.springframework.web.multipart.MultipartFile;
 import com.google.cloud.storage.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@Profile("!local-storage")
 public class GoogleCloudStorageServiceImpl implements StorageService {
 
 
     private static final Logger logger = LogManager.getLogger();
+
+    /** Maximum number of source objects accepted by a single GCS compose request. */
+    private static final int MAX_COMPOSE_SOURCES = 32;
+
+    /** Maximum number of calls accepted by a single GCS batch request. */
+    private static final int MAX_BATCH_CALLS = 100;
+
+    /** Size of the reads from the source stream; GCS upload chunks are multiples of 256 KB. */
+    private static final int STAGING_BUFFER_SIZE = 256 * 1024;
+
     // Déclare une variable 'storage' qui contiendra l'outil principal pour parler à l'API Google Cloud Storage.
     private final Storage storage;
 
     // Déclare une variable 'bucketName' qui contiendra le nom de ton "seau" (bucket) GCS où les fichiers seront stockés.
     private final String bucketName;
 
+    private final int chunkSize;
+    private final DirectBufferPool bufferPool;
+    private final StorageMetrics storageMetrics;
+    private final ParallelCompositeUploader compositeUploader;
+    private final StorageClass hotStorageClass;
+    private final StorageClass coldStorageClass;
+
     @Autowired
-    public GoogleCloudStorageServiceImpl(Storage storage, @Value("${gcs.bucket.name}") String bucketName) {
+    public GoogleCloudStorageServiceImpl(Storage storage, @Value("${gcs.bucket.name}") String bucketName,
+                                         @Value("${gcs.upload.chunk-size:8MB}") DataSize chunkSize,
+                                         @Value("${gcs.upload.buffer-pool-size:4}") int bufferPoolSize,
+                                         StorageMetrics storageMetrics,
+                                         ParallelCompositeUploader compositeUploader,
+                                         @Value("${gcs.storage-class.hot:STANDARD}") String hotStorageClass,
+                                         @Value("${gcs.storage-class.cold:COLDLINE}") String coldStorageClass) {
         this.storage = storage;
         this.bucketName = bucketName;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.bufferPool = new DirectBufferPool(this.chunkSize, bufferPoolSize);
+        this.storageMetrics = storageMetrics;
+        this.compositeUploader = compositeUploader;
+        this.hotStorageClass = StorageClass.valueOf(hotStorageClass);
+        this.coldStorageClass = StorageClass.valueOf(coldStorageClass);
     }
 
     @Override
@@ -39,26 +89,254 @@ public class GoogleCloudStorageServiceImpl implements StorageService {
             throw new IOException("Cannot upload empty file.");
         }
 
+        try (InputStream input = file.getInputStream()) {
+            return uploadStream(input, file.getSize(), file.getContentType(), destinationFileName);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The stream is accumulated into a pooled direct buffer the size of the GCS upload chunk, so the
+     * {@link WriteChannel} receives one write per chunk instead of one per read from the source.
+     * <p>
+     * Streams whose announced length reaches the composite threshold are instead uploaded as parallel
+     * parts by the {@link ParallelCompositeUploader} and composed server-side into the destination.
+     */
+    @Override
+    public String uploadStream(InputStream input, long contentLength, String contentType, String destinationFileName) throws IOException {
+
+        if (compositeUploader.accepts(contentLength)) {
+            return uploadComposite(input, contentLength, contentType, destinationFileName);
+        }
+
         BlobId blobId = BlobId.of(bucketName, destinationFileName);
         BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
+                .setContentType(contentType)
                 .build();
 
-        try (WriteChannel writer = storage.writer(blobInfo);
-             InputStream input = file.getInputStream()) {
+        ByteBuffer buffer = bufferPool.acquire();
+        long startNanos = System.nanoTime();
+        long transferred = 0;
+        try (WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(chunkSize);
 
-            byte[] buffer = new byte[1024];
+            byte[] staging = new byte[STAGING_BUFFER_SIZE];
             int limit;
-            while ((limit = input.read(buffer)) >= 0) {
-                writer.write(java.nio.ByteBuffer.wrap(buffer, 0, limit));
+            while ((limit = input.read(staging)) >= 0) {
+                int offset = 0;
+                while (offset < limit) {
+                    int length = Math.min(limit - offset, buffer.remaining());
+                    buffer.put(staging, offset, length);
+                    offset += length;
+                    if (!buffer.hasRemaining()) {
+                        drain(buffer, writer);
+                    }
+                }
+                transferred += limit;
             }
+            drain(buffer, writer);
 
         } catch (StorageException e) {
-            System.err.println("GCS Upload Error: " + e.getMessage());
+            logger.error("GCS upload error for object '{}': {}", destinationFileName, e.getMessage(), e);
             throw new IOException("Failed to upload file to GCS: " + e.getMessage(), e);
+        } finally {
+            bufferPool.release(buffer);
+        }
+
+        double bytesPerSecond = storageMetrics.recordUpload("gcs", transferred, System.nanoTime() - startNanos);
+        logger.info("Uploaded {} bytes to '{}' at {} MB/s", transferred, destinationFileName,
+                String.format("%.1f", bytesPerSecond / (1024 * 1024)));
+        return getPublicUrl(destinationFileName);
+    }
+
+    private String uploadComposite(InputStream input, long contentLength, String contentType, String destinationFileName) throws IOException {
+        long startNanos = System.nanoTime();
+        List<String> parts = compositeUploader.uploadParts(input, contentLength, contentType);
+        try {
+            composeObjects(parts, contentType, destinationFileName);
+        } finally {
+            compositeUploader.deleteParts(parts);
+        }
+
+        double bytesPerSecond = storageMetrics.recordUpload("gcs-composite", contentLength, System.nanoTime() - startNanos);
+        logger.info("Uploaded {} bytes to '{}' in {} parallel parts at {} MB/s", contentLength, destinationFileName, parts.size(),
+                String.format("%.1f", bytesPerSecond / (1024 * 1024)));
+        return getPublicUrl(destinationFileName);
+    }
+
+    private static void drain(ByteBuffer buffer, WriteChannel writer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            writer.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * GCS accepts at most {@value #MAX_COMPOSE_SOURCES} sources per compose request. Longer lists are
+     * composed level by level into intermediate objects, which are deleted once the final object exists.
+     * Composition happens server-side: no object data transits through the application.
+     */
+    @Override
+    public String composeObjects(List<String> sourcePaths, String contentType, String destinationFileName) throws IOException {
+        if (sourcePaths == null || sourcePaths.isEmpty()) {
+            throw new IOException("Cannot compose an object from an empty source list.");
+        }
+
+        List<String> intermediates = new ArrayList<>();
+        List<String> level = sourcePaths;
+        int depth = 0;
+        try {
+            while (level.size() > MAX_COMPOSE_SOURCES) {
+                List<String> nextLevel = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += MAX_COMPOSE_SOURCES) {
+                    List<String> group = level.subList(i, Math.min(i + MAX_COMPOSE_SOURCES, level.size()));
+                    String intermediate = String.format("%s.compose-%d-%d", destinationFileName, depth, i / MAX_COMPOSE_SOURCES);
+                    compose(group, contentType, intermediate);
+                    intermediates.add(intermediate);
+                    nextLevel.add(intermediate);
+                }
+                level = nextLevel;
+                depth++;
+            }
+            compose(level, contentType, destinationFileName);
+        } catch (StorageException e) {
+            logger.error("GCS compose error for object '{}': {}", destinationFileName, e.getMessage(), e);
+            throw new IOException("Failed to compose object in GCS: " + e.getMessage(), e);
+        } finally {
+            intermediates.forEach(this::deleteFile);
+        }
+
+        logger.info("Composed {} objects into '{}'", sourcePaths.size(), destinationFileName);
+        return getPublicUrl(destinationFileName);
+    }
+
+    private void compose(List<String> sources, String contentType, String target) {
+        BlobInfo targetInfo = BlobInfo.newBuilder(BlobId.of(bucketName, target))
+                .setContentType(contentType)
+                .build();
+        storage.compose(Storage.ComposeRequest.newBuilder()
+                .addSource(sources)
+                .setTarget(targetInfo)
+                .build());
+    }
+
+    @Override
+    public SeekableByteChannel openReadChannel(String objectPath) throws IOException {
+        try {
+            Blob blob = storage.get(BlobId.of(bucketName, objectPath));
+            if (blob == null) {
+                throw new FileNotFoundException("Object '" + objectPath + "' not found in bucket '" + bucketName + "'.");
+            }
+            return new GcsSeekableByteChannel(blob.reader(), blob.getSize());
+        } catch (StorageException e) {
+            throw new IOException("Failed to open object '" + objectPath + "' in GCS: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getObjectSize(String objectPath) throws IOException {
+        try {
+            Blob blob = storage.get(BlobId.of(bucketName, objectPath));
+            if (blob == null) {
+                throw new FileNotFoundException("Object '" + objectPath + "' not found in bucket '" + bucketName + "'.");
+            }
+            return blob.getSize();
+        } catch (StorageException e) {
+            throw new IOException("Failed to read metadata of object '" + objectPath + "' in GCS: " + e.getMessage(), e);
         }
+    }
 
-        return String.format("https://storage.googleapis.com/%s/%s", bucketName, destinationFileName);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tiers map to the storage classes {@code gcs.storage-class.hot} and {@code gcs.storage-class.cold}.
+     * The class is changed by rewriting the object onto itself, server-side, so the bytes never leave GCS;
+     * the rewrite only applies to the generation that was read, so an object replaced meanwhile is left alone.
+     */
+    @Override
+    public void changeStorageTier(String objectPath, StorageTier tier) throws IOException {
+        StorageClass target = tier == StorageTier.COLD ? coldStorageClass : hotStorageClass;
+        try {
+            Blob blob = storage.get(BlobId.of(bucketName, objectPath));
+            if (blob == null) {
+                throw new FileNotFoundException("Object '" + objectPath + "' not found in bucket '" + bucketName + "'.");
+            }
+            if (target.equals(blob.getStorageClass())) {
+                return;
+            }
+            Storage.CopyRequest request = Storage.CopyRequest.newBuilder()
+                    .setSource(blob.getBlobId())
+                    .setTarget(blob.toBuilder().setStorageClass(target).build(), Storage.BlobTargetOption.generationMatch())
+                    .build();
+            storage.copy(request).getResult();
+            logger.info("Moved object '{}' to storage class {}", objectPath, target);
+        } catch (StorageException e) {
+            throw new IOException("Failed to move object '" + objectPath + "' to storage class " + target + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the name, size and creation time of each object are requested, which keeps the pages small.
+     */
+    @Override
+    public ObjectListing listObjects(String prefix, String pageToken, int pageSize) throws IOException {
+        List<Storage.BlobListOption> options = new ArrayList<>();
+        options.add(Storage.BlobListOption.prefix(prefix));
+        options.add(Storage.BlobListOption.pageSize(pageSize));
+        options.add(Storage.BlobListOption.fields(Storage.BlobField.NAME, Storage.BlobField.SIZE, Storage.BlobField.TIME_CREATED));
+        if (pageToken != null) {
+            options.add(Storage.BlobListOption.pageToken(pageToken));
+        }
+        try {
+            Page<Blob> page = storage.list(bucketName, options.toArray(new Storage.BlobListOption[0]));
+            List<ObjectListing.Entry> objects = new ArrayList<>();
+            for (Blob blob : page.getValues()) {
+                Long createTime = blob.getCreateTime();
+                objects.add(new ObjectListing.Entry(blob.getName(), blob.getSize() != null ? blob.getSize() : 0,
+                        createTime != null ? Instant.ofEpochMilli(createTime) : null));
+            }
+            return new ObjectListing(objects, page.hasNextPage() ? page.getNextPageToken() : null);
+        } catch (StorageException e) {
+            throw new IOException("Failed to list objects under '" + prefix + "' in GCS: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The URL is signed locally with the V4 scheme, using the private key of the service account
+     * credentials; no request is made to GCS.
+     */
+    @Override
+    public String generateSignedUploadUrl(String objectPath, String contentType, Duration validity) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, objectPath))
+                .setContentType(contentType)
+                .build();
+        List<Storage.SignUrlOption> options = new ArrayList<>();
+        options.add(Storage.SignUrlOption.httpMethod(HttpMethod.PUT));
+        options.add(Storage.SignUrlOption.withV4Signature());
+        if (contentType != null) {
+            options.add(Storage.SignUrlOption.withContentType());
+        }
+        try {
+            URL url = storage.signUrl(blobInfo, validity.toSeconds(), TimeUnit.SECONDS, options.toArray(new Storage.SignUrlOption[0]));
+            return url.toString();
+        } catch (RuntimeException e) {
+            // Credentials without a private key, or a signing failure reported by the IAM API.
+            logger.error("Could not sign upload URL for object '{}': {}", objectPath, e.getMessage(), e);
+            throw new IOException("Failed to sign upload URL: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getPublicUrl(String objectPath) {
+        return String.format("https://storage.googleapis.com/%s/%s", bucketName, objectPath);
     }
 
 
@@ -119,6 +397,53 @@ public class GoogleCloudStorageServiceImpl implements StorageService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The deletions are sent through the JSON batch API, up to 100 per HTTP request.
+     */
+    @Override
+    public List<String> deleteFiles(Collection<String> objectPaths) {
+        List<String> failed = new ArrayList<>();
+        List<String> chunk = new ArrayList<>(MAX_BATCH_CALLS);
+        for (String objectPath : objectPaths) {
+            chunk.add(objectPath);
+            if (chunk.size() == MAX_BATCH_CALLS) {
+                deleteBatch(chunk, failed);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteBatch(chunk, failed);
+        }
+        logger.info("Batch deleted {} of {} objects from bucket '{}'", objectPaths.size() - failed.size(), objectPaths.size(), bucketName);
+        return failed;
+    }
+
+    private void deleteBatch(List<String> objectPaths, List<String> failed) {
+        StorageBatch batch = storage.batch();
+        for (String objectPath : objectPaths) {
+            // A missing object is reported as a successful 'false', so only real errors reach onFailure.
+            batch.delete(BlobId.of(bucketName, objectPath)).notify(new BatchResult.Callback<>() {
+                @Override
+                public void success(Boolean deleted) {
+                }
+
+                @Override
+                public void error(StorageException e) {
+                    logger.warn("GCS batch deletion error for object '{}': {}", objectPath, e.getMessage());
+                    failed.add(objectPath);
+                }
+            });
+        }
+        try {
+            batch.submit();
+        } catch (StorageException e) {
+            logger.error("GCS batch deletion of {} objects failed: {}", objectPaths.size(), e.getMessage(), e);
+            failed.addAll(objectPaths);
+        }
+    }
+
     // @Override : Implémente la méthode 'extractObjectPathFromUrl' de l'interface 'StorageService'.
     // Méthode pour extraire le chemin de l'objet (le nom/chemin dans le bucket) à partir d'une URL GCS complète.
     // Paramètre :
@@ -0,0 +1,280 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.entity.IngestJob;
+import com.eql.cda.track.flow.entity.IngestJobStatus;
+import com.eql.cda.track.flow.entity.IngestStage;
+import com.eql.cda.track.flow.event.ColdAudioAccessedEvent;
+import com.eql.cda.track.flow.event.VersionCreatedEvent;
+import com.eql.cda.track.flow.exception.IngestBacklogFullException;
+import com.eql.cda.track.flow.repository.IngestJobRepository;
+import com.eql.cda.track.flow.service.AudioAnalysisService;
+import com.eql.cda.track.flow.service.IngestQueueService;
+import com.eql.cda.track.flow.service.PreviewService;
+import com.eql.cda.track.flow.service.StorageTieringService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Implementation of the {@link IngestQueueService} interface.
+ * <p>
+ * Each stage runs on its own worker pool: the preview pool encodes previews, the analysis pool runs the
+ * audio analyses and the tiering pool promotes cold objects that are played again. A node only claims as many
+ * jobs as its pools have free threads and queue slots, so claimed jobs start quickly and the rest stay
+ * available to the other nodes. Claiming moves a job to {@link IngestJobStatus#RUNNING} with a lease; a job
+ * whose worker died is claimed again once the lease expires. Every stage is idempotent, so running a job twice
+ * after an expired lease is harmless.
+ */
+@Service
+public class IngestQueueServiceImpl implements IngestQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestQueueServiceImpl.class);
+
+    private static final List<IngestJobStatus> CLAIMABLE_STATUSES = List.of(IngestJobStatus.PENDING, IngestJobStatus.RUNNING);
+    private static final List<IngestStage> VERSION_STAGES = List.of(IngestStage.PREVIEW, IngestStage.ANALYSIS);
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final IngestJobRepository ingestJobRepository;
+    private final PreviewService previewService;
+    private final AudioAnalysisService audioAnalysisService;
+    private final StorageTieringService storageTieringService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<IngestStage, ThreadPoolTaskExecutor> executors = new EnumMap<>(IngestStage.class);
+
+    private final boolean workersEnabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialRetryDelay;
+    private final Duration maxRetryDelay;
+    private final long maxBacklog;
+
+    private volatile long backlog;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param ingestJobRepository Repository for ingest job data access.
+     * @param previewService Service encoding the previews.
+     * @param audioAnalysisService Service analysing the audio.
+     * @param storageTieringService Service promoting the cold objects.
+     * @param transactionTemplate Template running each claim in its own transaction.
+     * @param meterRegistry Registry exposing the size of the backlog.
+     * @param previewTaskExecutor The workers encoding the previews.
+     * @param analysisTaskExecutor The workers analysing the audio.
+     * @param tieringTaskExecutor The workers promoting the cold objects.
+     * @param workersEnabled Whether this node runs ingest jobs, or only accepts uploads.
+     * @param batchSize The maximum number of jobs of a stage claimed in one poll.
+     * @param leaseSeconds How long a claimed job is reserved for its worker.
+     * @param maxAttempts The number of attempts after which a failing job is given up.
+     * @param initialRetryDelayMs The delay before the second attempt, doubled after each failure.
+     * @param maxRetryDelayMs The longest delay between two attempts.
+     * @param maxBacklog The number of queued jobs from which new uploads are rejected.
+     */
+    @Autowired
+    public IngestQueueServiceImpl(IngestJobRepository ingestJobRepository, PreviewService previewService,
+                                  AudioAnalysisService audioAnalysisService, StorageTieringService storageTieringService,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  @Qualifier("previewTaskExecutor") ThreadPoolTaskExecutor previewTaskExecutor,
+                                  @Qualifier("analysisTaskExecutor") ThreadPoolTaskExecutor analysisTaskExecutor,
+                                  @Qualifier("tieringTaskExecutor") ThreadPoolTaskExecutor tieringTaskExecutor,
+                                  @Value("${ingest.workers.enabled:true}") boolean workersEnabled,
+                                  @Value("${ingest.batch-size:20}") int batchSize,
+                                  @Value("${ingest.lease-seconds:600}") long leaseSeconds,
+                                  @Value("${ingest.retry.max-attempts:5}") int maxAttempts,
+                                  @Value("${ingest.retry.initial-delay-ms:10000}") long initialRetryDelayMs,
+                                  @Value("${ingest.retry.max-delay-ms:600000}") long maxRetryDelayMs,
+                                  @Value("${ingest.max-backlog:500}") long maxBacklog) {
+        this.ingestJobRepository = ingestJobRepository;
+        this.previewService = previewService;
+        this.audioAnalysisService = audioAnalysisService;
+        this.storageTieringService = storageTieringService;
+        this.transactionTemplate = transactionTemplate;
+        this.executors.put(IngestStage.PREVIEW, previewTaskExecutor);
+        this.executors.put(IngestStage.ANALYSIS, analysisTaskExecutor);
+        this.executors.put(IngestStage.PROMOTION, tieringTaskExecutor);
+        this.workersEnabled = workersEnabled;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.initialRetryDelay = Duration.ofMillis(initialRetryDelayMs);
+        this.maxRetryDelay = Duration.ofMillis(maxRetryDelayMs);
+        this.maxBacklog = maxBacklog;
+        Gauge.builder("trackflow.ingest.backlog", this, service -> service.backlog)
+                .description("Ingest jobs pending or running, across all nodes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the processing of a new version in the transaction creating it.
+     *
+     * @param event The creation event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onVersionCreated(VersionCreatedEvent event) {
+        enqueue(event.versionId(), event.audioFileUrl());
+    }
+
+    /**
+     * Queues the promotion of a cold object in the transaction recording the play of its version.
+     *
+     * @param event The access event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onColdAudioAccessed(ColdAudioAccessedEvent event) {
+        save(event.versionId(), event.audioFileUrl(), IngestStage.PROMOTION, Instant.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enqueue(Long versionId, String audioFileUrl) {
+        if (audioFileUrl == null || audioFileUrl.isBlank()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (IngestStage stage : VERSION_STAGES) {
+            save(versionId, audioFileUrl, stage, now);
+        }
+    }
+
+    private void save(Long versionId, String audioFileUrl, IngestStage stage, Instant now) {
+        IngestJob job = new IngestJob();
+        job.setVersionId(versionId);
+        job.setAudioFileUrl(audioFileUrl);
+        job.setStage(stage);
+        job.setStatus(IngestJobStatus.PENDING);
+        job.setNextAttemptAt(now);
+        ingestJobRepository.save(job);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also refreshes the backlog size read by {@link #ensureCapacity()}, even on nodes that do not run jobs.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${ingest.poll-interval-ms:2000}")
+    public int pollJobs() {
+        int claimed = 0;
+        if (workersEnabled) {
+            for (IngestStage stage : IngestStage.values()) {
+                claimed += claimAndDispatch(stage, executors.get(stage));
+            }
+        }
+        backlog = ingestJobRepository.countByStatusIn(CLAIMABLE_STATUSES);
+        return claimed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity() {
+        if (backlog >= maxBacklog) {
+            throw new IngestBacklogFullException("Too many uploads are waiting to be processed. Please retry later.");
+        }
+    }
+
+    private int claimAndDispatch(IngestStage stage, ThreadPoolTaskExecutor executor) {
+        int room = Math.min(batchSize, freeCapacity(executor));
+        if (room == 0) {
+            return 0;
+        }
+        List<IngestJob> jobs = transactionTemplate.execute(status -> claim(stage, room));
+        int dispatched = 0;
+        for (IngestJob job : jobs) {
+            try {
+                executor.execute(() -> runJob(job));
+                dispatched++;
+            } catch (TaskRejectedException e) {
+                ingestJobRepository.release(job.getId(), Instant.now());
+            }
+        }
+        if (dispatched > 0) {
+            log.debug("Claimed {} {} jobs.", dispatched, stage);
+        }
+        return dispatched;
+    }
+
+    /**
+     * Runs in a transaction: locks the due jobs, skipping those claimed concurrently by other nodes,
+     * and records the new attempt and its lease before the locks are released.
+     */
+    private List<IngestJob> claim(IngestStage stage, int limit) {
+        Instant now = Instant.now();
+        List<IngestJob> jobs = ingestJobRepository.findDueForUpdate(stage, CLAIMABLE_STATUSES, now, PageRequest.of(0, limit));
+        for (IngestJob job : jobs) {
+            job.setStatus(IngestJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setNextAttemptAt(now.plus(lease));
+        }
+        return jobs;
+    }
+
+    /**
+     * Runs on a worker thread: executes the stage, then deletes the job, or schedules its next attempt.
+     */
+    private void runJob(IngestJob job) {
+        try {
+            switch (job.getStage()) {
+                case PREVIEW -> previewService.generatePreview(job.getAudioFileUrl());
+                case ANALYSIS -> audioAnalysisService.analyzeVersion(job.getVersionId());
+                case PROMOTION -> storageTieringService.promote(job.getAudioFileUrl());
+            }
+            ingestJobRepository.deleteCompleted(job.getId());
+        } catch (Exception e) {
+            String error = truncate(e.getMessage());
+            if (job.getAttempts() >= maxAttempts) {
+                log.error("{} job {} of version {} failed after {} attempts: {}",
+                        job.getStage(), job.getId(), job.getVersionId(), job.getAttempts(), error);
+                ingestJobRepository.markFailed(job.getId(), error);
+            } else {
+                Duration delay = retryDelay(job.getAttempts());
+                log.warn("{} job {} of version {} failed (attempt {}), retrying in {} s: {}",
+                        job.getStage(), job.getId(), job.getVersionId(), job.getAttempts(), delay.toSeconds(), error);
+                ingestJobRepository.reschedule(job.getId(), Instant.now().plus(delay), error);
+            }
+        }
+    }
+
+    private Duration retryDelay(int attempts) {
+        Duration delay = initialRetryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    /**
+     * The number of tasks the pool can take without rejecting any: its idle threads plus its free queue slots.
+     */
+    private static int freeCapacity(ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        return Math.max(0, pool.getMaximumPoolSize() - pool.getActiveCount() + pool.getQueue().remainingCapacity());
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+}
@@ -0,0 +1,450 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.entity.StorageTier;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.storage.ObjectListing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * {@link StorageService} backed by a directory of the local file system, enabled with the
+ * {@code local-storage} profile. It lets the application run and be benchmarked without cloud credentials.
+ * <p>
+ * Object paths map to files below the root directory. Writes go to a temporary file in the target
+ * directory which is then atomically renamed, so readers never see a partial object. Objects are exposed
+ * under {@code storage.local.public-base-url}, served by
+ * {@link com.eql.cda.track.flow.controller.StorageFileController}.
+ * <p>
+ * Signed upload URLs point to the same controller. They carry an expiry and an HMAC-SHA256 signature
+ * computed with {@code storage.local.signing-key}, or with a random key generated at startup if none is set.
+ * <p>
+ * Cold objects are moved to the same path below {@code storage.local.archive-dir}, which can sit on cheaper disks.
+ * Reads look in the archive when an object is not in the root directory, so the move is invisible to readers.
+ */
+@Service
+@Profile("local-storage")
+public class LocalFileSystemStorageServiceImpl implements StorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFileSystemStorageServiceImpl.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+
+    private final Path rootDirectory;
+    private final Path archiveDirectory;
+    private final String publicBaseUrl;
+    private final SecretKeySpec signingKey;
+
+    /**
+     * Constructs the service and creates the root directory if needed.
+     *
+     * @param rootDirectory The directory holding the stored objects.
+     * @param publicBaseUrl The URL prefix under which objects are served, without trailing slash.
+     * @param signingKey The secret used to sign upload URLs, or blank to generate one.
+     * @param archiveDirectory The directory holding the objects of the cold tier.
+     * @throws IOException if the root or archive directory cannot be created.
+     */
+    @Autowired
+    public LocalFileSystemStorageServiceImpl(@Value("${storage.local.root-dir:${java.io.tmpdir}/trackflow-storage}") Path rootDirectory,
+                                             @Value("${storage.local.public-base-url:http://localhost:8080/api/storage/files}") String publicBaseUrl,
+                                             @Value("${storage.local.signing-key:}") String signingKey,
+                                             @Value("${storage.local.archive-dir:${java.io.tmpdir}/trackflow-archive}") Path archiveDirectory) throws IOException {
+        this.rootDirectory = Files.createDirectories(rootDirectory).toAbsolutePath().normalize();
+        this.archiveDirectory = Files.createDirectories(archiveDirectory).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        byte[] key = new byte[32];
+        if (signingKey == null || signingKey.isBlank()) {
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = signingKey.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, SIGNING_ALGORITHM);
+        log.info("Local storage rooted at {}, served under {}", this.rootDirectory, this.publicBaseUrl);
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, String destinationFileName) throws IOException {
+        if (file.isEmpty()) {
+            throw new IOException("Cannot upload empty file.");
+        }
+        try (InputStream input = file.getInputStream()) {
+            return uploadStream(input, file.getSize(), file.getContentType(), destinationFileName);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The content type is not persisted; it is derived from the file extension when the object is served.
+     */
+    @Override
+    public String uploadStream(InputStream input, long contentLength, String contentType, String destinationFileName) throws IOException {
+        Path destination = resolve(destinationFileName);
+        Path partial = createPartialFile(destination);
+        try {
+            try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+                ByteBuffer view = ByteBuffer.wrap(buffer);
+                int n;
+                while ((n = input.read(buffer)) >= 0) {
+                    view.clear().limit(n);
+                    while (view.hasRemaining()) {
+                        out.write(view);
+                    }
+                }
+            }
+            publish(partial, destination);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return getPublicUrl(destinationFileName);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sources are appended with {@link FileChannel#transferTo}, which lets the kernel copy the data
+     * without it passing through the Java heap.
+     */
+    @Override
+    public String composeObjects(List<String> sourcePaths, String contentType, String destinationFileName) throws IOException {
+        if (sourcePaths == null || sourcePaths.isEmpty()) {
+            throw new IOException("Cannot compose an object from an empty source list.");
+        }
+        Path destination = resolve(destinationFileName);
+        Path partial = createPartialFile(destination);
+        try {
+            try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (String sourcePath : sourcePaths) {
+                    try (FileChannel in = openExisting(sourcePath)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            publish(partial, destination);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        log.info("Composed {} objects into '{}'", sourcePaths.size(), destinationFileName);
+        return getPublicUrl(destinationFileName);
+    }
+
+    @Override
+    public SeekableByteChannel openReadChannel(String objectPath) throws IOException {
+        return openExisting(objectPath);
+    }
+
+    @Override
+    public long getObjectSize(String objectPath) throws IOException {
+        try {
+            return Files.size(locate(objectPath));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Object '" + objectPath + "' not found in local storage.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tree is walked depth first, each directory sorted on its own, with a trailing {@code /} on the names of
+     * subdirectories so that the walk follows the lexicographic order of the full paths. Directories entirely
+     * outside the prefix, or entirely before the token (the last path of the previous page), are not opened,
+     * and the walk stops once the page is full. A page therefore only reads the directories along the path to
+     * the token and the ones it lists, and a full pass over the tree opens each directory about once.
+     */
+    @Override
+    public ObjectListing listObjects(String prefix, String pageToken, int pageSize) throws IOException {
+        List<ObjectListing.Entry> objects = new ArrayList<>(pageSize);
+        listDirectory(rootDirectory, "", prefix, pageToken, pageSize, objects);
+        return new ObjectListing(objects, objects.size() == pageSize ? objects.get(pageSize - 1).objectPath() : null);
+    }
+
+    /**
+     * Adds the files of a directory and of its subdirectories to a page, in path order, until the page is full.
+     *
+     * @param directory The directory to list.
+     * @param directoryPath Its object path, empty for the root or ending with {@code /}.
+     */
+    private void listDirectory(Path directory, String directoryPath, String prefix, String pageToken, int pageSize,
+                               List<ObjectListing.Entry> objects) throws IOException {
+        TreeMap<String, BasicFileAttributes> children = new TreeMap<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    continue; // Deleted since the directory was opened.
+                }
+                String name = entry.getFileName().toString();
+                if (attributes.isDirectory()) {
+                    children.put(directoryPath + name + "/", attributes);
+                } else if (attributes.isRegularFile()) {
+                    children.put(directoryPath + name, attributes);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+
+        for (Map.Entry<String, BasicFileAttributes> child : children.entrySet()) {
+            if (objects.size() == pageSize) {
+                return;
+            }
+            String path = child.getKey();
+            if (child.getValue().isDirectory()) {
+                boolean overlapsPrefix = path.startsWith(prefix) || prefix.startsWith(path);
+                boolean reachesToken = pageToken == null || pageToken.startsWith(path) || path.compareTo(pageToken) > 0;
+                if (overlapsPrefix && reachesToken) {
+                    listDirectory(directory.resolve(path.substring(directoryPath.length(), path.length() - 1)), path,
+                            prefix, pageToken, pageSize, objects);
+                }
+            } else if (path.startsWith(prefix) && (pageToken == null || path.compareTo(pageToken) > 0)) {
+                BasicFileAttributes attributes = child.getValue();
+                objects.add(new ObjectListing.Entry(path, attributes.size(), attributes.creationTime().toInstant()));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The URL targets {@link com.eql.cda.track.flow.controller.StorageFileController}, which checks it
+     * with {@link #verifySignedUpload(String, String, long, String)}.
+     */
+    @Override
+    public String generateSignedUploadUrl(String objectPath, String contentType, Duration validity) {
+        long expires = Instant.now().plus(validity).getEpochSecond();
+        StringBuilder url = new StringBuilder(getPublicUrl(objectPath))
+                .append("?expires=").append(expires)
+                .append("&signature=").append(sign(objectPath, contentType, expires));
+        if (contentType != null) {
+            url.append("&contentType=").append(UriUtils.encodeQueryParam(contentType, StandardCharsets.UTF_8));
+        }
+        return url.toString();
+    }
+
+    /**
+     * Checks the query parameters of a signed upload URL.
+     *
+     * @param objectPath The path of the object being uploaded.
+     * @param contentType The {@code contentType} parameter of the URL, or null.
+     * @param expires The {@code expires} parameter of the URL, in epoch seconds.
+     * @param signature The {@code signature} parameter of the URL.
+     * @return {@code true} if the URL was issued by this service for this object and has not expired.
+     */
+    public boolean verifySignedUpload(String objectPath, String contentType, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(objectPath, contentType, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public String getPublicUrl(String objectPath) {
+        return publicBaseUrl + "/" + UriUtils.encodePath(objectPath, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String extractObjectPathFromUrl(String fileUrl) throws URISyntaxException {
+        if (fileUrl == null || !fileUrl.startsWith(publicBaseUrl + "/")) {
+            log.warn("URL is null or does not start with '{}/'.", publicBaseUrl);
+            return null;
+        }
+        String basePath = new URI(publicBaseUrl).getPath();
+        String path = new URI(fileUrl).getPath();
+        String objectPath = path.substring(basePath.length() + 1);
+        return objectPath.isEmpty() ? null : objectPath;
+    }
+
+    @Override
+    public String generateUniqueFileName(String originalFileName) {
+        String extension = "";
+        int i = originalFileName.lastIndexOf('.');
+        if (i > 0) {
+            extension = originalFileName.substring(i);
+        }
+        return UUID.randomUUID().toString() + extension;
+    }
+
+    @Override
+    public boolean deleteFile(String objectPath) {
+        if (objectPath == null || objectPath.isBlank()) {
+            log.warn("Deletion skipped: objectPath is null or blank.");
+            return true;
+        }
+        try {
+            boolean deleted = Files.deleteIfExists(resolve(objectPath));
+            deleted |= Files.deleteIfExists(archived(objectPath));
+            if (!deleted) {
+                log.warn("Object '{}' not found in local storage. It might have been already deleted.", objectPath);
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Local storage deletion error for object '{}': {}", objectPath, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Local deletions are cheap, so the objects are simply deleted one by one.
+     */
+    @Override
+    public List<String> deleteFiles(Collection<String> objectPaths) {
+        List<String> failed = new ArrayList<>();
+        for (String objectPath : objectPaths) {
+            if (!deleteFile(objectPath)) {
+                failed.add(objectPath);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is renamed between the root and the archive directory, or copied and then atomically published
+     * when they are on different file systems, so it is readable at every moment of the move.
+     */
+    @Override
+    public void changeStorageTier(String objectPath, StorageTier tier) throws IOException {
+        Path source = tier == StorageTier.COLD ? resolve(objectPath) : archived(objectPath);
+        Path target = tier == StorageTier.COLD ? archived(objectPath) : resolve(objectPath);
+        if (!Files.exists(source)) {
+            if (Files.exists(target)) {
+                return;
+            }
+            throw new FileNotFoundException("Object '" + objectPath + "' not found in local storage.");
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Path partial = createPartialFile(target);
+            try {
+                Files.copy(source, partial, StandardCopyOption.REPLACE_EXISTING);
+                publish(partial, target);
+            } catch (IOException copyError) {
+                Files.deleteIfExists(partial);
+                throw copyError;
+            }
+            Files.delete(source);
+        }
+        log.info("Moved object '{}' to the {} tier", objectPath, tier);
+    }
+
+    /**
+     * Finds the file of an existing object, in the root directory or in the archive, for callers that serve
+     * objects directly from disk.
+     *
+     * @param objectPath The path of the object.
+     * @return The absolute path of the file; its path in the root directory if the object does not exist.
+     * @throws IllegalArgumentException if the object path escapes the root directory.
+     */
+    public Path locate(String objectPath) {
+        Path file = resolve(objectPath);
+        if (Files.exists(file)) {
+            return file;
+        }
+        Path archivedFile = archived(objectPath);
+        return Files.exists(archivedFile) ? archivedFile : file;
+    }
+
+    /**
+     * Resolves an object path to its file, for callers that serve objects directly from disk.
+     *
+     * @param objectPath The path of the object.
+     * @return The absolute path of the file, which may not exist.
+     * @throws IllegalArgumentException if the object path escapes the root directory.
+     */
+    public Path resolve(String objectPath) {
+        Path file = rootDirectory.resolve(objectPath).normalize();
+        if (!file.startsWith(rootDirectory) || file.equals(rootDirectory)) {
+            throw new IllegalArgumentException("Invalid object path: " + objectPath);
+        }
+        return file;
+    }
+
+    private String sign(String objectPath, String contentType, long expires) {
+        String payload = "PUT\n" + objectPath + "\n" + (contentType != null ? contentType : "") + "\n" + expires;
+        try {
+            Mac mac = Mac.getInstance(SIGNING_ALGORITHM);
+            mac.init(signingKey);
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available in this JVM", e);
+        }
+    }
+
+    private FileChannel openExisting(String objectPath) throws IOException {
+        try {
+            return FileChannel.open(locate(objectPath), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Object '" + objectPath + "' not found in local storage.");
+        }
+    }
+
+    private Path archived(String objectPath) {
+        Path file = archiveDirectory.resolve(objectPath).normalize();
+        if (!file.startsWith(archiveDirectory) || file.equals(archiveDirectory)) {
+            throw new IllegalArgumentException("Invalid object path: " + objectPath);
+        }
+        return file;
+    }
+
+    private Path createPartialFile(Path destination) throws IOException {
+        Files.createDirectories(destination.getParent());
+        return Files.createTempFile(destination.getParent(), ".part-", null);
+    }
+
+    private void publish(Path partial, Path destination) throws IOException {
+        Files.move(partial, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
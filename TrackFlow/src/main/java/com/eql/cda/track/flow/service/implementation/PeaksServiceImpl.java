@@ -0,0 +1,155 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.audio.CompositeSampleConsumer;
+import com.eql.cda.track.flow.service.audio.PcmSampleConsumer;
+import com.eql.cda.track.flow.service.audio.PcmStreamDecoder;
+import com.eql.cda.track.flow.service.audio.PeaksFile;
+import com.eql.cda.track.flow.service.audio.PeaksGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link PeaksService} interface.
+ * <p>
+ * Peaks can only be computed for uncompressed WAV and AIFF files, which are decoded in a single
+ * streaming pass by the {@link PcmStreamDecoder}. Other formats simply have no peaks sidecar.
+ * Callers can attach another analysis to that pass, so the audio is decoded only once at ingest.
+ */
+@Service
+public class PeaksServiceImpl implements PeaksService {
+
+    private static final Logger log = LoggerFactory.getLogger(PeaksServiceImpl.class);
+
+    private static final String PEAKS_SUFFIX = ".peaks";
+    private static final String PEAKS_CONTENT_TYPE = "application/octet-stream";
+
+    private final StorageService storageService;
+    private final PcmStreamDecoder pcmStreamDecoder;
+    private final int bitsPerValue;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service storing and reading the peaks objects.
+     * @param pcmStreamDecoder Decoder turning the audio files into samples.
+     * @param bitsPerValue The resolution of the stored peaks (8 or 16).
+     */
+    @Autowired
+    public PeaksServiceImpl(StorageService storageService, PcmStreamDecoder pcmStreamDecoder,
+                            @Value("${peaks.bits-per-value:16}") int bitsPerValue) {
+        this.storageService = storageService;
+        this.pcmStreamDecoder = pcmStreamDecoder;
+        this.bitsPerValue = bitsPerValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String peaksPathFor(String audioObjectPath) {
+        return audioObjectPath + PEAKS_SUFFIX;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean generatePeaks(Path localAudioFile, String audioObjectPath, PcmSampleConsumer alongside) {
+        try (InputStream in = Files.newInputStream(localAudioFile)) {
+            return generateAndStore(in, audioObjectPath, alongside);
+        } catch (IOException e) {
+            log.warn("Could not read {} to compute its peaks: {}", localAudioFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean generatePeaks(InputStream audio, String audioObjectPath, PcmSampleConsumer alongside) {
+        try {
+            return generateAndStore(audio, audioObjectPath, alongside);
+        } catch (IOException e) {
+            log.warn("Could not read {} to compute its peaks: {}", audioObjectPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void storePeaks(String audioObjectPath, PeaksFile peaksFile) throws IOException {
+        byte[] encoded = peaksFile.encode(bitsPerValue);
+        storageService.uploadStream(new ByteArrayInputStream(encoded), encoded.length, PEAKS_CONTENT_TYPE, peaksPathFor(audioObjectPath));
+        log.info("Stored {} bytes of peaks for {}", encoded.length, audioObjectPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasPeaks(String audioObjectPath) throws IOException {
+        try {
+            storageService.getObjectSize(peaksPathFor(audioObjectPath));
+            return true;
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<byte[]> loadPeaks(String audioObjectPath) throws IOException {
+        try (SeekableByteChannel channel = storageService.openReadChannel(peaksPathFor(audioObjectPath))) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the whole object has been received.
+            }
+            return Optional.of(buffer.array());
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePeaks(String audioObjectPath) {
+        storageService.deleteFile(peaksPathFor(audioObjectPath));
+    }
+
+    private boolean generateAndStore(InputStream audio, String audioObjectPath, PcmSampleConsumer alongside) throws IOException {
+        long start = System.nanoTime();
+        PeaksGenerator generator = new PeaksGenerator();
+        try {
+            pcmStreamDecoder.decode(audio, new CompositeSampleConsumer(generator, alongside));
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("No peaks computed for {}: {}", audioObjectPath, e.getMessage());
+            return false;
+        }
+        log.debug("Decoded {} for its peaks in {} ms", audioObjectPath, (System.nanoTime() - start) / 1_000_000);
+        storePeaks(audioObjectPath, generator.toPeaksFile());
+        return true;
+    }
+}
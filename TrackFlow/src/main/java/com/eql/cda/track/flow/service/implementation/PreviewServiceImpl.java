@@ -0,0 +1,125 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.PreviewService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.audio.PreviewEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Implementation of the {@link PreviewService} interface.
+ * <p>
+ * Stored objects are shared between versions with the same content, so the preview is derived from the
+ * object path and encoded only once per object; later versions reusing the object just pick up its URL.
+ * The original is streamed from storage and the preview is encoded into a temporary file, then uploaded.
+ */
+@Service
+public class PreviewServiceImpl implements PreviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(PreviewServiceImpl.class);
+
+    private static final String PREVIEW_INFIX = ".preview";
+
+    private final StorageService storageService;
+    private final PreviewEncoder previewEncoder;
+    private final VersionRepository versionRepository;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service storing the originals and their previews.
+     * @param previewEncoder Encoder producing the preview renditions.
+     * @param versionRepository Repository recording the preview URLs on the versions.
+     */
+    @Autowired
+    public PreviewServiceImpl(StorageService storageService, PreviewEncoder previewEncoder, VersionRepository versionRepository) {
+        this.storageService = storageService;
+        this.previewEncoder = previewEncoder;
+        this.versionRepository = versionRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String previewPathFor(String audioObjectPath) {
+        return audioObjectPath + PREVIEW_INFIX + previewEncoder.getFileExtension();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean generatePreview(String audioFileUrl) throws IOException {
+        String audioObjectPath;
+        try {
+            audioObjectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            audioObjectPath = null;
+        }
+        if (audioObjectPath == null) {
+            log.warn("No preview for {}: not a stored object URL.", audioFileUrl);
+            return false;
+        }
+
+        String previewPath = previewPathFor(audioObjectPath);
+        if (!exists(previewPath) && !encodeAndStore(audioObjectPath, previewPath)) {
+            return false;
+        }
+        versionRepository.setPreviewAudioFileUrl(audioFileUrl, storageService.getPublicUrl(previewPath));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePreview(String audioObjectPath) {
+        storageService.deleteFile(previewPathFor(audioObjectPath));
+    }
+
+    private boolean encodeAndStore(String audioObjectPath, String previewPath) throws IOException {
+        long start = System.nanoTime();
+        Path localPreview = Files.createTempFile("trackflow-preview-", previewEncoder.getFileExtension());
+        try {
+            try (InputStream in = Channels.newInputStream(storageService.openReadChannel(audioObjectPath))) {
+                previewEncoder.encode(in, localPreview);
+            } catch (UnsupportedAudioFileException e) {
+                log.debug("No preview encoded for {}: {}", audioObjectPath, e.getMessage());
+                return false;
+            } catch (FileNotFoundException e) {
+                log.debug("No preview encoded for {}: the original was deleted.", audioObjectPath);
+                return false;
+            }
+            long size = Files.size(localPreview);
+            try (InputStream preview = Files.newInputStream(localPreview)) {
+                storageService.uploadStream(preview, size, previewEncoder.getContentType(), previewPath);
+            }
+            log.info("Stored {} bytes of preview for {} in {} ms", size, audioObjectPath, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } finally {
+            Files.deleteIfExists(localPreview);
+        }
+    }
+
+    private boolean exists(String objectPath) throws IOException {
+        try {
+            storageService.getObjectSize(objectPath);
+            return true;
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+}
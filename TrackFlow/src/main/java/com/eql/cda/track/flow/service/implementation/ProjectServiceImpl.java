@@ -1,6 +1,7 @@
 package com.eql.cda.track.flow.service.implementation;
 
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectCreateDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectSummaryDto;
 import com.eql.cda.track.flow.dto.projectDto.ProjectUpdateDto;
@@ -10,7 +11,10 @@ import com.eql.cda.track.flow.entity.Project;
 import com.eql.cda.track.flow.entity.User;
 import com.eql.cda.track.flow.repository.ProjectRepository;
 import com.eql.cda.track.flow.repository.UserRepository;
+import com.eql.cda.track.flow.service.BulkDeletionService;
 import com.eql.cda.track.flow.service.ProjectService;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,7 +29,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ProjectService interface.
@@ -39,6 +48,7 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final BulkDeletionService bulkDeletionService;
 
 
 
@@ -47,10 +57,11 @@ public class ProjectServiceImpl implements ProjectService {
      * Constructs the service with its required dependencies.
      */
     @Autowired
-    public ProjectServiceImpl(ProjectRepository projectRepository, UserRepository userRepository, ProjectMapper projectMapper) {
+    public ProjectServiceImpl(ProjectRepository projectRepository, UserRepository userRepository, ProjectMapper projectMapper, BulkDeletionService bulkDeletionService) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.projectMapper = projectMapper;
+        this.bulkDeletionService = bulkDeletionService;
     }
 
     /**
@@ -89,13 +100,32 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<ProjectViewDto> getAllProjectsPaginated(Long userId, Pageable pageable) {
+    public CursorPageDto<ProjectViewDto> getAllProjectsPaginated(Long userId, String cursor, int size) {
         log.debug("Fetching active paginated projects for user ID: {}", userId);
+        Cursor after = Cursor.decode(cursor);
         if (!userRepository.existsById(userId)) {
             throw new EntityNotFoundException("User not found with id: " + userId);
         }
-        Page<Project> projectPage = projectRepository.findByUserIdAndArchivedFalse(userId, pageable);
-        return projectPage.map(projectMapper::toProjectViewDto);
+        List<Long> ids = after == null
+                ? projectRepository.findActiveIdsByUserId(userId, CursorPages.limit(size))
+                : projectRepository.findActiveIdsByUserIdBefore(userId, after.sortKey(), after.id(), CursorPages.limit(size));
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<Project> projects = new ArrayList<>(pageIds.size());
+        if (!pageIds.isEmpty()) {
+            Map<Long, Project> byId = projectRepository.findAllWithDetailsByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(Project::getId, Function.identity()));
+            for (Long id : pageIds) {
+                // A project deleted between the two queries is skipped.
+                Project project = byId.get(id);
+                if (project != null) {
+                    projects.add(project);
+                }
+            }
+        }
+        return CursorPages.toPage(projects, hasNext, project -> new Cursor(project.getCreatedDate(), project.getId()),
+                projectMapper::toProjectViewDto);
     }
 
     /**
@@ -152,8 +182,13 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public void deleteProjectForUser(Long projectId, Long userId) {
         log.debug("Deleting project ID: {} for user ID: {}", projectId, userId);
-        Project projectToDelete = findProjectByIdAndValidateOwnership(projectId, userId);
-        projectRepository.delete(projectToDelete);
+        Long ownerId = projectRepository.findOwnerIdById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+        if (!Objects.equals(ownerId, userId)) {
+            log.warn("Access denied for user {} on project {}", userId, projectId);
+            throw new AccessDeniedException("User with id " + userId + " is not authorized to access project " + projectId);
+        }
+        bulkDeletionService.deleteProject(projectId);
         log.info("Project ID {} deleted successfully by user ID {}", projectId, userId);
     }
 
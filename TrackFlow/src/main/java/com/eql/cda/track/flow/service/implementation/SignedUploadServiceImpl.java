@@ -0,0 +1,127 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadFinalizeDto;
+import com.eql.cda.track.flow.dto.signedUploadDto.SignedUploadRequestDto;
+import com.eql.cda.track.flow.exception.InvalidSignedUploadException;
+import com.eql.cda.track.flow.exception.ResourceNotFoundException;
+import com.eql.cda.track.flow.service.SignedUploadService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.UploadService;
+import com.eql.cda.track.flow.service.audio.UnreadableAudioException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FileNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the {@link SignedUploadService} interface.
+ * <p>
+ * Finalization only reads the headers of the uploaded object with ranged reads; the waveform peaks and the loudness
+ * are computed by the background ingest analysis of the version created from it, so a signed upload never streams
+ * the whole file through a request thread. For the same reason, no content hash is known when the object is
+ * registered, and signed uploads are not deduplicated.
+ * Like the other upload services, this one is not transactional: storage calls must not hold a database connection.
+ */
+@Service
+public class SignedUploadServiceImpl implements SignedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(SignedUploadServiceImpl.class);
+
+    /** The last path segment issued by {@link StorageService#generateUniqueFileName(String)}: a UUID and an optional extension. */
+    private static final Pattern ISSUED_FILE_NAME = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?");
+
+    private final StorageService storageService;
+    private final UploadService uploadService;
+    private final StoredObjectService storedObjectService;
+    private final Duration urlValidity;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service signing the URLs and reading the uploaded objects.
+     * @param uploadService Service extracting the metadata of the uploaded objects.
+     * @param storedObjectService Service registering the uploaded objects for reference counting.
+     * @param urlValidityMinutes How long a signed URL can be used.
+     */
+    @Autowired
+    public SignedUploadServiceImpl(StorageService storageService, UploadService uploadService,
+                                   StoredObjectService storedObjectService,
+                                   @Value("${upload.signed.url-validity-minutes:15}") long urlValidityMinutes) {
+        this.storageService = storageService;
+        this.uploadService = uploadService;
+        this.storedObjectService = storedObjectService;
+        this.urlValidity = Duration.ofMinutes(urlValidityMinutes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignedUploadDto createSignedUpload(SignedUploadRequestDto requestDto) throws Exception {
+        String objectPath = String.format("compositions/%d/versions/%s",
+                requestDto.getCompositionId(), storageService.generateUniqueFileName(requestDto.getFileName()));
+        String contentType = requestDto.getContentType() == null || requestDto.getContentType().isBlank() ? null : requestDto.getContentType();
+
+        SignedUploadDto signedUpload = new SignedUploadDto();
+        signedUpload.setUploadUrl(storageService.generateSignedUploadUrl(objectPath, contentType, urlValidity));
+        signedUpload.setHttpMethod("PUT");
+        signedUpload.setContentType(contentType);
+        signedUpload.setObjectPath(objectPath);
+        signedUpload.setExpiresAt(Instant.now().plus(urlValidity));
+
+        log.info("Signed upload URL issued for {} (Composition ID: {})", objectPath, requestDto.getCompositionId());
+        return signedUpload;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An object that is already registered is returned as it is, so finalizing twice is harmless even once
+     * a version uses it. Otherwise, an object the probe positively reports as not being audio is deleted,
+     * since no version can ever use it; any other failure, such as a storage error, leaves it in place so
+     * that the finalization can be retried.
+     */
+    @Override
+    public AudioUploadResponseDto finalizeSignedUpload(SignedUploadFinalizeDto finalizeDto) throws Exception {
+        String objectPath = finalizeDto.getObjectPath();
+        String expectedPrefix = String.format("compositions/%d/versions/", finalizeDto.getCompositionId());
+        if (!objectPath.startsWith(expectedPrefix) || !ISSUED_FILE_NAME.matcher(objectPath.substring(expectedPrefix.length())).matches()) {
+            throw new InvalidSignedUploadException("Object path " + objectPath + " was not issued for composition " + finalizeDto.getCompositionId() + ".");
+        }
+
+        Optional<AudioUploadResponseDto> registered = storedObjectService.findRegistered(objectPath);
+        if (registered.isPresent()) {
+            log.info("Signed upload {} was already finalized", objectPath);
+            return registered.get();
+        }
+
+        long size;
+        try {
+            size = storageService.getObjectSize(objectPath);
+        } catch (FileNotFoundException e) {
+            throw new ResourceNotFoundException("Uploaded object", objectPath);
+        }
+
+        AudioUploadResponseDto result;
+        try {
+            result = uploadService.extractStoredAudioMetadata(objectPath, storageService.getPublicUrl(objectPath));
+        } catch (UnreadableAudioException e) {
+            log.warn("Signed upload {} is not a readable audio file, deleting it: {}", objectPath, e.getMessage());
+            storageService.deleteFile(objectPath);
+            throw new InvalidSignedUploadException("The uploaded object is not a readable audio file.");
+        }
+
+        log.info("Signed upload {} finalized ({} bytes)", objectPath, size);
+        return storedObjectService.register(null, objectPath, size, null, result);
+    }
+}
@@ -0,0 +1,242 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.repository.StoredObjectRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.PreviewService;
+import com.eql.cda.track.flow.service.StorageGarbageCollectionService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.audio.WaveformDiffCache;
+import com.eql.cda.track.flow.service.storage.BloomFilter;
+import com.eql.cda.track.flow.service.storage.ObjectListing;
+import com.eql.cda.track.flow.service.storage.SegmentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link StorageGarbageCollectionService} interface.
+ * <p>
+ * The object paths of all versions are streamed page by page into a {@link BloomFilter}, then the
+ * {@code compositions/} prefix of the bucket is listed page by page and every object absent from the filter
+ * becomes a deletion candidate, as do the sidecars of such objects. Memory is bounded by the filter, about
+ * 2 bytes per version, plus one listing page and one batch, whatever the size of the bucket.
+ * <p>
+ * The filter never forgets a live object; its false positives only keep a few orphans until a later run.
+ * Candidates are checked against the database again, in batches, right before deletion, so a version
+ * created during the run keeps its audio. An audio file recently handed to an upload is kept as well, even
+ * when it is old, since the version that will use it may not have been created yet.
+ */
+@Service
+public class StorageGarbageCollectionServiceImpl implements StorageGarbageCollectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageGarbageCollectionServiceImpl.class);
+
+    private static final String AUDIO_PREFIX = "compositions/";
+    private static final String COMPOSITE_PARTS_PREFIX = "uploads/composite/";
+    private static final int VERSION_PAGE_SIZE = 1000;
+
+    private final StorageService storageService;
+    private final VersionRepository versionRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final SegmentCache segmentCache;
+    private final WaveformDiffCache waveformDiffCache;
+    private final List<String> sidecarSuffixes;
+
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int pageSize;
+    private final int batchSize;
+    private final double falsePositiveRate;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service listing and deleting the stored objects.
+     * @param versionRepository Repository reading the audio files of the versions.
+     * @param storedObjectRepository Repository unregistering the deleted audio files.
+     * @param peaksService Service naming the peaks sidecars.
+     * @param previewService Service naming the preview renditions.
+     * @param fingerprintService Service naming the fingerprint sidecars.
+     * @param segmentCache Local cache of streamed audio, purged of the deleted objects.
+     * @param waveformDiffCache Cache of waveform comparisons, purged of the deleted objects.
+     * @param enabled Whether the scheduled collection runs on this node.
+     * @param minAgeHours The age under which an object is never deleted.
+     * @param pageSize The number of objects listed per storage request.
+     * @param batchSize The number of candidates checked and deleted together.
+     * @param falsePositiveRate The rate of orphans the Bloom filter may mistake for live objects.
+     */
+    @Autowired
+    public StorageGarbageCollectionServiceImpl(StorageService storageService, VersionRepository versionRepository,
+                                               StoredObjectRepository storedObjectRepository, PeaksService peaksService,
+                                               PreviewService previewService, FingerprintService fingerprintService,
+                                               SegmentCache segmentCache, WaveformDiffCache waveformDiffCache,
+                                               @Value("${storage.gc.enabled:true}") boolean enabled,
+                                               @Value("${storage.gc.min-age-hours:24}") long minAgeHours,
+                                               @Value("${storage.gc.page-size:1000}") int pageSize,
+                                               @Value("${storage.gc.batch-size:100}") int batchSize,
+                                               @Value("${storage.gc.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.storageService = storageService;
+        this.versionRepository = versionRepository;
+        this.storedObjectRepository = storedObjectRepository;
+        this.segmentCache = segmentCache;
+        this.waveformDiffCache = waveformDiffCache;
+        // Sidecars are named after their audio object, so their suffix is the name given to an empty path.
+        this.sidecarSuffixes = List.of(peaksService.peaksPathFor(""), previewService.previewPathFor(""),
+                fingerprintService.fingerprintPathFor(""));
+        this.enabled = enabled;
+        this.minAge = Duration.ofHours(minAgeHours);
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Runs the collection on schedule, by default every night.
+     */
+    @Scheduled(cron = "${storage.gc.cron:0 30 3 * * *}")
+    public void scheduledCollection() {
+        if (enabled) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int collectGarbage() {
+        long start = System.nanoTime();
+        Instant cutoff = Instant.now().minus(minAge);
+        try {
+            BloomFilter liveObjects = loadLiveObjects();
+            int deleted = sweep(AUDIO_PREFIX, liveObjects, cutoff);
+            deleted += sweep(COMPOSITE_PARTS_PREFIX, null, cutoff);
+            log.info("Storage garbage collection deleted {} objects in {} ms", deleted, (System.nanoTime() - start) / 1_000_000);
+            return deleted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Storage garbage collection failed", e);
+        }
+    }
+
+    private BloomFilter loadLiveObjects() {
+        // Headroom for the versions created while the filter is being filled.
+        long expected = versionRepository.countByAudioFileUrlIsNotNull() + VERSION_PAGE_SIZE;
+        BloomFilter filter = new BloomFilter(expected, falsePositiveRate);
+        long afterId = 0;
+        List<VersionRepository.AudioFileReference> page;
+        do {
+            page = versionRepository.findAudioFileReferencesAfter(afterId, PageRequest.of(0, VERSION_PAGE_SIZE));
+            for (VersionRepository.AudioFileReference reference : page) {
+                String objectPath = toObjectPath(reference.getAudioFileUrl());
+                if (objectPath != null) {
+                    filter.put(objectPath);
+                }
+                afterId = reference.getId();
+            }
+        } while (page.size() == VERSION_PAGE_SIZE);
+        log.debug("Loaded the live objects of {} versions into a {} KB filter", expected - VERSION_PAGE_SIZE, filter.sizeBytes() / 1024);
+        return filter;
+    }
+
+    /**
+     * Lists a prefix and deletes the objects older than the cutoff that are not live.
+     * A null filter means that no object under the prefix is ever live.
+     */
+    private int sweep(String prefix, BloomFilter liveObjects, Instant cutoff) throws IOException {
+        int deleted = 0;
+        List<String> candidates = new ArrayList<>(batchSize);
+        String pageToken = null;
+        do {
+            ObjectListing listing = storageService.listObjects(prefix, pageToken, pageSize);
+            for (ObjectListing.Entry object : listing.objects()) {
+                if (object.createdDate() == null || object.createdDate().isAfter(cutoff)) {
+                    continue;
+                }
+                if (liveObjects != null && liveObjects.mightContain(audioPathOf(object.objectPath()))) {
+                    continue;
+                }
+                candidates.add(object.objectPath());
+                if (candidates.size() == batchSize) {
+                    deleted += deleteOrphans(candidates, liveObjects != null, cutoff);
+                    candidates.clear();
+                }
+            }
+            pageToken = listing.nextPageToken();
+        } while (pageToken != null);
+        if (!candidates.isEmpty()) {
+            deleted += deleteOrphans(candidates, liveObjects != null, cutoff);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes a batch of candidates, except those whose audio file has been used by a version since the
+     * filter was loaded or handed to an upload since the cutoff. Audio files are unregistered first, so a
+     * new upload of the same content cannot be deduplicated against an object about to disappear.
+     */
+    private int deleteOrphans(List<String> candidates, boolean confirm, Instant cutoff) {
+        List<String> orphans = new ArrayList<>(candidates);
+        if (confirm) {
+            Map<String, String> urlByAudioPath = new HashMap<>();
+            for (String candidate : candidates) {
+                String audioPath = audioPathOf(candidate);
+                urlByAudioPath.computeIfAbsent(audioPath, storageService::getPublicUrl);
+            }
+            Set<String> usedUrls = new HashSet<>(versionRepository.findAudioFileUrlsIn(urlByAudioPath.values()));
+            Set<String> claimedPaths = new HashSet<>(storedObjectRepository.findObjectPathsClaimedSince(urlByAudioPath.keySet(), cutoff));
+            orphans.removeIf(candidate -> usedUrls.contains(urlByAudioPath.get(audioPathOf(candidate)))
+                    || claimedPaths.contains(audioPathOf(candidate)));
+            List<String> audioObjects = orphans.stream().filter(path -> path.equals(audioPathOf(path))).toList();
+            if (!audioObjects.isEmpty()) {
+                storedObjectRepository.deleteByObjectPathIn(audioObjects);
+            }
+        }
+
+        List<String> failed = storageService.deleteFiles(orphans);
+        for (String orphan : orphans) {
+            segmentCache.evict(orphan);
+            waveformDiffCache.evict(orphan);
+        }
+        int deleted = orphans.size() - failed.size();
+        log.debug("Deleted {} of {} orphaned objects", deleted, candidates.size());
+        return deleted;
+    }
+
+    /**
+     * Returns the audio object a path belongs to: the path itself, or the audio object of a sidecar.
+     */
+    private String audioPathOf(String objectPath) {
+        for (String suffix : sidecarSuffixes) {
+            if (objectPath.endsWith(suffix) && objectPath.length() > suffix.length()) {
+                return objectPath.substring(0, objectPath.length() - suffix.length());
+            }
+        }
+        return objectPath;
+    }
+
+    private String toObjectPath(String audioFileUrl) {
+        try {
+            return storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.entity.StorageTier;
+import com.eql.cda.track.flow.event.ColdAudioAccessedEvent;
+import com.eql.cda.track.flow.repository.StoredObjectRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StorageTieringService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link StorageTieringService} interface.
+ * <p>
+ * Accesses are debounced in memory: a version played again within {@code storage.tiering.access-interval-minutes}
+ * costs no database write, so streaming a whole file in range requests records a single access. An object is
+ * idle when every version using it was last played, or created if never played, before the demotion cutoff;
+ * deduplicated objects therefore stay hot as long as any of their versions is in use.
+ * <p>
+ * Only the audio objects are demoted; their peaks, previews and fingerprints are small and read by the
+ * listings, so they stay hot.
+ * <p>
+ * A promotion is a full server-side copy of the object, so it never runs in the streaming request: a play
+ * of a cold object only queues an ingest job, and is served from the cold tier meanwhile.
+ */
+@Service
+public class StorageTieringServiceImpl implements StorageTieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageTieringServiceImpl.class);
+
+    private final StorageService storageService;
+    private final StoredObjectRepository storedObjectRepository;
+    private final VersionRepository versionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final Duration coldAfter;
+    private final Duration accessInterval;
+    private final int pageSize;
+
+    /** Guarded by {@code this}. The last recorded access of the recently played versions, eldest first. */
+    private final LinkedHashMap<Long, Instant> recentAccesses;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storageService Service moving the objects between tiers.
+     * @param storedObjectRepository Repository recording the tier of each object.
+     * @param versionRepository Repository recording the last access of each version.
+     * @param eventPublisher Publisher handing the plays of cold objects to the ingest queue.
+     * @param enabled Whether the scheduled demotion runs on this node.
+     * @param coldAfterDays The number of days without a play after which an object is demoted.
+     * @param accessIntervalMinutes The interval within which repeated plays of a version are recorded once.
+     * @param pageSize The number of objects examined per query.
+     * @param maxRecentAccesses The number of versions whose last access is remembered in memory.
+     */
+    @Autowired
+    public StorageTieringServiceImpl(StorageService storageService, StoredObjectRepository storedObjectRepository,
+                                     VersionRepository versionRepository, ApplicationEventPublisher eventPublisher,
+                                     @Value("${storage.tiering.enabled:true}") boolean enabled,
+                                     @Value("${storage.tiering.cold-after-days:90}") long coldAfterDays,
+                                     @Value("${storage.tiering.access-interval-minutes:60}") long accessIntervalMinutes,
+                                     @Value("${storage.tiering.page-size:500}") int pageSize,
+                                     @Value("${storage.tiering.access-cache.max-entries:10000}") int maxRecentAccesses) {
+        this.storageService = storageService;
+        this.storedObjectRepository = storedObjectRepository;
+        this.versionRepository = versionRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.coldAfter = Duration.ofDays(coldAfterDays);
+        this.accessInterval = Duration.ofMinutes(accessIntervalMinutes);
+        this.pageSize = pageSize;
+        this.recentAccesses = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Instant> eldest) {
+                return size() > maxRecentAccesses;
+            }
+        };
+    }
+
+    /**
+     * Runs the demotion on schedule, by default every night.
+     */
+    @Scheduled(cron = "${storage.tiering.cron:0 0 4 * * *}")
+    public void scheduledDemotion() {
+        if (enabled) {
+            demoteIdleObjects();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordAccess(Long versionId, String objectPath) {
+        Instant now = Instant.now();
+        synchronized (this) {
+            Instant lastAccess = recentAccesses.get(versionId);
+            if (lastAccess != null && lastAccess.isAfter(now.minus(accessInterval))) {
+                return;
+            }
+            recentAccesses.put(versionId, now);
+        }
+        versionRepository.updateLastAccessDate(versionId, now);
+        if (objectPath != null && storedObjectRepository.findStorageTier(objectPath).orElse(StorageTier.HOT) == StorageTier.COLD) {
+            eventPublisher.publishEvent(new ColdAudioAccessedEvent(versionId, storageService.getPublicUrl(objectPath)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void promote(String audioFileUrl) throws IOException {
+        String objectPath;
+        try {
+            objectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            log.warn("Could not extract object path from URL: {}", audioFileUrl);
+            return;
+        }
+        if (objectPath == null || storedObjectRepository.findStorageTier(objectPath).orElse(StorageTier.HOT) != StorageTier.COLD) {
+            return;
+        }
+        try {
+            storageService.changeStorageTier(objectPath, StorageTier.HOT);
+        } catch (FileNotFoundException e) {
+            log.warn("Cannot promote missing object '{}' to the hot tier.", objectPath);
+            return;
+        }
+        storedObjectRepository.updateStorageTier(objectPath, StorageTier.HOT);
+        log.info("Promoted object '{}' back to the hot tier", objectPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int demoteIdleObjects() {
+        long start = System.nanoTime();
+        Instant cutoff = Instant.now().minus(coldAfter);
+        int demoted = 0;
+        long afterId = 0;
+        List<StoredObjectRepository.ObjectPathReference> page;
+        do {
+            page = storedObjectRepository.findInTierCreatedBefore(StorageTier.HOT, cutoff, afterId, PageRequest.of(0, pageSize));
+            Map<String, String> objectPathByUrl = new HashMap<>();
+            for (StoredObjectRepository.ObjectPathReference reference : page) {
+                objectPathByUrl.put(storageService.getPublicUrl(reference.getObjectPath()), reference.getObjectPath());
+                afterId = reference.getId();
+            }
+            if (objectPathByUrl.isEmpty()) {
+                break;
+            }
+            // Objects without any version are left to the storage garbage collector.
+            for (VersionRepository.AudioFileActivity activity : versionRepository.findAudioFileActivityIn(objectPathByUrl.keySet())) {
+                if (activity.getLastActivityDate() != null && activity.getLastActivityDate().isBefore(cutoff)
+                        && moveTo(objectPathByUrl.get(activity.getAudioFileUrl()), StorageTier.COLD)) {
+                    demoted++;
+                }
+            }
+        } while (page.size() == pageSize);
+        log.info("Storage tiering demoted {} idle objects in {} ms", demoted, (System.nanoTime() - start) / 1_000_000);
+        return demoted;
+    }
+
+    /**
+     * Moves an object to a tier and records it. A failed move leaves the object in its tier, where it stays readable.
+     */
+    private boolean moveTo(String objectPath, StorageTier tier) {
+        try {
+            storageService.changeStorageTier(objectPath, tier);
+            storedObjectRepository.updateStorageTier(objectPath, tier);
+            return true;
+        } catch (FileNotFoundException e) {
+            log.warn("Cannot move missing object '{}' to the {} tier.", objectPath, tier);
+            return false;
+        } catch (IOException e) {
+            log.error("Failed to move object '{}' to the {} tier: {}", objectPath, tier, e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.dto.LoudnessDto;
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.entity.StoredObject;
+import com.eql.cda.track.flow.event.StoredObjectsReleasedEvent;
+import com.eql.cda.track.flow.repository.StoredObjectRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.PreviewService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.mapper.LoudnessMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link StoredObjectService} interface.
+ * <p>
+ * Registration is not transactional so that a unique constraint violation caused by a concurrent upload
+ * of the same content can be caught and resolved; reference changes join the caller's transaction.
+ * <p>
+ * An upload hands the client the URL of an object, and the version using it is created by a later request.
+ * Every object handed out is therefore stamped as claimed, and objects are never deleted when their count
+ * drops to zero: the garbage collector deletes them once they have been neither used nor claimed for its
+ * grace period.
+ */
+@Service
+public class StoredObjectServiceImpl implements StoredObjectService {
+
+    private static final Logger log = LoggerFactory.getLogger(StoredObjectServiceImpl.class);
+
+    /** Maximum number of values bound to a single {@code IN} clause. */
+    private static final int IN_CLAUSE_SIZE = 500;
+
+    private final StoredObjectRepository storedObjectRepository;
+    private final VersionRepository versionRepository;
+    private final StorageService storageService;
+    private final PeaksService peaksService;
+    private final PreviewService previewService;
+    private final FingerprintService fingerprintService;
+    private final LoudnessMapper loudnessMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration claimGracePeriod;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param storedObjectRepository Repository for stored object data access.
+     * @param versionRepository Repository used to count references of objects that predate reference counting.
+     * @param storageService Service for interacting with file storage.
+     * @param peaksService Service owning the peaks sidecar of each audio object.
+     * @param previewService Service owning the preview rendition of each audio object.
+     * @param fingerprintService Service owning the fingerprint sidecar of each audio object.
+     * @param loudnessMapper Mapper for the loudness measurements cached with each object.
+     * @param eventPublisher Publisher handing the objects released in bulk to the storage cleanup worker.
+     * @param claimGracePeriodHours The number of hours a claimed object is kept without references, the same
+     *                              grace period the garbage collector applies.
+     */
+    @Autowired
+    public StoredObjectServiceImpl(StoredObjectRepository storedObjectRepository, VersionRepository versionRepository,
+                                   StorageService storageService, PeaksService peaksService, PreviewService previewService,
+                                   FingerprintService fingerprintService, LoudnessMapper loudnessMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${storage.gc.min-age-hours:24}") long claimGracePeriodHours) {
+        this.storedObjectRepository = storedObjectRepository;
+        this.versionRepository = versionRepository;
+        this.storageService = storageService;
+        this.peaksService = peaksService;
+        this.previewService = previewService;
+        this.fingerprintService = fingerprintService;
+        this.loudnessMapper = loudnessMapper;
+        this.eventPublisher = eventPublisher;
+        this.claimGracePeriod = Duration.ofHours(claimGracePeriodHours);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public Optional<AudioUploadResponseDto> findDuplicate(String contentHash, long sizeBytes) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        Optional<StoredObject> existing = storedObjectRepository.findByContentHash(contentHash.toLowerCase())
+                .filter(storedObject -> storedObject.getSizeBytes() == sizeBytes);
+        existing.ifPresent(storedObject -> storedObject.setLastClaimedDate(Instant.now()));
+        return existing.map(this::toResponseDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public Optional<AudioUploadResponseDto> findRegistered(String objectPath) {
+        Optional<StoredObject> existing = storedObjectRepository.findByObjectPath(objectPath);
+        existing.ifPresent(storedObject -> storedObject.setLastClaimedDate(Instant.now()));
+        return existing.map(this::toResponseDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioUploadResponseDto register(String contentHash, String objectPath, long sizeBytes, String contentType,
+                                           AudioUploadResponseDto metadata) {
+        StoredObject storedObject = new StoredObject();
+        storedObject.setContentHash(contentHash);
+        storedObject.setObjectPath(objectPath);
+        storedObject.setSizeBytes(sizeBytes);
+        storedObject.setContentType(contentType);
+        storedObject.setReferenceCount(0);
+        storedObject.setLastClaimedDate(Instant.now());
+        storedObject.setBpm(metadata.getBpm());
+        storedObject.setDurationSeconds(metadata.getDurationSeconds());
+        loudnessMapper.updateEntity(metadata.getLoudness(), storedObject);
+        try {
+            storedObjectRepository.saveAndFlush(storedObject);
+            metadata.setContentHash(contentHash);
+            return metadata;
+        } catch (DataIntegrityViolationException e) {
+            Optional<StoredObject> samePath = storedObjectRepository.findByObjectPath(objectPath);
+            if (samePath.isPresent()) {
+                // The object itself was already registered, e.g. a signed upload finalized twice.
+                storedObjectRepository.markClaimed(objectPath, Instant.now());
+                return toResponseDto(samePath.get());
+            }
+            Optional<StoredObject> winner = contentHash == null ? Optional.empty() : storedObjectRepository.findByContentHash(contentHash);
+            if (winner.isEmpty()) {
+                throw e;
+            }
+            log.info("Content {} was stored concurrently at {}; discarding duplicate {}", contentHash, winner.get().getObjectPath(), objectPath);
+            storedObjectRepository.markClaimed(winner.get().getObjectPath(), Instant.now());
+            peaksService.deletePeaks(objectPath);
+            storageService.deleteFile(objectPath);
+            return toResponseDto(winner.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void acquire(String audioFileUrl) {
+        String objectPath = toObjectPath(audioFileUrl);
+        if (objectPath == null || storedObjectRepository.incrementReferences(objectPath) > 0) {
+            return;
+        }
+        // The object predates reference counting: register it with the versions already pointing to it. Two versions
+        // created concurrently on it both get here; the second one only adds its reference.
+        int referenceCount = Math.toIntExact(versionRepository.countByAudioFileUrl(audioFileUrl));
+        storedObjectRepository.insertOrIncrementReferences(objectPath, referenceCount, Instant.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void release(String audioFileUrl) {
+        String objectPath = toObjectPath(audioFileUrl);
+        if (objectPath == null) {
+            log.warn("Could not extract object path from URL: {}. File may be orphaned.", audioFileUrl);
+            return;
+        }
+
+        // Unregistered objects predate reference counting and are only ever collected by the garbage collector.
+        storedObjectRepository.decrementReferences(objectPath);
+        if (storedObjectRepository.findReferenceCount(objectPath).map(count -> count == 0).orElse(true)) {
+            log.info("Stored file {} is no longer referenced; leaving it to the storage garbage collector.", objectPath);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Whether an object is still used is decided from the remaining versions rather than from its count,
+     * so objects that predate reference counting are released correctly too.
+     */
+    @Override
+    @Transactional
+    public void releaseAll(Map<String, Long> versionCountByUrl) {
+        List<String> urls = new ArrayList<>(versionCountByUrl.keySet());
+        Set<String> usedUrls = new HashSet<>();
+        for (int from = 0; from < urls.size(); from += IN_CLAUSE_SIZE) {
+            usedUrls.addAll(versionRepository.findAudioFileUrlsIn(urls.subList(from, Math.min(urls.size(), from + IN_CLAUSE_SIZE))));
+        }
+
+        Map<String, Long> releasedCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : versionCountByUrl.entrySet()) {
+            String objectPath = toObjectPath(entry.getKey());
+            if (objectPath == null) {
+                log.warn("Could not extract object path from URL: {}. File may be orphaned.", entry.getKey());
+            } else if (usedUrls.contains(entry.getKey())) {
+                storedObjectRepository.decrementReferencesBy(objectPath, Math.toIntExact(entry.getValue()));
+            } else {
+                releasedCounts.put(objectPath, entry.getValue());
+            }
+        }
+
+        // Objects just handed to an upload may be referenced by a new version at any moment: they are only
+        // decremented, and left to the garbage collector.
+        List<String> released = new ArrayList<>(releasedCounts.keySet());
+        Instant claimedSince = Instant.now().minus(claimGracePeriod);
+        Set<String> claimed = new HashSet<>();
+        for (int from = 0; from < released.size(); from += IN_CLAUSE_SIZE) {
+            claimed.addAll(storedObjectRepository.findObjectPathsClaimedSince(
+                    released.subList(from, Math.min(released.size(), from + IN_CLAUSE_SIZE)), claimedSince));
+        }
+        for (String objectPath : claimed) {
+            storedObjectRepository.decrementReferencesBy(objectPath, Math.toIntExact(releasedCounts.get(objectPath)));
+        }
+        released.removeAll(claimed);
+        if (released.isEmpty()) {
+            return;
+        }
+
+        List<String> objectPaths = new ArrayList<>(released.size() * 4);
+        for (int from = 0; from < released.size(); from += IN_CLAUSE_SIZE) {
+            storedObjectRepository.deleteByObjectPathIn(released.subList(from, Math.min(released.size(), from + IN_CLAUSE_SIZE)));
+        }
+        for (String objectPath : released) {
+            objectPaths.add(objectPath);
+            objectPaths.add(peaksService.peaksPathFor(objectPath));
+            objectPaths.add(previewService.previewPathFor(objectPath));
+            objectPaths.add(fingerprintService.fingerprintPathFor(objectPath));
+        }
+        eventPublisher.publishEvent(new StoredObjectsReleasedEvent(objectPaths));
+        log.info("Released {} stored files; they will be deleted once the transaction commits.", released.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LoudnessDto> findLoudness(String audioFileUrl) {
+        String objectPath = toObjectPath(audioFileUrl);
+        if (objectPath == null) {
+            return Optional.empty();
+        }
+        return storedObjectRepository.findByObjectPath(objectPath).map(loudnessMapper::toDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordLoudness(String objectPath, LoudnessDto loudness) {
+        storedObjectRepository.findByObjectPath(objectPath)
+                .ifPresent(storedObject -> loudnessMapper.updateEntity(loudness, storedObject));
+    }
+
+    private String toObjectPath(String audioFileUrl) {
+        if (audioFileUrl == null || audioFileUrl.isBlank()) {
+            return null;
+        }
+        try {
+            return storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private AudioUploadResponseDto toResponseDto(StoredObject storedObject) {
+        AudioUploadResponseDto dto = new AudioUploadResponseDto();
+        dto.setFullUrl(storageService.getPublicUrl(storedObject.getObjectPath()));
+        dto.setBpm(storedObject.getBpm());
+        dto.setDurationSeconds(storedObject.getDurationSeconds());
+        dto.setContentHash(storedObject.getContentHash());
+        dto.setLoudness(loudnessMapper.toDto(storedObject));
+        return dto;
+    }
+}
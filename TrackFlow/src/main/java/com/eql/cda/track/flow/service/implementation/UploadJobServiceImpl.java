@@ -0,0 +1,201 @@
+package com.eql.cda.track.flow.service.implementation;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.uploadJobDto.UploadJobViewDto;
+import com.eql.cda.track.flow.entity.UploadJob;
+import com.eql.cda.track.flow.entity.UploadJobStatus;
+import com.eql.cda.track.flow.exception.UploadCapacityExceededException;
+import com.eql.cda.track.flow.repository.UploadJobRepository;
+import com.eql.cda.track.flow.service.UploadJobService;
+import com.eql.cda.track.flow.service.UploadService;
+import com.eql.cda.track.flow.service.mapper.UploadJobMapper;
+import com.eql.cda.track.flow.service.upload.UploadProgressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link UploadJobService} interface.
+ * <p>
+ * Submission is deliberately not transactional: the job row must be committed before a worker
+ * can pick it up, and each state change made by the worker is saved on its own.
+ */
+@Service
+public class UploadJobServiceImpl implements UploadJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadJobServiceImpl.class);
+
+    /** Progress is persisted every time this many percent of the file have been transferred. */
+    private static final int PROGRESS_STEP_PERCENT = 5;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final UploadJobRepository uploadJobRepository;
+    private final UploadService uploadService;
+    private final UploadJobMapper uploadJobMapper;
+    private final TaskExecutor uploadTaskExecutor;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param uploadJobRepository Repository for upload job data access.
+     * @param uploadService Service performing the storage transfer and metadata extraction.
+     * @param uploadJobMapper Mapper for converting upload jobs to DTOs.
+     * @param uploadTaskExecutor The bounded worker pool running the jobs.
+     */
+    @Autowired
+    public UploadJobServiceImpl(UploadJobRepository uploadJobRepository, UploadService uploadService, UploadJobMapper uploadJobMapper,
+                                @Qualifier("uploadTaskExecutor") TaskExecutor uploadTaskExecutor) {
+        this.uploadJobRepository = uploadJobRepository;
+        this.uploadService = uploadService;
+        this.uploadJobMapper = uploadJobMapper;
+        this.uploadTaskExecutor = uploadTaskExecutor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadJobViewDto submitUploadJob(MultipartFile file, Long compositionId) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Cannot process a null or empty file.");
+        }
+
+        Path spoolFile = spoolToDisk(file);
+
+        UploadJob job = new UploadJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setCompositionId(compositionId);
+        job.setOriginalFileName(file.getOriginalFilename());
+        job.setContentType(file.getContentType());
+        job.setStatus(UploadJobStatus.PENDING);
+        job.setTotalBytes(file.getSize());
+        UploadJob savedJob = uploadJobRepository.save(job);
+
+        try {
+            uploadTaskExecutor.execute(() -> runUploadJob(savedJob.getId(), spoolFile));
+        } catch (TaskRejectedException e) {
+            log.warn("Upload job {} rejected: worker pool and queue are full.", savedJob.getId());
+            deleteSpoolFile(spoolFile);
+            uploadJobRepository.delete(savedJob);
+            throw new UploadCapacityExceededException("Too many uploads are being processed. Please retry later.");
+        }
+
+        log.info("Accepted upload job {} for file {} (Composition ID: {})", savedJob.getId(), file.getOriginalFilename(), compositionId);
+        return uploadJobMapper.toViewDto(savedJob);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<UploadJobViewDto> getUploadJob(String jobId) {
+        return uploadJobRepository.findById(jobId).map(uploadJobMapper::toViewDto);
+    }
+
+    /**
+     * Runs on an upload worker thread: transfers the spooled file to storage, extracts its metadata
+     * and records the outcome on the job. The spooled file is always deleted afterwards.
+     */
+    private void runUploadJob(String jobId, Path spoolFile) {
+        UploadJob job = uploadJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.error("Upload job {} disappeared before it could run.", jobId);
+            deleteSpoolFile(spoolFile);
+            return;
+        }
+
+        try {
+            job.setStatus(UploadJobStatus.RUNNING);
+            job = uploadJobRepository.save(job);
+
+            AudioUploadResponseDto result = uploadService.uploadLocalAudioAndExtractMetadata(
+                    spoolFile, job.getOriginalFileName(), job.getContentType(), job.getCompositionId(), progressRecorder(jobId));
+
+            job.setStatus(UploadJobStatus.COMPLETED);
+            job.setBytesProcessed(job.getTotalBytes());
+            job.setResultUrl(result.getFullUrl());
+            job.setResultBpm(result.getBpm());
+            job.setResultDurationSeconds(result.getDurationSeconds());
+            job.setCompletedDate(Instant.now());
+            uploadJobRepository.save(job);
+            log.info("Upload job {} completed.", jobId);
+
+        } catch (Exception e) {
+            log.error("Upload job {} failed.", jobId, e);
+            job.setStatus(UploadJobStatus.FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+            job.setCompletedDate(Instant.now());
+            uploadJobRepository.save(job);
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    /**
+     * Builds a listener that persists the progress of a job, but only when it crosses a new
+     * {@link #PROGRESS_STEP_PERCENT} step, so that a large file does not trigger thousands of updates.
+     */
+    private UploadProgressListener progressRecorder(String jobId) {
+        int[] lastStep = {0};
+        return (bytesTransferred, totalBytes) -> {
+            if (totalBytes <= 0) {
+                return;
+            }
+            int step = (int) (bytesTransferred * 100 / totalBytes) / PROGRESS_STEP_PERCENT;
+            if (step > lastStep[0]) {
+                lastStep[0] = step;
+                uploadJobRepository.updateProgress(jobId, bytesTransferred);
+            }
+        };
+    }
+
+    /**
+     * Moves the multipart content to a file owned by the job, since the container deletes its own
+     * temporary copy as soon as the request completes. The original extension is preserved for the metadata parser.
+     */
+    private Path spoolToDisk(MultipartFile file) {
+        try {
+            Path spoolFile = Files.createTempFile("upload_job_", extensionOf(file.getOriginalFilename()));
+            file.transferTo(spoolFile);
+            return spoolFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spool uploaded file to disk.", e);
+        }
+    }
+
+    private void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.error("CRITICAL: Could not delete temporary file: {}", spoolFile, e);
+        }
+    }
+
+    private String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int i = fileName.lastIndexOf('.');
+        return i > 0 ? fileName.substring(i) : "";
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+}
@@ -1,22 +1,37 @@
 package com.eql.cda.track.flow.service.implementation;
 
 import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.service.PeaksService;
 import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StoredObjectService;
 import com.eql.cda.track.flow.service.UploadService;
-import org.jaudiotagger.audio.AudioFile;
-import org.jaudiotagger.audio.AudioFileIO;
-import org.jaudiotagger.audio.AudioHeader;
-import org.jaudiotagger.tag.FieldKey;
-import org.jaudiotagger.tag.Tag;
+import com.eql.cda.track.flow.service.audio.AudioProbe;
+import com.eql.cda.track.flow.service.audio.AudioProbeResult;
+import com.eql.cda.track.flow.service.audio.LoudnessMeter;
+import com.eql.cda.track.flow.service.mapper.LoudnessMapper;
+import com.eql.cda.track.flow.service.storage.ContentHash;
+import com.eql.cda.track.flow.service.upload.ProgressInputStream;
+import com.eql.cda.track.flow.service.upload.TeeInputStream;
+import com.eql.cda.track.flow.service.upload.UploadProgressListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -24,17 +39,38 @@ public class UploadServiceImpl implements UploadService {
 
     private static final Logger log = LoggerFactory.getLogger(UploadServiceImpl.class);
 
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
     private final StorageService storageService;
+    private final AudioProbe audioProbe;
+    private final PeaksService peaksService;
+    private final StoredObjectService storedObjectService;
+    private final LoudnessMapper loudnessMapper;
 
     @Autowired
-    public UploadServiceImpl(StorageService storageService) {
+    public UploadServiceImpl(StorageService storageService, AudioProbe audioProbe, PeaksService peaksService,
+                             StoredObjectService storedObjectService, LoudnessMapper loudnessMapper) {
         this.storageService = storageService;
+        this.audioProbe = audioProbe;
+        this.peaksService = peaksService;
+        this.storedObjectService = storedObjectService;
+        this.loudnessMapper = loudnessMapper;
     }
 
     /**
      * Implementation of the {@link UploadService} interface.
      * This class orchestrates the process of uploading a file to a storage provider
      * and extracting its audio metadata in a single operation.
+     * <p>
+     * The multipart body is read only once: every chunk handed to the storage writer is also
+     * spooled to a temporary file, and the audio headers and tags are parsed from that file
+     * once the stream has been fully consumed. The waveform peaks and the loudness are computed from
+     * the same file, in one decoding pass.
+     * Heap usage therefore does not depend on the file size.
+     * <p>
+     * The SHA-256 of the content is computed on the same pass. Only that hash, computed from the bytes actually
+     * received, is used for deduplication: a duplicate found once it is known is deleted and the existing object
+     * is returned.
      */
     @Override
     public AudioUploadResponseDto uploadAudioAndExtractMetadata(MultipartFile file, Long compositionId) throws Exception {
@@ -47,42 +83,116 @@ public class UploadServiceImpl implements UploadService {
         String uniqueFileName = generateUniqueFileName(file.getOriginalFilename());
         String destinationPath = String.format("compositions/%d/versions/%s", compositionId, uniqueFileName);
 
-        String fullPublicUrl = storageService.uploadFile(file, destinationPath);
-        log.info("File successfully uploaded. Public URL: {}", fullPublicUrl);
-
         File tempFile = null;
         try {
-            tempFile = convertMultiPartToFile(file);
-
-            AudioFile audioFile = AudioFileIO.read(tempFile);
-            Tag tag = audioFile.getTag();
-            AudioHeader header = audioFile.getAudioHeader();
-
-            String bpm = null;
-            if (tag != null) {
-                try {
-                    String bpmStr = tag.getFirst(FieldKey.BPM);
-                    if (bpmStr != null && !bpmStr.isBlank()) {
-                        bpm = bpmStr;
-                    }
-                } catch (UnsupportedOperationException e) {
-                    log.warn("Could not read BPM tag: {}", e.getMessage());
-                }
+            tempFile = createSpoolFile(uniqueFileName);
+
+            MessageDigest digest = ContentHash.newDigest();
+            String fullPublicUrl;
+            try (InputStream source = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream spool = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), SPOOL_BUFFER_SIZE);
+                 InputStream tee = new TeeInputStream(source, spool)) {
+                fullPublicUrl = storageService.uploadStream(tee, file.getSize(), file.getContentType(), destinationPath);
+            }
+            log.info("File successfully uploaded. Public URL: {}", fullPublicUrl);
+
+            String computedHash = ContentHash.toHex(digest);
+            Optional<AudioUploadResponseDto> duplicate = storedObjectService.findDuplicate(computedHash, file.getSize());
+            if (duplicate.isPresent()) {
+                log.info("Uploaded content is already stored at {}, discarding the new copy.", duplicate.get().getFullUrl());
+                storageService.deleteFile(destinationPath);
+                return duplicate.get();
             }
 
-            Integer durationSeconds = null;
-            if (header != null) {
-                durationSeconds = header.getTrackLength();
+            LoudnessMeter loudnessMeter = new LoudnessMeter();
+            boolean decoded = peaksService.generatePeaks(tempFile.toPath(), destinationPath, loudnessMeter);
+            AudioUploadResponseDto responseDto = extractMetadata(tempFile, fullPublicUrl);
+            if (decoded) {
+                responseDto.setLoudness(loudnessMapper.toDto(loudnessMeter));
+            }
+            return storedObjectService.register(computedHash, destinationPath, file.getSize(), file.getContentType(), responseDto);
+
+        } finally {
+            if (tempFile != null && tempFile.exists()) {
+                if (!tempFile.delete()) {
+                    log.error("CRITICAL: Could not delete temporary file: {}", tempFile.getAbsolutePath());
+                }
             }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioUploadResponseDto uploadLocalAudioAndExtractMetadata(Path localFile, String originalFileName, String contentType,
+                                                                     Long compositionId, UploadProgressListener progressListener) throws Exception {
+        if (localFile == null || !Files.isRegularFile(localFile)) {
+            throw new IllegalArgumentException("Cannot process a missing local file.");
+        }
 
-            AudioUploadResponseDto responseDto = new AudioUploadResponseDto();
-            responseDto.setFullUrl(fullPublicUrl);
-            responseDto.setBpm(bpm);
-            responseDto.setDurationSeconds(durationSeconds);
+        log.info("Starting background audio upload for file: {} (Composition ID: {})", originalFileName, compositionId);
 
-            log.info("Metadata extracted: BPM={}, Duration={}s. Returning response with full URL.", bpm, durationSeconds);
-            return responseDto;
+        String uniqueFileName = generateUniqueFileName(originalFileName);
+        String destinationPath = String.format("compositions/%d/versions/%s", compositionId, uniqueFileName);
+        long size = Files.size(localFile);
+
+        // The file is already on disk, so it is hashed before anything is sent to storage.
+        String contentHash = ContentHash.of(localFile);
+        Optional<AudioUploadResponseDto> duplicate = storedObjectService.findDuplicate(contentHash, size);
+        if (duplicate.isPresent()) {
+            log.info("File {} is already stored at {}, skipping upload.", originalFileName, duplicate.get().getFullUrl());
+            progressListener.onProgress(size, size);
+            return duplicate.get();
+        }
 
+        String fullPublicUrl;
+        try (InputStream source = new ProgressInputStream(Files.newInputStream(localFile), size, progressListener)) {
+            fullPublicUrl = storageService.uploadStream(source, size, contentType, destinationPath);
+        }
+        log.info("File successfully uploaded. Public URL: {}", fullPublicUrl);
+
+        LoudnessMeter loudnessMeter = new LoudnessMeter();
+        boolean decoded = peaksService.generatePeaks(localFile, destinationPath, loudnessMeter);
+        AudioUploadResponseDto responseDto = extractMetadata(localFile.toFile(), fullPublicUrl);
+        if (decoded) {
+            responseDto.setLoudness(loudnessMapper.toDto(loudnessMeter));
+        }
+        return storedObjectService.register(contentHash, destinationPath, size, contentType, responseDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The headers are first probed in place with ranged reads, so only a few kilobytes are fetched.
+     * The object is downloaded to a temporary file only when its format needs the full parser.
+     */
+    @Override
+    public AudioUploadResponseDto extractStoredAudioMetadata(String objectPath, String fullPublicUrl) throws Exception {
+        try (SeekableByteChannel source = storageService.openReadChannel(objectPath)) {
+            Optional<AudioProbeResult> probed = audioProbe.probeHeaders(source);
+            if (probed.isPresent()) {
+                return toResponseDto(probed.get(), fullPublicUrl);
+            }
+        }
+
+        log.info("Header probe did not recognise {}, downloading it for a full parse.", objectPath);
+        File tempFile = null;
+        try {
+            tempFile = createSpoolFile(objectPath.substring(objectPath.lastIndexOf('/') + 1));
+            try (SeekableByteChannel source = storageService.openReadChannel(objectPath);
+                 FileChannel target = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+                long size = source.size();
+                long copied = 0;
+                while (copied < size) {
+                    long n = target.transferFrom(source, copied, size - copied);
+                    if (n <= 0) {
+                        break;
+                    }
+                    copied += n;
+                }
+            }
+            return extractMetadata(tempFile, fullPublicUrl);
         } finally {
             if (tempFile != null && tempFile.exists()) {
                 if (!tempFile.delete()) {
@@ -92,12 +202,28 @@ public class UploadServiceImpl implements UploadService {
         }
     }
 
-    private File convertMultiPartToFile(MultipartFile file) throws IOException {
-        File convFile = File.createTempFile("audio_", "_" + file.getOriginalFilename());
-        try (FileOutputStream fos = new FileOutputStream(convFile)) {
-            fos.write(file.getBytes());
-        }
-        return convFile;
+    private AudioUploadResponseDto extractMetadata(File audio, String fullPublicUrl) throws Exception {
+        return toResponseDto(audioProbe.probe(audio.toPath()), fullPublicUrl);
+    }
+
+    private AudioUploadResponseDto toResponseDto(AudioProbeResult probed, String fullPublicUrl) {
+        AudioUploadResponseDto responseDto = new AudioUploadResponseDto();
+        responseDto.setFullUrl(fullPublicUrl);
+        responseDto.setBpm(probed.getBpm());
+        responseDto.setDurationSeconds(probed.getRoundedDurationSeconds());
+
+        log.info("Metadata extracted: BPM={}, Duration={}s. Returning response with full URL.",
+                probed.getBpm(), probed.getRoundedDurationSeconds());
+        return responseDto;
+    }
+
+    /**
+     * Creates the temporary file that receives the spooled copy of the upload.
+     * The suffix keeps the original extension because jaudiotagger, used as the probe fallback, selects its reader from it.
+     */
+    private File createSpoolFile(String uniqueFileName) throws IOException {
+        Path spoolPath = Files.createTempFile("audio_", "_" + uniqueFileName);
+        return spoolPath.toFile();
     }
 
     private String generateUniqueFileName(String originalFileName) {
@@ -108,4 +234,4 @@ public class UploadServiceImpl implements UploadService {
         }
         return UUID.randomUUID().toString() + extension;
     }
-}
\ No newline at end of file
+}
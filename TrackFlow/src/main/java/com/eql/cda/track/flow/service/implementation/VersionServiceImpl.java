@@ -1,31 +1,50 @@
 package com.eql.cda.track.flow.service.implementation;
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
+import com.eql.cda.track.flow.dto.versionDto.VersionDiffDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionSummaryDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionUpdateDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionViewDto;
 import com.eql.cda.track.flow.entity.Annotation;
-import com.eql.cda.track.flow.entity.Branch;
 import com.eql.cda.track.flow.entity.Version;
+import com.eql.cda.track.flow.event.VersionCreatedEvent;
+import com.eql.cda.track.flow.exception.ResourceNotFoundException;
 import com.eql.cda.track.flow.repository.AnnotationRepository;
 import com.eql.cda.track.flow.repository.BranchRepository;
 import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.PeaksService;
 import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StorageTieringService;
+import com.eql.cda.track.flow.service.StoredObjectService;
 import com.eql.cda.track.flow.service.VersionService;
+import com.eql.cda.track.flow.service.audio.WaveformDiff;
+import com.eql.cda.track.flow.service.audio.WaveformDiffCache;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
 import com.eql.cda.track.flow.service.mapper.VersionMapper;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
+import com.eql.cda.track.flow.service.storage.SegmentCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link VersionService} interface.
@@ -41,6 +60,14 @@ public class VersionServiceImpl implements VersionService {
     private final AnnotationRepository annotationRepository;
     private final StorageService storageService;
     private final VersionMapper versionMapper;
+    private final PeaksService peaksService;
+    private final StoredObjectService storedObjectService;
+    private final SegmentCache segmentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FingerprintService fingerprintService;
+    private final WaveformDiffCache waveformDiffCache;
+    private final StorageTieringService storageTieringService;
+    private final HierarchyResolver hierarchyResolver;
 
     /**
      * Constructs the service with its required dependencies.
@@ -50,14 +77,30 @@ public class VersionServiceImpl implements VersionService {
      * @param annotationRepository Repository for annotation data access.
      * @param storageService Service for interacting with file storage.
      * @param versionMapper Mapper for converting between entities and DTOs.
+     * @param peaksService Service for the waveform peaks stored next to the audio files.
+     * @param storedObjectService Service counting the references to the stored audio files.
+     * @param segmentCache Local cache through which version audio is streamed.
+     * @param eventPublisher Publisher notifying the background ingest stages of new versions.
+     * @param fingerprintService Service comparing the acoustic fingerprints of the versions.
+     * @param waveformDiffCache Cache of the waveform comparisons between versions.
+     * @param storageTieringService Service recording the plays of each version and promoting its cold audio.
+     * @param hierarchyResolver Resolver checking the project, composition and branch of each request.
      */
     @Autowired
-    public VersionServiceImpl(VersionRepository versionRepository, BranchRepository branchRepository, AnnotationRepository annotationRepository, StorageService storageService, VersionMapper versionMapper) {
+    public VersionServiceImpl(VersionRepository versionRepository, BranchRepository branchRepository, AnnotationRepository annotationRepository, StorageService storageService, VersionMapper versionMapper, PeaksService peaksService, StoredObjectService storedObjectService, SegmentCache segmentCache, ApplicationEventPublisher eventPublisher, FingerprintService fingerprintService, WaveformDiffCache waveformDiffCache, StorageTieringService storageTieringService, HierarchyResolver hierarchyResolver) {
         this.versionRepository = versionRepository;
         this.branchRepository = branchRepository;
         this.annotationRepository = annotationRepository;
         this.storageService = storageService;
         this.versionMapper = versionMapper;
+        this.peaksService = peaksService;
+        this.storedObjectService = storedObjectService;
+        this.segmentCache = segmentCache;
+        this.eventPublisher = eventPublisher;
+        this.fingerprintService = fingerprintService;
+        this.waveformDiffCache = waveformDiffCache;
+        this.storageTieringService = storageTieringService;
+        this.hierarchyResolver = hierarchyResolver;
     }
 
     /**
@@ -65,16 +108,20 @@ public class VersionServiceImpl implements VersionService {
      */
     @Override
     public VersionViewDto createVersion(Long projectId, Long compositionId, Long branchId, VersionCreateDto versionCreateDto) {
-        Branch branch = findBranchAndValidateContext(projectId, compositionId, branchId);
+        hierarchyResolver.requireBranch(projectId, compositionId, branchId);
         Version version = versionMapper.toEntity(versionCreateDto);
-        version.setBranch(branch);
+        // A cached path can outlive its branch; loading the branch turns a concurrent deletion into a not-found error.
+        version.setBranch(branchRepository.findById(branchId)
+                .orElseThrow(() -> new EntityNotFoundException("Branch not found with id: " + branchId)));
 
         resolveAnnotationsFromParent(versionCreateDto.getAnnotationIdsToResolve());
         cloneUnresolvedAnnotationsFromParent(versionCreateDto.getParentVersionId(), version);
 
         Version savedVersion = versionRepository.save(version);
+        storedObjectService.acquire(savedVersion.getAudioFileUrl());
+        eventPublisher.publishEvent(new VersionCreatedEvent(savedVersion.getId(), savedVersion.getAudioFileUrl()));
         log.info("Created version with ID {} in branch {}", savedVersion.getId(), branchId);
-        return versionMapper.toViewDto(savedVersion);
+        return toViewDtoWithLoudness(savedVersion);
     }
 
     /**
@@ -82,10 +129,14 @@ public class VersionServiceImpl implements VersionService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<VersionSummaryDto> getVersionsByBranch(Long projectId, Long compositionId, Long branchId) {
-        findBranchAndValidateContext(projectId, compositionId, branchId);
-        List<Version> versions = versionRepository.findByBranchIdOrderByCreatedDateDesc(branchId);
-        return versions.stream().map(versionMapper::toSummaryDto).collect(Collectors.toList());
+    public CursorPageDto<VersionSummaryDto> getVersionsByBranch(Long projectId, Long compositionId, Long branchId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        hierarchyResolver.requireBranch(projectId, compositionId, branchId);
+        List<Version> versions = after == null
+                ? versionRepository.findPageByBranchId(branchId, CursorPages.limit(size))
+                : versionRepository.findPageByBranchIdBefore(branchId, after.sortKey(), after.id(), CursorPages.limit(size));
+        return CursorPages.toPage(versions, size, version -> new Cursor(version.getCreatedDate(), version.getId()),
+                versionMapper::toSummaryDto);
     }
 
     /**
@@ -95,7 +146,7 @@ public class VersionServiceImpl implements VersionService {
     @Transactional(readOnly = true)
     public VersionViewDto getVersionById(Long projectId, Long compositionId, Long branchId, Long versionId) {
         Version version = findVersionAndValidateContext(projectId, compositionId, branchId, versionId, true);
-        return versionMapper.toViewDto(version);
+        return toViewDtoWithLoudness(version);
     }
 
     /**
@@ -104,9 +155,9 @@ public class VersionServiceImpl implements VersionService {
     @Override
     @Transactional(readOnly = true)
     public Optional<VersionViewDto> getLatestVersionByBranch(Long projectId, Long compositionId, Long branchId) {
-        findBranchAndValidateContext(projectId, compositionId, branchId);
+        hierarchyResolver.requireBranch(projectId, compositionId, branchId);
         return versionRepository.findFirstByBranchIdOrderByCreatedDateDesc(branchId)
-                .map(versionMapper::toViewDto);
+                .map(this::toViewDtoWithLoudness);
     }
 
     /**
@@ -118,7 +169,7 @@ public class VersionServiceImpl implements VersionService {
         versionMapper.updateFromDto(versionUpdateDto, version);
         Version updatedVersion = versionRepository.save(version);
         log.info("Updated version with ID {}", updatedVersion.getId());
-        return versionMapper.toViewDto(updatedVersion);
+        return toViewDtoWithLoudness(updatedVersion);
     }
 
     /**
@@ -129,9 +180,120 @@ public class VersionServiceImpl implements VersionService {
         Version version = findVersionAndValidateContext(projectId, compositionId, branchId, versionId, false);
         deleteAssociatedStorageFile(version);
         versionRepository.delete(version);
+        hierarchyResolver.evictVersion(versionId);
+        fingerprintService.evictIndex(compositionId);
         log.info("Deleted version with ID {}", versionId);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getVersionPeaks(Long projectId, Long compositionId, Long branchId, Long versionId) {
+        Version version = findVersionAndValidateContext(projectId, compositionId, branchId, versionId, false);
+        String audioFileUrl = version.getAudioFileUrl();
+        if (audioFileUrl == null || audioFileUrl.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String objectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
+            if (objectPath == null) {
+                return Optional.empty();
+            }
+            return peaksService.loadPeaks(objectPath);
+        } catch (URISyntaxException e) {
+            log.warn("Could not extract object path from URL: {}", audioFileUrl);
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the peaks of version " + versionId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the object size is fetched here; the audio itself is read segment by segment while the response is written,
+     * after this transaction has ended.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Resource> getVersionAudio(Long projectId, Long compositionId, Long branchId, Long versionId) {
+        Version version = findVersionAndValidateContext(projectId, compositionId, branchId, versionId, false);
+        String audioFileUrl = version.getAudioFileUrl();
+        if (audioFileUrl == null || audioFileUrl.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String objectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
+            if (objectPath == null) {
+                return Optional.empty();
+            }
+            storageTieringService.recordAccess(versionId, objectPath);
+            return Optional.of(segmentCache.resource(objectPath));
+        } catch (URISyntaxException e) {
+            log.warn("Could not extract object path from URL: {}", audioFileUrl);
+            return Optional.empty();
+        } catch (FileNotFoundException e) {
+            log.warn("Audio file of version ID {} is missing from storage: {}", versionId, e.getMessage());
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the audio of version " + versionId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SimilarVersionDto> getSimilarVersions(Long projectId, Long compositionId, Long branchId, Long versionId, int limit) {
+        findVersionAndValidateContext(projectId, compositionId, branchId, versionId, false);
+        return fingerprintService.findSimilarVersions(compositionId, versionId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<VersionDiffDto> getVersionDiff(Long projectId, Long compositionId, Long branchId, Long versionId, Long otherVersionId) {
+        Version version = findVersionAndValidateContext(projectId, compositionId, branchId, versionId, false);
+        Long otherId = otherVersionId != null ? otherVersionId : version.getParentVersionId();
+        if (otherId == null) {
+            throw new ResourceNotFoundException("Version " + versionId + " has no parent version to compare with.");
+        }
+        Version other = versionRepository.findById(otherId)
+                .orElseThrow(() -> new EntityNotFoundException("Version not found with id: " + otherId));
+        if (!Objects.equals(versionRepository.findCompositionIdById(otherId).orElse(null), compositionId)) {
+            throw new AccessDeniedException("Version " + otherId + " does not belong to composition " + compositionId);
+        }
+
+        String objectPath = toObjectPath(version.getAudioFileUrl());
+        String otherObjectPath = toObjectPath(other.getAudioFileUrl());
+        if (objectPath == null || otherObjectPath == null) {
+            return Optional.empty();
+        }
+        try {
+            Optional<WaveformDiff.Result> result = waveformDiffCache.compare(objectPath, otherObjectPath, peaksService::loadPeaks);
+            return result.map(diff -> versionMapper.toDiffDto(versionId, otherId, diff, waveformDiffCache.getThresholdDb()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compare version " + versionId + " with version " + otherId, e);
+        }
+    }
+
+    private String toObjectPath(String audioFileUrl) {
+        if (audioFileUrl == null || audioFileUrl.isBlank()) {
+            return null;
+        }
+        try {
+            return storageService.extractObjectPathFromUrl(audioFileUrl);
+        } catch (URISyntaxException e) {
+            log.warn("Could not extract object path from URL: {}", audioFileUrl);
+            return null;
+        }
+    }
+
     private void deleteAssociatedStorageFile(Version version) {
         String audioFileUrl = version.getAudioFileUrl();
         if (audioFileUrl == null || audioFileUrl.isBlank()) {
@@ -139,13 +301,7 @@ public class VersionServiceImpl implements VersionService {
             return;
         }
         try {
-            String objectPath = storageService.extractObjectPathFromUrl(audioFileUrl);
-            if(objectPath != null) {
-                storageService.deleteFile(objectPath);
-                log.info("Successfully deleted stored file {} for version ID {}.", objectPath, version.getId());
-            } else {
-                log.warn("Could not extract object path from URL: {}. File may be orphaned.", audioFileUrl);
-            }
+            storedObjectService.release(audioFileUrl);
         } catch (Exception e) {
             log.error("Failed to delete stored file for URL {}. The database entry will be removed, but the file may be orphaned.", audioFileUrl, e);
         }
@@ -155,9 +311,7 @@ public class VersionServiceImpl implements VersionService {
         if (annotationIdsToResolve == null || annotationIdsToResolve.isEmpty()) {
             return;
         }
-        List<Annotation> annotations = annotationRepository.findAllById(annotationIdsToResolve);
-        annotations.forEach(anno -> anno.setResolved(true));
-        annotationRepository.saveAll(annotations);
+        annotationRepository.markResolved(annotationIdsToResolve);
     }
 
     private void cloneUnresolvedAnnotationsFromParent(Long parentVersionId, Version newVersion) {
@@ -179,25 +333,15 @@ public class VersionServiceImpl implements VersionService {
         newVersion.getAnnotations().addAll(clonedAnnotations);
     }
 
-    private Branch findBranchAndValidateContext(Long projectId, Long compositionId, Long branchId) {
-        Branch branch = branchRepository.findById(branchId)
-                .orElseThrow(() -> new EntityNotFoundException("Branch not found with id: " + branchId));
-        if (branch.getComposition() == null || !Objects.equals(branch.getComposition().getId(), compositionId)) {
-            throw new AccessDeniedException("Branch " + branchId + " does not belong to composition " + compositionId);
-        }
-        if (branch.getComposition().getProject() == null || !Objects.equals(branch.getComposition().getProject().getId(), projectId)) {
-            throw new AccessDeniedException("Composition " + compositionId + " does not belong to project " + projectId);
-        }
-        return branch;
+    private VersionViewDto toViewDtoWithLoudness(Version version) {
+        VersionViewDto dto = versionMapper.toViewDto(version);
+        storedObjectService.findLoudness(version.getAudioFileUrl()).ifPresent(dto::setLoudness);
+        return dto;
     }
 
     private Version findVersionAndValidateContext(Long projectId, Long compositionId, Long branchId, Long versionId, boolean fetchDetails) {
-        Version version = (fetchDetails ? versionRepository.findByIdWithDetails(versionId) : versionRepository.findById(versionId))
+        hierarchyResolver.requireVersion(projectId, compositionId, branchId, versionId);
+        return (fetchDetails ? versionRepository.findByIdWithDetails(versionId) : versionRepository.findById(versionId))
                 .orElseThrow(() -> new EntityNotFoundException("Version not found with id: " + versionId));
-        if (version.getBranch() == null || !Objects.equals(version.getBranch().getId(), branchId)) {
-            throw new AccessDeniedException("Version " + versionId + " does not belong to branch " + branchId);
-        }
-        findBranchAndValidateContext(projectId, compositionId, branchId);
-        return version;
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.eql.cda.track.flow.dto.compositionDto.CompositionUpdateDto;
 import com.eql.cda.track.flow.dto.compositionDto.CompositionViewDto;
 import com.eql.cda.track.flow.entity.Branch;
 import com.eql.cda.track.flow.entity.Composition;
+import com.eql.cda.track.flow.repository.CompositionRepository.CompositionSummaryProjection;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
@@ -117,23 +118,24 @@ public class CompositionMapper {
 
 
     /**
-     * Converts a {@link Composition} entity to a compact {@link CompositionSummaryDto}.
-     * @param entity The source {@link Composition} entity.
-     * @return A {@link CompositionSummaryDto}, or {@code null} if the input entity is null.
+     * Converts a {@link CompositionSummaryProjection} to a compact {@link CompositionSummaryDto}.
+     * The counts come from the query, so no branch or version is loaded.
+     * @param projection The source summary row.
+     * @return A {@link CompositionSummaryDto}, or {@code null} if the input projection is null.
      */
-    public CompositionSummaryDto toSummaryDto(Composition entity) {
-        if (entity == null) {
+    public CompositionSummaryDto toSummaryDto(CompositionSummaryProjection projection) {
+        if (projection == null) {
             return null;
         }
         CompositionSummaryDto dto = new CompositionSummaryDto();
-        dto.setId(entity.getId());
-        dto.setTitle(entity.getTitle());
-        dto.setLastUpdateDate(entity.getLastUpdateDate());
-        dto.setTotalBranches(entity.getBranches() != null ? entity.getBranches().size() : 0);
-        dto.setTotalVersions(calculateTotalVersions(entity));
-
-        if (entity.getCompositionStatus() != null) {
-            dto.setStatus(new EnumDto(entity.getCompositionStatus().name(), entity.getCompositionStatus().getLabel()));
+        dto.setId(projection.getId());
+        dto.setTitle(projection.getTitle());
+        dto.setLastUpdateDate(projection.getLastUpdateDate());
+        dto.setTotalBranches(Math.toIntExact(projection.getTotalBranches()));
+        dto.setTotalVersions(Math.toIntExact(projection.getTotalVersions()));
+
+        if (projection.getCompositionStatus() != null) {
+            dto.setStatus(new EnumDto(projection.getCompositionStatus().name(), projection.getCompositionStatus().getLabel()));
         }
         return dto;
     }
@@ -0,0 +1,90 @@
+package com.eql.cda.track.flow.service.mapper;
+
+import com.eql.cda.track.flow.dto.LoudnessDto;
+import com.eql.cda.track.flow.entity.StoredObject;
+import com.eql.cda.track.flow.service.audio.LoudnessMeter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * A component responsible for converting loudness measurements between the {@link LoudnessMeter},
+ * the columns of the {@link StoredObject} entity and the {@link LoudnessDto}.
+ * The short-term loudness curve is stored as a comma-separated list with a precision of 0.1 LU.
+ */
+@Component
+public class LoudnessMapper {
+
+    /**
+     * Converts the results of a completed measurement to a {@link LoudnessDto}.
+     *
+     * @param meter The meter, after the end of the stream.
+     * @return A {@link LoudnessDto}.
+     */
+    public LoudnessDto toDto(LoudnessMeter meter) {
+        LoudnessDto dto = new LoudnessDto();
+        dto.setIntegratedLufs(round(meter.getIntegratedLoudness()));
+        dto.setTruePeakDbtp(round(meter.getTruePeak()));
+        dto.setClippedSamples(meter.getClippedSamples());
+        List<Float> shortTerm = new ArrayList<>();
+        for (float value : meter.getShortTermLoudness()) {
+            shortTerm.add(Math.round(value * 10) / 10f);
+        }
+        dto.setShortTermLufs(shortTerm);
+        return dto;
+    }
+
+    /**
+     * Reads the loudness stored on a {@link StoredObject}.
+     *
+     * @param entity The source entity.
+     * @return A {@link LoudnessDto}, or {@code null} if the object has never been measured.
+     */
+    public LoudnessDto toDto(StoredObject entity) {
+        if (entity == null || entity.getClippedSamples() == null) {
+            return null;
+        }
+        LoudnessDto dto = new LoudnessDto();
+        dto.setIntegratedLufs(entity.getIntegratedLoudness());
+        dto.setTruePeakDbtp(entity.getTruePeak());
+        dto.setClippedSamples(entity.getClippedSamples());
+        List<Float> shortTerm = new ArrayList<>();
+        String stored = entity.getShortTermLoudness();
+        if (stored != null && !stored.isEmpty()) {
+            for (String value : stored.split(",")) {
+                shortTerm.add(Float.parseFloat(value));
+            }
+        }
+        dto.setShortTermLufs(shortTerm);
+        return dto;
+    }
+
+    /**
+     * Copies loudness measurements onto a {@link StoredObject}.
+     *
+     * @param dto The measurements, or {@code null} to leave the entity unmeasured.
+     * @param entity The target entity.
+     */
+    public void updateEntity(LoudnessDto dto, StoredObject entity) {
+        if (dto == null) {
+            return;
+        }
+        entity.setIntegratedLoudness(dto.getIntegratedLufs());
+        entity.setTruePeak(dto.getTruePeakDbtp());
+        entity.setClippedSamples(dto.getClippedSamples());
+        StringJoiner shortTerm = new StringJoiner(",");
+        if (dto.getShortTermLufs() != null) {
+            for (Float value : dto.getShortTermLufs()) {
+                shortTerm.add(String.format(Locale.ROOT, "%.1f", value));
+            }
+        }
+        entity.setShortTermLoudness(shortTerm.toString());
+    }
+
+    private static Double round(Double value) {
+        return value == null ? null : Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eql.cda.track.flow.service.mapper;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.uploadJobDto.UploadJobViewDto;
+import com.eql.cda.track.flow.entity.UploadJob;
+import com.eql.cda.track.flow.entity.UploadJobStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * A component responsible for converting {@link UploadJob} entities into their
+ * corresponding Data Transfer Objects (DTOs).
+ */
+@Component
+public class UploadJobMapper {
+
+    /**
+     * Converts an {@link UploadJob} entity to an {@link UploadJobViewDto}.
+     * The progress percentage is derived from the byte counters, and the upload result
+     * is only attached once the job has completed.
+     *
+     * @param entity The source {@link UploadJob} entity.
+     * @return An {@link UploadJobViewDto}, or {@code null} if the input entity is null.
+     */
+    public UploadJobViewDto toViewDto(UploadJob entity) {
+        if (entity == null) {
+            return null;
+        }
+        UploadJobViewDto dto = new UploadJobViewDto();
+        dto.setJobId(entity.getId());
+        dto.setCompositionId(entity.getCompositionId());
+        dto.setFileName(entity.getOriginalFileName());
+        dto.setStatus(entity.getStatus());
+        dto.setTotalBytes(entity.getTotalBytes());
+        dto.setBytesProcessed(entity.getBytesProcessed());
+        dto.setErrorMessage(entity.getErrorMessage());
+        dto.setCreatedDate(entity.getCreatedDate());
+        dto.setCompletedDate(entity.getCompletedDate());
+
+        if (entity.getStatus() == UploadJobStatus.COMPLETED) {
+            dto.setProgressPercent(100);
+            AudioUploadResponseDto result = new AudioUploadResponseDto();
+            result.setFullUrl(entity.getResultUrl());
+            result.setBpm(entity.getResultBpm());
+            result.setDurationSeconds(entity.getResultDurationSeconds());
+            dto.setResult(result);
+        } else if (entity.getTotalBytes() > 0) {
+            dto.setProgressPercent((int) Math.min(99, entity.getBytesProcessed() * 100 / entity.getTotalBytes()));
+        }
+        return dto;
+    }
+}
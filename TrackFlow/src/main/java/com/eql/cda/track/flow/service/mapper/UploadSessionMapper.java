@@ -0,0 +1,70 @@
+package com.eql.cda.track.flow.service.mapper;
+
+import com.eql.cda.track.flow.dto.audioUploadDto.AudioUploadResponseDto;
+import com.eql.cda.track.flow.dto.chunkedUploadDto.UploadSessionViewDto;
+import com.eql.cda.track.flow.entity.UploadSession;
+import com.eql.cda.track.flow.entity.UploadSessionStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A component responsible for converting {@link UploadSession} entities into their
+ * corresponding Data Transfer Objects (DTOs).
+ */
+@Component
+public class UploadSessionMapper {
+
+    /**
+     * Converts an {@link UploadSession} entity to an {@link UploadSessionViewDto}.
+     * The missing chunk indexes are derived from the received ones, and the upload result
+     * is only attached once the session has been committed.
+     *
+     * @param entity The source {@link UploadSession} entity.
+     * @param receivedChunks The sorted indexes of the chunks already received.
+     * @return An {@link UploadSessionViewDto}, or {@code null} if the input entity is null.
+     */
+    public UploadSessionViewDto toViewDto(UploadSession entity, List<Integer> receivedChunks) {
+        if (entity == null) {
+            return null;
+        }
+        UploadSessionViewDto dto = new UploadSessionViewDto();
+        dto.setSessionId(entity.getId());
+        dto.setCompositionId(entity.getCompositionId());
+        dto.setFileName(entity.getFileName());
+        dto.setStatus(entity.getStatus());
+        dto.setTotalSize(entity.getTotalSize());
+        dto.setChunkSize(entity.getChunkSize());
+        dto.setTotalChunks(entity.getTotalChunks());
+        dto.setCreatedDate(entity.getCreatedDate());
+        dto.setExpiresAt(entity.getExpiresAt());
+
+        if (entity.getStatus() == UploadSessionStatus.COMMITTED) {
+            dto.setReceivedChunks(List.of());
+            dto.setMissingChunks(List.of());
+            AudioUploadResponseDto result = new AudioUploadResponseDto();
+            result.setFullUrl(entity.getResultUrl());
+            result.setBpm(entity.getResultBpm());
+            result.setDurationSeconds(entity.getResultDurationSeconds());
+            dto.setResult(result);
+        } else {
+            dto.setReceivedChunks(receivedChunks);
+            dto.setMissingChunks(missingChunks(entity.getTotalChunks(), receivedChunks));
+        }
+        return dto;
+    }
+
+    private List<Integer> missingChunks(int totalChunks, List<Integer> receivedChunks) {
+        List<Integer> missing = new ArrayList<>();
+        int next = 0;
+        for (int index = 0; index < totalChunks; index++) {
+            if (next < receivedChunks.size() && receivedChunks.get(next) == index) {
+                next++;
+            } else {
+                missing.add(index);
+            }
+        }
+        return missing;
+    }
+}
@@ -1,12 +1,16 @@
 package com.eql.cda.track.flow.service.mapper;
 
+import com.eql.cda.track.flow.dto.versionDto.DiffRangeDto;
+import com.eql.cda.track.flow.dto.versionDto.SimilarVersionDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
+import com.eql.cda.track.flow.dto.versionDto.VersionDiffDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionSummaryDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionUpdateDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionViewDto;
 import com.eql.cda.track.flow.entity.Version;
 import com.eql.cda.track.flow.entity.VersionInstrument;
 import com.eql.cda.track.flow.entity.VersionInstrumentPreDefined;
+import com.eql.cda.track.flow.service.audio.WaveformDiff;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -74,6 +78,52 @@ public class VersionMapper {
         return dto;
     }
 
+    /**
+     * Converts a version found similar to another one.
+     *
+     * @param entity The similar version, with its branch.
+     * @param similarity The similarity of the two fingerprints, from 0 to 1.
+     * @param duplicate Whether the two versions are most likely the same recording.
+     * @return A {@link SimilarVersionDto}.
+     */
+    public SimilarVersionDto toSimilarVersionDto(Version entity, double similarity, boolean duplicate) {
+        SimilarVersionDto dto = new SimilarVersionDto();
+        dto.setId(entity.getId());
+        dto.setName(entity.getName());
+        dto.setCreatedDate(entity.getCreatedDate());
+        dto.setSimilarity(Math.round(similarity * 1000) / 1000.0);
+        dto.setDuplicate(duplicate);
+
+        if (entity.getBranch() != null) {
+            dto.setBranchId(entity.getBranch().getId());
+            dto.setBranchName(entity.getBranch().getName());
+        }
+
+        return dto;
+    }
+
+    public VersionDiffDto toDiffDto(Long versionId, Long otherVersionId, WaveformDiff.Result result, double thresholdDb) {
+        VersionDiffDto dto = new VersionDiffDto();
+        dto.setVersionId(versionId);
+        dto.setOtherVersionId(otherVersionId);
+        dto.setOffsetSeconds(result.offsetSeconds());
+        dto.setThresholdDb(thresholdDb);
+        dto.setRanges(result.ranges().stream()
+                .map(this::toDiffRangeDto)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    private DiffRangeDto toDiffRangeDto(WaveformDiff.Range range) {
+        DiffRangeDto dto = new DiffRangeDto();
+        dto.setStartSeconds(range.startSeconds());
+        dto.setEndSeconds(range.endSeconds());
+        dto.setOtherStartSeconds(range.otherStartSeconds());
+        dto.setOtherEndSeconds(range.otherEndSeconds());
+        dto.setMeanDifferenceDb(range.meanDifferenceDb());
+        return dto;
+    }
+
     public VersionViewDto toViewDto(Version entity) {
         if (entity == null) {
             return null;
@@ -84,6 +134,7 @@ public class VersionMapper {
         dto.setAuthor(entity.getAuthor());
         dto.setCreatedDate(entity.getCreatedDate());
         dto.setAudioFileUrl(entity.getAudioFileUrl());
+        dto.setPreviewAudioFileUrl(entity.getPreviewAudioFileUrl());
         dto.setDurationSeconds(entity.getDurationSeconds());
         dto.setBpm(entity.getBpm());
         dto.setKey(entity.getKey());
@@ -0,0 +1,55 @@
+package com.eql.cda.track.flow.service.pagination;
+
+import com.eql.cda.track.flow.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * The position of a row in a list ordered by a date, then by ID, both descending: the values of the last row
+ * of a page, from which the next page starts.
+ * <p>
+ * Clients receive it as an opaque URL-safe Base64 token, so the encoding can change without breaking them
+ * beyond the pages they are reading.
+ *
+ * @param sortKey The date the list is ordered by.
+ * @param id The ID of the row, which breaks ties between equal dates.
+ */
+public record Cursor(Instant sortKey, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * @return The token given to clients.
+     */
+    public String encode() {
+        String value = sortKey.getEpochSecond() + ":" + sortKey.getNano() + ":" + id;
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token received from a client.
+     *
+     * @param token The token, or {@code null} for the first page.
+     * @return The cursor, or {@code null} if no token was given.
+     * @throws InvalidCursorException if the token was not produced by {@link #encode()}.
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid pagination cursor.");
+            }
+            Instant sortKey = Instant.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+            return new Cursor(sortKey, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Invalid pagination cursor.");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eql.cda.track.flow.service.pagination;
+
+import com.eql.cda.track.flow.dto.CursorPageDto;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the services serving cursor-paginated lists.
+ * <p>
+ * Each list has two repository queries: one for the first page, and a seek query for the rows after a cursor,
+ * {@code (date < :date OR (date = :date AND id < :id)) ORDER BY date DESC, id DESC}, backed by an index ending
+ * with the date and the ID. Both read one row more than the page size, which tells whether a next page exists
+ * without a count query.
+ */
+public final class CursorPages {
+
+    private CursorPages() {
+    }
+
+    /**
+     * @param size The number of items of a page.
+     * @return The limit to pass to the repository queries: one row more than the page.
+     */
+    public static PageRequest limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a page from the rows read with {@link #limit(int)}.
+     *
+     * @param rows The rows, at most one more than the page size.
+     * @param size The number of items of a page.
+     * @param cursorOf Reads the position of a row.
+     * @param mapper Maps a row to an item of the page.
+     * @param <T> The type of the rows.
+     * @param <D> The type of the items.
+     * @return The page, with the cursor of its last row if more rows follow.
+     */
+    public static <T, D> CursorPageDto<D> toPage(List<T> rows, int size, Function<T, Cursor> cursorOf, Function<T, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        return toPage(hasNext ? rows.subList(0, size) : rows, hasNext, cursorOf, mapper);
+    }
+
+    /**
+     * Builds a page from rows already cut to the page size, for the lists read in two phases.
+     *
+     * @param rows The rows of the page.
+     * @param hasNext Whether more rows follow.
+     * @param cursorOf Reads the position of a row.
+     * @param mapper Maps a row to an item of the page.
+     * @param <T> The type of the rows.
+     * @param <D> The type of the items.
+     * @return The page, with the cursor of its last row if more rows follow.
+     */
+    public static <T, D> CursorPageDto<D> toPage(List<T> rows, boolean hasNext, Function<T, Cursor> cursorOf, Function<T, D> mapper) {
+        List<D> content = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            content.add(mapper.apply(row));
+        }
+        String nextCursor = hasNext && !rows.isEmpty() ? cursorOf.apply(rows.get(rows.size() - 1)).encode() : null;
+        return new CursorPageDto<>(content, nextCursor);
+    }
+}
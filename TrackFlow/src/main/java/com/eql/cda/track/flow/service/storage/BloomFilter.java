@@ -0,0 +1,96 @@
+package com.eql.cda.track.flow.service.storage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Bloom filter of strings: a compact set that may answer "present" for a string never added,
+ * with a bounded probability, but never "absent" for a string that was added.
+ * <p>
+ * The bits are packed in a {@code long[]}, about 14 bits per expected string for a 0.1% false positive
+ * rate, so millions of object paths fit in a few megabytes. Each string is hashed once to 64 bits and
+ * the probe positions are derived from the two halves of the hash (Kirsch-Mitzenmacher double hashing),
+ * which addresses up to 2<sup>32</sup> bits (512 MB). Not thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs an empty filter sized for the expected number of strings.
+     *
+     * @param expectedInsertions The number of strings that will be added.
+     * @param falsePositiveRate The acceptable probability that {@link #mightContain(String)} answers {@code true}
+     *                          for a string never added, once all of them have been added.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1.");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((Math.min(Math.max(64, m), 1L << 32) + 63) / 64)];
+        this.bitCount = (long) bits.length * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param value The string to add.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    /**
+     * Tests whether a string may have been added.
+     *
+     * @param value The string to test.
+     * @return {@code false} if the string was definitely never added; {@code true} if it probably was.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The memory used by the bits of the filter, in bytes.
+     */
+    public long sizeBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes of the string, followed by the MurmurHash3 finaliser so that strings
+     * differing only in their last characters still spread over the whole 64 bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,98 @@
+package com.eql.cda.track.flow.service.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A stored object read through the {@link SegmentCache}. Its stream supports cheap {@link InputStream#skip(long)},
+ * which is how Spring MVC reaches the start of a requested byte range, so only the segments covering the
+ * range are ever loaded.
+ */
+class CachedObjectResource extends AbstractResource {
+
+    private final SegmentCache cache;
+    private final String objectPath;
+    private final long size;
+
+    CachedObjectResource(SegmentCache cache, String objectPath, long size) {
+        this.cache = cache;
+        this.objectPath = objectPath;
+        this.size = size;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public String getFilename() {
+        return objectPath.substring(objectPath.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached storage object [" + objectPath + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new SegmentInputStream();
+    }
+
+    private class SegmentInputStream extends InputStream {
+
+        private long position;
+        private ByteBuffer current;
+        private long currentIndex = -1;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (position >= size) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            long index = position / cache.getSegmentSize();
+            if (index != currentIndex) {
+                current = cache.segment(objectPath, index);
+                currentIndex = index;
+            }
+            int within = (int) (position - index * cache.getSegmentSize());
+            int count = Math.min(length, current.limit() - within);
+            current.get(within, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            if (current == null || position >= size) {
+                return 0;
+            }
+            return (int) Math.max(0, Math.min(Integer.MAX_VALUE, (currentIndex + 1) * cache.getSegmentSize() - position));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.eql.cda.track.flow.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Helpers for the SHA-256 content hashes used to deduplicate stored audio.
+ * Hashes are exchanged as 64 lowercase hexadecimal characters.
+ */
+public final class ContentHash {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Creates a new SHA-256 digest.
+     *
+     * @return A fresh digest.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+
+    /**
+     * Formats a finished digest as a content hash.
+     *
+     * @param digest The digest that has consumed the whole content.
+     * @return The hexadecimal hash.
+     */
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Computes the content hash of a local file.
+     *
+     * @param file The file to hash.
+     * @return The hexadecimal hash.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String of(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return toHex(digest);
+    }
+}
@@ -0,0 +1,66 @@
+package com.eql.cda.track.flow.service.storage;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A small pool of equally sized direct {@link ByteBuffer}s.
+ * <p>
+ * Direct buffers are expensive to allocate and are only reclaimed by the garbage collector, so uploads
+ * borrow one and give it back instead of allocating a new one each time. Buffers are created lazily;
+ * when more are borrowed than the pool retains, the extra ones are simply dropped on release.
+ * <p>
+ * This class is thread-safe.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> idle;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param bufferSize The capacity of every buffer, in bytes.
+     * @param maxIdle The maximum number of buffers kept between uses.
+     */
+    public DirectBufferPool(int bufferSize, int maxIdle) {
+        if (bufferSize <= 0 || maxIdle <= 0) {
+            throw new IllegalArgumentException("Buffer size and pool size must be positive.");
+        }
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Borrows a cleared buffer, allocating one if none is idle.
+     *
+     * @return A buffer of {@link #getBufferSize()} bytes, to be handed back with {@link #release(ByteBuffer)}.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a borrowed buffer to the pool.
+     *
+     * @param buffer The buffer obtained from {@link #acquire()}.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.capacity() == bufferSize) {
+            idle.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return The number of buffers currently waiting in the pool.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+}
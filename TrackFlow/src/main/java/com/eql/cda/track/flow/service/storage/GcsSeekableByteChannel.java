@@ -0,0 +1,96 @@
+package com.eql.cda.track.flow.service.storage;
+
+import com.google.cloud.ReadChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Adapts a Google Cloud Storage {@link ReadChannel} to the standard read-only {@link SeekableByteChannel}
+ * contract, so that storage objects can be consumed by code written against NIO channels.
+ * Repositioning is translated into {@link ReadChannel#seek(long)}, which only fetches the requested range.
+ */
+public class GcsSeekableByteChannel implements SeekableByteChannel {
+
+    private final ReadChannel readChannel;
+    private final long size;
+    private long position;
+
+    /**
+     * Constructs the adapter.
+     *
+     * @param readChannel The GCS read channel to wrap. It is closed with this channel.
+     * @param size The size of the object in bytes.
+     */
+    public GcsSeekableByteChannel(ReadChannel readChannel, long size) {
+        this.readChannel = readChannel;
+        this.size = size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int n = readChannel.read(dst);
+        if (n > 0) {
+            position += n;
+        }
+        return n;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position must be positive: " + newPosition);
+        }
+        if (newPosition != position) {
+            readChannel.seek(newPosition);
+            position = newPosition;
+        }
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return readChannel.isOpen();
+    }
+
+    @Override
+    public void close() {
+        readChannel.close();
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!readChannel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+}
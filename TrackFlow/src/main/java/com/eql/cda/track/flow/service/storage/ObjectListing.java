@@ -0,0 +1,23 @@
+package com.eql.cda.track.flow.service.storage;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of the objects listed under a storage prefix, in lexicographic order of their paths.
+ *
+ * @param objects The objects of the page.
+ * @param nextPageToken The token to pass to fetch the next page, or {@code null} if this is the last one.
+ */
+public record ObjectListing(List<Entry> objects, String nextPageToken) {
+
+    /**
+     * A listed object.
+     *
+     * @param objectPath The path of the object in the storage bucket.
+     * @param sizeBytes Its size, in bytes.
+     * @param createdDate When it was written, or {@code null} if the storage does not report it.
+     */
+    public record Entry(String objectPath, long sizeBytes, Instant createdDate) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.eql.cda.track.flow.service.storage;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Uploads a large stream to GCS as several part objects written concurrently, to be composed into the
+ * final object afterwards. A single resumable upload is bound by one connection; parallel parts are not.
+ * <p>
+ * The stream itself is still read sequentially, once: each part is read into memory and handed to the
+ * executor while the next one is being read. At most {@code parallelism} parts are held in memory per
+ * upload, which bounds heap usage to {@code parallelism * partSize}.
+ */
+@Component
+@Profile("!local-storage")
+public class ParallelCompositeUploader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelCompositeUploader.class);
+
+    /** GCS refuses to compose objects made of more components than this. */
+    static final int MAX_COMPONENT_COUNT = 1024;
+    private static final int PART_SIZE_GRANULARITY = 256 * 1024;
+
+    private final Storage storage;
+    private final String bucketName;
+    private final long threshold;
+    private final int partSize;
+    private final int parallelism;
+    private final Executor executor;
+
+    /**
+     * Constructs the uploader.
+     *
+     * @param storage The GCS client.
+     * @param bucketName The bucket receiving the parts.
+     * @param threshold The content length from which composite uploads are used; 0 disables them.
+     * @param partSize The nominal size of each part.
+     * @param parallelism The maximum number of parts of one upload being written at the same time.
+     * @param executor The executor writing the parts.
+     */
+    @Autowired
+    public ParallelCompositeUploader(Storage storage,
+                                     @Value("${gcs.bucket.name}") String bucketName,
+                                     @Value("${gcs.upload.composite-threshold:64MB}") DataSize threshold,
+                                     @Value("${gcs.upload.composite-part-size:16MB}") DataSize partSize,
+                                     @Value("${gcs.upload.composite-parallelism:4}") int parallelism,
+                                     @Qualifier("compositeUploadExecutor") Executor executor) {
+        if (partSize.toBytes() <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Composite part size and parallelism must be positive.");
+        }
+        this.storage = storage;
+        this.bucketName = bucketName;
+        this.threshold = threshold.toBytes();
+        this.partSize = Math.toIntExact(partSize.toBytes());
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Tells whether a stream of the given length should be uploaded in parallel parts.
+     *
+     * @param contentLength The announced length of the stream, or -1 if unknown.
+     * @return {@code true} if the length is known and reaches the configured threshold.
+     */
+    public boolean accepts(long contentLength) {
+        return threshold > 0 && contentLength >= threshold;
+    }
+
+    /**
+     * Reads the stream to its end and writes it as consecutive part objects. If any part fails, the parts
+     * already written are deleted before the exception is thrown.
+     *
+     * @param input The stream to upload. It is not closed.
+     * @param contentLength The announced length of the stream, used to keep the number of parts composable.
+     * @param contentType The MIME type of the parts, may be null.
+     * @return The paths of the parts, in order. They must be deleted with {@link #deleteParts(List)} once composed.
+     * @throws IOException if reading the stream or writing a part fails.
+     */
+    public List<String> uploadParts(InputStream input, long contentLength, String contentType) throws IOException {
+        int effectivePartSize = effectivePartSize(contentLength);
+        String prefix = "uploads/composite/" + UUID.randomUUID();
+        List<String> partPaths = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(parallelism);
+
+        try {
+            while (true) {
+                inFlight.acquire();
+                byte[] part = new byte[effectivePartSize];
+                int length = input.readNBytes(part, 0, effectivePartSize);
+                if (length == 0 && !partPaths.isEmpty()) {
+                    inFlight.release();
+                    break;
+                }
+                String partPath = String.format("%s/part-%05d", prefix, partPaths.size());
+                partPaths.add(partPath);
+                BlobInfo partInfo = BlobInfo.newBuilder(BlobId.of(bucketName, partPath)).setContentType(contentType).build();
+                pending.add(CompletableFuture
+                        .runAsync(() -> storage.create(partInfo, part, 0, length), executor)
+                        .whenComplete((result, error) -> inFlight.release()));
+                if (length < effectivePartSize || pending.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            deleteParts(partPaths);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IOException("Failed to upload part to GCS: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            awaitQuietly(pending);
+            deleteParts(partPaths);
+            throw new InterruptedIOException("Interrupted while uploading parts to GCS.");
+        } catch (IOException | RuntimeException e) {
+            awaitQuietly(pending);
+            deleteParts(partPaths);
+            throw e;
+        }
+
+        log.debug("Uploaded {} parts of {} bytes under {}", partPaths.size(), effectivePartSize, prefix);
+        return partPaths;
+    }
+
+    /**
+     * Deletes part objects, ignoring the ones that cannot be deleted.
+     *
+     * @param partPaths The paths returned by {@link #uploadParts(InputStream, long, String)}.
+     */
+    public void deleteParts(List<String> partPaths) {
+        for (String partPath : partPaths) {
+            try {
+                storage.delete(BlobId.of(bucketName, partPath));
+            } catch (StorageException e) {
+                log.warn("Could not delete composite part '{}': {}", partPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grows the part size for very large streams so that they never need more than {@value #MAX_COMPONENT_COUNT} parts.
+     */
+    private int effectivePartSize(long contentLength) {
+        if (contentLength <= (long) partSize * MAX_COMPONENT_COUNT) {
+            return partSize;
+        }
+        long minimum = (contentLength + MAX_COMPONENT_COUNT - 1) / MAX_COMPONENT_COUNT;
+        long rounded = (minimum + PART_SIZE_GRANULARITY - 1) / PART_SIZE_GRANULARITY * PART_SIZE_GRANULARITY;
+        return Math.toIntExact(rounded);
+    }
+
+    private static void awaitQuietly(List<CompletableFuture<Void>> pending) {
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+    }
+}
@@ -0,0 +1,263 @@
+package com.eql.cda.track.flow.service.storage;
+
+import com.eql.cda.track.flow.service.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded, least-recently-used cache of fixed-size segments of stored objects, kept in files on the
+ * local disk and memory-mapped, so cached audio is served from the page cache rather than the heap.
+ * <p>
+ * Objects are split at fixed offsets, so every client seeking in the same file reuses the same segments.
+ * When several requests miss the same segment at once, only one of them reads it from storage and the
+ * others wait for that read. Stored objects are never modified in place (every upload gets a new path),
+ * so cached segments never go stale; they are only evicted for space or when their object is deleted.
+ * <p>
+ * The cache does not survive restarts: its directory is emptied at startup.
+ */
+@Component
+public class SegmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentCache.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int MAX_SIZE_ENTRIES = 10_000;
+
+    private final StorageService storageService;
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final Counter hits;
+    private final Counter misses;
+
+    /** Guarded by {@code this}. Iteration order is access order, eldest first. */
+    private final LinkedHashMap<SegmentKey, Segment> segments = new LinkedHashMap<>(256, 0.75f, true);
+    /** Guarded by {@code this}. */
+    private long cachedBytes;
+    private final Map<SegmentKey, CompletableFuture<Segment>> loading = new ConcurrentHashMap<>();
+    private final Map<String, Long> objectSizes = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_SIZE_ENTRIES;
+        }
+    });
+
+    /**
+     * Constructs the cache and empties its directory.
+     *
+     * @param storageService The storage the segments are read from on a miss.
+     * @param directory The directory holding the segment files.
+     * @param segmentSize The size of each segment.
+     * @param maxSize The total size of the segments kept on disk.
+     * @param meterRegistry The registry receiving the hit and miss counters.
+     * @throws IOException if the directory cannot be created or emptied.
+     */
+    @Autowired
+    public SegmentCache(StorageService storageService,
+                        @Value("${audio.cache.dir:${java.io.tmpdir}/trackflow-segment-cache}") Path directory,
+                        @Value("${audio.cache.segment-size:1MB}") DataSize segmentSize,
+                        @Value("${audio.cache.max-size:1GB}") DataSize maxSize,
+                        MeterRegistry meterRegistry) throws IOException {
+        this.storageService = storageService;
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.maxBytes = maxSize.toBytes();
+        this.hits = Counter.builder("trackflow.audio.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("trackflow.audio.cache.requests").tag("result", "miss").register(meterRegistry);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    /**
+     * Exposes a stored object as a {@link Resource} read through this cache. Spring MVC serves such a
+     * resource with HTTP Range support, skipping directly to the requested segments.
+     *
+     * @param objectPath The path of the object in storage.
+     * @return The resource.
+     * @throws java.io.FileNotFoundException if the object does not exist.
+     * @throws IOException if the object size cannot be read.
+     */
+    public Resource resource(String objectPath) throws IOException {
+        return new CachedObjectResource(this, objectPath, size(objectPath));
+    }
+
+    /**
+     * Returns the size of a stored object, remembering it for later requests.
+     *
+     * @param objectPath The path of the object in storage.
+     * @return Its size, in bytes.
+     * @throws IOException if the size cannot be read.
+     */
+    public long size(String objectPath) throws IOException {
+        Long size = objectSizes.get(objectPath);
+        if (size == null) {
+            size = storageService.getObjectSize(objectPath);
+            objectSizes.put(objectPath, size);
+        }
+        return size;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Returns one segment of an object, loading it from storage on a miss.
+     *
+     * @param objectPath The path of the object in storage.
+     * @param index The index of the segment; segment {@code i} starts at offset {@code i * segmentSize}.
+     * @return A read-only buffer positioned at the start of the segment. Only the last segment may be shorter.
+     * @throws IOException if the segment cannot be read from storage.
+     */
+    public ByteBuffer segment(String objectPath, long index) throws IOException {
+        SegmentKey key = new SegmentKey(objectPath, index);
+        synchronized (this) {
+            Segment cached = segments.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached.buffer().duplicate();
+            }
+        }
+
+        CompletableFuture<Segment> load = new CompletableFuture<>();
+        CompletableFuture<Segment> pending = loading.putIfAbsent(key, load);
+        if (pending != null) {
+            hits.increment();
+            try {
+                return pending.join().buffer().duplicate();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+        }
+
+        try {
+            synchronized (this) {
+                // Another request may have finished loading this segment since the first lookup.
+                Segment raced = segments.get(key);
+                if (raced != null) {
+                    hits.increment();
+                    load.complete(raced);
+                    return raced.buffer().duplicate();
+                }
+            }
+            misses.increment();
+            Segment segment = load(key);
+            synchronized (this) {
+                segments.put(key, segment);
+                cachedBytes += segment.buffer().capacity();
+                evictOverflow();
+            }
+            load.complete(segment);
+            return segment.buffer().duplicate();
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Drops every cached segment of an object, typically after it has been deleted from storage.
+     *
+     * @param objectPath The path of the object.
+     */
+    public void evict(String objectPath) {
+        objectSizes.remove(objectPath);
+        List<Segment> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<SegmentKey, Segment>> entries = segments.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<SegmentKey, Segment> entry = entries.next();
+                if (entry.getKey().objectPath().equals(objectPath)) {
+                    cachedBytes -= entry.getValue().buffer().capacity();
+                    removed.add(entry.getValue());
+                    entries.remove();
+                }
+            }
+        }
+        removed.forEach(this::deleteSegmentFile);
+    }
+
+    private Segment load(SegmentKey key) throws IOException {
+        long objectSize = size(key.objectPath());
+        long offset = key.index() * segmentSize;
+        if (offset >= objectSize || key.index() < 0) {
+            throw new IOException("Segment " + key.index() + " is beyond the end of " + key.objectPath());
+        }
+        int length = (int) Math.min(segmentSize, objectSize - offset);
+
+        Path file = Files.createTempFile(directory, "segment-", SEGMENT_SUFFIX);
+        try (SeekableByteChannel source = storageService.openReadChannel(key.objectPath());
+             FileChannel target = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            source.position(offset);
+            long copied = 0;
+            while (copied < length) {
+                long n = target.transferFrom(source, copied, length - copied);
+                if (n <= 0) {
+                    throw new IOException("Object " + key.objectPath() + " ended before segment " + key.index() + " was complete.");
+                }
+                copied += n;
+            }
+            return new Segment(file, target.map(FileChannel.MapMode.READ_ONLY, 0, length).asReadOnlyBuffer());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /** Must be called while holding the lock on {@code this}. */
+    private void evictOverflow() {
+        Iterator<Segment> eldest = segments.values().iterator();
+        while (cachedBytes > maxBytes && segments.size() > 1 && eldest.hasNext()) {
+            Segment segment = eldest.next();
+            eldest.remove();
+            cachedBytes -= segment.buffer().capacity();
+            deleteSegmentFile(segment);
+        }
+    }
+
+    private void deleteSegmentFile(Segment segment) {
+        // A mapping stays valid after its file is deleted; the pages are released once the buffer is collected.
+        try {
+            Files.deleteIfExists(segment.file());
+        } catch (IOException e) {
+            log.debug("Could not delete cached segment {} yet: {}", segment.file(), e.getMessage());
+            segment.file().toFile().deleteOnExit();
+        }
+    }
+
+    private record SegmentKey(String objectPath, long index) {
+    }
+
+    private record Segment(Path file, ByteBuffer buffer) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.eql.cda.track.flow.service.storage;
+
+import com.eql.cda.track.flow.event.StoredObjectsReleasedEvent;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.audio.WaveformDiffCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Deletes from storage, in the background, the objects released by a bulk deletion once it has committed,
+ * so that deleting a large project does not wait for thousands of storage requests.
+ * <p>
+ * The objects are already unregistered when the worker runs. If the application stops before the worker
+ * is done, or a deletion fails, the remaining objects are orphans and the storage garbage collector
+ * deletes them on its next run.
+ */
+@Component
+public class StorageCleanupWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageCleanupWorker.class);
+
+    private final StorageService storageService;
+    private final SegmentCache segmentCache;
+    private final WaveformDiffCache waveformDiffCache;
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * Constructs the worker with its required dependencies.
+     *
+     * @param storageService Service deleting the objects.
+     * @param segmentCache Local cache of streamed audio, purged of the deleted objects.
+     * @param waveformDiffCache Cache of waveform comparisons, purged of the deleted objects.
+     * @param executor The thread running the deletions.
+     */
+    @Autowired
+    public StorageCleanupWorker(StorageService storageService, SegmentCache segmentCache,
+                                WaveformDiffCache waveformDiffCache,
+                                @Qualifier("storageCleanupExecutor") ThreadPoolTaskExecutor executor) {
+        this.storageService = storageService;
+        this.segmentCache = segmentCache;
+        this.waveformDiffCache = waveformDiffCache;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the deletion of the released objects after the bulk deletion has committed.
+     *
+     * @param event The released objects.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onObjectsReleased(StoredObjectsReleasedEvent event) {
+        List<String> objectPaths = List.copyOf(event.objectPaths());
+        try {
+            executor.execute(() -> deleteObjects(objectPaths));
+        } catch (TaskRejectedException e) {
+            log.warn("Storage cleanup queue is full; {} released objects are left to the storage garbage collector.", objectPaths.size());
+        }
+    }
+
+    private void deleteObjects(List<String> objectPaths) {
+        long start = System.nanoTime();
+        List<String> failed = storageService.deleteFiles(objectPaths);
+        for (String objectPath : objectPaths) {
+            segmentCache.evict(objectPath);
+            waveformDiffCache.evict(objectPath);
+        }
+        if (failed.isEmpty()) {
+            log.info("Deleted {} released objects in {} ms", objectPaths.size(), (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.warn("Deleted {} of {} released objects; the others are left to the storage garbage collector.",
+                    objectPaths.size() - failed.size(), objectPaths.size());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.eql.cda.track.flow.service.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Records the throughput of the uploads performed by the storage implementations, so buffer and
+ * chunk sizes can be tuned from the {@code /actuator/metrics} endpoint.
+ * <p>
+ * Meters, all tagged with the storage backend:
+ * <ul>
+ *     <li>{@code trackflow.storage.upload.duration}: time spent writing each object;</li>
+ *     <li>{@code trackflow.storage.upload.size}: size of each object, in bytes;</li>
+ *     <li>{@code trackflow.storage.upload.throughput}: throughput of each upload, in bytes per second.</li>
+ * </ul>
+ */
+@Component
+public class StorageMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public StorageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a completed upload.
+     *
+     * @param backend The storage backend, e.g. {@code gcs} or {@code local}.
+     * @param bytes The number of bytes written.
+     * @param elapsedNanos The time spent writing them.
+     * @return The throughput of the upload, in bytes per second.
+     */
+    public double recordUpload(String backend, long bytes, long elapsedNanos) {
+        double bytesPerSecond = elapsedNanos > 0 ? bytes * 1e9 / elapsedNanos : 0;
+        Timer.builder("trackflow.storage.upload.duration")
+                .tag("backend", backend)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+        DistributionSummary.builder("trackflow.storage.upload.size")
+                .baseUnit("bytes")
+                .tag("backend", backend)
+                .register(meterRegistry)
+                .record(bytes);
+        DistributionSummary.builder("trackflow.storage.upload.throughput")
+                .baseUnit("bytes.per.second")
+                .tag("backend", backend)
+                .register(meterRegistry)
+                .record(bytesPerSecond);
+        return bytesPerSecond;
+    }
+}
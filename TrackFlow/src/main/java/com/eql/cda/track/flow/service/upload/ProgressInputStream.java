@@ -0,0 +1,65 @@
+package com.eql.cda.track.flow.service.upload;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} decorator that counts the bytes read and reports them to an
+ * {@link UploadProgressListener}.
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    private final long totalBytes;
+    private final UploadProgressListener listener;
+    private long bytesRead;
+
+    /**
+     * Constructs a counting stream over the given source.
+     *
+     * @param source The stream to read from.
+     * @param totalBytes The expected total number of bytes, or -1 if unknown.
+     * @param listener The listener notified after each read.
+     */
+    public ProgressInputStream(InputStream source, long totalBytes, UploadProgressListener listener) {
+        super(source);
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            advance(skipped);
+        }
+        return skipped;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    private void advance(long n) {
+        bytesRead += n;
+        listener.onProgress(bytesRead, totalBytes);
+    }
+}
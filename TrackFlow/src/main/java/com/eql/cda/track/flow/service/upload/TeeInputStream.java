@@ -0,0 +1,81 @@
+package com.eql.cda.track.flow.service.upload;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An {@link InputStream} decorator that copies every byte read from the source into a secondary
+ * {@link OutputStream} (the "branch"). It allows a single pass over a request body to feed both
+ * a remote storage writer (the reader of this stream) and a local spool file (the branch).
+ * <p>
+ * Only the bytes actually consumed by the reader are copied; {@link #skip(long)} reads the skipped
+ * bytes through the tee so that the branch always receives the complete content.
+ * Closing this stream closes the source but not the branch, which stays owned by the caller.
+ */
+public class TeeInputStream extends FilterInputStream {
+
+    private final OutputStream branch;
+
+    /**
+     * Constructs a tee over the given source stream.
+     *
+     * @param source The stream to read from.
+     * @param branch The stream receiving a copy of every byte read.
+     */
+    public TeeInputStream(InputStream source, OutputStream branch) {
+        super(source);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            branch.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            branch.write(buffer, offset, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] scratch = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Marking is not supported: replaying bytes would duplicate them in the branch.
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported by TeeInputStream");
+    }
+}
@@ -0,0 +1,21 @@
+package com.eql.cda.track.flow.service.upload;
+
+/**
+ * Callback notified while the bytes of an upload are being transferred to storage.
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    /**
+     * A listener that ignores every notification.
+     */
+    UploadProgressListener NONE = (bytesTransferred, totalBytes) -> { };
+
+    /**
+     * Called after each chunk has been read from the source.
+     *
+     * @param bytesTransferred The cumulative number of bytes read so far.
+     * @param totalBytes The expected total number of bytes, or -1 if unknown.
+     */
+    void onProgress(long bytesTransferred, long totalBytes);
+}
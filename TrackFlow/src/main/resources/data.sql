@@ -125,4 +125,11 @@ INSERT INTO version_instruments (id, version_id, instrument) VALUES (17, 5, 'SYN
 -- =================================================================
 INSERT INTO annotations (id, content, time_position, version_id, is_resolved, annotation_category, annotation_status, creation_date) VALUES (1, 'La ligne de basse pourrait être plus présente à ce moment.', 32.5, 1, false, 'MIXAGE', 'A_TRAITER', '2024-04-12 15:00:00');
 INSERT INTO annotations (id, content, time_position, version_id, is_resolved, annotation_category, annotation_status, creation_date) VALUES (2, 'Le solo de guitare est parfait, ne rien changer !', 121.0, 1, true, 'GENERAL', 'RESOLUE', '2024-04-12 15:02:00');
-INSERT INTO annotations (id, content, time_position, version_id, is_resolved, annotation_category, annotation_status, creation_date) VALUES (3, 'Idée : Ajouter une nappe de synthé discrète ici.', 90.2, 1, false, 'MELODIC_IDEA', 'EN_REFLEXION', '2024-04-13 10:20:00');
\ No newline at end of file
+INSERT INTO annotations (id, content, time_position, version_id, is_resolved, annotation_category, annotation_status, creation_date) VALUES (3, 'Idée : Ajouter une nappe de synthé discrète ici.', 90.2, 1, false, 'MELODIC_IDEA', 'EN_REFLEXION', '2024-04-13 10:20:00');
+-- =================================================================
+-- 6. SÉQUENCES DES IDENTIFIANTS
+-- =================================================================
+-- MySQL n'ayant pas de séquences, Hibernate les émule par des tables à une ligne : on les place au-delà des identifiants insérés ci-dessus.
+UPDATE versions_seq SET next_val = 101;
+UPDATE version_instruments_seq SET next_val = 101;
+UPDATE annotations_seq SET next_val = 101;
@@ -0,0 +1,106 @@
+import com.eql.cda.track.flow.service.audio.AudioFingerprinter;
+import com.eql.cda.track.flow.service.audio.FingerprintIndex;
+import com.eql.cda.track.flow.service.audio.PcmFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioFingerprinterTest {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    @Test
+    void fingerprint_ShouldBeStableAcrossGainChangesAndEncoding() {
+        float[] melody = melody(1, 20);
+        long[] original = fingerprint(melody, 1.0f);
+        long[] quieter = fingerprint(melody, 0.5f);
+
+        assertTrue(original.length > 100, "expected a usable number of hashes, got " + original.length);
+        assertArrayEquals(original, AudioFingerprinter.decode(AudioFingerprinter.encode(original)));
+
+        FingerprintIndex index = new FingerprintIndex(Map.of(1L, original, 2L, quieter));
+        List<FingerprintIndex.Match> matches = index.findSimilar(1L, 10, 0);
+        assertEquals(1, matches.size());
+        assertTrue(matches.get(0).similarity() > 0.9, "similarity " + matches.get(0).similarity());
+    }
+
+    @Test
+    void findSimilar_ShouldToleratePeaksMovingByAFrame() {
+        // Half a hop of leading silence, as a re-export of the same mix could add.
+        float[] melody = melody(1, 20);
+        float[] delayed = new float[melody.length];
+        System.arraycopy(melody, 0, delayed, 1000, melody.length - 1000);
+
+        FingerprintIndex index = new FingerprintIndex(Map.of(1L, fingerprint(melody, 1.0f), 2L, fingerprint(delayed, 1.0f)));
+        double similarity = index.findSimilar(1L, 10, 0).get(0).similarity();
+        assertTrue(similarity > 0.3, "similarity " + similarity);
+    }
+
+    @Test
+    void findSimilar_ShouldRankEditedVersionsAboveUnrelatedOnes() {
+        float[] melody = melody(1, 20);
+        float[] edited = melody.clone();
+        float[] otherTail = melody(2, 5);
+        // The last quarter of the edited version is replaced by other material.
+        System.arraycopy(otherTail, 0, edited, edited.length - otherTail.length, otherTail.length);
+
+        FingerprintIndex index = new FingerprintIndex(Map.of(
+                1L, fingerprint(melody, 1.0f),
+                2L, fingerprint(edited, 1.0f),
+                3L, fingerprint(melody(3, 20), 1.0f)));
+
+        List<FingerprintIndex.Match> matches = index.findSimilar(1L, 10, 0);
+        assertEquals(2L, matches.get(0).versionId());
+        double editedSimilarity = matches.get(0).similarity();
+        assertTrue(editedSimilarity > 0.5 && editedSimilarity < 0.9, "edited similarity " + editedSimilarity);
+        double unrelatedSimilarity = matches.size() > 1 ? matches.get(1).similarity() : 0;
+        assertTrue(unrelatedSimilarity < 0.05, "unrelated similarity " + unrelatedSimilarity);
+
+        assertEquals(1, index.findSimilar(1L, 10, 0.5).size());
+        assertTrue(index.findSimilar(4L, 10, 0).isEmpty());
+    }
+
+    @Test
+    void fingerprint_ShouldBeEmptyForSilence() {
+        assertEquals(0, fingerprint(new float[SAMPLE_RATE * 5], 1.0f).length);
+    }
+
+    /**
+     * A sequence of random two-note chords with a decaying envelope, a new chord every quarter of a second.
+     */
+    private static float[] melody(long seed, int seconds) {
+        Random random = new Random(seed);
+        float[] samples = new float[SAMPLE_RATE * seconds];
+        int noteLength = SAMPLE_RATE / 4;
+        for (int start = 0; start < samples.length; start += noteLength) {
+            double first = 110 * Math.pow(2, random.nextInt(48) / 12.0);
+            double second = first * Math.pow(2, (3 + random.nextInt(6)) / 12.0);
+            for (int n = 0; n < noteLength && start + n < samples.length; n++) {
+                double t = n / (double) SAMPLE_RATE;
+                double envelope = Math.exp(-4 * t);
+                samples[start + n] = (float) (0.3 * envelope
+                        * (Math.sin(2 * Math.PI * first * t) + 0.6 * Math.sin(2 * Math.PI * second * t)));
+            }
+        }
+        return samples;
+    }
+
+    private static long[] fingerprint(float[] mono, float gain) {
+        AudioFingerprinter fingerprinter = new AudioFingerprinter();
+        fingerprinter.start(new PcmFormat(SAMPLE_RATE, 1, 16, false, mono.length));
+        float[] block = new float[4096];
+        for (int offset = 0; offset < mono.length; offset += block.length) {
+            int count = Math.min(block.length, mono.length - offset);
+            for (int i = 0; i < count; i++) {
+                block[i] = mono[offset + i] * gain;
+            }
+            fingerprinter.accept(block, count);
+        }
+        fingerprinter.end();
+        return fingerprinter.getFingerprint();
+    }
+}
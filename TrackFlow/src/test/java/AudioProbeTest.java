@@ -0,0 +1,212 @@
+import com.eql.cda.track.flow.service.audio.AudioProbe;
+import com.eql.cda.track.flow.service.audio.AudioProbeResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioProbeTest {
+
+    private final AudioProbe audioProbe = new AudioProbe();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void probeHeaders_ShouldReadWavDurationAndAcidTempo() throws IOException {
+        // 2 seconds of 48 kHz stereo 24-bit audio, with a LIST chunk before fmt and an acid chunk after data.
+        int byteRate = 48000 * 2 * 3;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ascii("RIFF"));
+        out.writeBytes(le32(0));
+        out.writeBytes(ascii("WAVE"));
+        out.writeBytes(ascii("LIST"));
+        out.writeBytes(le32(5));
+        out.writeBytes(new byte[6]);
+        out.writeBytes(ascii("fmt "));
+        out.writeBytes(le32(16));
+        out.writeBytes(ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putShort((short) 1).putShort((short) 2).putInt(48000).putInt(byteRate)
+                .putShort((short) 6).putShort((short) 24).array());
+        out.writeBytes(ascii("data"));
+        out.writeBytes(le32(2 * byteRate));
+        out.writeBytes(new byte[2 * byteRate]);
+        out.writeBytes(ascii("acid"));
+        out.writeBytes(le32(24));
+        out.writeBytes(ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN).putFloat(20, 126.5f).array());
+
+        AudioProbeResult result = probe(out.toByteArray(), "take.wav").orElseThrow();
+
+        assertEquals("WAV", result.getFormat());
+        assertEquals(2.0, result.getDurationSeconds(), 1e-9);
+        assertEquals(48000, result.getSampleRate());
+        assertEquals(2, result.getChannels());
+        assertEquals(24, result.getBitsPerSample());
+        assertEquals("126.5", result.getBpm());
+    }
+
+    @Test
+    void probeHeaders_ShouldReadAiffDuration() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ascii("FORM"));
+        out.writeBytes(be32(0));
+        out.writeBytes(ascii("AIFF"));
+        out.writeBytes(ascii("COMM"));
+        out.writeBytes(be32(18));
+        // 132300 frames at 44.1 kHz = 3 s; 44100 as an 80-bit extended float is 0x400E AC44000000000000.
+        out.writeBytes(ByteBuffer.allocate(18)
+                .putShort((short) 2).putInt(132300).putShort((short) 16)
+                .putShort((short) 0x400E).putLong(0xAC44000000000000L).array());
+        out.writeBytes(ascii("SSND"));
+        out.writeBytes(be32(8));
+        out.writeBytes(new byte[8]);
+
+        AudioProbeResult result = probe(out.toByteArray(), "take.aiff").orElseThrow();
+
+        assertEquals("AIFF", result.getFormat());
+        assertEquals(3.0, result.getDurationSeconds(), 1e-9);
+        assertEquals(44100, result.getSampleRate());
+        assertEquals(16, result.getBitsPerSample());
+    }
+
+    @Test
+    void probeHeaders_ShouldReadFlacStreamInfoAndVorbisBpm() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ascii("fLaC"));
+        out.writeBytes(new byte[]{0, 0, 0, 34});
+        long packed = (96000L << 44) | (1L << 41) | (23L << 36) | 480000L;
+        out.writeBytes(ByteBuffer.allocate(34).putLong(10, packed).array());
+
+        byte[] vendor = ascii("test");
+        byte[] comment = ascii("BPM=140");
+        ByteBuffer comments = ByteBuffer.allocate(4 + vendor.length + 4 + 4 + comment.length).order(ByteOrder.LITTLE_ENDIAN);
+        comments.putInt(vendor.length).put(vendor).putInt(1).putInt(comment.length).put(comment);
+        out.writeBytes(new byte[]{(byte) 0x84, 0, 0, (byte) comments.capacity()});
+        out.writeBytes(comments.array());
+        out.writeBytes(new byte[64]);
+
+        AudioProbeResult result = probe(out.toByteArray(), "take.flac").orElseThrow();
+
+        assertEquals("FLAC", result.getFormat());
+        assertEquals(5.0, result.getDurationSeconds(), 1e-9);
+        assertEquals(96000, result.getSampleRate());
+        assertEquals(2, result.getChannels());
+        assertEquals(24, result.getBitsPerSample());
+        assertEquals("140", result.getBpm());
+    }
+
+    @Test
+    void probeHeaders_ShouldIgnoreCorruptVorbisCommentLength() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ascii("fLaC"));
+        out.writeBytes(new byte[]{0, 0, 0, 34});
+        long packed = (44100L << 44) | (1L << 41) | (15L << 36) | 88200L;
+        out.writeBytes(ByteBuffer.allocate(34).putLong(10, packed).array());
+
+        byte[] vendor = ascii("test");
+        ByteBuffer comments = ByteBuffer.allocate(4 + vendor.length + 4 + 4 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        comments.putInt(vendor.length).put(vendor).putInt(1).putInt(0xFFFFFFF0).put(ascii("BPM=140\0"));
+        out.writeBytes(new byte[]{(byte) 0x84, 0, 0, (byte) comments.capacity()});
+        out.writeBytes(comments.array());
+        out.writeBytes(new byte[64]);
+
+        AudioProbeResult result = probe(out.toByteArray(), "corrupt.flac").orElseThrow();
+
+        assertEquals("FLAC", result.getFormat());
+        assertEquals(2.0, result.getDurationSeconds(), 1e-9);
+        assertNull(result.getBpm());
+    }
+
+    @Test
+    void probeHeaders_ShouldReadMp3XingFrameCountAndId3Bpm() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(id3v23WithBpm("98"));
+        // MPEG-1 Layer III, 128 kbps, 44.1 kHz, joint stereo: 417 bytes per frame.
+        byte[] firstFrame = mpegFrame();
+        ByteBuffer.wrap(firstFrame).position(4 + 32).put(ascii("Xing")).putInt(0x1).putInt(1000);
+        out.writeBytes(firstFrame);
+        for (int i = 0; i < 3; i++) {
+            out.writeBytes(mpegFrame());
+        }
+
+        AudioProbeResult result = probe(out.toByteArray(), "take.mp3").orElseThrow();
+
+        assertEquals("MP3", result.getFormat());
+        assertEquals(1000 * 1152 / 44100.0, result.getDurationSeconds(), 1e-9);
+        assertEquals(26, result.getRoundedDurationSeconds());
+        assertEquals(44100, result.getSampleRate());
+        assertEquals("98", result.getBpm());
+    }
+
+    @Test
+    void probeHeaders_ShouldEstimateConstantBitrateMp3Duration() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 40; i++) {
+            out.writeBytes(mpegFrame());
+        }
+        byte[] id3v1 = new byte[128];
+        System.arraycopy(ascii("TAG"), 0, id3v1, 0, 3);
+        out.writeBytes(id3v1);
+
+        AudioProbeResult result = probe(out.toByteArray(), "take.mp3").orElseThrow();
+
+        assertEquals(40 * 417 * 8 / 128000.0, result.getDurationSeconds(), 1e-9);
+        assertNull(result.getBpm());
+    }
+
+    @Test
+    void probeHeaders_ShouldReturnEmptyForUnknownFormat() throws IOException {
+        byte[] ogg = new byte[4096];
+        System.arraycopy(ascii("OggS"), 0, ogg, 0, 4);
+
+        assertTrue(probe(ogg, "take.ogg").isEmpty());
+        assertTrue(probe(new byte[4096], "take.bin").isEmpty());
+    }
+
+    private Optional<AudioProbeResult> probe(byte[] content, String fileName) throws IOException {
+        Path file = tempDir.resolve(fileName);
+        Files.write(file, content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return audioProbe.probeHeaders(channel);
+        }
+    }
+
+    private static byte[] mpegFrame() {
+        byte[] frame = new byte[417];
+        ByteBuffer.wrap(frame).putInt(0xFFFB9040);
+        return frame;
+    }
+
+    private static byte[] id3v23WithBpm(String bpm) {
+        byte[] text = ascii(bpm);
+        int frameSize = 1 + text.length;
+        int tagSize = 10 + frameSize + 16;
+        ByteBuffer tag = ByteBuffer.allocate(10 + tagSize);
+        tag.put(ascii("ID3")).put((byte) 3).put((byte) 0).put((byte) 0).putInt(tagSize);
+        tag.put(ascii("TBPM")).putInt(frameSize).putShort((short) 0).put((byte) 0).put(text);
+        return tag.array();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] le32(int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+
+    private static byte[] be32(int value) {
+        return ByteBuffer.allocate(4).putInt(value).array();
+    }
+}
@@ -0,0 +1,42 @@
+import com.eql.cda.track.flow.service.storage.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAnAddedPath() {
+        BloomFilter filter = new BloomFilter(50_000, 0.001);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put(path(i));
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filter.mightContain(path(i)), path(i));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put(path(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 50_000; i < 150_000; i++) {
+            if (filter.mightContain(path(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertTrue(filter.sizeBytes() < 100_000, "size: " + filter.sizeBytes());
+    }
+
+    private static String path(int i) {
+        return "compositions/" + (i % 97) + "/versions/" + new UUID(i, i * 31L) + ".wav";
+    }
+}
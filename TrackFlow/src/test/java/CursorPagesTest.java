@@ -0,0 +1,54 @@
+import com.eql.cda.track.flow.dto.CursorPageDto;
+import com.eql.cda.track.flow.exception.InvalidCursorException;
+import com.eql.cda.track.flow.service.pagination.Cursor;
+import com.eql.cda.track.flow.service.pagination.CursorPages;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPagesTest {
+
+    @Test
+    void decode_ShouldRestoreAnEncodedCursorToTheNanosecond() {
+        Cursor cursor = new Cursor(Instant.parse("2024-03-01T10:15:30.123456789Z"), 42L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedCursors() {
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("MTIzOmFiYzo0Mg"));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("MTIz"));
+    }
+
+    @Test
+    void toPage_ShouldCutTheExtraRowAndPointTheCursorAtTheLastItem() {
+        Instant now = Instant.now();
+        List<Cursor> rows = List.of(new Cursor(now, 9L), new Cursor(now, 7L), new Cursor(now.minusSeconds(1), 8L));
+
+        CursorPageDto<Long> page = CursorPages.toPage(rows, 2, row -> row, Cursor::id);
+
+        assertEquals(List.of(9L, 7L), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals(new Cursor(now, 7L), Cursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void toPage_ShouldEndTheListWhenNoExtraRowWasRead() {
+        List<Cursor> rows = List.of(new Cursor(Instant.now(), 1L));
+
+        CursorPageDto<Long> page = CursorPages.toPage(rows, 2, row -> row, Cursor::id);
+
+        assertEquals(List.of(1L), page.getContent());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,100 @@
+import com.eql.cda.track.flow.repository.BranchRepository;
+import com.eql.cda.track.flow.repository.CompositionRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HierarchyResolverTest {
+
+    @Mock
+    private CompositionRepository compositionRepository;
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private VersionRepository versionRepository;
+
+    private HierarchyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new HierarchyResolver(compositionRepository, branchRepository, versionRepository, 30, 100);
+    }
+
+    @Test
+    void requireVersion_ShouldResolveThePathOnceAndServeRepeatsFromTheCache() {
+        when(versionRepository.findPathById(40L)).thenReturn(Optional.of(versionPath(1L, 2L, 3L)));
+
+        resolver.requireVersion(1L, 2L, 3L, 40L);
+        resolver.requireVersion(1L, 2L, 3L, 40L);
+
+        verify(versionRepository, times(1)).findPathById(40L);
+        verifyNoInteractions(branchRepository, compositionRepository);
+    }
+
+    @Test
+    void requireVersion_ShouldRejectAPathThroughAnotherProjectOrBranch() {
+        when(versionRepository.findPathById(40L)).thenReturn(Optional.of(versionPath(1L, 2L, 3L)));
+
+        assertThrows(AccessDeniedException.class, () -> resolver.requireVersion(9L, 2L, 3L, 40L));
+        assertThrows(AccessDeniedException.class, () -> resolver.requireVersion(1L, 9L, 3L, 40L));
+        assertThrows(AccessDeniedException.class, () -> resolver.requireVersion(1L, 2L, 9L, 40L));
+        verify(versionRepository, times(1)).findPathById(40L);
+    }
+
+    @Test
+    void requireBranch_ShouldNotCacheMissingBranches() {
+        when(branchRepository.findPathById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> resolver.requireBranch(1L, 2L, 3L));
+        assertThrows(EntityNotFoundException.class, () -> resolver.requireBranch(1L, 2L, 3L));
+
+        verify(branchRepository, times(2)).findPathById(3L);
+    }
+
+    @Test
+    void evictCompositions_ShouldForgetThePathsBelowTheDeletedCompositions() {
+        when(compositionRepository.findProjectIdById(2L)).thenReturn(Optional.of(1L));
+        when(versionRepository.findPathById(40L)).thenReturn(Optional.of(versionPath(1L, 2L, 3L)));
+        resolver.requireComposition(1L, 2L);
+        resolver.requireVersion(1L, 2L, 3L, 40L);
+
+        resolver.evictCompositions(List.of(2L));
+        resolver.requireComposition(1L, 2L);
+        resolver.requireVersion(1L, 2L, 3L, 40L);
+
+        verify(compositionRepository, times(2)).findProjectIdById(2L);
+        verify(versionRepository, times(2)).findPathById(40L);
+    }
+
+    private static VersionRepository.VersionPath versionPath(Long projectId, Long compositionId, Long branchId) {
+        return new VersionRepository.VersionPath() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public Long getCompositionId() {
+                return compositionId;
+            }
+
+            @Override
+            public Long getBranchId() {
+                return branchId;
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+import com.eql.cda.track.flow.entity.StorageTier;
+import com.eql.cda.track.flow.service.implementation.LocalFileSystemStorageServiceImpl;
+import com.eql.cda.track.flow.service.storage.ObjectListing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileSystemStorageServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8080/api/storage/files";
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path archive;
+
+    @Test
+    void uploadStream_ShouldStoreFileAndReturnUrlUnderstoodByExtract() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+        byte[] content = "RIFF....WAVE".getBytes(StandardCharsets.US_ASCII);
+
+        String url = storage.uploadStream(new ByteArrayInputStream(content), content.length, "audio/wav", "compositions/1/versions/a b.wav");
+
+        assertEquals(BASE_URL + "/compositions/1/versions/a%20b.wav", url);
+        assertEquals("compositions/1/versions/a b.wav", storage.extractObjectPathFromUrl(url));
+        assertArrayEquals(content, Files.readAllBytes(root.resolve("compositions/1/versions/a b.wav")));
+        try (var stream = Files.list(root.resolve("compositions/1/versions"))) {
+            assertEquals(1, stream.count());
+        }
+    }
+
+    @Test
+    void composeObjects_ShouldConcatenateSourcesInOrder() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, null, "uploads/s/chunk-00000");
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{4, 5}), 2, null, "uploads/s/chunk-00001");
+
+        storage.composeObjects(List.of("uploads/s/chunk-00000", "uploads/s/chunk-00001"), "audio/wav", "out.wav");
+
+        try (SeekableByteChannel channel = storage.openReadChannel("out.wav")) {
+            assertEquals(5, channel.size());
+            ByteBuffer tail = ByteBuffer.allocate(2);
+            channel.position(3).read(tail);
+            assertArrayEquals(new byte[]{4, 5}, tail.array());
+        }
+        assertTrue(storage.deleteFile("out.wav"));
+        assertThrows(FileNotFoundException.class, () -> storage.openReadChannel("out.wav"));
+    }
+
+    @Test
+    void listObjects_ShouldPageThroughAPrefixInOrder() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+        for (String path : List.of("compositions/2/versions/b.wav", "compositions/1/versions/a.wav",
+                "compositions/1/versions/a.wav.peaks", "uploads/s/chunk-00000", "compositions/3/versions/c.wav")) {
+            storage.uploadStream(new ByteArrayInputStream(new byte[]{1, 2}), 2, null, path);
+        }
+
+        List<String> listed = new ArrayList<>();
+        String pageToken = null;
+        int pages = 0;
+        do {
+            ObjectListing listing = storage.listObjects("compositions/", pageToken, 2);
+            listing.objects().forEach(object -> listed.add(object.objectPath()));
+            assertTrue(listing.objects().stream().allMatch(object -> object.sizeBytes() == 2 && object.createdDate() != null));
+            pageToken = listing.nextPageToken();
+            pages++;
+        } while (pageToken != null);
+
+        assertEquals(List.of("compositions/1/versions/a.wav", "compositions/1/versions/a.wav.peaks",
+                "compositions/2/versions/b.wav", "compositions/3/versions/c.wav"), listed);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void deleteFiles_ShouldDeleteExistingObjectsAndReportOnlyFailures() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{1}), 1, null, "compositions/1/a.wav");
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{1}), 1, null, "compositions/1/a.wav.peaks");
+
+        List<String> failed = storage.deleteFiles(List.of("compositions/1/a.wav", "compositions/1/a.wav.peaks",
+                "compositions/1/missing.wav", "../outside.wav"));
+
+        assertEquals(List.of("../outside.wav"), failed);
+        assertTrue(storage.listObjects("compositions/", null, 10).objects().isEmpty());
+    }
+
+    @Test
+    void changeStorageTier_ShouldKeepTheObjectReadableInBothTiers() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, null, "compositions/1/a.wav");
+
+        storage.changeStorageTier("compositions/1/a.wav", StorageTier.COLD);
+        storage.changeStorageTier("compositions/1/a.wav", StorageTier.COLD);
+
+        assertFalse(Files.exists(storage.resolve("compositions/1/a.wav")));
+        assertEquals(archive.resolve("compositions/1/a.wav"), storage.locate("compositions/1/a.wav"));
+        assertEquals(3, storage.getObjectSize("compositions/1/a.wav"));
+        try (SeekableByteChannel channel = storage.openReadChannel("compositions/1/a.wav")) {
+            assertEquals(3, channel.size());
+        }
+
+        storage.changeStorageTier("compositions/1/a.wav", StorageTier.HOT);
+
+        assertTrue(Files.exists(storage.resolve("compositions/1/a.wav")));
+        assertFalse(Files.exists(archive.resolve("compositions/1/a.wav")));
+        assertThrows(FileNotFoundException.class, () -> storage.changeStorageTier("compositions/1/missing.wav", StorageTier.COLD));
+    }
+
+    @Test
+    void resolve_ShouldRejectPathsOutsideRoot() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../secret"));
+        assertNull(storage.extractObjectPathFromUrl("https://storage.googleapis.com/bucket/file.wav"));
+    }
+
+    @Test
+    void generateSignedUploadUrl_ShouldBeVerifiableOnlyForTheSignedObject() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root, BASE_URL, "test-key", archive);
+
+        String url = storage.generateSignedUploadUrl("compositions/1/versions/a.wav", "audio/wav", Duration.ofMinutes(5));
+        URI uri = URI.create(url);
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : uri.getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(pair[0], URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+        }
+        long expires = Long.parseLong(query.get("expires"));
+
+        assertEquals("compositions/1/versions/a.wav", storage.extractObjectPathFromUrl(url.substring(0, url.indexOf('?'))));
+        assertEquals("audio/wav", query.get("contentType"));
+        assertTrue(storage.verifySignedUpload("compositions/1/versions/a.wav", "audio/wav", expires, query.get("signature")));
+        assertFalse(storage.verifySignedUpload("compositions/1/versions/b.wav", "audio/wav", expires, query.get("signature")));
+        assertFalse(storage.verifySignedUpload("compositions/1/versions/a.wav", null, expires, query.get("signature")));
+        assertFalse(storage.verifySignedUpload("compositions/1/versions/a.wav", "audio/wav", expires + 1, query.get("signature")));
+    }
+}
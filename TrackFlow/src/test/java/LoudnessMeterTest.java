@@ -0,0 +1,74 @@
+import com.eql.cda.track.flow.service.audio.LoudnessMeter;
+import com.eql.cda.track.flow.service.audio.PcmFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoudnessMeterTest {
+
+    @Test
+    void measure_ShouldReadReferenceSineAtItsLevel() {
+        // BS.1770: a 1 kHz sine at -20 dBFS on both channels of a stereo stream measures -20 LUFS.
+        double amplitude = Math.pow(10, -20 / 20.0);
+        LoudnessMeter meter = measure(48000, 2, 48000 * 10, n -> amplitude * Math.sin(2 * Math.PI * 1000 * n / 48000));
+
+        assertEquals(-20.0, meter.getIntegratedLoudness(), 0.1);
+        assertEquals(-20.0, meter.getTruePeak(), 0.1);
+        assertEquals(0, meter.getClippedSamples());
+        float[] shortTerm = meter.getShortTermLoudness();
+        assertEquals(10, shortTerm.length);
+        assertEquals(-20.0, shortTerm[5], 0.1);
+    }
+
+    @Test
+    void measure_ShouldGateOutSilence() {
+        // 5 s of tone followed by 5 s of silence: the silence must not lower the integrated loudness.
+        double amplitude = Math.pow(10, -20 / 20.0);
+        LoudnessMeter meter = measure(44100, 2, 44100 * 10,
+                n -> n < 44100 * 5 ? amplitude * Math.sin(2 * Math.PI * 1000 * n / 44100) : 0);
+
+        assertEquals(-20.0, meter.getIntegratedLoudness(), 0.2);
+        assertEquals(-70.0, meter.getShortTermLoudness()[9], 1e-6);
+    }
+
+    @Test
+    void measure_ShouldFindInterSamplePeaksAndClipping() {
+        // A sine at a quarter of the sample rate, sampled 45 degrees off its crests, peaks 3 dB above its samples.
+        double amplitude = 0.9 * Math.sqrt(2);
+        LoudnessMeter intersample = measure(44100, 1, 44100, n -> amplitude * Math.sin(Math.PI / 2 * n + Math.PI / 4));
+
+        assertEquals(20 * Math.log10(amplitude), intersample.getTruePeak(), 0.3);
+        assertEquals(0, intersample.getClippedSamples());
+
+        LoudnessMeter clipped = measure(44100, 2, 1000, n -> n % 4 < 2 ? 1.0 : -1.0);
+        assertEquals(2000, clipped.getClippedSamples());
+    }
+
+    @Test
+    void measure_ShouldReportNothingForSilence() {
+        LoudnessMeter meter = measure(48000, 2, 48000, n -> 0);
+
+        assertNull(meter.getIntegratedLoudness());
+        assertNull(meter.getTruePeak());
+    }
+
+    private static LoudnessMeter measure(int sampleRate, int channels, int frames, IntToDoubleFunction signal) {
+        LoudnessMeter meter = new LoudnessMeter();
+        meter.start(new PcmFormat(sampleRate, channels, 24, false, frames));
+        float[] block = new float[4096 * channels];
+        for (int offset = 0; offset < frames; offset += 4096) {
+            int count = Math.min(4096, frames - offset);
+            for (int frame = 0; frame < count; frame++) {
+                float value = (float) signal.applyAsDouble(offset + frame);
+                for (int channel = 0; channel < channels; channel++) {
+                    block[frame * channels + channel] = value;
+                }
+            }
+            meter.accept(block, count);
+        }
+        meter.end();
+        return meter;
+    }
+}
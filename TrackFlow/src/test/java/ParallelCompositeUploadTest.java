@@ -0,0 +1,147 @@
+import com.eql.cda.track.flow.service.implementation.GoogleCloudStorageServiceImpl;
+import com.eql.cda.track.flow.service.storage.ParallelCompositeUploader;
+import com.eql.cda.track.flow.service.storage.StorageMetrics;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCompositeUploadTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private final InMemoryStorage fake = new InMemoryStorage();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadStream_ShouldComposeLargeStreamFromParallelParts() throws Exception {
+        GoogleCloudStorageServiceImpl service = service(fake.storage());
+        byte[] content = randomBytes(1_300_000);
+
+        String url = service.uploadStream(new ByteArrayInputStream(content), content.length, "audio/wav", "compositions/1/versions/big.wav");
+
+        assertEquals("https://storage.googleapis.com/test-bucket/compositions/1/versions/big.wav", url);
+        assertArrayEquals(content, fake.objects.get("compositions/1/versions/big.wav"));
+        assertEquals(5, fake.createdParts.get());
+        assertEquals(1, fake.objects.size(), "parts must be deleted once composed");
+    }
+
+    @Test
+    void uploadStream_ShouldUseSingleWriterBelowThreshold() throws Exception {
+        GoogleCloudStorageServiceImpl service = service(fake.storage());
+        byte[] content = randomBytes(100_000);
+
+        service.uploadStream(new ByteArrayInputStream(content), content.length, "audio/wav", "small.wav");
+
+        assertArrayEquals(content, fake.objects.get("small.wav"));
+        assertEquals(0, fake.createdParts.get());
+    }
+
+    @Test
+    void uploadStream_ShouldDeletePartsWhenOneFails() {
+        fake.failingPart = "part-00002";
+        GoogleCloudStorageServiceImpl service = service(fake.storage());
+        byte[] content = randomBytes(1_300_000);
+
+        assertThrows(IOException.class,
+                () -> service.uploadStream(new ByteArrayInputStream(content), content.length, "audio/wav", "broken.wav"));
+        assertTrue(fake.objects.isEmpty());
+    }
+
+    private GoogleCloudStorageServiceImpl service(Storage storage) {
+        ParallelCompositeUploader uploader = new ParallelCompositeUploader(storage, BUCKET,
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(256), 2, executor);
+        return new GoogleCloudStorageServiceImpl(storage, BUCKET, DataSize.ofKilobytes(256), 2,
+                new StorageMetrics(new SimpleMeterRegistry()), uploader, "STANDARD", "COLDLINE");
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * A {@link Storage} keeping objects in a map, implementing only the calls made by the upload path.
+     */
+    private static class InMemoryStorage {
+
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final AtomicInteger createdParts = new AtomicInteger();
+        volatile String failingPart;
+
+        Storage storage() {
+            return (Storage) Proxy.newProxyInstance(Storage.class.getClassLoader(), new Class<?>[]{Storage.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "create" -> {
+                            BlobInfo info = (BlobInfo) args[0];
+                            if (failingPart != null && info.getName().endsWith(failingPart)) {
+                                throw new StorageException(503, "Simulated failure");
+                            }
+                            int offset = (int) args[2];
+                            objects.put(info.getName(), Arrays.copyOfRange((byte[]) args[1], offset, offset + (int) args[3]));
+                            createdParts.incrementAndGet();
+                            yield null;
+                        }
+                        case "compose" -> {
+                            Storage.ComposeRequest request = (Storage.ComposeRequest) args[0];
+                            ByteArrayOutputStream composed = new ByteArrayOutputStream();
+                            for (Storage.ComposeRequest.SourceBlob source : request.getSourceBlobs()) {
+                                composed.write(objects.get(source.getName()));
+                            }
+                            objects.put(request.getTarget().getName(), composed.toByteArray());
+                            yield null;
+                        }
+                        case "delete" -> objects.remove(((BlobId) args[0]).getName()) != null;
+                        case "writer" -> writer(((BlobInfo) args[0]).getName());
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private WriteChannel writer(String name) {
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            return (WriteChannel) Proxy.newProxyInstance(WriteChannel.class.getClassLoader(), new Class<?>[]{WriteChannel.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "write" -> {
+                            ByteBuffer source = (ByteBuffer) args[0];
+                            byte[] bytes = new byte[source.remaining()];
+                            source.get(bytes);
+                            written.write(bytes);
+                            yield bytes.length;
+                        }
+                        case "close" -> {
+                            objects.put(name, written.toByteArray());
+                            yield null;
+                        }
+                        case "isOpen" -> true;
+                        case "setChunkSize" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
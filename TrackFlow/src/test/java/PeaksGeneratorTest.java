@@ -0,0 +1,104 @@
+import com.eql.cda.track.flow.service.audio.PcmFormat;
+import com.eql.cda.track.flow.service.audio.PcmStreamDecoder;
+import com.eql.cda.track.flow.service.audio.PeaksFile;
+import com.eql.cda.track.flow.service.audio.PeaksGenerator;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeaksGeneratorTest {
+
+    private final PcmStreamDecoder decoder = new PcmStreamDecoder();
+
+    @Test
+    void decode_ShouldComputeMultiLevelPeaksOfStereoWav() throws Exception {
+        // 10 s of 44.1 kHz stereo 16-bit audio: left channel silent, right channel a half-scale square wave.
+        int frames = 441000;
+        ByteBuffer pcm = ByteBuffer.allocate(frames * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            pcm.putShort((short) 0);
+            pcm.putShort((short) ((i / 100) % 2 == 0 ? 16384 : -16384));
+        }
+
+        PeaksGenerator generator = new PeaksGenerator();
+        PcmFormat format = decoder.decode(new ByteArrayInputStream(wav(2, 44100, 16, pcm.array())), generator);
+        PeaksFile peaks = generator.toPeaksFile();
+
+        assertEquals(frames, format.getTotalFrames());
+        assertEquals(44100, peaks.getSampleRate());
+        assertEquals(frames, peaks.getTotalFrames());
+        PeaksFile.Level finest = peaks.getLevels().get(0);
+        assertEquals(256, finest.getSamplesPerBucket());
+        assertEquals((frames + 255) / 256, finest.getBucketCount());
+        assertEquals(-16384, finest.getMin(0));
+        assertEquals(16384, finest.getMax(0));
+        PeaksFile.Level coarsest = peaks.getLevels().get(peaks.getLevels().size() - 1);
+        assertTrue(coarsest.getBucketCount() <= 1024);
+        assertEquals(256 * 4, peaks.getLevels().get(1).getSamplesPerBucket());
+    }
+
+    @Test
+    void encode_ShouldRoundTripThroughBinaryFormat() throws Exception {
+        ByteBuffer pcm = ByteBuffer.allocate(3 * 1000).order(ByteOrder.BIG_ENDIAN);
+        for (int i = 0; i < 1000; i++) {
+            int sample = i < 500 ? 0x400000 : -0x200000;
+            pcm.put((byte) (sample >> 16)).put((byte) (sample >> 8)).put((byte) sample);
+        }
+        PeaksGenerator generator = new PeaksGenerator();
+        decoder.decode(new ByteArrayInputStream(aiff(1, 1000, 24, pcm.array())), generator);
+
+        byte[] encoded = generator.toPeaksFile().encode(16);
+        PeaksFile decoded = PeaksFile.decode(encoded);
+
+        assertEquals("TFPK", new String(encoded, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(1, decoded.getLevels().size());
+        PeaksFile.Level level = decoded.getLevels().get(0);
+        assertEquals(4, level.getBucketCount());
+        assertEquals(16384, level.getMax(0));
+        assertEquals(-8192, level.getMin(3));
+
+        PeaksFile compact = PeaksFile.decode(generator.toPeaksFile().encode(8));
+        assertEquals(16384, compact.getLevels().get(0).getMax(0));
+    }
+
+    @Test
+    void decode_ShouldRejectCompressedFormats() {
+        byte[] mp3 = new byte[64];
+        mp3[0] = (byte) 0xFF;
+        mp3[1] = (byte) 0xFB;
+
+        assertThrows(UnsupportedAudioFileException.class,
+                () -> decoder.decode(new ByteArrayInputStream(mp3), new PeaksGenerator()));
+    }
+
+    private static byte[] wav(int channels, int sampleRate, int bits, byte[] data) {
+        int blockAlign = channels * bits / 8;
+        ByteBuffer wav = ByteBuffer.allocate(44 + data.length).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put(ascii("RIFF")).putInt(36 + data.length).put(ascii("WAVE"));
+        wav.put(ascii("fmt ")).putInt(16).putShort((short) 1).putShort((short) channels)
+                .putInt(sampleRate).putInt(sampleRate * blockAlign).putShort((short) blockAlign).putShort((short) bits);
+        wav.put(ascii("data")).putInt(data.length).put(data);
+        return wav.array();
+    }
+
+    private static byte[] aiff(int channels, int sampleRate, int bits, byte[] data) {
+        int frames = data.length / (channels * bits / 8);
+        ByteBuffer aiff = ByteBuffer.allocate(12 + 26 + 16 + data.length);
+        aiff.put(ascii("FORM")).putInt(aiff.capacity() - 8).put(ascii("AIFF"));
+        aiff.put(ascii("COMM")).putInt(18).putShort((short) channels).putInt(frames).putShort((short) bits);
+        int exponent = 31 - Integer.numberOfLeadingZeros(sampleRate);
+        aiff.putShort((short) (16383 + exponent)).putLong((long) sampleRate << (63 - exponent));
+        aiff.put(ascii("SSND")).putInt(8 + data.length).putInt(0).putInt(0).put(data);
+        return aiff.array();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
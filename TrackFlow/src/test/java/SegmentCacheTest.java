@@ -0,0 +1,67 @@
+import com.eql.cda.track.flow.service.implementation.LocalFileSystemStorageServiceImpl;
+import com.eql.cda.track.flow.service.storage.SegmentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentCacheTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void resource_ShouldServeObjectAcrossSegmentsAndSkipToRanges() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root.resolve("storage"), "http://localhost/files", "key", root.resolve("archive"));
+        byte[] content = new byte[10_000];
+        new Random(7).nextBytes(content);
+        storage.uploadStream(new ByteArrayInputStream(content), content.length, "audio/wav", "a.wav");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SegmentCache cache = new SegmentCache(storage, root.resolve("cache"), DataSize.ofBytes(4096), DataSize.ofBytes(8192), registry);
+
+        Resource resource = cache.resource("a.wav");
+        assertEquals(content.length, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(9000, in.skip(9000));
+            assertArrayEquals(Arrays.copyOfRange(content, 9000, 10_000), in.readAllBytes());
+        }
+
+        assertEquals(3, registry.counter("trackflow.audio.cache.requests", "result", "miss").count());
+        assertTrue(registry.counter("trackflow.audio.cache.requests", "result", "hit").count() >= 1);
+        try (var files = Files.list(root.resolve("cache"))) {
+            assertEquals(2, files.count(), "the least recently used segment must be evicted past the size limit");
+        }
+    }
+
+    @Test
+    void evict_ShouldDropSegmentsOfDeletedObject() throws Exception {
+        LocalFileSystemStorageServiceImpl storage = new LocalFileSystemStorageServiceImpl(root.resolve("storage"), "http://localhost/files", "key", root.resolve("archive"));
+        storage.uploadStream(new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, null, "b.wav");
+        SegmentCache cache = new SegmentCache(storage, root.resolve("cache"), DataSize.ofBytes(4096), DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+        ByteBuffer segment = cache.segment("b.wav", 0);
+        assertEquals(3, segment.remaining());
+        storage.deleteFile("b.wav");
+        cache.evict("b.wav");
+
+        try (var files = Files.list(root.resolve("cache"))) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(FileNotFoundException.class, () -> cache.resource("b.wav"));
+    }
+}
@@ -0,0 +1,80 @@
+import com.eql.cda.track.flow.service.audio.PcmFormat;
+import com.eql.cda.track.flow.service.audio.TempoKeyAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TempoKeyAnalyzerTest {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    @Test
+    void analyze_ShouldFindTempoOfClickTrack() {
+        // 20 s of decaying noise bursts at 128 BPM, in stereo.
+        Random random = new Random(1);
+        double beat = 60.0 / 128;
+        TempoKeyAnalyzer analyzer = analyze(2, 20, t -> {
+            double sinceBeat = t % beat;
+            return sinceBeat < 0.05 ? (random.nextDouble() * 2 - 1) * Math.exp(-sinceBeat * 80) : 0;
+        });
+
+        assertNotNull(analyzer.getBpm());
+        assertEquals(128, analyzer.getBpm(), 1.0);
+    }
+
+    @Test
+    void analyze_ShouldFindMajorKeyOfCadence() {
+        // I - IV - V - I in C major, each chord held for 2 s.
+        double[][] chords = {{60, 64, 67}, {65, 69, 72}, {67, 71, 74}, {60, 64, 67}};
+        TempoKeyAnalyzer analyzer = analyze(1, 8, t -> chord(chords[(int) (t / 2)], t));
+
+        assertEquals("C Major", analyzer.getKey());
+    }
+
+    @Test
+    void analyze_ShouldFindMinorKeyOfCadence() {
+        // i - iv - V - i in A minor.
+        double[][] chords = {{57, 60, 64}, {62, 65, 69}, {64, 68, 71}, {57, 60, 64}};
+        TempoKeyAnalyzer analyzer = analyze(1, 8, t -> chord(chords[(int) (t / 2)], t));
+
+        assertEquals("A Minor", analyzer.getKey());
+    }
+
+    @Test
+    void analyze_ShouldReportNothingForSilence() {
+        TempoKeyAnalyzer analyzer = analyze(1, 10, t -> 0);
+
+        assertNull(analyzer.getBpm());
+        assertNull(analyzer.getKey());
+    }
+
+    private static double chord(double[] midiNotes, double t) {
+        double value = 0;
+        for (double note : midiNotes) {
+            double frequency = 440 * Math.pow(2, (note - 69) / 12);
+            value += 0.2 * Math.sin(2 * Math.PI * frequency * t) + 0.05 * Math.sin(4 * Math.PI * frequency * t);
+        }
+        return value;
+    }
+
+    private static TempoKeyAnalyzer analyze(int channels, int seconds, java.util.function.DoubleUnaryOperator signal) {
+        TempoKeyAnalyzer analyzer = new TempoKeyAnalyzer();
+        analyzer.start(new PcmFormat(SAMPLE_RATE, channels, 16, false, (long) SAMPLE_RATE * seconds));
+        float[] block = new float[4096 * channels];
+        int total = SAMPLE_RATE * seconds;
+        for (int offset = 0; offset < total; offset += 4096) {
+            int frames = Math.min(4096, total - offset);
+            for (int frame = 0; frame < frames; frame++) {
+                float value = (float) signal.applyAsDouble((offset + frame) / (double) SAMPLE_RATE);
+                for (int channel = 0; channel < channels; channel++) {
+                    block[frame * channels + channel] = value;
+                }
+            }
+            analyzer.accept(block, frames);
+        }
+        analyzer.end();
+        return analyzer;
+    }
+}
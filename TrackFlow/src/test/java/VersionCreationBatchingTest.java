@@ -0,0 +1,103 @@
+import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
+import com.eql.cda.track.flow.dto.versionDto.VersionViewDto;
+import com.eql.cda.track.flow.entity.Annotation;
+import com.eql.cda.track.flow.entity.Branch;
+import com.eql.cda.track.flow.entity.Version;
+import com.eql.cda.track.flow.repository.AnnotationRepository;
+import com.eql.cda.track.flow.repository.BranchRepository;
+import com.eql.cda.track.flow.repository.VersionRepository;
+import com.eql.cda.track.flow.service.FingerprintService;
+import com.eql.cda.track.flow.service.PeaksService;
+import com.eql.cda.track.flow.service.StorageService;
+import com.eql.cda.track.flow.service.StorageTieringService;
+import com.eql.cda.track.flow.service.StoredObjectService;
+import com.eql.cda.track.flow.service.audio.WaveformDiffCache;
+import com.eql.cda.track.flow.service.hierarchy.HierarchyResolver;
+import com.eql.cda.track.flow.service.implementation.VersionServiceImpl;
+import com.eql.cda.track.flow.service.mapper.VersionMapper;
+import com.eql.cda.track.flow.service.storage.SegmentCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VersionCreationBatchingTest {
+
+    @Mock
+    private VersionRepository versionRepository;
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private AnnotationRepository annotationRepository;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private VersionMapper versionMapper;
+    @Mock
+    private PeaksService peaksService;
+    @Mock
+    private StoredObjectService storedObjectService;
+    @Mock
+    private SegmentCache segmentCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private FingerprintService fingerprintService;
+    @Mock
+    private WaveformDiffCache waveformDiffCache;
+    @Mock
+    private StorageTieringService storageTieringService;
+    @Mock
+    private HierarchyResolver hierarchyResolver;
+
+    private VersionServiceImpl versionService;
+
+    @BeforeEach
+    void setUp() {
+        versionService = new VersionServiceImpl(versionRepository, branchRepository, annotationRepository, storageService,
+                versionMapper, peaksService, storedObjectService, segmentCache, eventPublisher,
+                fingerprintService, waveformDiffCache, storageTieringService, hierarchyResolver);
+    }
+
+    @Test
+    void createVersion_ShouldResolveInOneStatementAndCascadeTheCarriedOverAnnotationsWithTheVersion() {
+        VersionCreateDto dto = new VersionCreateDto();
+        dto.setParentVersionId(7L);
+        dto.setAnnotationIdsToResolve(List.of(1L, 2L, 3L));
+        Version version = new Version();
+        List<Annotation> unresolved = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Annotation annotation = new Annotation();
+            annotation.setContent("Note " + i);
+            annotation.setTimePosition(i * 1.5f);
+            unresolved.add(annotation);
+        }
+        when(branchRepository.findById(3L)).thenReturn(Optional.of(new Branch()));
+        when(versionMapper.toEntity(dto)).thenReturn(version);
+        when(annotationRepository.findByVersionIdAndIsResolvedFalse(7L)).thenReturn(unresolved);
+        when(versionRepository.save(version)).thenReturn(version);
+        when(versionMapper.toViewDto(version)).thenReturn(new VersionViewDto());
+
+        versionService.createVersion(1L, 2L, 3L, dto);
+
+        verify(annotationRepository, times(1)).markResolved(List.of(1L, 2L, 3L));
+        verify(annotationRepository, never()).findAllById(anyList());
+        verify(annotationRepository, never()).saveAll(anyList());
+        verify(annotationRepository, never()).save(any());
+        verify(versionRepository, times(1)).save(version);
+        assertEquals(200, version.getAnnotations().size());
+        assertTrue(version.getAnnotations().stream().allMatch(clone -> clone.getVersion() == version && clone.getId() == null));
+    }
+}
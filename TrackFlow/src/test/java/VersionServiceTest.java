@@ -1,5 +1,6 @@
 
 
+import com.eql.cda.track.flow.dto.CursorPageDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionCreateDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionSummaryDto;
 import com.eql.cda.track.flow.dto.versionDto.VersionUpdateDto;
@@ -16,7 +17,9 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -145,11 +148,11 @@ class VersionServiceTest {
                 createVersionSummaryDto(3L, "Version 2.0")
         );
 
-        when(versionService.getVersionsByBranch(anyLong(), anyLong(), anyLong()))
-                .thenReturn(expectedVersions);
+        when(versionService.getVersionsByBranch(anyLong(), anyLong(), anyLong(), isNull(), anyInt()))
+                .thenReturn(new CursorPageDto<>(expectedVersions, null));
 
 
-        List<VersionSummaryDto> result = versionService.getVersionsByBranch(projectId, compositionId, branchId);
+        List<VersionSummaryDto> result = versionService.getVersionsByBranch(projectId, compositionId, branchId, null, 20).getContent();
 
 
         assertNotNull(result);
@@ -161,23 +164,23 @@ class VersionServiceTest {
         assertEquals(expectedVersions.get(1).getBranchName(), result.get(1).getBranchName());
         assertEquals(expectedVersions.get(2).getBranchName(), result.get(2).getBranchName());
 
-        verify(versionService, times(1)).getVersionsByBranch(projectId, compositionId, branchId);
+        verify(versionService, times(1)).getVersionsByBranch(projectId, compositionId, branchId, null, 20);
     }
 
     @Test
     void testGetVersionsByBranch_EmptyBranch() {
 
-        when(versionService.getVersionsByBranch(anyLong(), anyLong(), anyLong()))
-                .thenReturn(Arrays.asList());
+        when(versionService.getVersionsByBranch(anyLong(), anyLong(), anyLong(), isNull(), anyInt()))
+                .thenReturn(new CursorPageDto<>(Arrays.asList(), null));
 
 
-        List<VersionSummaryDto> result = versionService.getVersionsByBranch(projectId, compositionId, branchId);
+        List<VersionSummaryDto> result = versionService.getVersionsByBranch(projectId, compositionId, branchId, null, 20).getContent();
 
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(versionService, times(1)).getVersionsByBranch(projectId, compositionId, branchId);
+        verify(versionService, times(1)).getVersionsByBranch(projectId, compositionId, branchId, null, 20);
     }
 
     @Test
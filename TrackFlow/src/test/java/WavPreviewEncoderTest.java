@@ -0,0 +1,124 @@
+import com.eql.cda.track.flow.service.audio.PcmFormat;
+import com.eql.cda.track.flow.service.audio.PcmSampleConsumer;
+import com.eql.cda.track.flow.service.audio.PcmStreamDecoder;
+import com.eql.cda.track.flow.service.audio.WavPreviewEncoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavPreviewEncoderTest {
+
+    private final PcmStreamDecoder decoder = new PcmStreamDecoder();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void encode_ShouldDownmixAndDecimateToMono16BitWav() throws Exception {
+        // 1 s of 48 kHz stereo 24-bit audio: a 440 Hz tone at half scale on both channels.
+        byte[] master = wav24(48000, 2, 48000, frame -> 0.5 * Math.sin(2 * Math.PI * 440 * frame / 48000));
+        Path preview = directory.resolve("preview.wav");
+
+        new WavPreviewEncoder(decoder, 22050, 1).encode(new ByteArrayInputStream(master), preview);
+
+        Signal signal = decode(preview);
+        assertEquals(22050, signal.format.getSampleRate());
+        assertEquals(1, signal.format.getChannels());
+        assertEquals(16, signal.format.getBitsPerSample());
+        assertEquals(22050, signal.format.getTotalFrames());
+        assertEquals(44 + 22050 * 2, Files.size(preview));
+        assertEquals(0.5 / Math.sqrt(2), signal.rms(1000, 21000), 0.01);
+        assertTrue(Files.size(preview) * 6 < master.length);
+    }
+
+    @Test
+    void encode_ShouldFilterOutFrequenciesAboveTheNewNyquist() throws Exception {
+        // A 15 kHz tone cannot be represented at 22.05 kHz and must not fold back as an alias.
+        byte[] master = wav24(44100, 1, 44100, frame -> 0.5 * Math.sin(2 * Math.PI * 15000 * frame / 44100));
+        Path preview = directory.resolve("preview.wav");
+
+        new WavPreviewEncoder(decoder, 22050, 1).encode(new ByteArrayInputStream(master), preview);
+
+        Signal signal = decode(preview);
+        assertEquals(22050, signal.format.getTotalFrames());
+        assertTrue(signal.rms(1000, 21000) < 0.01, "aliased energy: " + signal.rms(1000, 21000));
+    }
+
+    @Test
+    void encode_ShouldKeepLowerSampleRates() throws Exception {
+        byte[] master = wav24(16000, 1, 1600, frame -> frame % 2 == 0 ? 0.25 : -0.25);
+        Path preview = directory.resolve("preview.wav");
+
+        new WavPreviewEncoder(decoder, 22050, 1).encode(new ByteArrayInputStream(master), preview);
+
+        Signal signal = decode(preview);
+        assertEquals(16000, signal.format.getSampleRate());
+        assertEquals(1600, signal.format.getTotalFrames());
+        assertEquals(-0.25, signal.samples[101], 1e-4);
+    }
+
+    private Signal decode(Path file) throws Exception {
+        Signal signal = new Signal();
+        try (InputStream in = Files.newInputStream(file)) {
+            signal.format = decoder.decode(in, signal);
+        }
+        return signal;
+    }
+
+    private static byte[] wav24(int sampleRate, int channels, int frames, java.util.function.IntToDoubleFunction signal) {
+        int dataSize = frames * channels * 3;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + dataSize);
+        buffer.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+        buffer.putShort((short) 1).putShort((short) channels).putInt(sampleRate);
+        buffer.putInt(sampleRate * channels * 3).putShort((short) (channels * 3)).putShort((short) 24);
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataSize);
+        for (int frame = 0; frame < frames; frame++) {
+            int sample = (int) Math.round(signal.applyAsDouble(frame) * 0x7FFFFF);
+            for (int channel = 0; channel < channels; channel++) {
+                buffer.put((byte) sample).put((byte) (sample >> 8)).put((byte) (sample >> 16));
+            }
+        }
+        return buffer.array();
+    }
+
+    /** Collects the first channel of a decoded stream. */
+    private static class Signal implements PcmSampleConsumer {
+
+        PcmFormat format;
+        float[] samples = new float[0];
+        private int channels;
+        private int count;
+
+        @Override
+        public void start(PcmFormat format) {
+            channels = format.getChannels();
+            samples = new float[(int) format.getTotalFrames()];
+        }
+
+        @Override
+        public void accept(float[] block, int frames) {
+            for (int frame = 0; frame < frames; frame++) {
+                samples[count++] = block[frame * channels];
+            }
+        }
+
+        double rms(int from, int to) {
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += samples[i] * samples[i];
+            }
+            return Math.sqrt(sum / (to - from));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import com.eql.cda.track.flow.service.audio.PeaksFile;
+import com.eql.cda.track.flow.service.audio.WaveformDiff;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaveformDiffTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int SAMPLES_PER_BUCKET = 256;
+
+    private final WaveformDiff diff = new WaveformDiff(3f, 15);
+
+    @Test
+    void compare_ShouldFindNothingBetweenIdenticalFiles() {
+        float[] envelope = WaveformDiff.envelopeOf(peaks(90, mix(1)));
+
+        WaveformDiff.Result result = diff.compare(envelope, envelope.clone());
+
+        assertEquals(0.0, result.offsetSeconds(), 1e-9);
+        assertTrue(result.ranges().isEmpty());
+    }
+
+    @Test
+    void compare_ShouldLocateARemixedSection() {
+        DoubleUnaryOperator parent = mix(1);
+        // The section between 40 and 50 seconds was pushed up by 10 dB.
+        DoubleUnaryOperator remixed = t -> t >= 40 && t < 50 ? Math.min(1, parent.applyAsDouble(t) * 3.16) : parent.applyAsDouble(t);
+
+        WaveformDiff.Result result = diff.compare(WaveformDiff.envelopeOf(peaks(90, remixed)), WaveformDiff.envelopeOf(peaks(90, parent)));
+
+        assertEquals(0.0, result.offsetSeconds(), 1e-9);
+        List<WaveformDiff.Range> ranges = result.ranges();
+        assertEquals(1, ranges.size());
+        assertEquals(40.0, ranges.get(0).startSeconds(), 0.5);
+        assertEquals(50.0, ranges.get(0).endSeconds(), 0.5);
+        assertEquals(40.0, ranges.get(0).otherStartSeconds(), 0.5);
+        assertTrue(ranges.get(0).meanDifferenceDb() > 5, "difference " + ranges.get(0).meanDifferenceDb());
+    }
+
+    @Test
+    void compare_ShouldAlignAnAddedIntro() {
+        DoubleUnaryOperator parent = mix(2);
+        // Four seconds of new material were added before the parent mix.
+        DoubleUnaryOperator withIntro = t -> t < 4 ? 0.05 : parent.applyAsDouble(t - 4);
+
+        WaveformDiff.Result result = diff.compare(WaveformDiff.envelopeOf(peaks(64, withIntro)), WaveformDiff.envelopeOf(peaks(60, parent)));
+
+        assertEquals(4.0, result.offsetSeconds(), 0.05);
+        assertEquals(1, result.ranges().size());
+        WaveformDiff.Range intro = result.ranges().get(0);
+        assertEquals(0.0, intro.startSeconds(), 1e-9);
+        assertEquals(4.0, intro.endSeconds(), 0.5);
+        assertEquals(0.0, intro.otherStartSeconds(), 1e-9);
+        assertEquals(0.0, intro.otherEndSeconds(), 0.5);
+    }
+
+    /**
+     * A mix whose peak amplitude changes randomly every half second, like successive notes and bars.
+     */
+    private static DoubleUnaryOperator mix(long seed) {
+        Random random = new Random(seed);
+        double[] levels = new double[400];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = 0.1 + 0.8 * random.nextDouble();
+        }
+        return t -> levels[(int) (t * 2) % levels.length];
+    }
+
+    private static PeaksFile peaks(int seconds, DoubleUnaryOperator amplitudeAt) {
+        long totalFrames = (long) seconds * SAMPLE_RATE;
+        int buckets = (int) (totalFrames / SAMPLES_PER_BUCKET);
+        short[] mins = new short[buckets];
+        short[] maxs = new short[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            double amplitude = amplitudeAt.applyAsDouble((double) bucket * SAMPLES_PER_BUCKET / SAMPLE_RATE);
+            maxs[bucket] = (short) Math.round(amplitude * 32767);
+            mins[bucket] = (short) -Math.round(amplitude * 32767);
+        }
+        return new PeaksFile(SAMPLE_RATE, totalFrames, List.of(new PeaksFile.Level(SAMPLES_PER_BUCKET, mins, maxs)));
+    }
+}